@@ -61,6 +61,9 @@ public class GridClientConfiguration {
     /** Default flag setting for TCP_NODELAY option. */
     public static final boolean DFLT_TCP_NODELAY = true;
 
+    /** Default TCP write coalescing delay in microseconds (coalescing is disabled). */
+    public static final long DFLT_TCP_WRITE_COALESCING_DELAY = 0;
+
     /** List of servers to connect to. */
     private Collection<String> srvs = Collections.emptySet();
 
@@ -76,6 +79,9 @@ public class GridClientConfiguration {
     /** TCP_NODELAY flag. */
     private boolean tcpNoDelay = DFLT_TCP_NODELAY;
 
+    /** TCP write coalescing delay in microseconds. */
+    private long tcpWriteCoalescingDelay = DFLT_TCP_WRITE_COALESCING_DELAY;
+
     /** SSL context factory  */
     private GridSslContextFactory sslCtxFactory;
 
@@ -148,6 +154,7 @@ public class GridClientConfiguration {
         srvs = cfg.getServers();
         sslCtxFactory = cfg.getSslContextFactory();
         tcpNoDelay = cfg.isTcpNoDelay();
+        tcpWriteCoalescingDelay = cfg.getTcpWriteCoalescingDelay();
         topRefreshFreq = cfg.getTopologyRefreshFrequency();
         marshaller = cfg.getMarshaller();
 
@@ -294,6 +301,33 @@ public class GridClientConfiguration {
         this.tcpNoDelay = tcpNoDelay;
     }
 
+    /**
+     * Gets delay in microseconds for which cache requests are held before they are written to
+     * TCP connection. Requests issued by concurrent threads within this delay are flushed with a
+     * single write and, unless {@link GridClientProtobufMarshaller} is used or client connects
+     * through {@link #getRouters() routers}, sent to server as one batch message, which reduces
+     * number of system calls and per-request overhead on both sides at a cost of added latency.
+     * Server still replies to every batched request as soon as it completes.
+     * <p>
+     * If {@code 0}, every request is written and flushed immediately. If not set, default value
+     * is {@link #DFLT_TCP_WRITE_COALESCING_DELAY}.
+     *
+     * @return Write coalescing delay in microseconds.
+     */
+    public long getTcpWriteCoalescingDelay() {
+        return tcpWriteCoalescingDelay;
+    }
+
+    /**
+     * Sets delay in microseconds for which cache requests are held before they are written to
+     * TCP connection. See {@link #getTcpWriteCoalescingDelay()} for more information.
+     *
+     * @param tcpWriteCoalescingDelay Write coalescing delay in microseconds, {@code 0} to disable coalescing.
+     */
+    public void setTcpWriteCoalescingDelay(long tcpWriteCoalescingDelay) {
+        this.tcpWriteCoalescingDelay = tcpWriteCoalescingDelay;
+    }
+
     /**
      * Sets timeout for socket connect operation.
      *
@@ -650,6 +684,7 @@ public class GridClientConfiguration {
         String proto = in.getProperty(prefix + "protocol");
         String srvrs = in.getProperty(prefix + "servers");
         String tcpNoDelay = in.getProperty(prefix + "tcp.noDelay");
+        String tcpCoalescingDelay = in.getProperty(prefix + "tcp.writeCoalescingDelay");
         String topRefreshFreq = in.getProperty(prefix + "topology.refresh");
 
         String sslEnabled = in.getProperty(prefix + "ssl.enabled");
@@ -692,6 +727,9 @@ public class GridClientConfiguration {
         if (!isEmpty(tcpNoDelay))
             setTcpNoDelay(Boolean.parseBoolean(tcpNoDelay));
 
+        if (!isEmpty(tcpCoalescingDelay))
+            setTcpWriteCoalescingDelay(Long.parseLong(tcpCoalescingDelay));
+
         if (!isEmpty(topRefreshFreq))
             setTopologyRefreshFrequency(Long.parseLong(topRefreshFreq));
 
@@ -744,6 +782,8 @@ public class GridClientConfiguration {
                 String name = in.getProperty(prefix + "data." + cfgName + ".name");
                 String bal = in.getProperty(prefix + "data." + cfgName + ".balancer");
                 String aff = in.getProperty(prefix + "data." + cfgName + ".affinity");
+                String nearSize = in.getProperty(prefix + "data." + cfgName + ".nearCacheMaxSize");
+                String nearTtl = in.getProperty(prefix + "data." + cfgName + ".nearCacheTtl");
 
                 GridClientDataConfiguration dataCfg = new GridClientDataConfiguration();
 
@@ -751,6 +791,12 @@ public class GridClientConfiguration {
                 dataCfg.setBalancer(resolveBalancer(bal));
                 dataCfg.setAffinity(resolveAffinity(aff));
 
+                if (!isEmpty(nearSize))
+                    dataCfg.setNearCacheMaxSize(Integer.parseInt(nearSize));
+
+                if (!isEmpty(nearTtl))
+                    dataCfg.setNearCacheTtl(Long.parseLong(nearTtl));
+
                 list.add(dataCfg);
             }
 
@@ -37,6 +37,12 @@ public class GridClientDataConfiguration {
     /** Balancer for pinned mode. */
     private GridClientLoadBalancer balancer = new GridClientRandomBalancer();
 
+    /** Maximum number of entries in near cache. */
+    private int nearCacheMaxSize;
+
+    /** Near cache entry time to live. */
+    private long nearCacheTtl;
+
     /**
      * Creates empty configuration.
      */
@@ -54,6 +60,8 @@ public class GridClientDataConfiguration {
         affinity = cfg.getAffinity();
         balancer = cfg.getPinnedBalancer();
         name = cfg.getName();
+        nearCacheMaxSize = cfg.getNearCacheMaxSize();
+        nearCacheTtl = cfg.getNearCacheTtl();
     }
 
     /**
@@ -120,4 +128,62 @@ public class GridClientDataConfiguration {
     public void setBalancer(GridClientLoadBalancer balancer) {
         this.balancer = balancer;
     }
+
+    /**
+     * Gets maximum number of entries kept in client near cache. Near cache keeps
+     * values read by this client locally, so repeated reads of the same keys are
+     * served without network round trip. When near cache is full, least recently
+     * used entries are evicted.
+     * <p>
+     * Near cache is invalidated on every update performed through this client. When client
+     * connects to nodes directly over {@link GridClientProtocol#TCP TCP} with non-protobuf
+     * marshaller, nodes also push invalidations of entries updated by other clients or server
+     * nodes, so such updates are usually visible within continuous query notification delay.
+     * Otherwise, and for invalidations lost while connection is reestablished, updates become
+     * visible after entry expires (see {@link #getNearCacheTtl()}), so near cache should be
+     * enabled for read-mostly data only. Reads through projections with
+     * {@link GridClientCacheFlag flags} bypass near cache.
+     * <p>
+     * If {@code 0} (default), near cache is disabled. If positive, {@link #getNearCacheTtl()}
+     * must be positive as well.
+     *
+     * @return Maximum number of entries in near cache.
+     */
+    public int getNearCacheMaxSize() {
+        return nearCacheMaxSize;
+    }
+
+    /**
+     * Sets maximum number of entries kept in client near cache.
+     * See {@link #getNearCacheMaxSize()} for more information.
+     *
+     * @param nearCacheMaxSize Maximum number of entries in near cache.
+     */
+    public void setNearCacheMaxSize(int nearCacheMaxSize) {
+        this.nearCacheMaxSize = nearCacheMaxSize;
+    }
+
+    /**
+     * Gets time to live of near cache entries in milliseconds. Entry expires after
+     * this time since it was fetched from remote cache, which bounds staleness of
+     * values updated by other clients if pushed invalidation is not available or lost.
+     * <p>
+     * Must be positive if near cache is enabled (see {@link #getNearCacheMaxSize()}),
+     * otherwise client fails to start.
+     *
+     * @return Near cache entry time to live in milliseconds.
+     */
+    public long getNearCacheTtl() {
+        return nearCacheTtl;
+    }
+
+    /**
+     * Sets time to live of near cache entries in milliseconds.
+     * See {@link #getNearCacheTtl()} for more information.
+     *
+     * @param nearCacheTtl Near cache entry time to live in milliseconds.
+     */
+    public void setNearCacheTtl(long nearCacheTtl) {
+        this.nearCacheTtl = nearCacheTtl;
+    }
 }
@@ -80,4 +80,22 @@ public interface GridClientDataMetrics extends Serializable {
      * @return Number of misses.
      */
     public int misses();
+
+    /**
+     * Gets number of reads served from client near cache without contacting remote node
+     * (see {@link GridClientDataConfiguration#getNearCacheMaxSize()}). Unlike other metrics
+     * this one is collected locally by client.
+     *
+     * @return Number of near cache hits or {@code 0} if near cache is disabled.
+     */
+    public long nearHits();
+
+    /**
+     * Gets number of reads which were not found in client near cache and were sent
+     * to remote node (see {@link GridClientDataConfiguration#getNearCacheMaxSize()}).
+     * Unlike other metrics this one is collected locally by client.
+     *
+     * @return Number of near cache misses or {@code 0} if near cache is disabled.
+     */
+    public long nearMisses();
 }
@@ -46,6 +46,15 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
     /** Cache flags to be enabled. */
     private final Set<GridClientCacheFlag> flags;
 
+    /** Client near cache, {@code null} if near cache is disabled for this cache. */
+    private final GridClientNearCache nearCache;
+
+    /**
+     * Whether reads are served from near cache. Flags change read semantics (e.g. store or swap
+     * is skipped), so projections with flags read remote cache and only invalidate near cache.
+     */
+    private final boolean nearReads;
+
     /**
      * Creates a data projection.
      *
@@ -65,6 +74,10 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
         this.cacheName = cacheName;
         this.cacheMetrics = cacheMetrics;
         this.flags = flags == null ? Collections.<GridClientCacheFlag>emptySet() : Collections.unmodifiableSet(flags);
+
+        nearCache = client.nearCache(cacheName);
+
+        nearReads = nearCache != null && this.flags.isEmpty();
     }
 
     /** {@inheritDoc} */
@@ -104,7 +117,8 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
         return withReconnectHandling(new ClientProjectionClosure<Boolean>() {
             @Override public GridClientFuture<Boolean> apply(GridClientConnection conn, UUID destNodeId)
                 throws GridClientConnectionResetException, GridClientClosedException {
-                return conn.cachePut(cacheName, key, val, flags, destNodeId);
+                return invalidateOnDone(conn.cachePut(cacheName, key, val, flags, destNodeId),
+                    Collections.singleton(key));
             }
         }, cacheName, key);
     }
@@ -126,7 +140,7 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
         return withReconnectHandling(new ClientProjectionClosure<Boolean>() {
             @Override public GridClientFuture<Boolean> apply(GridClientConnection conn, UUID destNodeId)
                 throws GridClientConnectionResetException, GridClientClosedException {
-                return conn.cachePutAll(cacheName, entries, flags, destNodeId);
+                return invalidateOnDone(conn.cachePutAll(cacheName, entries, flags, destNodeId), entries.keySet());
             }
         }, cacheName, key);
     }
@@ -137,13 +151,40 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
     }
 
     /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
     @Override public <K, V> GridClientFuture<V> getAsync(final K key) {
         A.notNull(key, "key");
 
+        if (!nearReads) {
+            return withReconnectHandling(new ClientProjectionClosure<V>() {
+                @Override public GridClientFuture<V> apply(GridClientConnection conn, UUID destNodeId)
+                    throws GridClientConnectionResetException, GridClientClosedException {
+                    return conn.cacheGet(cacheName, key, flags, destNodeId);
+                }
+            }, cacheName, key);
+        }
+
+        V val = (V)nearCache.get(key);
+
+        if (val != null)
+            return new GridClientFutureAdapter<>(val);
+
+        // Stamp must be taken before request is sent, so that concurrent update is not overwritten by stale value.
+        final long stamp = nearCache.stamp(key);
+
         return withReconnectHandling(new ClientProjectionClosure<V>() {
             @Override public GridClientFuture<V> apply(GridClientConnection conn, UUID destNodeId)
                 throws GridClientConnectionResetException, GridClientClosedException {
-                return conn.cacheGet(cacheName, key, flags, destNodeId);
+                return conn.<K, V>cacheGet(cacheName, key, flags, destNodeId).chain(
+                    new GridClientFutureCallback<V, V>() {
+                        @Override public V onComplete(GridClientFuture<V> fut) throws GridClientException {
+                            V val = fut.get();
+
+                            nearCache.put(key, val, stamp);
+
+                            return val;
+                        }
+                    });
             }
         }, cacheName, key);
     }
@@ -154,12 +195,56 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
     }
 
     /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
     @Override public <K, V> GridClientFuture<Map<K, V>> getAllAsync(final Collection<K> keys) {
         A.notNull(keys, "keys");
 
         if (keys.isEmpty())
             return new GridClientFutureAdapter<>(Collections.<K, V>emptyMap());
 
+        if (nearReads) {
+            final Map<K, V> res = new HashMap<>(keys.size(), 1.0f);
+            final Map<K, Long> missed = new HashMap<>();
+
+            for (K k : keys) {
+                V val = (V)nearCache.get(k);
+
+                if (val != null)
+                    res.put(k, val);
+                else
+                    missed.put(k, nearCache.stamp(k));
+            }
+
+            if (missed.isEmpty())
+                return new GridClientFutureAdapter<>(res);
+
+            return withReconnectHandling(new ClientProjectionClosure<Map<K, V>>() {
+                @Override public GridClientFuture<Map<K, V>> apply(GridClientConnection conn, UUID destNodeId)
+                    throws GridClientConnectionResetException, GridClientClosedException {
+                    return conn.<K, V>cacheGetAll(cacheName, missed.keySet(), flags, destNodeId).chain(
+                        new GridClientFutureCallback<Map<K, V>, Map<K, V>>() {
+                            @Override public Map<K, V> onComplete(GridClientFuture<Map<K, V>> fut)
+                                throws GridClientException {
+                                Map<K, V> loaded = fut.get();
+
+                                if (loaded != null) {
+                                    for (Map.Entry<K, V> e : loaded.entrySet()) {
+                                        Long stamp = missed.get(e.getKey());
+
+                                        if (stamp != null)
+                                            nearCache.put(e.getKey(), e.getValue(), stamp);
+                                    }
+
+                                    res.putAll(loaded);
+                                }
+
+                                return res;
+                            }
+                        });
+                }
+            }, cacheName, GridClientUtils.first(missed.keySet()));
+        }
+
         K key = GridClientUtils.first(keys);
 
         return withReconnectHandling(new ClientProjectionClosure<Map<K, V>>() {
@@ -184,7 +269,8 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
             @Override
             public GridClientFuture<Boolean> apply(GridClientConnection conn, UUID destNodeId)
                 throws GridClientConnectionResetException, GridClientClosedException {
-                return conn.cacheRemove(cacheName, key, flags, destNodeId);
+                return invalidateOnDone(conn.cacheRemove(cacheName, key, flags, destNodeId),
+                    Collections.singleton(key));
             }
         }, cacheName, key);
     }
@@ -206,7 +292,7 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
         return withReconnectHandling(new ClientProjectionClosure<Boolean>() {
             @Override public GridClientFuture<Boolean> apply(GridClientConnection conn, UUID destNodeId)
                 throws GridClientConnectionResetException, GridClientClosedException {
-                return conn.cacheRemoveAll(cacheName, keys, flags, destNodeId);
+                return invalidateOnDone(conn.cacheRemoveAll(cacheName, keys, flags, destNodeId), keys);
             }
         }, cacheName, key);
     }
@@ -224,7 +310,8 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
         return withReconnectHandling(new ClientProjectionClosure<Boolean>() {
             @Override public GridClientFuture<Boolean> apply(GridClientConnection conn, UUID destNodeId)
                 throws GridClientConnectionResetException, GridClientClosedException {
-                return conn.cacheReplace(cacheName, key, val, flags, destNodeId);
+                return invalidateOnDone(conn.cacheReplace(cacheName, key, val, flags, destNodeId),
+                    Collections.singleton(key));
             }
         }, cacheName, key);
     }
@@ -241,7 +328,8 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
         return withReconnectHandling(new ClientProjectionClosure<Boolean>() {
             @Override public GridClientFuture<Boolean> apply(GridClientConnection conn, UUID destNodeId)
                 throws GridClientConnectionResetException, GridClientClosedException {
-                return conn.cacheCompareAndSet(cacheName, key, val1, val2, flags, destNodeId);
+                return invalidateOnDone(conn.cacheCompareAndSet(cacheName, key, val1, val2, flags, destNodeId),
+                    Collections.singleton(key));
             }
         }, cacheName, key);
     }
@@ -281,7 +369,24 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
                 @Override public GridClientFuture<GridClientDataMetrics> apply(
                     GridClientConnection conn, UUID affinityNodeId)
                     throws GridClientConnectionResetException, GridClientClosedException {
-                    return conn.cacheMetrics(cacheName, affinityNodeId);
+                    GridClientFutureAdapter<GridClientDataMetrics> fut = conn.cacheMetrics(cacheName, affinityNodeId);
+
+                    if (nearCache == null)
+                        return fut;
+
+                    return fut.chain(new GridClientFutureCallback<GridClientDataMetrics, GridClientDataMetrics>() {
+                        @Override public GridClientDataMetrics onComplete(GridClientFuture<GridClientDataMetrics> fut)
+                            throws GridClientException {
+                            GridClientDataMetrics m = fut.get();
+
+                            if (m instanceof GridClientDataMetricsAdapter) {
+                                ((GridClientDataMetricsAdapter)m).nearHits(nearCache.hits());
+                                ((GridClientDataMetricsAdapter)m).nearMisses(nearCache.misses());
+                            }
+
+                            return m;
+                        }
+                    });
                 }
             });
 
@@ -318,7 +423,8 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
         return withReconnectHandling(new ClientProjectionClosure<Boolean>() {
             @Override public GridClientFuture<Boolean> apply(GridClientConnection conn, UUID destNodeId)
                 throws GridClientConnectionResetException, GridClientClosedException {
-                return conn.cacheAppend(cacheName, key, val, flags, destNodeId);
+                return invalidateOnDone(conn.cacheAppend(cacheName, key, val, flags, destNodeId),
+                    Collections.singleton(key));
             }
         }, cacheName, key);
     }
@@ -337,11 +443,36 @@ public class GridClientDataImpl extends GridClientAbstractProjection<GridClientD
         return withReconnectHandling(new ClientProjectionClosure<Boolean>() {
             @Override public GridClientFuture<Boolean> apply(GridClientConnection conn, UUID destNodeId)
                 throws GridClientConnectionResetException, GridClientClosedException {
-                return conn.cachePrepend(cacheName, key, val, flags, destNodeId);
+                return invalidateOnDone(conn.cachePrepend(cacheName, key, val, flags, destNodeId),
+                    Collections.singleton(key));
             }
         }, cacheName, key);
     }
 
+    /**
+     * Invalidates near cache entries for given keys right away and once more when update
+     * completes, so that values read while update was in progress are not kept in near cache.
+     *
+     * @param fut Update future.
+     * @param keys Updated keys.
+     * @return Future that completes after near cache entries are invalidated.
+     */
+    private <R> GridClientFutureAdapter<R> invalidateOnDone(GridClientFutureAdapter<R> fut,
+        final Collection<?> keys) {
+        if (nearCache == null)
+            return fut;
+
+        nearCache.invalidateAll(keys);
+
+        return fut.chain(new GridClientFutureCallback<R, R>() {
+            @Override public R onComplete(GridClientFuture<R> fut) throws GridClientException {
+                nearCache.invalidateAll(keys);
+
+                return fut.get();
+            }
+        });
+    }
+
     /** {@inheritDoc} */
     @Override public Set<GridClientCacheFlag> flags() {
         return flags;
@@ -50,6 +50,12 @@ public class GridClientDataMetricsAdapter implements GridClientDataMetrics {
     /** Number of misses. */
     private volatile int misses;
 
+    /** Number of near cache hits. */
+    private volatile long nearHits;
+
+    /** Number of near cache misses. */
+    private volatile long nearMisses;
+
     /** {@inheritDoc} */
     @Override public long createTime() {
         return createTime;
@@ -85,6 +91,16 @@ public class GridClientDataMetricsAdapter implements GridClientDataMetrics {
         return misses;
     }
 
+    /** {@inheritDoc} */
+    @Override public long nearHits() {
+        return nearHits;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long nearMisses() {
+        return nearMisses;
+    }
+
     /**
      * Sets creation time.
      *
@@ -148,12 +164,32 @@ public class GridClientDataMetricsAdapter implements GridClientDataMetrics {
         this.misses = misses;
     }
 
+    /**
+     * Sets number of near cache hits.
+     *
+     * @param nearHits Number of near cache hits.
+     */
+    public void nearHits(long nearHits) {
+        this.nearHits = nearHits;
+    }
+
+    /**
+     * Sets number of near cache misses.
+     *
+     * @param nearMisses Number of near cache misses.
+     */
+    public void nearMisses(long nearMisses) {
+        this.nearMisses = nearMisses;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return "GridClientDataMetricsAdapter [" +
             "createTime=" + createTime +
             ", hits=" + hits +
             ", misses=" + misses +
+            ", nearHits=" + nearHits +
+            ", nearMisses=" + nearMisses +
             ", reads=" + reads +
             ", readTime=" + readTime +
             ", writes=" + writes +
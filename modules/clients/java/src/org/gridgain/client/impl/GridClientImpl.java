@@ -88,6 +88,9 @@ public class GridClientImpl implements GridClient {
     /** Data projections. */
     private ConcurrentMap<Object, GridClientDataImpl> dataMap = new ConcurrentHashMap<>();
 
+    /** Near caches shared by all data projections of the same cache. */
+    private ConcurrentMap<Object, GridClientNearCache> nearCaches = new ConcurrentHashMap<>();
+
     /** Topology. */
     protected GridClientTopology top;
 
@@ -131,6 +134,13 @@ public class GridClientImpl implements GridClient {
 
                 if (aff instanceof GridClientTopologyListener)
                     addTopologyListener((GridClientTopologyListener)aff);
+
+                // Pushed invalidations are not available through routers, over HTTP or with protobuf marshaller
+                // and are lost while connection is reestablished, so TTL must still bound staleness.
+                if (dataCfg.getNearCacheMaxSize() > 0 && dataCfg.getNearCacheTtl() <= 0)
+                    throw new GridClientException("Near cache time to live must be positive if near cache is " +
+                        "enabled (please fix configuration and restart) [cacheName=" + dataCfg.getName() +
+                        ", nearCacheTtl=" + dataCfg.getNearCacheTtl() + ']');
             }
 
             if (cfg.getBalancer() instanceof GridClientTopologyListener)
@@ -166,7 +176,22 @@ public class GridClientImpl implements GridClient {
                 throw new GridClientException("Servers addresses and routers addresses cannot both be provided " +
                     "for client (please fix configuration and restart): " + this);
 
-            connMgr = new GridClientConnectionManagerImpl(id, sslCtx, cfg, routers, top, null);
+            connMgr = new GridClientConnectionManagerImpl(id, sslCtx, cfg, routers, top, null,
+                new GridClientCacheInvalidationListener() {
+                    @Override public void onInvalidate(@Nullable String cacheName, Collection<?> keys) {
+                        GridClientNearCache near = nearCaches.get(maskNull(cacheName));
+
+                        if (near != null)
+                            near.invalidateAll(keys);
+                    }
+
+                    @Override public void onInvalidationsLost(@Nullable String cacheName) {
+                        GridClientNearCache near = nearCaches.get(maskNull(cacheName));
+
+                        if (near != null)
+                            near.clear();
+                    }
+                });
 
             try {
                 // Init connection manager, it should cause topology update.
@@ -339,6 +364,34 @@ public class GridClientImpl implements GridClient {
         return dataCfg == null ? null : dataCfg.getAffinity();
     }
 
+    /**
+     * Gets near cache for a given cache name. Near cache is shared by all projections
+     * of the same cache created by this client.
+     *
+     * @param cacheName Name of cache.
+     * @return Near cache or {@code null} if near cache is not configured for this cache.
+     */
+    @Nullable GridClientNearCache nearCache(String cacheName) {
+        GridClientDataConfiguration dataCfg = cfg.getDataConfiguration(cacheName);
+
+        if (dataCfg == null || dataCfg.getNearCacheMaxSize() <= 0)
+            return null;
+
+        Object key = maskNull(cacheName);
+
+        GridClientNearCache near = nearCaches.get(key);
+
+        if (near == null) {
+            GridClientNearCache old = nearCaches.putIfAbsent(key,
+                near = new GridClientNearCache(dataCfg.getNearCacheMaxSize(), dataCfg.getNearCacheTtl()));
+
+            if (old != null)
+                near = old;
+        }
+
+        return near;
+    }
+
     /**
      * Checks and throws an exception if this client was closed.
      *
@@ -392,7 +445,7 @@ public class GridClientImpl implements GridClient {
      * @return New connection manager based on current client settings.
      */
     public GridClientConnectionManager newConnectionManager(Byte protoId) {
-        return new GridClientConnectionManagerImpl(id, sslCtx, cfg, routers, top, protoId);
+        return new GridClientConnectionManagerImpl(id, sslCtx, cfg, routers, top, protoId, null);
     }
 
     /**
@@ -0,0 +1,254 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.client.impl;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Bounded client-side near cache with LRU eviction and entry time to live.
+ * <p>
+ * Cache is split into segments by key hash, each segment is an access-ordered
+ * {@link LinkedHashMap} guarded by its own monitor, so concurrent reads of
+ * different keys rarely contend.
+ * <p>
+ * Every segment keeps modification counter which is incremented on invalidation.
+ * Reader captures the counter before sending request to remote node and stores
+ * received value only if no invalidation happened in the meantime, so value read
+ * concurrently with update is never cached after invalidation. Updates through this
+ * client invalidate entries locally, updates through other clients are pushed by
+ * server nodes the client is connected to.
+ */
+class GridClientNearCache {
+    /** Maximum number of segments. */
+    private static final int MAX_SEGMENTS = 16;
+
+    /** Segments, power of two in number. */
+    private final Segment[] segs;
+
+    /** Segment index mask. */
+    private final int segMask;
+
+    /** Entry time to live in milliseconds. */
+    private final long ttl;
+
+    /** Number of reads served from near cache. */
+    private final AtomicLong hits = new AtomicLong();
+
+    /** Number of reads not served from near cache. */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param maxSize Maximum number of entries.
+     * @param ttl Entry time to live in milliseconds.
+     */
+    GridClientNearCache(int maxSize, long ttl) {
+        assert maxSize > 0;
+        assert ttl > 0;
+
+        this.ttl = ttl;
+
+        // Small caches get fewer segments, so that segment sizes sum up to at most maximum size.
+        int segCnt = Integer.highestOneBit(Math.min(maxSize, MAX_SEGMENTS));
+
+        segs = new Segment[segCnt];
+        segMask = segCnt - 1;
+
+        int segMaxSize = maxSize / segCnt;
+
+        for (int i = 0; i < segCnt; i++)
+            segs[i] = new Segment(segMaxSize);
+    }
+
+    /**
+     * Gets cached value.
+     *
+     * @param key Key.
+     * @return Cached value or {@code null} if value is not cached or expired.
+     */
+    Object get(Object key) {
+        Segment seg = segment(key);
+
+        synchronized (seg) {
+            Entry e = seg.map.get(key);
+
+            if (e != null) {
+                if (e.expireTime > System.currentTimeMillis()) {
+                    hits.incrementAndGet();
+
+                    return e.val;
+                }
+
+                seg.map.remove(key);
+            }
+        }
+
+        misses.incrementAndGet();
+
+        return null;
+    }
+
+    /**
+     * Gets modification stamp to pass to {@link #put(Object, Object, long)} when
+     * value is received from remote node.
+     *
+     * @param key Key.
+     * @return Modification stamp of segment key belongs to.
+     */
+    long stamp(Object key) {
+        Segment seg = segment(key);
+
+        synchronized (seg) {
+            return seg.modCnt;
+        }
+    }
+
+    /**
+     * Caches value received from remote node unless key was invalidated after stamp was taken.
+     *
+     * @param key Key.
+     * @param val Value, {@code null} values are not cached.
+     * @param stamp Stamp taken by {@link #stamp(Object)} before request was sent.
+     */
+    void put(Object key, Object val, long stamp) {
+        if (val == null)
+            return;
+
+        Segment seg = segment(key);
+
+        synchronized (seg) {
+            if (seg.modCnt == stamp)
+                seg.map.put(key, new Entry(val, System.currentTimeMillis() + ttl));
+        }
+    }
+
+    /**
+     * Removes key from near cache.
+     *
+     * @param key Key.
+     */
+    void invalidate(Object key) {
+        Segment seg = segment(key);
+
+        synchronized (seg) {
+            seg.modCnt++;
+
+            seg.map.remove(key);
+        }
+    }
+
+    /**
+     * Removes keys from near cache.
+     *
+     * @param keys Keys.
+     */
+    void invalidateAll(Collection<?> keys) {
+        for (Object key : keys)
+            invalidate(key);
+    }
+
+    /**
+     * Removes all entries from near cache. Called when invalidations of entries
+     * read from some node may have been lost.
+     */
+    void clear() {
+        for (Segment seg : segs) {
+            synchronized (seg) {
+                seg.modCnt++;
+
+                seg.map.clear();
+            }
+        }
+    }
+
+    /**
+     * @return Number of reads served from near cache.
+     */
+    long hits() {
+        return hits.get();
+    }
+
+    /**
+     * @return Number of reads not served from near cache.
+     */
+    long misses() {
+        return misses.get();
+    }
+
+    /**
+     * @param key Key.
+     * @return Segment for key.
+     */
+    private Segment segment(Object key) {
+        int h = key.hashCode();
+
+        // Spread bits to use higher bits of poor hash codes.
+        h ^= (h >>> 20) ^ (h >>> 12);
+        h ^= (h >>> 7) ^ (h >>> 4);
+
+        return segs[h & segMask];
+    }
+
+    /**
+     * Cached value with expiration time.
+     */
+    private static class Entry {
+        /** Value. */
+        private final Object val;
+
+        /** Expiration time. */
+        private final long expireTime;
+
+        /**
+         * @param val Value.
+         * @param expireTime Expiration time.
+         */
+        private Entry(Object val, long expireTime) {
+            this.val = val;
+            this.expireTime = expireTime;
+        }
+    }
+
+    /**
+     * Near cache segment.
+     */
+    private static class Segment {
+        /** Entries in access order. */
+        private final LinkedHashMap<Object, Entry> map;
+
+        /** Modification counter. */
+        private long modCnt;
+
+        /**
+         * @param maxSize Maximum number of entries in segment.
+         */
+        private Segment(final int maxSize) {
+            map = new LinkedHashMap<Object, Entry>(16, 0.75f, true) {
+                @Override protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+package org.gridgain.client.impl.connection;
+
+import org.jetbrains.annotations.*;
+
+import java.util.*;
+
+/**
+ * Listener for near cache invalidations pushed by server nodes over TCP connections.
+ */
+public interface GridClientCacheInvalidationListener {
+    /**
+     * Callback invoked when server node notifies that cache entries were updated or removed.
+     *
+     * @param cacheName Cache name, {@code null} for default cache.
+     * @param keys Invalidated keys.
+     */
+    public void onInvalidate(@Nullable String cacheName, Collection<?> keys);
+
+    /**
+     * Callback invoked when connection subscribed to invalidations is closed, so that
+     * invalidations of entries read through it are not received anymore.
+     *
+     * @param cacheName Cache name, {@code null} for default cache.
+     */
+    public void onInvalidationsLost(@Nullable String cacheName);
+}
@@ -27,6 +27,7 @@ import io.netty.channel.nio.*;
 import org.gridgain.client.*;
 import org.gridgain.client.util.*;
 import io.netty.channel.*;
+import org.jetbrains.annotations.*;
 
 import javax.net.ssl.*;
 import java.io.*;
@@ -87,6 +88,12 @@ public class GridClientConnectionManagerImpl implements GridClientConnectionMana
     /** Custom protocol ID. */
     private final Byte protoId;
 
+    /** Names of caches with near cache enabled, {@code null} for default cache. */
+    private final Collection<String> nearCaches = new ArrayList<>();
+
+    /** Near cache invalidation listener. */
+    private final GridClientCacheInvalidationListener invalidationLsnr;
+
     /**
      * Constructs connection manager.
      *
@@ -96,9 +103,12 @@ public class GridClientConnectionManagerImpl implements GridClientConnectionMana
      * @param routers Routers or empty collection to use endpoints from topology info.
      * @param top Topology.
      * @param protoId Custom protocol ID (optional).
+     * @param invalidationLsnr Listener for near cache invalidations pushed by nodes, {@code null} if
+     *      connections should not subscribe to invalidations.
      */
     public GridClientConnectionManagerImpl(UUID clientId, SSLContext sslCtx, GridClientConfiguration cfg,
-        Collection<InetSocketAddress> routers, GridClientTopology top, Byte protoId) {
+        Collection<InetSocketAddress> routers, GridClientTopology top, Byte protoId,
+        @Nullable GridClientCacheInvalidationListener invalidationLsnr) {
         assert clientId != null : "clientId != null";
         assert cfg != null : "cfg != null";
         assert routers != null : "routers != null";
@@ -110,6 +120,14 @@ public class GridClientConnectionManagerImpl implements GridClientConnectionMana
         this.routers = new ArrayList<>(routers);
         this.top = top;
         this.protoId = protoId;
+        this.invalidationLsnr = invalidationLsnr;
+
+        if (invalidationLsnr != null) {
+            for (GridClientDataConfiguration dataCfg : cfg.getDataConfigurations()) {
+                if (dataCfg.getNearCacheMaxSize() > 0)
+                    nearCaches.add(dataCfg.getName());
+            }
+        }
 
         executor = cfg.getExecutorService() != null ? cfg.getExecutorService() : Executors.newCachedThreadPool();
 
@@ -301,8 +319,9 @@ public class GridClientConnectionManagerImpl implements GridClientConnectionMana
                 case TCP: {
                     conn = new GridClientTcpConnection(clientId, addr, sslCtx, evtLoop,
                         cfg.getConnectTimeout(), cfg.getPingInterval(), cfg.getPingTimeout(),
-                        cfg.isTcpNoDelay(), protoId == null ? cfg.getMarshaller() : null,
-                        top, cfg.getCredentials(), protoId);
+                        cfg.isTcpNoDelay(), cfg.getTcpWriteCoalescingDelay(), routers.isEmpty(),
+                        protoId == null ? cfg.getMarshaller() : null, top, cfg.getCredentials(), protoId,
+                        nearCaches, invalidationLsnr);
 
                     break;
                 }
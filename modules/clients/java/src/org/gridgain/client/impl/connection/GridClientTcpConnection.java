@@ -34,6 +34,7 @@ import io.netty.util.concurrent.ScheduledFuture;
 import org.gridgain.client.*;
 import org.gridgain.client.impl.*;
 import org.gridgain.client.marshaller.*;
+import org.gridgain.client.marshaller.protobuf.*;
 import org.gridgain.grid.kernal.processors.rest.client.message.*;
 import org.gridgain.grid.util.typedef.internal.*;
 import org.jetbrains.annotations.*;
@@ -57,6 +58,9 @@ public class GridClientTcpConnection extends GridClientConnection {
     /** Logger */
     private static final Logger log = Logger.getLogger(GridClientTcpConnection.class.getName());
 
+    /** Maximum number of requests in one batch message. */
+    private static final int MAX_BATCH_SIZE = 256;
+
     /** Ping interval. */
     private final long pingInterval;
 
@@ -99,6 +103,39 @@ public class GridClientTcpConnection extends GridClientConnection {
     /** Timer to run ping checks. */
     private ScheduledFuture<?> pingTask;
 
+    /** Write coalescing delay in microseconds, {@code 0} if coalescing is disabled. */
+    private final long coalescingDelay;
+
+    /** Whether marshaller supports batch messages. */
+    private final boolean batchSupported;
+
+    /** Near cache invalidation listener, {@code null} if connection is not subscribed to invalidations. */
+    private final GridClientCacheInvalidationListener invalidationLsnr;
+
+    /** Names of caches connection is subscribed to invalidations of. */
+    private final Collection<String> subscribedCaches;
+
+    /** Requests waiting to be written when coalescing is enabled. */
+    private final Queue<TcpClientFuture> writeQueue = new ConcurrentLinkedQueue<>();
+
+    /** Flag indicating that flush of {@link #writeQueue} is scheduled. */
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /** Task to flush {@link #writeQueue}. */
+    private final Runnable flushTask = new Runnable() {
+        @Override public void run() {
+            flushWriteQueue();
+        }
+    };
+
+    /** Closes connection if coalesced write failed. */
+    private final ChannelFutureListener writeLsnr = new ChannelFutureListener() {
+        @Override public void operationComplete(ChannelFuture chFut) throws Exception {
+            if (!chFut.isSuccess())
+                close(FAILED, false, chFut.cause());
+        }
+    };
+
     /**
      * Creates a client facade, tries to connect to remote server, in case of success starts reader thread.
      *
@@ -110,23 +147,45 @@ public class GridClientTcpConnection extends GridClientConnection {
      * @param pingInterval Ping interval.
      * @param pingTimeout Ping timeout.
      * @param tcpNoDelay TCP_NODELAY flag for outgoing socket connection.
+     * @param coalescingDelay Write coalescing delay in microseconds, {@code 0} to write every request immediately.
+     * @param batch Whether coalesced requests can be sent in batch messages. Router replies with exactly one
+     *      response for each forwarded message, so batch messages can not be sent through router.
      * @param marsh Marshaller to use in communication.
      * @param top Topology instance.
      * @param cred Client credentials.      @throws IOException If connection could not be established.
      * @param protoId Custom protocol ID, if marshaller is not defined.
+     * @param nearCaches Names of caches to subscribe to invalidations of.
+     * @param invalidationLsnr Near cache invalidation listener, {@code null} if connection should not
+     *      subscribe to invalidations. Subscription is made only if batch messages are supported, since
+     *      router does not forward messages pushed by server.
      * @throws IOException If IO error occurs.
      * @throws InterruptedException If connection was interrupted.
      * @throws GridClientException If handshake error occurs.
      */
     GridClientTcpConnection(UUID clientId, InetSocketAddress srvAddr, final SSLContext sslCtx, EventLoopGroup grp,
-        int connectTimeout, long pingInterval, long pingTimeout, boolean tcpNoDelay, final GridClientMarshaller marsh,
-        GridClientTopology top, Object cred, Byte protoId)
+        int connectTimeout, long pingInterval, long pingTimeout, boolean tcpNoDelay, long coalescingDelay,
+        boolean batch, final GridClientMarshaller marsh, GridClientTopology top, Object cred, Byte protoId,
+        Collection<String> nearCaches, @Nullable GridClientCacheInvalidationListener invalidationLsnr)
         throws IOException, InterruptedException, GridClientException {
         super(clientId, srvAddr, sslCtx, top, cred);
 
         assert marsh != null || protoId != null;
 
         this.marsh = marsh;
+        this.coalescingDelay = coalescingDelay;
+
+        batchSupported = batch && marsh != null && !(marsh instanceof GridClientProtobufMarshaller);
+
+        if (batchSupported && invalidationLsnr != null && !nearCaches.isEmpty()) {
+            this.invalidationLsnr = invalidationLsnr;
+
+            subscribedCaches = nearCaches;
+        }
+        else {
+            this.invalidationLsnr = null;
+
+            subscribedCaches = Collections.emptyList();
+        }
 
         final HandshakeHandler handshakeHnd = new HandshakeHandler(marsh != null ? marsh.getProtocolId() : protoId);
 
@@ -225,6 +284,33 @@ public class GridClientTcpConnection extends GridClientConnection {
             100, 100, TimeUnit.MILLISECONDS);
 
         createTs = System.currentTimeMillis();
+
+        subscribe(connectTimeout);
+    }
+
+    /**
+     * Subscribes connection to near cache invalidations and waits for subscriptions to become active,
+     * so that values read through this connection are invalidated when updated on server.
+     *
+     * @param timeout Timeout to wait for each subscription, {@code 0} to wait infinitely.
+     */
+    private void subscribe(long timeout) {
+        for (String cacheName : subscribedCaches) {
+            try {
+                GridClientFuture<Object> fut = makeRequest(new GridClientCacheSubscribeRequest(cacheName), null);
+
+                if (timeout > 0)
+                    fut.get(timeout, TimeUnit.MILLISECONDS);
+                else
+                    fut.get();
+            }
+            catch (GridClientException e) {
+                // Near cache entries still expire according to TTL.
+                log.warning("Failed to subscribe to near cache invalidations (updates made by others will be " +
+                    "visible after entries expire) [srvAddr=" + serverAddress() + ", cacheName=" + cacheName +
+                    ", errMsg=" + e.getMessage() + ']');
+            }
+        }
     }
 
     /** {@inheritDoc} */
@@ -273,6 +359,12 @@ public class GridClientTcpConnection extends GridClientConnection {
             it.remove();
         }
 
+        // Updates of entries read through this connection are not pushed anymore.
+        if (invalidationLsnr != null) {
+            for (String cacheName : subscribedCaches)
+                invalidationLsnr.onInvalidationsLost(cacheName);
+        }
+
         if (log.isLoggable(Level.INFO))
             log.info("Client TCP connection closed: " + serverAddress());
     }
@@ -376,7 +468,16 @@ public class GridClientTcpConnection extends GridClientConnection {
 
         assert old == null;
 
-        ChannelFuture write = ch.write(msg);
+        if (!routeMode && coalescingDelay > 0 && msg instanceof GridClientCacheRequest) {
+            writeQueue.add(fut);
+
+            if (flushScheduled.compareAndSet(false, true))
+                ch.eventLoop().schedule(flushTask, coalescingDelay, TimeUnit.MICROSECONDS);
+
+            return fut;
+        }
+
+        ChannelFuture write = ch.writeAndFlush(msg);
 
         if (routeMode) {
             write.addListener(new ChannelFutureListener() {
@@ -396,6 +497,62 @@ public class GridClientTcpConnection extends GridClientConnection {
         return fut;
     }
 
+    /**
+     * Writes all requests accumulated in {@link #writeQueue} and flushes channel once.
+     * Called from channel event loop.
+     */
+    private void flushWriteQueue() {
+        // Reset flag before polling, so that request added concurrently is either polled or schedules next flush.
+        flushScheduled.set(false);
+
+        List<TcpClientFuture> futs = new ArrayList<>();
+
+        for (TcpClientFuture fut = writeQueue.poll(); fut != null; fut = writeQueue.poll()) {
+            futs.add(fut);
+
+            if (futs.size() == MAX_BATCH_SIZE) {
+                writeBatch(futs);
+
+                futs = new ArrayList<>();
+            }
+        }
+
+        if (!futs.isEmpty())
+            writeBatch(futs);
+
+        ch.flush();
+    }
+
+    /**
+     * Writes requests to channel without flushing it. Several requests are wrapped into
+     * single batch message if marshaller supports it.
+     *
+     * @param futs Futures of requests to write.
+     */
+    @SuppressWarnings("unchecked")
+    private void writeBatch(List<TcpClientFuture> futs) {
+        if (futs.size() == 1 || !batchSupported) {
+            for (TcpClientFuture fut : futs)
+                ch.write(fut.pendingMessage()).addListener(writeLsnr);
+
+            return;
+        }
+
+        List<GridClientCacheRequest> reqs = new ArrayList<>(futs.size());
+
+        for (TcpClientFuture fut : futs)
+            reqs.add((GridClientCacheRequest)fut.pendingMessage());
+
+        // Server replies to every batched request separately, so batch message itself is not pending.
+        GridClientBatchRequest batch = new GridClientBatchRequest(reqs);
+
+        batch.requestId(reqIdCntr.getAndIncrement());
+        batch.clientId(clientId);
+        batch.sessionToken(sesTok);
+
+        ch.write(batch).addListener(writeLsnr);
+    }
+
     /**
      * Handles incoming response message. If this connection is closed this method would signal empty event
      * if there is no more pending requests.
@@ -404,6 +561,15 @@ public class GridClientTcpConnection extends GridClientConnection {
      */
     @SuppressWarnings({"unchecked", "TooBroadScope"})
     private void handleResponse(GridClientMessage msg) {
+        if (msg instanceof GridClientCacheInvalidationMessage) {
+            GridClientCacheInvalidationMessage inv = (GridClientCacheInvalidationMessage)msg;
+
+            if (invalidationLsnr != null)
+                invalidationLsnr.onInvalidate(inv.cacheName(), inv.keys());
+
+            return;
+        }
+
         TcpClientFuture fut = pendingReqs.get(msg.requestId());
 
         if (fut == null) {
@@ -465,7 +631,7 @@ public class GridClientTcpConnection extends GridClientConnection {
 
                     req.requestId(resp.requestId());
 
-                    ch.write(req);
+                    ch.writeAndFlush(req);
 
                     return;
                 }
@@ -479,7 +645,7 @@ public class GridClientTcpConnection extends GridClientConnection {
 
                     src.sessionToken(sesTok);
 
-                    ch.write(src);
+                    ch.writeAndFlush(src);
 
                     return;
                 }
@@ -1170,7 +1336,7 @@ public class GridClientTcpConnection extends GridClientConnection {
                 }
             }
             else
-                ctx.writeAndFlush(msg, promise);
+                ctx.write(msg, promise);
         }
     }
 
@@ -1192,7 +1358,8 @@ public class GridClientTcpConnection extends GridClientConnection {
             if (!(msg instanceof GridClientPingPacket))
                 lastMsgSndTime = System.currentTimeMillis();
 
-            ctx.writeAndFlush(msg, promise);
+            // Flush is issued by the writer, so that coalesced requests are flushed at once.
+            ctx.write(msg, promise);
         }
 
         /** {@inheritDoc} */
@@ -222,6 +222,9 @@ public class GridConfiguration {
     /** Default value for cache sanity check enabled flag. */
     public static final boolean DFLT_CACHE_SANITY_CHECK_ENABLED = true;
 
+    /** Default size of cache striped pool (striped processing of cache messages is disabled). */
+    public static final int DFLT_CACHE_STRIPED_POOL_SIZE = 0;
+
     /** Optional grid name. */
     private String gridName;
 
@@ -384,6 +387,9 @@ public class GridConfiguration {
     /** Flag indicating whether cache sanity check is enabled. */
     private boolean cacheSanityCheckEnabled = DFLT_CACHE_SANITY_CHECK_ENABLED;
 
+    /** Size of cache striped pool. */
+    private int cacheStripedPoolSize = DFLT_CACHE_STRIPED_POOL_SIZE;
+
     /** Discovery startup delay. */
     private long discoStartupDelay = DFLT_DISCOVERY_STARTUP_DELAY;
 
@@ -537,6 +543,7 @@ public class GridConfiguration {
         daemon = cfg.isDaemon();
         cacheCfg = cfg.getCacheConfiguration();
         cacheSanityCheckEnabled = cfg.isCacheSanityCheckEnabled();
+        cacheStripedPoolSize = cfg.getCacheStripedPoolSize();
         clockSyncFreq = cfg.getClockSyncFrequency();
         clockSyncSamples = cfg.getClockSyncSamples();
         dataCenterId = cfg.getDataCenterId();
@@ -2208,6 +2215,32 @@ public class GridConfiguration {
         this.cacheSanityCheckEnabled = cacheSanityCheckEnabled;
     }
 
+    /**
+     * Gets amount of threads in cache striped pool. If greater than {@code 0}, then atomic update,
+     * lock and transaction prepare requests which keys belong to a single partition are processed by
+     * the stripe thread this partition is pinned to, instead of system pool. This way updates of
+     * the same partition do not contend with each other, while updates of unrelated partitions
+     * do not wait for each other. Other cache messages are still processed in system pool.
+     * <p>
+     * If not provided, default value is {@link #DFLT_CACHE_STRIPED_POOL_SIZE}.
+     *
+     * @return Amount of threads in cache striped pool, {@code 0} if striped processing is disabled.
+     */
+    public int getCacheStripedPoolSize() {
+        return cacheStripedPoolSize;
+    }
+
+    /**
+     * Sets amount of threads in cache striped pool.
+     *
+     * @param cacheStripedPoolSize Amount of threads in cache striped pool, {@code 0} to disable
+     *      striped processing of cache messages.
+     * @see #getCacheStripedPoolSize()
+     */
+    public void setCacheStripedPoolSize(int cacheStripedPoolSize) {
+        this.cacheStripedPoolSize = cacheStripedPoolSize;
+    }
+
     /**
      * Gets array of event types, which will be recorded.
      * <p>
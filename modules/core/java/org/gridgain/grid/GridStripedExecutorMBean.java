@@ -0,0 +1,81 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid;
+
+import org.gridgain.grid.util.mbean.*;
+
+/**
+ * MBean that provides access to information about cache striped executor which processes
+ * partition update messages in stripe threads (see {@link GridConfiguration#getCacheStripedPoolSize()}).
+ */
+@GridMBeanDescription("MBean that provides access to information about cache striped executor.")
+public interface GridStripedExecutorMBean {
+    /**
+     * Gets amount of stripes, each stripe is served by a single thread.
+     *
+     * @return Amount of stripes.
+     */
+    @GridMBeanDescription("Amount of stripes.")
+    public int getStripesCount();
+
+    /**
+     * Gets current amount of tasks waiting for execution in all stripes.
+     *
+     * @return Total queue size.
+     */
+    @GridMBeanDescription("Current amount of tasks waiting for execution in all stripes.")
+    public int getTotalQueueSize();
+
+    /**
+     * Gets current amount of tasks waiting for execution in each stripe.
+     *
+     * @return Queue sizes indexed by stripe.
+     */
+    @GridMBeanDescription("Current amount of tasks waiting for execution in each stripe.")
+    public int[] getStripesQueueSizes();
+
+    /**
+     * Gets maximum amount of tasks waiting for execution in each stripe observed since start.
+     *
+     * @return Maximum queue sizes indexed by stripe.
+     */
+    @GridMBeanDescription("Maximum amount of tasks waiting for execution in each stripe observed since start.")
+    public int[] getStripesMaximumQueueSizes();
+
+    /**
+     * Gets amount of tasks completed by all stripes.
+     *
+     * @return Total completed tasks count.
+     */
+    @GridMBeanDescription("Amount of tasks completed by all stripes.")
+    public long getTotalCompletedTasksCount();
+
+    /**
+     * Gets amount of tasks completed by each stripe.
+     *
+     * @return Completed tasks counts indexed by stripe.
+     */
+    @GridMBeanDescription("Amount of tasks completed by each stripe.")
+    public long[] getStripesCompletedTasksCounts();
+}
@@ -404,6 +404,14 @@ public final class GridSystemProperties {
      */
     public static final String GG_OFFHEAP_SAFE_RELEASE = "GRIDGAIN_OFFHEAP_SAFE_RELEASE";
 
+    /**
+     * Flag that enables slab allocator for small off-heap blocks. When enabled, off-heap memory is reserved
+     * from system in large chunks and split into size classes, which avoids fragmentation and contention
+     * of system allocator at a cost of never returning memory to system until off-heap map is destroyed.
+     * Reserved chunks are charged against off-heap memory limit as a whole.
+     */
+    public static final String GG_OFFHEAP_SLAB_ALLOCATOR = "GRIDGAIN_OFFHEAP_SLAB_ALLOCATOR";
+
     /**
      * Maximum buffer size for continuous queries.
      */
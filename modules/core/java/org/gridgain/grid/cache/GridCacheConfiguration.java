@@ -71,6 +71,12 @@ public class GridCacheConfiguration {
     /** Time in milliseconds to wait between preload messages to avoid overloading CPU. */
     public static final long DFLT_PRELOAD_THROTTLE = 0;
 
+    /** Default size of per-partition update history used for delta preloading (history is disabled). */
+    public static final int DFLT_PRELOAD_HISTORY_SIZE = 0;
+
+    /** Default time in milliseconds preceding node departure which is resent on delta preloading. */
+    public static final long DFLT_PRELOAD_HISTORY_MARGIN = 30 * 1000;
+
     /**
      * Default time to live. The value is <tt>0</tt> which means that
      * cached objects never expire based on time.
@@ -395,6 +401,12 @@ public class GridCacheConfiguration {
     /** */
     private long preloadThrottle = DFLT_PRELOAD_THROTTLE;
 
+    /** */
+    private int preloadHistSize = DFLT_PRELOAD_HISTORY_SIZE;
+
+    /** */
+    private long preloadHistMargin = DFLT_PRELOAD_HISTORY_MARGIN;
+
     /** */
     private GridDrReceiverCacheConfiguration drRcvCacheCfg;
 
@@ -466,6 +478,8 @@ public class GridCacheConfiguration {
         preloadPoolSize = cc.getPreloadThreadPoolSize();
         preloadTimeout = cc.getPreloadTimeout();
         preloadThrottle = cc.getPreloadThrottle();
+        preloadHistSize = cc.getPreloadHistorySize();
+        preloadHistMargin = cc.getPreloadHistoryMargin();
         qryIdxEnabled = cc.isQueryIndexEnabled();
         refreshAheadRatio = cc.getRefreshAheadRatio();
         seqReserveSize = cc.getAtomicSequenceReserveSize();
@@ -1750,6 +1764,73 @@ public class GridCacheConfiguration {
         this.preloadThrottle = preloadThrottle;
     }
 
+    /**
+     * Gets maximum number of updates kept in history for every partition owned by this node.
+     * Update history allows delta preloading: when a node that has persisted swap data rejoins
+     * the grid, owners of its partitions send only entries updated since the node left instead of
+     * full partitions. If the history does not cover the whole time the node was absent, full
+     * partition is supplied as usual.
+     * <p>
+     * Delta preloading is used only if the rejoining node has persistent swap space
+     * (see {@link org.gridgain.grid.spi.swapspace.file.GridFileSwapSpaceSpi#setPersistent(boolean)})
+     * and off-heap storage is disabled. On stop, node writes entries of owned partitions to swap
+     * and marks partitions written completely. Only such partitions are supplied from history on
+     * restart, entries restored for other partitions are dropped before full partition is preloaded.
+     * Without history all restored entries are dropped the same way, as well as entries restored for
+     * partitions no longer assigned to the node, unless the node is the only owner of partition.
+     * <p>
+     * Value of {@code 0} means that history is disabled. By default history is disabled -
+     * the default is defined by {@link #DFLT_PRELOAD_HISTORY_SIZE} constant.
+     * <p>
+     * Rejoining node is recognized by persistent ID kept in its swap directory
+     * (see {@link org.gridgain.grid.spi.swapspace.file.GridFileSwapSpaceSpi#persistentId(Map)}),
+     * and updates are resent starting from {@link #getPreloadHistoryMargin()} before its departure.
+     *
+     * @return Maximum number of updates kept in history per partition, {@code 0} if history is disabled.
+     */
+    public int getPreloadHistorySize() {
+        return preloadHistSize;
+    }
+
+    /**
+     * Sets maximum number of updates kept in history for every partition owned by this node.
+     * See {@link #getPreloadHistorySize()} for more information.
+     *
+     * @param preloadHistSize Maximum number of updates kept in history per partition,
+     *      {@code 0} to disable history.
+     */
+    public void setPreloadHistorySize(int preloadHistSize) {
+        this.preloadHistSize = preloadHistSize;
+    }
+
+    /**
+     * Gets time in milliseconds preceding node departure, updates made within which are resent to the node
+     * when it rejoins grid and its partitions are supplied from update history
+     * (see {@link #getPreloadHistorySize()}). Node departure time is the time when other nodes notice that
+     * node has left, so updates made while the node was stopping or before its failure was detected may
+     * be missing in its persisted data. The margin should therefore be no less than failure detection time
+     * of discovery SPI plus time node takes to stop. Larger margin resends more entries, but is safe as long
+     * as update history covers it, otherwise full partition is supplied.
+     * <p>
+     * If not provided, the default is defined by {@link #DFLT_PRELOAD_HISTORY_MARGIN} constant.
+     *
+     * @return Time in milliseconds preceding node departure which is resent on delta preloading.
+     */
+    public long getPreloadHistoryMargin() {
+        return preloadHistMargin;
+    }
+
+    /**
+     * Sets time in milliseconds preceding node departure which is resent on delta preloading.
+     * See {@link #getPreloadHistoryMargin()} for more information.
+     *
+     * @param preloadHistMargin Time in milliseconds preceding node departure which is resent
+     *      on delta preloading.
+     */
+    public void setPreloadHistoryMargin(long preloadHistMargin) {
+        this.preloadHistMargin = preloadHistMargin;
+    }
+
     /**
      * Affinity key mapper used to provide custom affinity key for any given key.
      * Affinity mapper is particularly useful when several objects need to be collocated
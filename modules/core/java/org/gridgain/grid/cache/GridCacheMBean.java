@@ -283,6 +283,32 @@ public interface GridCacheMBean {
     @GridMBeanDescription("Count of cache entries that are waiting to be flushed.")
     public int getWriteBehindBufferSize();
 
+    /**
+     * Gets count of entries in the most loaded stripe of write-behind buffer. Write-behind
+     * buffer is split into stripes by key, one stripe per flush thread.
+     *
+     * @return Maximum count of entries in a single stripe of write-behind buffer.
+     */
+    @GridMBeanDescription("Maximum count of cache entries waiting to be flushed in a single stripe.")
+    public int getWriteBehindMaxStripeBufferSize();
+
+    /**
+     * Gets ratio of cache updates that were coalesced with a pending update of the same key
+     * in write-behind buffer and therefore did not cause separate store update.
+     *
+     * @return Coalesce ratio from {@code 0} to {@code 1}.
+     */
+    @GridMBeanDescription("Ratio of cache updates coalesced in write-behind buffer.")
+    public float getWriteBehindCoalesceRatio();
+
+    /**
+     * Gets average time of a single batch update of the underlying store performed by write-behind store.
+     *
+     * @return Average flush time in milliseconds.
+     */
+    @GridMBeanDescription("Average time of a single batch update of the underlying store in milliseconds.")
+    public float getWriteBehindAverageFlushTime();
+
     /**
      * Gets current size of continuous query queue.
      *
@@ -291,6 +317,31 @@ public interface GridCacheMBean {
     @GridMBeanDescription("Current size of continuous query queue.")
     public int getContinuousQueryQueueSize();
 
+    /**
+     * Gets number of updates offered to conflating continuous queries on this node.
+     *
+     * @return Number of updates offered to conflating continuous queries.
+     */
+    @GridMBeanDescription("Number of updates offered to conflating continuous queries.")
+    public long getContinuousQueryConflationUpdates();
+
+    /**
+     * Gets number of updates dropped by conflating continuous queries on this node
+     * because they were replaced by later updates for the same key.
+     *
+     * @return Number of conflated updates.
+     */
+    @GridMBeanDescription("Number of updates replaced by later updates in conflating continuous queries.")
+    public long getContinuousQueryConflatedUpdates();
+
+    /**
+     * Gets ratio of conflated updates to all updates offered to conflating continuous queries.
+     *
+     * @return Continuous query conflation ratio.
+     */
+    @GridMBeanDescription("Ratio of conflated updates to all updates in conflating continuous queries.")
+    public double getContinuousQueryConflationRatio();
+
     /**
      * Gets count of keys enqueued for data center replication.
      *
@@ -0,0 +1,178 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+package org.gridgain.grid.cache.eviction.lru;
+
+import org.gridgain.grid.cache.*;
+import org.gridgain.grid.cache.eviction.*;
+import org.gridgain.grid.kernal.processors.cache.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import org.jetbrains.annotations.*;
+
+/**
+ * Eviction policy based on approximate {@code Least Recently Used (LRU)} algorithm.
+ * Unlike {@link GridCacheLruEvictionPolicy}, this policy does not maintain any
+ * ordering structure. Instead, last access time is kept in cache entry extras and,
+ * once cache size exceeds {@link #getMaxSize()}, the least recently accessed entry out
+ * of {@link #getSampleSize()} randomly sampled entries is evicted.
+ * <p>
+ * Accuracy of the policy grows with sample size, while cost of eviction grows
+ * linearly with it. Default sample size of {@code 5} gives eviction order very
+ * close to exact {@code LRU} for most access patterns.
+ */
+public class GridCacheSampledLruEvictionPolicy<K, V> implements GridCacheEvictionPolicy<K, V>,
+    GridCacheSampledLruEvictionPolicyMBean {
+    /** Default sample size. */
+    public static final int DFLT_SAMPLE_SIZE = 5;
+
+    /** Maximum size. */
+    private volatile int max = GridCacheConfiguration.DFLT_CACHE_SIZE;
+
+    /** Sample size. */
+    private volatile int sampleSize = DFLT_SAMPLE_SIZE;
+
+    /**
+     * Constructs sampled LRU eviction policy with all defaults.
+     */
+    public GridCacheSampledLruEvictionPolicy() {
+        // No-op.
+    }
+
+    /**
+     * Constructs sampled LRU eviction policy with maximum size.
+     *
+     * @param max Maximum allowed size of cache before entry will start getting evicted.
+     */
+    public GridCacheSampledLruEvictionPolicy(int max) {
+        A.ensure(max > 0, "max > 0");
+
+        this.max = max;
+    }
+
+    /**
+     * Constructs sampled LRU eviction policy with maximum size and sample size.
+     *
+     * @param max Maximum allowed size of cache before entry will start getting evicted.
+     * @param sampleSize Number of entries sampled to select one entry for eviction.
+     */
+    public GridCacheSampledLruEvictionPolicy(int max, int sampleSize) {
+        A.ensure(max > 0, "max > 0");
+        A.ensure(sampleSize > 0, "sampleSize > 0");
+
+        this.max = max;
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * Gets maximum allowed size of cache before entry will start getting evicted.
+     *
+     * @return Maximum allowed size of cache before entry will start getting evicted.
+     */
+    @Override public int getMaxSize() {
+        return max;
+    }
+
+    /**
+     * Sets maximum allowed size of cache before entry will start getting evicted.
+     *
+     * @param max Maximum allowed size of cache before entry will start getting evicted.
+     */
+    @Override public void setMaxSize(int max) {
+        A.ensure(max > 0, "max > 0");
+
+        this.max = max;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getSampleSize() {
+        return sampleSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void setSampleSize(int sampleSize) {
+        A.ensure(sampleSize > 0, "sampleSize > 0");
+
+        this.sampleSize = sampleSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onEntryAccessed(boolean rmv, GridCacheEntry<K, V> entry) {
+        if (!(entry instanceof GridCacheEvictionEntry))
+            return;
+
+        GridCacheEntryEx<K, V> e = ((GridCacheEvictionEntry<K, V>)entry).unwrap();
+
+        if (rmv) {
+            e.accessTime(0);
+
+            return;
+        }
+
+        if (!entry.isCached())
+            return;
+
+        e.accessTime(U.currentTimeMillis());
+
+        GridCacheConcurrentMap<K, V> map = e.context().cache().map();
+
+        int max = this.max;
+
+        for (int i = map.publicSize(); i > max; i--) {
+            GridCacheMapEntry<K, V> victim = sample(map);
+
+            if (victim == null)
+                break;
+
+            victim.evictWrap().evict();
+        }
+    }
+
+    /**
+     * Samples entries and selects one with the oldest access time.
+     *
+     * @param map Cache map.
+     * @return Least recently accessed entry out of sampled ones or {@code null} if map is empty.
+     */
+    @Nullable private GridCacheMapEntry<K, V> sample(GridCacheConcurrentMap<K, V> map) {
+        GridCacheMapEntry<K, V> res = null;
+        long resTime = 0;
+
+        for (GridCacheMapEntry<K, V> e : map.randomEntries(sampleSize)) {
+            if (e.obsoleteOrDeleted())
+                continue;
+
+            long time = e.accessTime();
+
+            if (res == null || time < resTime) {
+                res = e;
+                resTime = time;
+            }
+        }
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridCacheSampledLruEvictionPolicy.class, this);
+    }
+}
@@ -0,0 +1,63 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+package org.gridgain.grid.cache.eviction.lru;
+
+import org.gridgain.grid.util.mbean.*;
+
+/**
+ * MBean for sampled {@code LRU} eviction policy.
+ */
+@GridMBeanDescription("MBean for sampled LRU cache eviction policy.")
+public interface GridCacheSampledLruEvictionPolicyMBean {
+    /**
+     * Gets maximum allowed cache size.
+     *
+     * @return Maximum allowed cache size.
+     */
+    @GridMBeanDescription("Maximum allowed cache size.")
+    public int getMaxSize();
+
+    /**
+     * Sets maximum allowed cache size.
+     *
+     * @param max Maximum allowed cache size.
+     */
+    @GridMBeanDescription("Sets maximum allowed cache size.")
+    public void setMaxSize(int max);
+
+    /**
+     * Gets number of entries sampled to select one entry for eviction.
+     *
+     * @return Number of sampled entries.
+     */
+    @GridMBeanDescription("Number of entries sampled to select one entry for eviction.")
+    public int getSampleSize();
+
+    /**
+     * Sets number of entries sampled to select one entry for eviction.
+     *
+     * @param sampleSize Number of sampled entries.
+     */
+    @GridMBeanDescription("Sets number of entries sampled to select one entry for eviction.")
+    public void setSampleSize(int sampleSize);
+}
@@ -131,6 +131,9 @@ public interface GridCacheContinuousQuery<K, V> extends AutoCloseable {
      */
     public static final boolean DFLT_AUTO_UNSUBSCRIBE = true;
 
+    /** Default value for conflation flag. Conflation is disabled by default. */
+    public static final boolean DFLT_CONFLATE = false;
+
     /**
      * Sets mandatory local callback. This callback is called only
      * in local node when new updates are received.
@@ -235,6 +238,33 @@ public interface GridCacheContinuousQuery<K, V> extends AutoCloseable {
      */
     public boolean isAutoUnsubscribe();
 
+    /**
+     * Sets conflation flag.
+     * <p>
+     * If this flag is {@code true}, updates buffered on remote nodes are coalesced
+     * per key: if a key is updated several times before the buffer is flushed,
+     * only the latest update is sent to the master node. Entries in the buffer
+     * keep the order in which their keys were first updated.
+     * <p>
+     * Note that buffer size provided via {@link #bufferSize(int)} method is counted
+     * in distinct keys when conflation is enabled, so conflation only takes effect
+     * if buffering is enabled, i.e. buffer size is greater than {@code 1}.
+     * Usually conflation is used together with {@link #timeInterval(long)} to receive
+     * the latest value for each updated key every given number of milliseconds.
+     * <p>
+     * Default value for this flag is {@code false}.
+     *
+     * @param conflate Conflation flag.
+     */
+    public void conflate(boolean conflate);
+
+    /**
+     * Gets conflation flag. See {@link #conflate(boolean)} for more information.
+     *
+     * @return Conflation flag.
+     */
+    public boolean isConflate();
+
     /**
      * Starts continuous query execution on the whole grid.
      * <p>
@@ -34,6 +34,9 @@ import java.util.*;
  * full text search, or filter-based full scan (see {@link GridCacheQuery} for more information).
  */
 public interface GridCacheQueries<K, V> {
+    /** Name of the table reduce query of two-phase fields query selects map results from. */
+    public static final String MAP_RESULT_TABLE = "MAP_RESULT";
+
     /**
      * Creates user's SQL query, queried class, and query clause which is generally
      * a where clause. For more information refer to {@link GridCacheQuery} documentation.
@@ -53,6 +56,50 @@ public interface GridCacheQueries<K, V> {
      */
     public GridCacheQuery<List<?>> createSqlFieldsQuery(String qry);
 
+    /**
+     * Creates two-phase SQL fields query. Map query is executed on every node of the query
+     * projection against local data, then all map results are collected on the originating
+     * node and reduce query is executed over them, so only partial aggregates are sent over
+     * the network instead of raw rows.
+     * <p>
+     * Reduce query must select from {@link #MAP_RESULT_TABLE} table which has one column per
+     * map query field named after its label (use aliases for aggregate expressions), duplicate
+     * labels get {@code _<n>} suffix (e.g. second {@code ID} column becomes {@code ID_1}), e.g.
+     * <pre name="code" class="java">
+     * GridCacheQuery&lt;List&lt;?&gt;&gt; qry = cache.queries().createSqlFieldsQuery(
+     *     "select deptId, sum(salary) s, count(*) c from Person group by deptId",
+     *     "select deptId, sum(s) / sum(c) from MAP_RESULT group by deptId");
+     * </pre>
+     * Query arguments are bound to map query only. Metadata is always included.
+     *
+     * @param mapQry Map query.
+     * @param rdcQry Reduce query.
+     * @return Created query.
+     */
+    public GridCacheQuery<List<?>> createSqlFieldsQuery(String mapQry, String rdcQry);
+
+    /**
+     * Creates two-phase SQL fields query which is automatically split into map and reduce
+     * queries by indexing SPI (see {@link #createSqlFieldsQuery(String, String)}). Query is split
+     * on execution, e.g.
+     * <pre name="code" class="java">
+     * select deptId, avg(salary), count(*) from Person where age &gt; ? group by deptId order by 2 desc
+     * </pre>
+     * is executed as map query selecting {@code deptId, sum(salary), count(salary), count(*)} grouped
+     * by {@code deptId} on every node and reduce query combining partial aggregates on local node.
+     * <p>
+     * Only single {@code SELECT} (joins are allowed) can be split. Select expressions must be either
+     * {@code GROUP BY} expressions, constants or top level {@code COUNT}, {@code SUM}, {@code MIN},
+     * {@code MAX} or {@code AVG} aggregates without {@code DISTINCT}. {@code ORDER BY} is supported,
+     * {@code LIMIT} and {@code OFFSET} must be constants. {@code HAVING}, {@code DISTINCT} and
+     * {@code UNION} are not supported. Query arguments are bound to map query only. Metadata is
+     * always included.
+     *
+     * @param qry Query.
+     * @return Created query.
+     */
+    public GridCacheQuery<List<?>> createTwoPhaseSqlFieldsQuery(String qry);
+
     /**
      * Creates user's full text query, queried class, and query clause.
      * For more information refer to {@link GridCacheQuery} documentation.
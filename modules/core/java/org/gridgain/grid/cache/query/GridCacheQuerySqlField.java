@@ -59,6 +59,17 @@ public @interface GridCacheQuerySqlField {
      */
     boolean descending() default false;
 
+    /**
+     * Specifies whether hash index should be created for this field instead of sorted one.
+     * Hash index makes equality lookups (e.g. {@code where customerId = ?}) and cache updates
+     * cheaper, but can not be used for range conditions and sorting. Hash index is created
+     * only for on-heap indexes, off-heap indexing falls back to sorted index. This property
+     * only makes sense if {@link #index()} property is set to {@code true}.
+     *
+     * @return {@code True} if hash index should be created for this field.
+     */
+    boolean hash() default false;
+
     /**
      * Array of index groups this field belongs to. Groups are used for compound indexes,
      * whenever index should be created on more than one field. All fields within the same
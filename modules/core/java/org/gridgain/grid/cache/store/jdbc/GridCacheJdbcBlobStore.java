@@ -26,6 +26,7 @@ package org.gridgain.grid.cache.store.jdbc;
 import org.gridgain.grid.*;
 import org.gridgain.grid.cache.*;
 import org.gridgain.grid.cache.store.*;
+import org.gridgain.grid.lang.*;
 import org.gridgain.grid.logger.*;
 import org.gridgain.grid.marshaller.*;
 import org.gridgain.grid.resources.*;
@@ -37,6 +38,7 @@ import org.jetbrains.annotations.*;
 
 import javax.sql.*;
 import java.sql.*;
+import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.*;
 
@@ -66,7 +68,16 @@ import java.util.concurrent.atomic.*;
  *     <li>Update entry query (see {@link #setUpdateQuery(String)})</li>
  *     <li>Insert entry query (see {@link #setInsertQuery(String)})</li>
  *     <li>Delete entry query (see {@link #setDeleteQuery(String)})</li>
+ *     <li>Load entries query (see {@link #setLoadAllQuery(String)})</li>
+ *     <li>Upsert entry query (see {@link #setUpsertQuery(String)})</li>
+ *     <li>Upsert mode (see {@link #setUpsertMode(boolean)})</li>
+ *     <li>Batch size (see {@link #setBatchSize(int)})</li>
  * </ul>
+ * <p>
+ * Bulk operations {@link #loadAll(GridCacheTx, Collection, GridBiInClosure)},
+ * {@link #putAll(GridCacheTx, Map)} and {@link #removeAll(GridCacheTx, Collection)}
+ * use JDBC batching and multi-key {@code IN} queries, so a batch of entries
+ * costs one database round trip instead of one round trip per key.
  * <h2 class="header">Java Example</h2>
  * <pre name="code" class="java">
  *     ...
@@ -112,6 +123,18 @@ public class GridCacheJdbcBlobStore<K, V> extends GridCacheStoreAdapter<K, V> {
     /** Default delete entry query (value is <tt>delete from ENTRIES where key=?</tt>). */
     public static final String DFLT_DEL_QRY = "delete from ENTRIES where key=?";
 
+    /** Default load entries query (value is <tt>select * from ENTRIES where key in</tt>). */
+    public static final String DFLT_LOAD_ALL_QRY = "select * from ENTRIES where key in";
+
+    /**
+     * Default upsert entry query
+     * (value is <tt>merge into ENTRIES (key, val) key (key) values (?, ?)</tt>).
+     */
+    public static final String DFLT_UPSERT_QRY = "merge into ENTRIES (key, val) key (key) values (?, ?)";
+
+    /** Default maximum number of entries in one batch or {@code IN} clause (value is <tt>512</tt>). */
+    public static final int DFLT_BATCH_SIZE = 512;
+
     /** Connection attribute name. */
     private static final String ATTR_CONN = "JDBC_STORE_CONNECTION";
 
@@ -133,6 +156,18 @@ public class GridCacheJdbcBlobStore<K, V> extends GridCacheStoreAdapter<K, V> {
     /** Query to delete entries. */
     private String delQry = DFLT_DEL_QRY;
 
+    /** Query to load entries. */
+    private String loadAllQry = DFLT_LOAD_ALL_QRY;
+
+    /** Query to insert or update entries. */
+    private String upsertQry = DFLT_UPSERT_QRY;
+
+    /** Upsert mode flag. */
+    private boolean upsertMode;
+
+    /** Maximum number of entries in one batch. */
+    private int batchSize = DFLT_BATCH_SIZE;
+
     /** User name for database access. */
     private String user;
 
@@ -247,6 +282,17 @@ public class GridCacheJdbcBlobStore<K, V> extends GridCacheStoreAdapter<K, V> {
         try {
             conn = connection(tx);
 
+            if (upsertMode) {
+                stmt = conn.prepareStatement(upsertQry);
+
+                stmt.setObject(1, toBytes(key));
+                stmt.setObject(2, toBytes(val));
+
+                stmt.executeUpdate();
+
+                return;
+            }
+
             stmt = conn.prepareStatement(updateQry);
 
             stmt.setObject(1, toBytes(val));
@@ -299,6 +345,248 @@ public class GridCacheJdbcBlobStore<K, V> extends GridCacheStoreAdapter<K, V> {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public void loadAll(@Nullable GridCacheTx tx, Collection<? extends K> keys,
+        GridBiInClosure<K, V> c) throws GridException {
+        assert keys != null;
+
+        init();
+
+        if (log.isDebugEnabled())
+            log.debug("Store loadAll [keys=" + keys + ", tx=" + tx + ']');
+
+        if (keys.isEmpty())
+            return;
+
+        Connection conn = null;
+
+        PreparedStatement stmt = null;
+
+        try {
+            conn = connection(tx);
+
+            Iterator<? extends K> it = keys.iterator();
+
+            // Number of parameters of currently prepared statement.
+            int stmtParams = 0;
+
+            while (it.hasNext()) {
+                Collection<byte[]> batch = new ArrayList<>(Math.min(batchSize, keys.size()));
+
+                while (it.hasNext() && batch.size() < batchSize)
+                    batch.add(toBytes(it.next()));
+
+                // Only last batch can have different size, so statement is prepared at most twice.
+                if (stmtParams != batch.size()) {
+                    U.closeQuiet(stmt);
+
+                    stmt = conn.prepareStatement(loadAllQuery(batch.size()));
+
+                    stmtParams = batch.size();
+                }
+
+                int idx = 1;
+
+                for (byte[] key : batch)
+                    stmt.setObject(idx++, key);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next())
+                        c.apply(this.<K>fromBytes(rs.getBytes(1)), this.<V>fromBytes(rs.getBytes(2)));
+                }
+            }
+        }
+        catch (SQLException e) {
+            throw new GridException("Failed to load objects: " + keys, e);
+        }
+        finally {
+            end(tx, conn, stmt);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void putAll(@Nullable GridCacheTx tx, Map<? extends K, ? extends V> map) throws GridException {
+        assert map != null;
+
+        init();
+
+        if (log.isDebugEnabled())
+            log.debug("Store putAll [map=" + map + ", tx=" + tx + ']');
+
+        if (map.isEmpty())
+            return;
+
+        Connection conn = null;
+
+        PreparedStatement stmt = null;
+
+        try {
+            conn = connection(tx);
+
+            if (upsertMode) {
+                stmt = conn.prepareStatement(upsertQry);
+
+                int cnt = 0;
+
+                for (Map.Entry<? extends K, ? extends V> e : map.entrySet()) {
+                    stmt.setObject(1, toBytes(e.getKey()));
+                    stmt.setObject(2, toBytes(e.getValue()));
+
+                    stmt.addBatch();
+
+                    if (++cnt % batchSize == 0)
+                        stmt.executeBatch();
+                }
+
+                if (cnt % batchSize != 0)
+                    stmt.executeBatch();
+            }
+            else {
+                List<T2<byte[], byte[]>> entries = new ArrayList<>(map.size());
+
+                for (Map.Entry<? extends K, ? extends V> e : map.entrySet())
+                    entries.add(new T2<>(toBytes(e.getKey()), toBytes(e.getValue())));
+
+                stmt = conn.prepareStatement(updateQry);
+
+                // Entries which did not exist in database and have to be inserted.
+                Collection<T2<byte[], byte[]>> missing = new ArrayList<>();
+
+                // Entries for which driver did not report update count.
+                Collection<T2<byte[], byte[]>> unknown = null;
+
+                for (int from = 0; from < entries.size(); from += batchSize) {
+                    List<T2<byte[], byte[]>> batch = entries.subList(from, Math.min(from + batchSize, entries.size()));
+
+                    for (T2<byte[], byte[]> e : batch) {
+                        stmt.setObject(1, e.get2());
+                        stmt.setObject(2, e.get1());
+
+                        stmt.addBatch();
+                    }
+
+                    int[] res = stmt.executeBatch();
+
+                    for (int i = 0; i < res.length; i++) {
+                        if (res[i] == 0)
+                            missing.add(batch.get(i));
+                        else if (res[i] == Statement.SUCCESS_NO_INFO) {
+                            if (unknown == null)
+                                unknown = new ArrayList<>();
+
+                            unknown.add(batch.get(i));
+                        }
+                    }
+                }
+
+                if (unknown != null) {
+                    // Update is idempotent, so repeat it one by one to find out missing entries.
+                    for (T2<byte[], byte[]> e : unknown) {
+                        stmt.setObject(1, e.get2());
+                        stmt.setObject(2, e.get1());
+
+                        if (stmt.executeUpdate() == 0)
+                            missing.add(e);
+                    }
+                }
+
+                if (!missing.isEmpty()) {
+                    stmt.close();
+
+                    stmt = conn.prepareStatement(insertQry);
+
+                    int cnt = 0;
+
+                    for (T2<byte[], byte[]> e : missing) {
+                        stmt.setObject(1, e.get1());
+                        stmt.setObject(2, e.get2());
+
+                        stmt.addBatch();
+
+                        if (++cnt % batchSize == 0)
+                            stmt.executeBatch();
+                    }
+
+                    if (cnt % batchSize != 0)
+                        stmt.executeBatch();
+                }
+            }
+        }
+        catch (SQLException e) {
+            throw new GridException("Failed to put objects: " + map, e);
+        }
+        finally {
+            end(tx, conn, stmt);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void removeAll(@Nullable GridCacheTx tx, Collection<? extends K> keys) throws GridException {
+        assert keys != null;
+
+        init();
+
+        if (log.isDebugEnabled())
+            log.debug("Store removeAll [keys=" + keys + ", tx=" + tx + ']');
+
+        if (keys.isEmpty())
+            return;
+
+        Connection conn = null;
+
+        PreparedStatement stmt = null;
+
+        try {
+            conn = connection(tx);
+
+            stmt = conn.prepareStatement(delQry);
+
+            int cnt = 0;
+
+            for (K key : keys) {
+                stmt.setObject(1, toBytes(key));
+
+                stmt.addBatch();
+
+                if (++cnt % batchSize == 0)
+                    stmt.executeBatch();
+            }
+
+            if (cnt % batchSize != 0)
+                stmt.executeBatch();
+        }
+        catch (SQLException e) {
+            throw new GridException("Failed to remove objects: " + keys, e);
+        }
+        finally {
+            end(tx, conn, stmt);
+        }
+    }
+
+    /**
+     * Builds load entries query for given number of keys by appending
+     * {@code IN} clause parameters to {@link #setLoadAllQuery(String) load all query}.
+     *
+     * @param keysCnt Number of keys.
+     * @return Query.
+     */
+    private String loadAllQuery(int keysCnt) {
+        assert keysCnt > 0;
+
+        SB sb = new SB(loadAllQry);
+
+        sb.a(" (");
+
+        for (int i = 0; i < keysCnt; i++) {
+            if (i > 0)
+                sb.a(", ");
+
+            sb.a('?');
+        }
+
+        return sb.a(')').toString();
+    }
+
     /**
      * @param tx Cache transaction.
      * @return Connection.
@@ -472,6 +760,62 @@ public class GridCacheJdbcBlobStore<K, V> extends GridCacheStoreAdapter<K, V> {
         this.delQry = delQry;
     }
 
+    /**
+     * Sets load entries query. Query must select key and value columns (in that order)
+     * and end with {@code IN} keyword, e.g. {@code select * from ENTRIES where key in}:
+     * parameters list for a batch of keys is appended to it.
+     * <p>
+     * If not provided, {@link #DFLT_LOAD_ALL_QRY} is used.
+     *
+     * @param loadAllQry Load entries query.
+     */
+    public void setLoadAllQuery(String loadAllQry) {
+        this.loadAllQry = loadAllQry;
+    }
+
+    /**
+     * Sets upsert entry query which inserts entry or updates existing one in one
+     * statement. Query takes key and value parameters in the same order as
+     * {@link #setInsertQuery(String) insert query}. Used only in
+     * {@link #setUpsertMode(boolean) upsert mode}.
+     * <p>
+     * If not provided, {@link #DFLT_UPSERT_QRY} is used.
+     *
+     * @param upsertQry Upsert entry query.
+     */
+    public void setUpsertQuery(String upsertQry) {
+        this.upsertQry = upsertQry;
+    }
+
+    /**
+     * Sets upsert mode flag. In upsert mode {@link #put(GridCacheTx, Object, Object)} writes
+     * entry with single {@link #setUpsertQuery(String) upsert query} instead of update followed
+     * by insert if entry is missing, and {@link #putAll(GridCacheTx, Map)} writes all entries
+     * with single batch of upsert queries instead of batch of updates followed by batch of inserts.
+     * Enable it only if database supports upsert statement (e.g. {@code MERGE}).
+     * <p>
+     * If not provided, default value is {@code false}.
+     *
+     * @param upsertMode Upsert mode flag.
+     */
+    public void setUpsertMode(boolean upsertMode) {
+        this.upsertMode = upsertMode;
+    }
+
+    /**
+     * Sets maximum number of entries sent to database in one batch or
+     * in one {@code IN} clause of load entries query.
+     * <p>
+     * If not provided, {@link #DFLT_BATCH_SIZE} is used.
+     *
+     * @param batchSize Batch size.
+     */
+    public void setBatchSize(int batchSize) {
+        A.ensure(batchSize > 0, "batchSize > 0");
+
+        this.batchSize = batchSize;
+    }
+
     /**
      * Sets user name for database access.
      *
@@ -24,6 +24,8 @@
 package org.gridgain.grid.compute;
 
 import org.gridgain.grid.*;
+import org.gridgain.grid.cache.*;
+import org.gridgain.grid.cache.affinity.*;
 import org.gridgain.grid.lang.*;
 import org.gridgain.grid.marshaller.optimized.*;
 import org.gridgain.grid.resources.*;
@@ -145,6 +147,66 @@ public interface GridCompute {
      */
     public <R> GridFuture<R> affinityCall(@Nullable String cacheName, Object affKey, Callable<R> job);
 
+    /**
+     * Executes given job for each partition of provided keys on the node where data for this partition
+     * is located (a.k.a. affinity co-location). Keys are grouped by primary node, so that only one job
+     * is sent to each node. On that node job is run once for each partition with keys of this partition.
+     * <p>
+     * If node fails or partition moves to another node because of topology change, keys of failed job or
+     * moved partitions are remapped according to the new topology and job is run for them again. Note that
+     * in case of node failure job may be run more than once for the same partition.
+     *
+     * @param cacheName Name of the cache to use for affinity co-location.
+     * @param keys Cache keys.
+     * @param job Job which will be run with partition number and keys of this partition
+     *      on the node this partition is primary on.
+     * @return Future for this execution.
+     */
+    public <K> GridFuture<?> affinityRun(@Nullable String cacheName, Collection<? extends K> keys,
+        GridBiInClosure<Integer, Collection<K>> job);
+
+    /**
+     * Executes given job for each partition of provided keys on the node where data for this partition
+     * is located (a.k.a. affinity co-location). See
+     * {@link #affinityRun(String, Collection, GridBiInClosure)} for more information.
+     *
+     * @param cacheName Name of the cache to use for affinity co-location.
+     * @param keys Cache keys.
+     * @param job Job which will be called with partition number and keys of this partition
+     *      on the node this partition is primary on.
+     * @return Future with collection of job results, one for each partition.
+     */
+    public <K, R> GridFuture<Collection<R>> affinityCall(@Nullable String cacheName, Collection<? extends K> keys,
+        GridBiClosure<Integer, Collection<K>, R> job);
+
+    /**
+     * Executes given job for each of provided partitions on the primary node of the partition. While job runs,
+     * partition is reserved on that node, so that it cannot be evicted by preloading and job can safely
+     * iterate over partition entries (see {@link GridCacheProjection#entrySet(int)}). Job is run only if local
+     * node is primary for the partition and partition is fully loaded, otherwise the partition is remapped
+     * according to the new topology. This way full cache can be processed by up to
+     * {@link GridCacheAffinity#partitions()} parallel jobs each of which covers exactly one partition.
+     *
+     * @param cacheName Name of partitioned or replicated cache.
+     * @param parts Partitions.
+     * @param job Job which will be run with partition number on the primary node of this partition.
+     * @return Future for this execution.
+     */
+    public GridFuture<?> partitionRun(@Nullable String cacheName, Collection<Integer> parts,
+        GridInClosure<Integer> job);
+
+    /**
+     * Executes given job for each of provided partitions on the primary node of the partition. See
+     * {@link #partitionRun(String, Collection, GridInClosure)} for more information.
+     *
+     * @param cacheName Name of partitioned or replicated cache.
+     * @param parts Partitions.
+     * @param job Job which will be called with partition number on the primary node of this partition.
+     * @return Future with collection of job results, one for each partition.
+     */
+    public <R> GridFuture<Collection<R>> partitionCall(@Nullable String cacheName, Collection<Integer> parts,
+        GridClosure<Integer, R> job);
+
     /**
      * Executes given task on the grid projection. For step-by-step explanation of task execution process
      * refer to {@link GridComputeTask} documentation.
@@ -36,6 +36,9 @@ public class GridDrSenderHubConnectionConfiguration {
     /** Default receiver hub load balancing policy. */
     public static final GridDrReceiverHubLoadBalancingMode DFLT_RCV_HUB_LOAD_BALANCING_MODE = DR_RANDOM;
 
+    /** Default batch compression level (compression is disabled). */
+    public static final int DFLT_COMPRESSION_LEVEL = 0;
+
     /** Data center ID.*/
     private byte dataCenterId;
 
@@ -51,6 +54,9 @@ public class GridDrSenderHubConnectionConfiguration {
     /** Ignored data center IDs. */
     private byte[] ignoreDataCenterIds;
 
+    /** Batch compression level. */
+    private int compressionLvl = DFLT_COMPRESSION_LEVEL;
+
     /**
      * Constructor.
      */
@@ -69,6 +75,7 @@ public class GridDrSenderHubConnectionConfiguration {
         ignoreDataCenterIds = cfg.getIgnoredDataCenterIds();
         locOutboundHost = cfg.getLocalOutboundHost();
         rcvHubLoadBalancingMode = cfg.getReceiverHubLoadBalancingMode();
+        compressionLvl = cfg.getCompressionLevel();
     }
 
     /**
@@ -174,6 +181,32 @@ public class GridDrSenderHubConnectionConfiguration {
         this.ignoreDataCenterIds = ignoreDataCenterIds;
     }
 
+    /**
+     * Gets deflate compression level of batches sent to remote data center, from {@code 1} (best speed)
+     * to {@code 9} (best compression). Batches are compressed only if receiver hub reports in handshake
+     * response that it accepts compressed batches. Use compression when network link between data centers
+     * is a bottleneck and replicated values are well compressible.
+     * <p>
+     * If {@code 0}, batches are not compressed. Defaults to {@link #DFLT_COMPRESSION_LEVEL}.
+     *
+     * @return Compression level.
+     */
+    public int getCompressionLevel() {
+        return compressionLvl;
+    }
+
+    /**
+     * Sets deflate compression level of batches sent to remote data center. See {@link #getCompressionLevel()}
+     * for more information.
+     *
+     * @param compressionLvl Compression level from {@code 0} (no compression) to {@code 9}.
+     */
+    public void setCompressionLevel(int compressionLvl) {
+        A.ensure(compressionLvl >= 0 && compressionLvl <= 9, "compressionLvl >= 0 && compressionLvl <= 9");
+
+        this.compressionLvl = compressionLvl;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(GridDrSenderHubConnectionConfiguration.class, this);
@@ -77,4 +77,19 @@ public interface GridDrSenderHubOutMetrics {
      *     for it.
      */
     public double averageBatchAckTime();
+
+    /**
+     * Gets ratio of compressed to raw size of batches sent to receiver hubs. Equals to {@code 1} if batch
+     * compression is disabled or not accepted by receiver hubs.
+     *
+     * @return Ratio of compressed to raw size of sent batches.
+     */
+    public double compressionRatio();
+
+    /**
+     * Gets total time in milliseconds spent on compression of batches sent to receiver hubs.
+     *
+     * @return Total time in milliseconds spent on batch compression.
+     */
+    public long totalCompressionTime();
 }
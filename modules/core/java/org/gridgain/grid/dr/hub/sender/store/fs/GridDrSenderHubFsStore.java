@@ -45,6 +45,7 @@ import java.util.concurrent.atomic.*;
 
 import static java.nio.file.StandardOpenOption.*;
 import static org.gridgain.grid.dr.hub.sender.store.GridDrSenderHubStoreOverflowMode.*;
+import static org.gridgain.grid.dr.hub.sender.store.fs.GridDrSenderHubFsStoreDurabilityMode.*;
 
 /**
  * Data center replication sender hub store implementation which persists data in file system.
@@ -64,6 +65,8 @@ import static org.gridgain.grid.dr.hub.sender.store.GridDrSenderHubStoreOverflow
  *      (see {@link #setOverflowMode(GridDrSenderHubStoreOverflowMode)})</li>
  * <li>Checksum enabled flag (see {@link #setChecksumEnabled(boolean)})</li>
  * <li>Read buffer size (see {@link #setReadBufferSize(int)})</li>
+ * <li>Durability mode (see {@link #setDurabilityMode(GridDrSenderHubFsStoreDurabilityMode)})</li>
+ * <li>Preallocation enabled flag (see {@link #setPreallocationEnabled(boolean)})</li>
  * </ul>
  * <h2 class="header">Java Example</h2>
  * <pre name="code" class="java">
@@ -120,6 +123,18 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
     /** Default checksum enabled flag. */
     public static final boolean DFLT_CHECKSUM_ENABLED = true;
 
+    /** Default durability mode. */
+    public static final GridDrSenderHubFsStoreDurabilityMode DFLT_DURABILITY_MODE = CHECKPOINT;
+
+    /** Default preallocation enabled flag. */
+    public static final boolean DFLT_PREALLOCATION_ENABLED = false;
+
+    /** Maximum amount of preallocated files kept ready for use. */
+    private static final int SPARE_FILES_CNT = 1;
+
+    /** Amount of buckets in latency histograms. */
+    private static final int HISTOGRAM_BUCKETS_CNT = 24;
+
     /** */
     private final DataCenterStream[] streamById = new DataCenterStream[256];
 
@@ -141,6 +156,12 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
     /** */
     private GridDrSenderHubStoreOverflowMode overflowMode = DFLT_OVERFLOW_MODE;
 
+    /** */
+    private GridDrSenderHubFsStoreDurabilityMode durabilityMode = DFLT_DURABILITY_MODE;
+
+    /** */
+    private boolean prealloc = DFLT_PREALLOCATION_ENABLED;
+
     /** */
     private String dirPath;
 
@@ -171,6 +192,27 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
     /** */
     private volatile boolean updatedAfterCheckPnt;
 
+    /** */
+    private GridWorker preallocWorker;
+
+    /** Preallocated files ready to be used as log files. */
+    private final Queue<Path> spares = new ConcurrentLinkedQueue<>();
+
+    /** Removed log files waiting to be turned into preallocated ones. */
+    private final Queue<Path> recycled = new ConcurrentLinkedQueue<>();
+
+    /** */
+    private final AtomicLong spareIdGen = new AtomicLong();
+
+    /** */
+    private final Object preallocMux = new Object();
+
+    /** Latency of store operations. */
+    private final LatencyHistogram storeLatency = new LatencyHistogram();
+
+    /** Latency of disk syncs. */
+    private final LatencyHistogram fsyncLatency = new LatencyHistogram();
+
     /**
      * Gets maximum size of each file where data is stored in bytes. Together with {@link #getMaxFilesCount()} this
      * parameter defines maximum amount of space which can be given to the store. Once store size is exceeded, the
@@ -322,6 +364,52 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
         this.readBufSize = readBufSize;
     }
 
+    /**
+     * Gets durability mode defining when stored data is forced to disk. In
+     * {@link GridDrSenderHubFsStoreDurabilityMode#CHECKPOINT} mode data is forced to disk together with checkpoint
+     * creation, so entries stored after the last checkpoint may be lost in case of power failure. In
+     * {@link GridDrSenderHubFsStoreDurabilityMode#GROUP_COMMIT} mode store operation returns only after data is
+     * forced to disk, concurrent store operations are written and forced to disk together.
+     * <p>
+     * Defaults to {@link #DFLT_DURABILITY_MODE}.
+     *
+     * @return Durability mode.
+     */
+    public GridDrSenderHubFsStoreDurabilityMode getDurabilityMode() {
+        return durabilityMode;
+    }
+
+    /**
+     * Sets durability mode. See {@link #getDurabilityMode()} for more information.
+     *
+     * @param durabilityMode Durability mode.
+     */
+    public void setDurabilityMode(GridDrSenderHubFsStoreDurabilityMode durabilityMode) {
+        this.durabilityMode = durabilityMode;
+    }
+
+    /**
+     * Gets preallocation enabled flag. When set to {@code true} files of {@link #getMaxFileSize()} size are
+     * allocated on disk in background and removed files are reused, so that switching to the next file does not
+     * cause write latency spikes. Note that in this mode store may keep up to two additional files on disk.
+     * <p>
+     * Defaults to {@link #DFLT_PREALLOCATION_ENABLED}.
+     *
+     * @return Preallocation enabled flag.
+     */
+    public boolean isPreallocationEnabled() {
+        return prealloc;
+    }
+
+    /**
+     * Sets preallocation enabled flag. See {@link #isPreallocationEnabled()} for more information.
+     *
+     * @param prealloc Preallocation enabled flag.
+     */
+    public void setPreallocationEnabled(boolean prealloc) {
+        this.prealloc = prealloc;
+    }
+
     /** {@inheritDoc} */
     @Override public void start() throws GridException {
         A.ensure(readBufSize > 64, "readBufSize > 64");
@@ -330,6 +418,7 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
         A.ensure(maxFilesNum > 2, "maxFilesNum > 2");
         A.notNull(dirPath, "dirPath");
         A.ensure(checkPntFreq > 50, "checkPntFreq > 50");
+        A.notNull(durabilityMode, "durabilityMode");
 
         File dirFile = new File(dirPath);
 
@@ -364,6 +453,8 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
                 }
             }
             else {
+                initSpareFiles();
+
                 initLogFiles();
 
                 checkPoints = initLastCheckPoint();
@@ -373,6 +464,12 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
             throw new GridException(e);
         }
 
+        if (prealloc) {
+            preallocWorker = new PreallocateWorker(gridName, log);
+
+            new GridThread(preallocWorker).start();
+        }
+
         switchToNextFile(files.isEmpty() ? 0 : (files.last().id + 1));
 
         checkPntWorker = new CheckPointWorker(gridName, log, checkPoints);
@@ -505,6 +602,32 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
             throw new IOException("Wrong magic.");
     }
 
+    /**
+     * Removes incomplete preallocated files and either picks up or removes complete ones.
+     *
+     * @throws IOException If failed.
+     */
+    private void initSpareFiles() throws IOException {
+        long maxId = 0;
+
+        for (FileWithId f : files(PreallocateWorker.TMP_FILE_EXTENSION)) {
+            Files.delete(f.file);
+
+            maxId = Math.max(maxId, f.id);
+        }
+
+        for (FileWithId f : files(PreallocateWorker.FILE_EXTENSION)) {
+            if (prealloc && spares.size() < SPARE_FILES_CNT)
+                spares.add(f.file);
+            else
+                Files.delete(f.file);
+
+            maxId = Math.max(maxId, f.id);
+        }
+
+        spareIdGen.set(maxId);
+    }
+
     /**
      * @throws IOException If failed.
      */
@@ -542,6 +665,9 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
         U.cancel(checkPntWorker);
         U.join(checkPntWorker, log);
 
+        U.cancel(preallocWorker);
+        U.join(preallocWorker, log);
+
         for (LogFile f : files) {
             f.stopReads();
 
@@ -666,6 +792,8 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
     @Override public void store(byte[] dataCenters, byte[] data) throws GridException {
         assert !F.isEmpty(dataCenters);
 
+        long start = System.nanoTime();
+
         EntryIn e = new EntryIn(dataCenters, data);
 
         int entrySize = e.size();
@@ -705,6 +833,8 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
 
         for (byte dsId : dataCenters)
             stream(dsId, false).incrementSize(entrySize);
+
+        storeLatency.record(System.nanoTime() - start);
     }
 
     /** {@inheritDoc} */
@@ -740,6 +870,41 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
         return totalSize;
     }
 
+    /**
+     * Gets histogram of store operation latencies. Bucket {@code 0} contains amount of operations which took
+     * less than 1 microsecond, bucket {@code i} contains amount of operations which took from {@code 2^(i-1)}
+     * inclusive to {@code 2^i} exclusive microseconds, the last bucket also contains all longer operations.
+     *
+     * @return Store latency histogram.
+     */
+    public long[] storeLatencyHistogram() {
+        return storeLatency.snapshot();
+    }
+
+    /**
+     * Gets histogram of disk sync latencies. See {@link #storeLatencyHistogram()} for buckets description.
+     *
+     * @return Disk sync latency histogram.
+     */
+    public long[] fsyncLatencyHistogram() {
+        return fsyncLatency.snapshot();
+    }
+
+    /**
+     * Forces channel to disk and records sync latency.
+     *
+     * @param ch Channel.
+     * @param meta Whether to force file metadata.
+     * @throws IOException If failed.
+     */
+    private void force(FileChannel ch, boolean meta) throws IOException {
+        long start = System.nanoTime();
+
+        ch.force(meta);
+
+        fsyncLatency.record(System.nanoTime() - start);
+    }
+
     /**
      * @return Byte buffer.
      */
@@ -892,6 +1057,111 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
         }
     }
 
+    /**
+     * Allocates files on disk in background so that they are ready to be used as log files.
+     */
+    private class PreallocateWorker extends GridWorker {
+        /** */
+        static final String FILE_EXTENSION = ".spr";
+
+        /** */
+        static final String TMP_FILE_EXTENSION = ".tmp";
+
+        /** */
+        private final ByteBuffer zeros = ByteBuffer.allocateDirect(64 * 1024);
+
+        /**
+         * @param gridName Grid name.
+         * @param log Logger.
+         */
+        protected PreallocateWorker(@Nullable String gridName, GridLogger log) {
+            super(gridName, "dr-store-preallocate", log);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void body() throws InterruptedException, GridInterruptedException {
+            while (!isCancelled()) {
+                while (spares.size() < SPARE_FILES_CNT) {
+                    Path tmp = recycled.poll();
+
+                    if (tmp == null)
+                        tmp = dir.resolve(spareIdGen.incrementAndGet() + TMP_FILE_EXTENSION);
+
+                    try {
+                        Path spare = preallocate(tmp);
+
+                        if (spare == null) // Cancelled.
+                            return;
+
+                        spares.add(spare);
+                    }
+                    catch (IOException e) {
+                        U.error(log, "Failed to preallocate file: " + tmp, e);
+
+                        try {
+                            Files.deleteIfExists(tmp);
+                        }
+                        catch (IOException ignored) {
+                            // No-op.
+                        }
+
+                        U.sleep(checkPntFreq);
+                    }
+                }
+
+                synchronized (preallocMux) {
+                    while (spares.size() >= SPARE_FILES_CNT)
+                        preallocMux.wait();
+                }
+            }
+        }
+
+        /**
+         * Fills file with zeros up to maximum file size (or up to its current size if it is larger), forces it to
+         * disk and renames to spare file.
+         *
+         * @param tmp Temporary file.
+         * @return Spare file or {@code null} if worker was cancelled.
+         * @throws IOException If failed.
+         */
+        @Nullable private Path preallocate(Path tmp) throws IOException {
+            try (FileChannel ch = FileChannel.open(tmp, WRITE, CREATE)) {
+                long len = Math.max(maxFileSize, ch.size());
+
+                for (long pos = 0; pos < len && !isCancelled(); ) {
+                    zeros.clear();
+
+                    if (len - pos < zeros.capacity())
+                        zeros.limit((int)(len - pos));
+
+                    pos += ch.write(zeros, pos);
+                }
+
+                if (isCancelled())
+                    return null;
+
+                ch.force(true);
+            }
+
+            String name = tmp.getFileName().toString();
+
+            Path spare = dir.resolve(name.substring(0, name.length() - TMP_FILE_EXTENSION.length()) + FILE_EXTENSION);
+
+            Files.move(tmp, spare, StandardCopyOption.ATOMIC_MOVE);
+
+            return spare;
+        }
+    }
+
+    /**
+     * Notifies preallocate worker that spare file was taken or removed file was recycled.
+     */
+    private void onSpareChanged() {
+        synchronized (preallocMux) {
+            preallocMux.notifyAll();
+        }
+    }
+
     /**
      *
      */
@@ -1263,16 +1533,34 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
         }
 
         /**
+         * Reads data not beyond written size of the file, since preallocated file is
+         * filled with zeroes after written data.
+         *
          * @param buf Buffer.
          * @param off Offset from this log position.
-         * @return NUmber of read bytes.
+         * @return NUmber of read bytes or {@code -1} if there is no more written data.
          * @throws GridException If failed.
          */
         int read(ByteBuffer buf, int off) throws GridException {
             if (!file.exists())
                 throw new NoDataException();
 
-            return get(file.read(this.off + off, buf));
+            long avail = file.size() - (this.off + off);
+
+            if (avail <= 0)
+                return -1;
+
+            int lim = buf.limit();
+
+            if (buf.remaining() > avail)
+                buf.limit(buf.position() + (int)avail);
+
+            try {
+                return get(file.read(this.off + off, buf));
+            }
+            finally {
+                buf.limit(lim);
+            }
         }
 
         /**
@@ -1377,6 +1665,9 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
         /** */
         private final CountDownLatch init;
 
+        /** Entries waiting to be written. */
+        private final Queue<PendingWrite> pending;
+
         /**
          * @param id ID.
          */
@@ -1385,6 +1676,7 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
 
             acquiredSize = new AtomicLong();
             init = new CountDownLatch(1);
+            pending = new ConcurrentLinkedQueue<>();
         }
 
         /**
@@ -1398,9 +1690,57 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
 
             init = null;
             acquiredSize = null;
+            pending = null;
 
+            size = dataSize(file);
             readCh = AsynchronousFileChannel.open(file, StandardOpenOption.READ);
-            size = readCh.size();
+        }
+
+        /**
+         * Scans entry headers to find the end of written data, since file can be preallocated or contain
+         * partially written entry.
+         *
+         * @param file File.
+         * @return Size of written data.
+         * @throws IOException If failed.
+         */
+        private long dataSize(Path file) throws IOException {
+            try (FileChannel ch = FileChannel.open(file, READ)) {
+                long len = ch.size();
+
+                ByteBuffer hdr = ByteBuffer.allocate(EntryIn.HEADER_SIZE);
+
+                long off = 0;
+
+                while (off + EntryIn.HEADER_SIZE <= len) {
+                    hdr.clear();
+
+                    while (hdr.hasRemaining()) {
+                        if (ch.read(hdr, off + hdr.position()) < 0)
+                            return off;
+                    }
+
+                    hdr.flip();
+
+                    if (hdr.getShort() != EntryIn.MAGIC)
+                        break;
+
+                    int streamsNum = hdr.get() & 0xFF;
+
+                    hdr.getInt(); // Skip hash.
+
+                    int dataSize = hdr.getInt();
+
+                    long next = off + EntryIn.HEADER_SIZE + streamsNum + dataSize;
+
+                    if (dataSize < 0 || next > len)
+                        break;
+
+                    off = next;
+                }
+
+                return off;
+            }
         }
 
         /**
@@ -1410,7 +1750,18 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
             try {
                 file = dir.resolve(id + EXTENSION);
 
-                writeCh = FileChannel.open(file, WRITE, CREATE_NEW);
+                Path spare = prealloc ? spares.poll() : null;
+
+                if (spare != null) {
+                    onSpareChanged();
+
+                    Files.move(spare, file, StandardCopyOption.ATOMIC_MOVE);
+
+                    writeCh = FileChannel.open(file, WRITE);
+                }
+                else
+                    writeCh = FileChannel.open(file, WRITE, CREATE_NEW);
+
                 readCh = AsynchronousFileChannel.open(file, READ);
             }
             finally {
@@ -1460,40 +1811,90 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
                     break;
             }
 
-            ByteBuffer[] bufs = e.toBytes();
+            PendingWrite w = new PendingWrite(e);
 
-            long curSize;
+            pending.add(w);
 
             synchronized (this) {
-                if (!isWritable())
-                    return false;
+                // Entry could be already written by another thread together with its own one.
+                if (!w.done)
+                    writePending();
+            }
 
-                try {
-                    curSize = size;
+            if (w.err != null)
+                throw new GridException(w.err);
 
-                    assert writeCh.position() == curSize;
+            if (!w.written)
+                return false;
 
-                    long written = 0;
+            updatedAfterCheckPnt = true;
 
-                    do
-                        written += writeCh.write(bufs);
-                    while (written < entrySize);
-                }
-                catch (IOException ex) {
-                    U.close(writeCh, log);
+            if (size >= maxFileSize)
+                stopWrites();
 
-                    throw new GridException(ex);
-                }
+            return true;
+        }
 
-                size = curSize + entrySize;
+        /**
+         * Writes all pending entries with one gathering write and forces them to disk
+         * in {@link GridDrSenderHubFsStoreDurabilityMode#GROUP_COMMIT} mode.
+         */
+        private void writePending() {
+            assert Thread.holdsLock(this);
+
+            Collection<PendingWrite> batch = new ArrayList<>();
+
+            for (PendingWrite w = pending.poll(); w != null; w = pending.poll())
+                batch.add(w);
+
+            if (!isWritable()) {
+                for (PendingWrite w : batch)
+                    w.done = true;
+
+                return;
             }
 
-            updatedAfterCheckPnt = true;
+            ByteBuffer[] bufs = new ByteBuffer[batch.size() * EntryIn.BUFFERS_CNT];
 
-            if (curSize + entrySize >= maxFileSize)
-                stopWrites();
+            long batchSize = 0;
+            int i = 0;
 
-            return true;
+            for (PendingWrite w : batch) {
+                for (ByteBuffer buf : w.entry.toBytes())
+                    bufs[i++] = buf;
+
+                batchSize += w.entry.size();
+            }
+
+            try {
+                assert writeCh.position() == size;
+
+                long written = 0;
+
+                do
+                    written += writeCh.write(bufs);
+                while (written < batchSize);
+
+                if (durabilityMode == GROUP_COMMIT)
+                    force(writeCh, false);
+            }
+            catch (IOException ex) {
+                U.close(writeCh, log);
+
+                for (PendingWrite w : batch) {
+                    w.err = ex;
+                    w.done = true;
+                }
+
+                return;
+            }
+
+            size += batchSize;
+
+            for (PendingWrite w : batch) {
+                w.written = true;
+                w.done = true;
+            }
         }
 
         /**
@@ -1504,7 +1905,11 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
                 return;
 
             try {
-                writeCh.force(false);
+                // Cut off preallocated tail, so that file contains written data only.
+                if (prealloc && writeCh.size() > size)
+                    writeCh.truncate(size);
+
+                force(writeCh, false);
             }
             catch (IOException e) {
                 U.warn(log, "Failed to fsync channel: " + id, e);
@@ -1521,7 +1926,17 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
             U.close(writeCh, log);
 
             try {
-                Files.deleteIfExists(file);
+                if (prealloc && file != null && recycled.size() < SPARE_FILES_CNT && Files.exists(file)) {
+                    Path tmp = dir.resolve(spareIdGen.incrementAndGet() + PreallocateWorker.TMP_FILE_EXTENSION);
+
+                    Files.move(file, tmp, StandardCopyOption.ATOMIC_MOVE);
+
+                    recycled.add(tmp);
+
+                    onSpareChanged();
+                }
+                else
+                    Files.deleteIfExists(file);
             }
             catch (IOException e) {
                 throw new GridException(e);
@@ -1572,7 +1987,62 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
          */
         public synchronized void fsync() throws IOException {
             if (isWritable())
-                writeCh.force(true);
+                force(writeCh, true);
+        }
+    }
+
+    /**
+     * Entry waiting to be written to log file.
+     */
+    private static class PendingWrite {
+        /** */
+        private final EntryIn entry;
+
+        /** Whether write was processed. Guarded by log file monitor. */
+        private boolean done;
+
+        /** Whether entry was written, {@code false} if log file was closed for writes. */
+        private boolean written;
+
+        /** Write error. */
+        private IOException err;
+
+        /**
+         * @param entry Entry.
+         */
+        private PendingWrite(EntryIn entry) {
+            this.entry = entry;
+        }
+    }
+
+    /**
+     * Latency histogram with power of two microsecond buckets.
+     */
+    private static class LatencyHistogram {
+        /** */
+        private final AtomicLongArray buckets = new AtomicLongArray(HISTOGRAM_BUCKETS_CNT);
+
+        /**
+         * @param nanos Latency in nanoseconds.
+         */
+        void record(long nanos) {
+            long micros = nanos / 1000;
+
+            int idx = Math.min(64 - Long.numberOfLeadingZeros(micros), HISTOGRAM_BUCKETS_CNT - 1);
+
+            buckets.incrementAndGet(idx);
+        }
+
+        /**
+         * @return Bucket counts.
+         */
+        long[] snapshot() {
+            long[] res = new long[HISTOGRAM_BUCKETS_CNT];
+
+            for (int i = 0; i < res.length; i++)
+                res[i] = buckets.get(i);
+
+            return res;
         }
     }
 
@@ -1586,6 +2056,9 @@ public class GridDrSenderHubFsStore implements GridDrSenderHubStore, GridLifecyc
         /** */
         static final short MAGIC = (short)0x0BAE;
 
+        /** Amount of buffers returned by {@link #toBytes()}. */
+        static final int BUFFERS_CNT = 3;
+
         /** */
         private final byte[] hdr;
 
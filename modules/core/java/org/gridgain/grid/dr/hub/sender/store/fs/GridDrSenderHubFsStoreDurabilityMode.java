@@ -0,0 +1,56 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.dr.hub.sender.store.fs;
+
+import org.jetbrains.annotations.*;
+
+/**
+ * Durability mode of {@link GridDrSenderHubFsStore} defining when stored data is forced to disk.
+ */
+public enum GridDrSenderHubFsStoreDurabilityMode {
+    /**
+     * Data is written to file system cache and forced to disk only when checkpoint is created. Entries stored
+     * after the last checkpoint may be lost in case of operating system crash or power failure.
+     */
+    CHECKPOINT,
+
+    /**
+     * Data is forced to disk before store operation returns. Concurrent store operations are grouped together,
+     * so that one write and one disk sync is performed for the whole group.
+     */
+    GROUP_COMMIT;
+
+    /** Enumerated values. */
+    private static final GridDrSenderHubFsStoreDurabilityMode[] VALS = values();
+
+    /**
+     * Efficiently gets enumerated value from its ordinal.
+     *
+     * @param ord Ordinal value.
+     * @return Enumerated value or {@code null} if ordinal out of range.
+     */
+    @Nullable public static GridDrSenderHubFsStoreDurabilityMode fromOrdinal(int ord) {
+        return ord >= 0 && ord < VALS.length ? VALS[ord] : null;
+    }
+}
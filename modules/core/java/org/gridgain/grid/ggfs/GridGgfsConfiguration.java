@@ -96,6 +96,9 @@ public class GridGgfsConfiguration {
     /** Default IPC endpoint enabled flag. */
     public static final boolean DFLT_IPC_ENDPOINT_ENABLED = true;
 
+    /** Default node-local block cache size (block cache is disabled). */
+    public static final long DFLT_BLOCK_CACHE_SIZE = 0;
+
     /** GGFS instance name. */
     private String name;
 
@@ -114,6 +117,9 @@ public class GridGgfsConfiguration {
     /** Amount of sequential block reads before prefetch is triggered. */
     private int seqReadsBeforePrefetch;
 
+    /** Node-local block cache size (bytes). */
+    private long blockCacheSize = DFLT_BLOCK_CACHE_SIZE;
+
     /** Read/write buffers size for stream operations (bytes). */
     private int bufSize = DFLT_BUF_SIZE;
 
@@ -195,6 +201,7 @@ public class GridGgfsConfiguration {
         /*
          * Must preserve alphabetical order!
          */
+        blockCacheSize = cfg.getBlockCacheSize();
         blockSize = cfg.getBlockSize();
         bufSize = cfg.getStreamBufferSize();
         dataCacheName = cfg.getDataCacheName();
@@ -361,6 +368,32 @@ public class GridGgfsConfiguration {
         this.seqReadsBeforePrefetch = seqReadsBeforePrefetch;
     }
 
+    /**
+     * Gets maximum size of node-local off-heap cache of file data blocks. Block cache is shared
+     * by all input streams opened on the node (including streams opened by Hadoop clients through
+     * IPC endpoint), so the same hot blocks are not fetched from data cache or remote nodes again
+     * for every stream. Only full blocks are cached.
+     * <p>
+     * If {@code 0}, block cache is disabled. Default value is {@link #DFLT_BLOCK_CACHE_SIZE}.
+     *
+     * @return Block cache size in bytes.
+     */
+    public long getBlockCacheSize() {
+        return blockCacheSize;
+    }
+
+    /**
+     * Sets maximum size of node-local off-heap cache of file data blocks.
+     * See {@link #getBlockCacheSize()} for details.
+     *
+     * @param blockCacheSize Block cache size in bytes or {@code 0} to disable block cache.
+     */
+    public void setBlockCacheSize(long blockCacheSize) {
+        A.ensure(blockCacheSize >= 0, "blockCacheSize >= 0");
+
+        this.blockCacheSize = blockCacheSize;
+    }
+
     /**
      * Get read/write buffer size for {@code GGFS} stream operations in bytes.
      *
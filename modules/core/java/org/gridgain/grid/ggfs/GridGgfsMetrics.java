@@ -162,4 +162,42 @@ public interface GridGgfsMetrics {
      * @return Total bytes write time.
      */
     public long bytesWriteTime();
+
+    /**
+     * Gets number of data block reads served from node-local block cache
+     * (see {@link GridGgfsConfiguration#getBlockCacheSize()}).
+     * <p>
+     * This is a local metric.
+     *
+     * @return Number of block cache hits.
+     */
+    public long blockCacheHits();
+
+    /**
+     * Gets number of data block reads which were not found in node-local block cache
+     * and had to be fetched from data cache.
+     * <p>
+     * This is a local metric.
+     *
+     * @return Number of block cache misses.
+     */
+    public long blockCacheMisses();
+
+    /**
+     * Gets block cache hit rate, i.e. ratio of block cache hits to all block cache reads.
+     * <p>
+     * This is a local metric.
+     *
+     * @return Block cache hit rate or {@code 0} if there were no reads.
+     */
+    public float blockCacheHitRate();
+
+    /**
+     * Gets size of memory occupied by node-local block cache.
+     * <p>
+     * This is a local metric.
+     *
+     * @return Block cache memory size in bytes.
+     */
+    public long blockCacheSize();
 }
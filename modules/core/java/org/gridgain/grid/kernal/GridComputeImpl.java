@@ -94,6 +94,70 @@ public class GridComputeImpl implements GridCompute {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public <K> GridFuture<?> affinityRun(@Nullable String cacheName, Collection<? extends K> keys,
+        GridBiInClosure<Integer, Collection<K>> job) {
+        A.notNull(keys, "keys");
+        A.notNull(job, "job");
+
+        guard();
+
+        try {
+            return ctx.closure().affinityRun(cacheName, keys, job, prj.nodes());
+        }
+        finally {
+            unguard();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public <K, R> GridFuture<Collection<R>> affinityCall(@Nullable String cacheName,
+        Collection<? extends K> keys, GridBiClosure<Integer, Collection<K>, R> job) {
+        A.notNull(keys, "keys");
+        A.notNull(job, "job");
+
+        guard();
+
+        try {
+            return ctx.closure().affinityCall(cacheName, keys, job, prj.nodes());
+        }
+        finally {
+            unguard();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridFuture<?> partitionRun(@Nullable String cacheName, Collection<Integer> parts,
+        GridInClosure<Integer> job) {
+        A.notNull(parts, "parts");
+        A.notNull(job, "job");
+
+        guard();
+
+        try {
+            return ctx.closure().partitionRun(cacheName, parts, job, prj.nodes());
+        }
+        finally {
+            unguard();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public <R> GridFuture<Collection<R>> partitionCall(@Nullable String cacheName,
+        Collection<Integer> parts, GridClosure<Integer, R> job) {
+        A.notNull(parts, "parts");
+        A.notNull(job, "job");
+
+        guard();
+
+        try {
+            return ctx.closure().partitionCall(cacheName, parts, job, prj.nodes());
+        }
+        finally {
+            unguard();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public <T, R> GridComputeTaskFuture<R> execute(String taskName, @Nullable T arg) {
         A.notNull(taskName, "taskName");
@@ -177,6 +177,9 @@ public class GridKernal extends GridProjectionAdapter implements GridEx, GridKer
     /** */
     private ObjectName p2PExecSvcMBean;
 
+    /** */
+    private ObjectName stripedExecMBean;
+
     /** Kernal start timestamp. */
     private long startTime = U.currentTimeMillis();
 
@@ -1227,6 +1230,9 @@ public class GridKernal extends GridProjectionAdapter implements GridEx, GridKer
         // Add data center ID.
         add(attrs, ATTR_DATA_CENTER_ID, cfg.getDataCenterId());
 
+        // Whether this node understands conflating continuous query handlers.
+        add(attrs, ATTR_CONT_QRY_CONFLATION, true);
+
         // Stick in SPI versions and classes attributes.
         addAttributes(attrs, cfg.getCollisionSpi());
         addAttributes(attrs, cfg.getSwapSpaceSpi());
@@ -1374,6 +1380,11 @@ public class GridKernal extends GridProjectionAdapter implements GridEx, GridKer
         sysExecSvcMBean = registerExecutorMBean(cfg.getSystemExecutorService(), "GridSystemExecutor");
         mgmtExecSvcMBean = registerExecutorMBean(cfg.getManagementExecutorService(), "GridManagementExecutor");
         p2PExecSvcMBean = registerExecutorMBean(cfg.getPeerClassLoadingExecutorService(), "GridClassLoadingExecutor");
+
+        GridStripedExecutor stripedExec = ctx.cache().stripedExecutor();
+
+        if (stripedExec != null)
+            stripedExecMBean = registerStripedExecutorMBean(stripedExec, "GridCacheStripedExecutor");
     }
 
     /**
@@ -1403,6 +1414,33 @@ public class GridKernal extends GridProjectionAdapter implements GridEx, GridKer
         }
     }
 
+    /**
+     * @param exec Striped executor to register.
+     * @param name Property name for executor.
+     * @return Name for created MBean.
+     * @throws GridException If registration failed.
+     */
+    private ObjectName registerStripedExecutorMBean(GridStripedExecutor exec, String name) throws GridException {
+        try {
+            ObjectName res = U.registerMBean(
+                cfg.getMBeanServer(),
+                cfg.getGridName(),
+                "Thread Pools",
+                name,
+                new GridStripedExecutorMBeanAdapter(exec),
+                GridStripedExecutorMBean.class);
+
+            if (log.isDebugEnabled())
+                log.debug("Registered striped executor MBean: " + res);
+
+            return res;
+        }
+        catch (JMException e) {
+            throw new GridException("Failed to register striped executor MBean [name=" + name + ", exec=" + exec +
+                ']', e);
+        }
+    }
+
     /**
      * Unregisters given mbean.
      *
@@ -1841,6 +1879,7 @@ public class GridKernal extends GridProjectionAdapter implements GridEx, GridKer
                     unregisterMBean(sysExecSvcMBean) &
                     unregisterMBean(mgmtExecSvcMBean) &
                     unregisterMBean(p2PExecSvcMBean) &
+                    unregisterMBean(stripedExecMBean) &
                     unregisterMBean(kernalMBean) &
                     unregisterMBean(locNodeMBean)))
                 errOnStop = false;
@@ -147,6 +147,9 @@ public final class GridNodeAttributes {
     /** Internal attribute name constant. */
     public static final String ATTR_DATA_CENTER_ID = ATTR_PREFIX + ".data.center.id";
 
+    /** Continuous query conflation support attribute name. */
+    public static final String ATTR_CONT_QRY_CONFLATION = ATTR_PREFIX + ".cont.qry.conflation";
+
     /**
      * Enforces singleton.
      */
@@ -0,0 +1,87 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.kernal;
+
+import org.gridgain.grid.*;
+import org.gridgain.grid.util.*;
+
+/**
+ * Adapter for {@link GridStripedExecutorMBean} which delegates all method calls to the underlying
+ * {@link GridStripedExecutor} instance.
+ */
+public class GridStripedExecutorMBeanAdapter implements GridStripedExecutorMBean {
+    /** */
+    private final GridStripedExecutor exec;
+
+    /**
+     * Creates adapter.
+     *
+     * @param exec Striped executor.
+     */
+    public GridStripedExecutorMBeanAdapter(GridStripedExecutor exec) {
+        assert exec != null;
+
+        this.exec = exec;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getStripesCount() {
+        return exec.stripes();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getTotalQueueSize() {
+        int res = 0;
+
+        for (int size : exec.stripesQueueSizes())
+            res += size;
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int[] getStripesQueueSizes() {
+        return exec.stripesQueueSizes();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int[] getStripesMaximumQueueSizes() {
+        return exec.stripesMaximumQueueSizes();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getTotalCompletedTasksCount() {
+        long res = 0;
+
+        for (long cnt : exec.stripesCompletedTasks())
+            res += cnt;
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long[] getStripesCompletedTasksCounts() {
+        return exec.stripesCompletedTasks();
+    }
+}
@@ -28,6 +28,7 @@ import org.gridgain.grid.cache.*;
 import org.gridgain.grid.cache.query.*;
 import org.gridgain.grid.kernal.*;
 import org.gridgain.grid.kernal.managers.*;
+import org.gridgain.grid.lang.*;
 import org.gridgain.grid.marshaller.*;
 import org.gridgain.grid.spi.*;
 import org.gridgain.grid.spi.indexing.*;
@@ -392,6 +393,48 @@ public class GridIndexingManager extends GridManagerAdapter<GridIndexingSpi> {
         }
     }
 
+    /**
+     * @param spi SPI Name.
+     * @param space Space name.
+     * @param clause Clause.
+     * @return Map and reduce clauses.
+     * @throws GridException If failed.
+     */
+    public GridBiTuple<String, String> splitFields(@Nullable String spi, @Nullable String space, String clause)
+        throws GridException {
+        if (!busyLock.enterBusy())
+            throw new IllegalStateException("Failed to execute query (grid is stopping).");
+
+        try {
+            return getSpi(spi).splitFields(space, clause);
+        }
+        finally {
+            busyLock.leaveBusy();
+        }
+    }
+
+    /**
+     * @param spi SPI Name.
+     * @param space Space name.
+     * @param clause Reduce clause.
+     * @param mapMeta Map query result metadata.
+     * @param mapRes Map query result rows.
+     * @return Field rows.
+     * @throws GridException If failed.
+     */
+    public GridIndexingFieldsResult reduceFields(@Nullable String spi, @Nullable String space, String clause,
+        List<GridIndexingFieldMetadata> mapMeta, Iterator<List<?>> mapRes) throws GridException {
+        if (!busyLock.enterBusy())
+            throw new IllegalStateException("Failed to execute query (grid is stopping).");
+
+        try {
+            return getSpi(spi).reduceFields(space, clause, mapMeta, mapRes);
+        }
+        finally {
+            busyLock.leaveBusy();
+        }
+    }
+
     /**
      * @param spi SPI Name.
      * @param space Space.
@@ -674,7 +717,7 @@ public class GridIndexingManager extends GridManagerAdapter<GridIndexingSpi> {
             if (sqlAnn.index() || sqlAnn.unique()) {
                 String idxName = prop.name() + "_idx";
 
-                desc.addIndex(idxName, sqlAnn.unique());
+                desc.addIndex(idxName, sqlAnn.unique(), sqlAnn.hash());
 
                 desc.addFieldToIndex(idxName, prop.name(), 0, sqlAnn.descending());
             }
@@ -945,7 +988,20 @@ public class GridIndexingManager extends GridManagerAdapter<GridIndexingSpi> {
          * @throws GridException In case of error.
          */
         public IndexDescriptor addIndex(String idxName, boolean unique) throws GridException {
-            IndexDescriptor idx = new IndexDescriptor(unique, false);
+            return addIndex(idxName, unique, false);
+        }
+
+        /**
+         * Adds index.
+         *
+         * @param idxName Index name.
+         * @param unique Unique index.
+         * @param hash Hash index.
+         * @return Index descriptor.
+         * @throws GridException In case of error.
+         */
+        public IndexDescriptor addIndex(String idxName, boolean unique, boolean hash) throws GridException {
+            IndexDescriptor idx = new IndexDescriptor(unique, false, hash);
 
             if (indexes.put(idxName, idx) != null)
                 throw new GridException("Index with name '" + idxName + "' already exists.");
@@ -979,7 +1035,7 @@ public class GridIndexingManager extends GridManagerAdapter<GridIndexingSpi> {
          */
         public void addFieldToTextIndex(String field) {
             if (fullTextIdx == null) {
-                fullTextIdx = new IndexDescriptor(false, true);
+                fullTextIdx = new IndexDescriptor(false, true, false);
 
                 indexes.put(null, fullTextIdx);
             }
@@ -1080,13 +1136,18 @@ public class GridIndexingManager extends GridManagerAdapter<GridIndexingSpi> {
         /** */
         private final boolean text;
 
+        /** */
+        private final boolean hash;
+
         /**
          * @param unique Unique index.
          * @param text Text index.
+         * @param hash Hash index.
          */
-        private IndexDescriptor(boolean unique, boolean text) {
+        private IndexDescriptor(boolean unique, boolean text, boolean hash) {
             this.unique = unique;
             this.text = text;
+            this.hash = hash;
         }
 
         /** {@inheritDoc} */
@@ -1132,6 +1193,11 @@ public class GridIndexingManager extends GridManagerAdapter<GridIndexingSpi> {
             return text;
         }
 
+        /** {@inheritDoc} */
+        @Override public boolean hash() {
+            return hash;
+        }
+
         /** {@inheritDoc} */
         @Override public String toString() {
             return S.toString(IndexDescriptor.class, this);
@@ -183,6 +183,29 @@ public class GridAffinityProcessor extends GridProcessorAdapter {
         return map != null ? F.first(map.keySet()) : null;
     }
 
+    /**
+     * Maps partition to its primary node.
+     *
+     * @param cacheName Cache name.
+     * @param part Partition.
+     * @return Primary node or {@code null} if there are no cache nodes.
+     * @throws GridException If failed.
+     */
+    @Nullable public GridNode mapPartitionToNode(@Nullable String cacheName, int part) throws GridException {
+        GridAffinityCache affCache = affinityCache(cacheName);
+
+        if (affCache == null)
+            return null;
+
+        try {
+            return F.first(affCache.nodes(part, ctx.discovery().topologyVersion()));
+        }
+        catch (GridRuntimeException e) {
+            throw new GridException("Failed to map partition to node [cacheName=" + cacheName + ", part=" +
+                part + ']', e);
+        }
+    }
+
     /**
      * Gets affinity key for cache key.
      *
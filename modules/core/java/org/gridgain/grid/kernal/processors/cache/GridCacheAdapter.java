@@ -40,6 +40,7 @@ import org.gridgain.grid.kernal.processors.cache.distributed.dht.*;
 import org.gridgain.grid.kernal.processors.cache.dr.*;
 import org.gridgain.grid.kernal.processors.cache.jta.*;
 import org.gridgain.grid.kernal.processors.cache.query.*;
+import org.gridgain.grid.kernal.processors.cache.query.continuous.*;
 import org.gridgain.grid.kernal.processors.dr.*;
 import org.gridgain.grid.kernal.processors.task.*;
 import org.gridgain.grid.lang.*;
@@ -3766,6 +3767,11 @@ public abstract class GridCacheAdapter<K, V> extends GridMetadataAwareAdapter im
         boolean isDrRcvCache = cacheCfg.getDrReceiverConfiguration() != null;
 
         metrics = new GridCacheMetricsAdapter(isDrSndCache, isDrRcvCache);
+
+        GridCacheContinuousQueryManager<K, V> contQryMgr = ctx.continuousQueries();
+
+        if (contQryMgr != null)
+            contQryMgr.resetConflationMetrics();
     }
 
     /** {@inheritDoc} */
@@ -394,6 +394,22 @@ public class GridCacheConcurrentMap<K, V> {
         return segmentFor(hash).containsKey(key, hash);
     }
 
+    /**
+     * Applies closure under lock of segment for given hash if map has no entry with this hash, so that
+     * no entry with this hash can be created until closure completes. Allows to update swap or off-heap
+     * storage for a key known only in serialized form.
+     *
+     * @param hash Key hash as computed by {@link GridUtils#hash(Object)}.
+     * @param c Closure.
+     * @return {@code True} if closure was applied, {@code false} if map has entry with given hash.
+     * @throws GridException If closure failed.
+     */
+    public boolean applyIfHashAbsent(int hash, CAX c) throws GridException {
+        checkWeakQueue();
+
+        return segmentFor(hash).applyIfHashAbsent(hash, c);
+    }
+
     /**
      * Collection of all (possibly {@code null}) values.
      *
@@ -443,6 +459,45 @@ public class GridCacheConcurrentMap<K, V> {
         }
     }
 
+    /**
+     * Samples up to given number of public entries. Every sample is taken from
+     * independently chosen random segment and bucket, so samples are not correlated.
+     *
+     * @param cnt Maximum number of entries to sample.
+     * @return Sampled entries, empty if there are no public entries.
+     */
+    public Collection<GridCacheMapEntry<K, V>> randomEntries(int cnt) {
+        assert cnt > 0 : cnt;
+
+        checkWeakQueue();
+
+        if (mapPubSize.sum() == 0)
+            return Collections.emptyList();
+
+        Collection<GridCacheMapEntry<K, V>> res = new ArrayList<>(cnt);
+
+        for (int i = 0; i < cnt; i++) {
+            int segIdx = RAND.nextInt(segs.length);
+
+            GridCacheMapEntry<K, V> e = null;
+
+            for (int j = segIdx; j < segs.length + segIdx && e == null; j++) {
+                Segment s = segs[j % segs.length];
+
+                if (s.publicSize() > 0)
+                    e = s.sampleEntry();
+            }
+
+            if (e == null)
+                // It happened so that all public values had been removed from segments.
+                break;
+
+            res.add(e);
+        }
+
+        return res;
+    }
+
     /**
      * Returns the entry associated with the specified key in the
      * HashMap.  Returns null if the HashMap contains no mapping
@@ -902,6 +957,38 @@ public class GridCacheConcurrentMap<K, V> {
             }
         }
 
+        /**
+         * @param hash Hash.
+         * @param c Closure.
+         * @return {@code True} if closure was applied.
+         * @throws GridException If closure failed.
+         */
+        boolean applyIfHashAbsent(int hash, CAX c) throws GridException {
+            lock();
+
+            try {
+                SegmentHeader<K, V> hdr = this.hdr;
+
+                if (hdr.size() != 0) {
+                    GridCacheMapEntry<K, V> e = getFirst(hdr.table(), hash);
+
+                    while (e != null) {
+                        if (e.hash() == hash)
+                            return false;
+
+                        e = e.next(hdr.id());
+                    }
+                }
+
+                c.applyx();
+
+                return true;
+            }
+            finally {
+                unlock();
+            }
+        }
+
         /**
          * @param key Key.
          * @param hash Hash.
@@ -1278,6 +1365,45 @@ public class GridCacheConcurrentMap<K, V> {
             }
         }
 
+        /**
+         * @return Random public entry out of randomly chosen non-empty bucket or
+         *      {@code null} if segment has no public entries.
+         */
+        @Nullable GridCacheMapEntry<K, V> sampleEntry() {
+            SegmentHeader<K, V> hdr = headerForRead();
+
+            try {
+                GridCacheMapEntry<K, V>[] tbl = hdr.table();
+
+                int start = RAND.nextInt(tbl.length);
+
+                for (int i = start; i < start + tbl.length; i++) {
+                    GridCacheMapEntry<K, V> first = tbl[i % tbl.length];
+
+                    int pubCnt = 0;
+
+                    for (GridCacheMapEntry<K, V> e = first; e != null; e = e.next(hdr.id()))
+                        if (!e.isInternal())
+                            pubCnt++;
+
+                    if (pubCnt == 0)
+                        continue;
+
+                    int idx = RAND.nextInt(pubCnt);
+
+                    // Chain may have been changed concurrently, in which case next bucket is tried.
+                    for (GridCacheMapEntry<K, V> e = first; e != null; e = e.next(hdr.id()))
+                        if (!e.isInternal() && idx-- == 0)
+                            return e;
+                }
+
+                return null;
+            }
+            finally {
+                hdr.onReadEnd();
+            }
+        }
+
         /**
          *
          */
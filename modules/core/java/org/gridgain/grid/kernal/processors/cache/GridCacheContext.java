@@ -1660,6 +1660,9 @@ public class GridCacheContext<K, V> implements Externalizable {
      * Nulling references to potentially leak-prone objects.
      */
     public void cleanup() {
+        if (unsafeMemory != null)
+            unsafeMemory.destruct();
+
         cache = null;
         cacheCfg = null;
         evictMgr = null;
@@ -593,6 +593,21 @@ public interface GridCacheEntryEx<K, V> extends GridMetadataAware {
     public boolean initialValue(K key, GridCacheSwapEntry<V> unswapped)
         throws GridException, GridCacheEntryRemovedException;
 
+    /**
+     * Writes raw serialized swap entry directly to off-heap memory if entry is new
+     * and has no value neither in memory nor in swap.
+     *
+     * @param keyBytes Key bytes.
+     * @param entry Array holding serialized swap entry.
+     * @param off Swap entry offset.
+     * @param len Swap entry length.
+     * @return {@code True} if entry was written to off-heap.
+     * @throws GridException In case of error.
+     * @throws GridCacheEntryRemovedException If entry was removed.
+     */
+    public boolean initialOffHeapValue(byte[] keyBytes, byte[] entry, int off, int len)
+        throws GridException, GridCacheEntryRemovedException;
+
     /**
      * Sets new value if passed in version matches the current version
      * (used for read-through only).
@@ -811,6 +826,18 @@ public interface GridCacheEntryEx<K, V> extends GridMetadataAware {
      */
     public long rawTtl();
 
+    /**
+     * @return Last access time recorded by eviction policy or {@code 0} if access time is not tracked.
+     */
+    public long accessTime();
+
+    /**
+     * Records last access time. Only eviction policies ordering entries by access time should call it.
+     *
+     * @param accessTime Access time or {@code 0} to stop tracking access time.
+     */
+    public void accessTime(long accessTime);
+
     /**
      * @return Time to live.
      * @throws GridCacheEntryRemovedException If entry was removed.
@@ -72,6 +72,13 @@ public class GridCacheEvictionEntry<K, V> implements GridCacheEntry<K, V>, Exter
         log = U.logger(cached.context().kernalContext(), logRef, this);
     }
 
+    /**
+     * @return Cached entry.
+     */
+    public GridCacheEntryEx<K, V> unwrap() {
+        return cached;
+    }
+
     /** {@inheritDoc} */
     @Override public GridCacheProjection<K, V> projection() {
         return cached.context().cache();
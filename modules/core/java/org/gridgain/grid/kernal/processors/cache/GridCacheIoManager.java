@@ -84,6 +84,9 @@ public class GridCacheIoManager<K, V> extends GridCacheManagerAdapter<K, V> {
     /** Deployment enabled. */
     private boolean depEnabled;
 
+    /** Executor processing single-partition messages, {@code null} if striped processing is disabled. */
+    private GridStripedExecutor stripedExec;
+
     /** Message listener. */
     private GridMessageListener lsnr = new GridMessageListener() {
         @SuppressWarnings("unchecked")
@@ -125,6 +128,8 @@ public class GridCacheIoManager<K, V> extends GridCacheManagerAdapter<K, V> {
 
         depEnabled = cctx.gridDeploy().enabled();
 
+        stripedExec = cctx.kernalContext().cache().stripedExecutor();
+
         if (F.isEmpty(cacheName))
             gridTopic = TOPIC_CACHE;
         else
@@ -193,12 +198,12 @@ public class GridCacheIoManager<K, V> extends GridCacheManagerAdapter<K, V> {
             unmarshall(nodeId, cacheMsg);
 
             if (CU.allowForStartup(cacheMsg))
-                processMessage(nodeId, cacheMsg, c);
+                dispatchMessage(nodeId, cacheMsg, c);
             else {
                 GridFuture<?> startFut = cctx.preloader().startFuture();
 
                 if (startFut.isDone())
-                    processMessage(nodeId, cacheMsg, c);
+                    dispatchMessage(nodeId, cacheMsg, c);
                 else {
                     if (log.isDebugEnabled())
                         log.debug("Waiting for start future to complete for message [nodeId=" + nodeId +
@@ -251,6 +256,50 @@ public class GridCacheIoManager<K, V> extends GridCacheManagerAdapter<K, V> {
         }
     }
 
+    /**
+     * Processes message in the current thread or, if message is bound to a single partition and
+     * striped processing is enabled, in the stripe thread this partition is pinned to.
+     *
+     * @param nodeId Node ID.
+     * @param msg Message.
+     * @param c Closure.
+     */
+    private void dispatchMessage(final UUID nodeId, final GridCacheMessage<K, V> msg,
+        final GridBiInClosure<UUID, GridCacheMessage<K, V>> c) {
+        int part = stripedExec != null && msg.classError() == null ? msg.partition(cctx) : -1;
+
+        if (part < 0) {
+            processMessage(nodeId, msg, c);
+
+            return;
+        }
+
+        stripedExec.execute(part, new Runnable() {
+            @Override public void run() {
+                rw.readLock();
+
+                try {
+                    if (stopping) {
+                        if (log.isDebugEnabled())
+                            log.debug("Received cache communication message while stopping (will ignore) " +
+                                "[nodeId=" + nodeId + ", msg=" + msg + ']');
+
+                        return;
+                    }
+
+                    processMessage(nodeId, msg, c);
+                }
+                finally {
+                    rw.readUnlock();
+                }
+            }
+
+            @Override public String toString() {
+                return "Striped cache message [nodeId=" + nodeId + ", msg=" + msg + ']';
+            }
+        });
+    }
+
     /**
      * @param nodeId Node ID.
      * @param msg Message.
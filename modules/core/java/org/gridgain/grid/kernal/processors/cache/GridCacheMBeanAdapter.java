@@ -211,11 +211,41 @@ class GridCacheMBeanAdapter implements GridCacheMBean {
         return store != null ? store.getWriteBehindBufferSize() : -1;
     }
 
+    /** {@inheritDoc} */
+    @Override public int getWriteBehindMaxStripeBufferSize() {
+        return store != null ? store.getWriteBehindMaxStripeBufferSize() : -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public float getWriteBehindCoalesceRatio() {
+        return store != null ? store.getWriteBehindCoalesceRatio() : -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public float getWriteBehindAverageFlushTime() {
+        return store != null ? store.getWriteBehindAverageFlushTime() : -1;
+    }
+
     /** {@inheritDoc} */
     @Override public int getContinuousQueryQueueSize() {
         return cctx.continuousQueries().currentQueueSize();
     }
 
+    /** {@inheritDoc} */
+    @Override public long getContinuousQueryConflationUpdates() {
+        return cctx.continuousQueries().conflationUpdates();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getContinuousQueryConflatedUpdates() {
+        return cctx.continuousQueries().conflatedUpdates();
+    }
+
+    /** {@inheritDoc} */
+    @Override public double getContinuousQueryConflationRatio() {
+        return cctx.continuousQueries().conflationRatio();
+    }
+
     /** {@inheritDoc} */
     @Override public int getDrQueuedKeysCount() {
         return cctx.dr().queuedKeysCount();
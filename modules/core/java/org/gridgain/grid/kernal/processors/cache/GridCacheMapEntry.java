@@ -1034,6 +1034,8 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
 
             update(val, valBytes, expireTime, ttl, newVer);
 
+            onUpdated(newVer, val == null && valBytes == null);
+
             drReplicate(drType, val, valBytes, newVer);
 
             recordNodeId(affNodeId);
@@ -1139,6 +1141,8 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
 
                 update(null, null, 0, 0, newVer);
 
+                onUpdated(newVer, true);
+
                 if (cctx.deferredDelete() && !deletedUnlocked() && !detached() && !isInternal()) {
                     deletedUnlocked(true);
 
@@ -1443,6 +1447,8 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
 
                 update(updated, valBytes, newExpireTime, newTtl, newVer);
 
+                onUpdated(newVer, updated == null && valBytes == null);
+
                 drReplicate(drType, updated, valBytes, newVer);
 
                 if (evt && newVer != null && cctx.events().isRecordable(EVT_CACHE_OBJECT_PUT))
@@ -1482,6 +1488,8 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
                 // Clear value on backup. Entry will be removed from cache when it got evicted from queue.
                 update(null, null, 0, 0, newVer);
 
+                onUpdated(newVer, true);
+
                 drReplicate(drType, null, null, newVer);
 
                 if (evt && newVer != null && cctx.events().isRecordable(EVT_CACHE_OBJECT_REMOVED))
@@ -1901,6 +1909,17 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
         this.ver = ver;
     }
 
+    /**
+     * Callback invoked under entry lock after entry has been written by cache update or by preloading.
+     * Is not invoked when entry is loaded from swap or store.
+     *
+     * @param ver Update version.
+     * @param rmv {@code True} if entry has been removed.
+     */
+    protected void onUpdated(GridCacheVersion ver, boolean rmv) {
+        // No-op.
+    }
+
     /**
      * @return {@code true} If value bytes should be stored.
      */
@@ -2390,6 +2409,9 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
                 // Version does not change for load ops.
                 update(val, valBytes, expTime, ttl, ver);
 
+                if (preload)
+                    onUpdated(ver, val == null && valBytes == null);
+
                 boolean skipQryNtf = false;
 
                 if (val == null && valBytes == null) {
@@ -2436,6 +2458,20 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
         return false;
     }
 
+    /** {@inheritDoc} */
+    @Override public synchronized boolean initialOffHeapValue(byte[] keyBytes, byte[] entry, int off, int len)
+        throws GridException, GridCacheEntryRemovedException {
+        checkObsolete();
+
+        if (isNew() && !cctx.swap().containsKey(key, keyBytes)) {
+            cctx.swap().writeToOffHeap(partition(), key, keyBytes, entry, off, len);
+
+            return true;
+        }
+
+        return false;
+    }
+
     /** {@inheritDoc} */
     @Override public synchronized boolean versionedValue(V val, GridCacheVersion curVer, GridCacheVersion newVer)
         throws GridException, GridCacheEntryRemovedException {
@@ -2461,6 +2497,8 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
 
                 // Version does not change for load ops.
                 update(val, null, expTime, ttl, newVer);
+
+                onUpdated(newVer, val == null);
             }
 
             return true;
@@ -3501,6 +3539,17 @@ public abstract class GridCacheMapEntry<K, V> implements GridCacheEntryEx<K, V>
             new GridCacheTtlEntryExtras<K>(ttl, expireTime) : null;
     }
 
+    /** {@inheritDoc} */
+    @Override public synchronized long accessTime() {
+        return extras != null ? extras.accessTime() : 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized void accessTime(long accessTime) {
+        extras = (extras != null) ? extras.accessTime(accessTime) : accessTime != 0 ?
+            new GridCacheAccessTimeEntryExtras<K>(null, accessTime) : null;
+    }
+
     /**
      * @return Size of extras object.
      */
@@ -85,6 +85,40 @@ public abstract class GridCacheMessage<K, V> extends GridTcpCommunicationMessage
         return false;
     }
 
+    /**
+     * Gets partition all keys updated by this message belong to. Messages bound to a single partition are
+     * processed in cache striped pool if it is enabled (see {@link GridConfiguration#getCacheStripedPoolSize()}).
+     *
+     * @param ctx Cache context.
+     * @return Partition or {@code -1} if message is not bound to a single partition.
+     */
+    public int partition(GridCacheContext<K, V> ctx) {
+        return -1;
+    }
+
+    /**
+     * @param ctx Cache context.
+     * @param keys Keys.
+     * @return Partition all keys belong to or {@code -1} if keys are empty or belong to different partitions.
+     */
+    protected static <K, V> int partition(GridCacheContext<K, V> ctx, @Nullable Iterable<? extends K> keys) {
+        if (keys == null)
+            return -1;
+
+        int part = -1;
+
+        for (K key : keys) {
+            int p = ctx.affinity().partition(key);
+
+            if (part == -1)
+                part = p;
+            else if (part != p)
+                return -1;
+        }
+
+        return part;
+    }
+
     /**
      * @return {@code True} if class loading errors should be ignored, false otherwise.
      */
@@ -49,6 +49,7 @@ import org.gridgain.grid.util.typedef.*;
 import org.gridgain.grid.util.typedef.internal.*;
 import org.gridgain.grid.util.*;
 import org.gridgain.grid.util.future.*;
+import org.gridgain.grid.util.offheap.unsafe.*;
 import org.jetbrains.annotations.*;
 
 import javax.management.*;
@@ -98,6 +99,9 @@ public class GridCacheProcessor extends GridProcessorAdapter {
     /** Cache MBeans. */
     private final Collection<ObjectName> cacheMBeans = new LinkedList<>();
 
+    /** Executor pinning partition update messages to stripe threads, {@code null} if disabled. */
+    private GridStripedExecutor stripedExec;
+
     /**
      * @param ctx Kernal context.
      */
@@ -304,6 +308,8 @@ public class GridCacheProcessor extends GridProcessorAdapter {
         if (cc.getPreloadMode() != GridCachePreloadMode.NONE) {
             assertParameter(cc.getPreloadThreadPoolSize() > 0, "preloadThreadPoolSize > 0");
             assertParameter(cc.getPreloadBatchSize() > 0, "preloadBatchSize > 0");
+            assertParameter(cc.getPreloadHistorySize() >= 0, "preloadHistorySize >= 0");
+            assertParameter(cc.getPreloadHistoryMargin() >= 0, "preloadHistoryMargin >= 0");
         }
 
         if (cc.getCacheMode() == PARTITIONED || cc.getCacheMode() == REPLICATED) {
@@ -591,6 +597,10 @@ public class GridCacheProcessor extends GridProcessorAdapter {
 
         maxPreloadOrder = validatePreloadOrder(ctx.config().getCacheConfiguration());
 
+        if (ctx.config().getCacheStripedPoolSize() > 0)
+            stripedExec = new GridStripedExecutor(ctx.config().getCacheStripedPoolSize(), ctx.gridName(),
+                "cache-striped", log);
+
         // Internal caches which should not be returned to user.
         GridGgfsConfiguration[] ggfsCfgs = ctx.grid().configuration().getGgfsConfiguration();
 
@@ -1309,6 +1319,11 @@ public class GridCacheProcessor extends GridProcessorAdapter {
 
                         mgr.stop(cancel);
                     }
+
+                    GridUnsafeMemory dhtMem = dhtCtx.unsafeMemory();
+
+                    if (dhtMem != null)
+                        dhtMem.destruct();
                 }
             }
 
@@ -1332,10 +1347,23 @@ public class GridCacheProcessor extends GridProcessorAdapter {
             cleanup(ctx);
         }
 
+        if (stripedExec != null)
+            stripedExec.stop();
+
         if (log.isDebugEnabled())
             log.debug("Stopped cache processor.");
     }
 
+    /**
+     * Gets executor processing partition update messages in stripe threads.
+     *
+     * @return Striped executor or {@code null} if striped processing is disabled.
+     * @see GridConfiguration#getCacheStripedPoolSize()
+     */
+    @Nullable public GridStripedExecutor stripedExecutor() {
+        return stripedExec;
+    }
+
     /**
      * Gets preload finish future for preload-ordered cache with given order. I.e. will get compound preload future
      * with maximum order less than {@code order}.
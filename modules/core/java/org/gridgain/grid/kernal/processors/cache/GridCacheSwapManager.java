@@ -55,6 +55,9 @@ public class GridCacheSwapManager<K, V> extends GridCacheManagerAdapter<K, V> {
     /** */
     private String spaceName;
 
+    /** Name of swap space keeping markers of partitions completely written to swap on stop. */
+    private String markerSpaceName;
+
     /** Flag to indicate if manager is enabled. */
     private final boolean enabled;
 
@@ -93,6 +96,7 @@ public class GridCacheSwapManager<K, V> extends GridCacheManagerAdapter<K, V> {
     /** {@inheritDoc} */
     @Override public void start0() throws GridException {
         spaceName = CU.swapSpaceName(cctx);
+        markerSpaceName = spaceName + "-markers";
 
         swapMgr = cctx.gridSwap();
         offheap = cctx.offheap();
@@ -421,11 +425,12 @@ public class GridCacheSwapManager<K, V> extends GridCacheManagerAdapter<K, V> {
 
         // First check off-heap store.
         if (offheapEnabled) {
-            byte[] entryBytes = offheap.get(spaceName, part, key, keyBytes);
-
             // To unmarshal entry itself local class loader will be enough.
-            if (entryBytes != null)
-                return swapEntry((GridCacheSwapEntry<V>)unmarshal(entryBytes, cctx.deploy().localLoader()));
+            GridCacheSwapEntry<V> entry = offheap.getValue(spaceName, part, key, keyBytes,
+                cctx.deploy().localLoader());
+
+            if (entry != null)
+                return swapEntry(entry);
         }
 
         if (!swapEnabled)
@@ -798,7 +803,7 @@ public class GridCacheSwapManager<K, V> extends GridCacheManagerAdapter<K, V> {
             GridCacheSwapEntry<V> entry = new GridCacheSwapEntry<>(keyHash, val, valIsByteArr, ver, ttl, expireTime,
                 keyClsLdrId, valClsLdrId);
 
-            offheap.put(spaceName, part, key, keyBytes, marshal(entry));
+            offheap.putValue(spaceName, part, key, keyBytes, entry);
 
             if (cctx.events().isRecordable(EVT_CACHE_OBJECT_TO_OFFHEAP))
                 cctx.events().addEvent(part, key, cctx.nodeId(), (GridUuid)null, null,
@@ -832,8 +837,7 @@ public class GridCacheSwapManager<K, V> extends GridCacheManagerAdapter<K, V> {
 
         if (offheapEnabled) {
             for (GridCacheBatchSwapEntry<K, V> swapEntry : swapped) {
-                offheap.put(spaceName, swapEntry.partition(), swapEntry.key(), swapEntry.keyBytes(),
-                    marshal(swapEntry));
+                offheap.putValue(spaceName, swapEntry.partition(), swapEntry.key(), swapEntry.keyBytes(), swapEntry);
 
                 if (cctx.events().isRecordable(EVT_CACHE_OBJECT_TO_OFFHEAP))
                     cctx.events().addEvent(swapEntry.partition(), swapEntry.key(), cctx.nodeId(),
@@ -881,6 +885,57 @@ public class GridCacheSwapManager<K, V> extends GridCacheManagerAdapter<K, V> {
                 EVT_CACHE_OBJECT_SWAPPED, null, false, null, true);
     }
 
+    /**
+     * Writes given serialized swap entry to off-heap memory as is.
+     *
+     * @param part Partition.
+     * @param key Key.
+     * @param keyBytes Key bytes.
+     * @param entry Array holding serialized swap entry.
+     * @param off Swap entry offset.
+     * @param len Swap entry length.
+     * @throws GridException If failed.
+     */
+    void writeToOffHeap(int part, K key, byte[] keyBytes, byte[] entry, int off, int len) throws GridException {
+        assert offheapEnabled;
+
+        checkIteratorQueue();
+
+        offheap.put(spaceName, part, U.hash(key), keyBytes, entry, off, len);
+
+        if (cctx.events().isRecordable(EVT_CACHE_OBJECT_TO_OFFHEAP))
+            cctx.events().addEvent(part, key, cctx.nodeId(), (GridUuid)null, null,
+                EVT_CACHE_OBJECT_TO_OFFHEAP, null, false, null, true);
+    }
+
+    /**
+     * Writes given serialized swap entry of a key known only in serialized form to off-heap memory as is,
+     * unless off-heap memory already has value for this key. Caller must make sure that the key is not
+     * concurrently updated, no event is recorded since key is not available.
+     *
+     * @param part Partition.
+     * @param hash Key hash.
+     * @param keyBytes Key bytes.
+     * @param entry Array holding serialized swap entry.
+     * @param off Swap entry offset.
+     * @param len Swap entry length.
+     * @return {@code True} if entry was written.
+     * @throws GridException If failed.
+     */
+    public boolean writeToOffHeapIfAbsent(int part, int hash, byte[] keyBytes, byte[] entry, int off, int len)
+        throws GridException {
+        assert offheapEnabled;
+
+        checkIteratorQueue();
+
+        if (offheap.contains(spaceName, part, hash, keyBytes))
+            return false;
+
+        offheap.put(spaceName, part, hash, keyBytes, entry, off, len);
+
+        return true;
+    }
+
     /**
      * Clears off-heap.
      */
@@ -899,6 +954,82 @@ public class GridCacheSwapManager<K, V> extends GridCacheManagerAdapter<K, V> {
             swapMgr.clear(spaceName);
     }
 
+    /**
+     * Removes swapped entries of partition which keys pass given filter.
+     *
+     * @param part Partition.
+     * @param filter Key filter.
+     * @throws GridException If failed.
+     */
+    public void clearSwap(int part, GridPredicate<K> filter) throws GridException {
+        if (!swapEnabled)
+            return;
+
+        try (GridCloseableIterator<Map.Entry<byte[], byte[]>> it = swapMgr.rawIterator(spaceName, part)) {
+            while (it.hasNext()) {
+                byte[] keyBytes = it.next().getKey();
+
+                K key = unmarshal(keyBytes, cctx.deploy().globalLoader());
+
+                if (filter.apply(key))
+                    remove(key, keyBytes);
+            }
+        }
+    }
+
+    /**
+     * Gets number of swap entries (keys) in partition.
+     *
+     * @param part Partition.
+     * @return Swap keys count.
+     * @throws GridException If failed.
+     */
+    public long swapKeys(int part) throws GridException {
+        if (!swapEnabled)
+            return 0;
+
+        long cnt = 0;
+
+        try (GridCloseableIterator<Map.Entry<byte[], byte[]>> it = swapMgr.rawIterator(spaceName, part)) {
+            for (; it.hasNext(); it.next())
+                cnt++;
+        }
+
+        return cnt;
+    }
+
+    /**
+     * Marks partition as completely written to swap.
+     *
+     * @param part Partition.
+     * @param keys Number of partition entries in swap.
+     * @throws GridException If failed.
+     */
+    public void writePartitionMarker(int part, long keys) throws GridException {
+        if (swapEnabled)
+            swapMgr.write(markerSpaceName, part, keys, null);
+    }
+
+    /**
+     * @param part Partition.
+     * @return Number of partition entries written to swap or {@code null} if partition
+     *      was not marked as completely written.
+     * @throws GridException If failed.
+     */
+    @Nullable public Long readPartitionMarker(int part) throws GridException {
+        return swapEnabled ? swapMgr.<Long>read(markerSpaceName, part, null) : null;
+    }
+
+    /**
+     * Removes all partition markers.
+     *
+     * @throws GridException If failed.
+     */
+    public void clearPartitionMarkers() throws GridException {
+        if (swapEnabled)
+            swapMgr.clear(markerSpaceName);
+    }
+
     /**
      * Gets offheap and swap iterator over partition.
      *
@@ -1226,6 +1357,26 @@ public class GridCacheSwapManager<K, V> extends GridCacheManagerAdapter<K, V> {
         return new IteratorWrapper(offheap.iterator(spaceName, part));
     }
 
+    /**
+     * Gets raw off-heap iterator over partition. Iterator returns key hashes, key bytes and serialized
+     * swap entries exactly as they are stored in off-heap memory.
+     *
+     * @param part Partition to iterate over.
+     * @return Iterator over partition or {@code null} if off-heap is disabled.
+     */
+    @Nullable public GridCloseableIterator<T3<Integer, byte[], byte[]>> rawOffHeapIterator(int part) {
+        if (!offheapEnabled)
+            return null;
+
+        checkIteratorQueue();
+
+        return offheap.iterator(spaceName, part, new C3<Integer, byte[], byte[], T3<Integer, byte[], byte[]>>() {
+            @Override public T3<Integer, byte[], byte[]> apply(Integer hash, byte[] keyBytes, byte[] entry) {
+                return new T3<>(hash, keyBytes, entry);
+            }
+        });
+    }
+
     /**
      * @return Raw off-heap iterator.
      */
@@ -56,6 +56,11 @@ import java.util.concurrent.locks.*;
  * <p/>
  * Since write operations to the cache store are deferred, transaction support is lost; no
  * transaction objects are passed to the underlying store.
+ * <p/>
+ * Write buffer is split into stripes by key hash, one stripe per flush thread. Each stripe
+ * has its own pending map, flush size limits and flusher, so writers and flushers of
+ * different stripes never contend and buffer overflow in one stripe does not force
+ * synchronous flush for keys of other stripes.
  */
 public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, GridLifecycleAware {
     /** Default write cache initial capacity. */
@@ -79,6 +84,12 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
     /** Critical cache size. If cache size exceeds this value, data flush performed synchronously. */
     private int cacheCriticalSize;
 
+    /** Flush size of a single stripe. */
+    private int stripeMaxSize;
+
+    /** Critical size of a single stripe. */
+    private int stripeCriticalSize;
+
     /** Count of worker threads performing underlying store updates. */
     private int flushThreadCnt = GridCacheConfiguration.DFLT_WRITE_FROM_BEHIND_FLUSH_THREAD_CNT;
 
@@ -97,8 +108,8 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
     /** Underlying store. */
     private GridCacheStore<K, V> store;
 
-    /** Write cache. */
-    private ConcurrentLinkedHashMap<K, StatefulValue<V>> writeCache;
+    /** Write cache stripes. */
+    private Stripe[] stripes;
 
     /** Flusher threads. */
     private GridWorker[] flushThreads;
@@ -106,12 +117,6 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
     /** Atomic flag indicating store shutdown. */
     private AtomicBoolean stopping = new AtomicBoolean(true);
 
-    /** Flush lock. */
-    private Lock flushLock = new ReentrantLock();
-
-    /** Condition to determine records available for flush. */
-    private Condition canFlush = flushLock.newCondition();
-
     /** Variable for counting total cache overflows. */
     private AtomicInteger cacheTotalOverflowCntr = new AtomicInteger();
 
@@ -121,6 +126,18 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
     /** Variable for counting key-value pairs that are in {@link ValueStatus#RETRY} state. */
     private AtomicInteger retryEntriesCnt = new AtomicInteger();
 
+    /** Count of put and remove operations accepted by this store. */
+    private final LongAdder updatesCnt = new LongAdder();
+
+    /** Count of operations that were coalesced with a pending operation on the same key. */
+    private final LongAdder coalescedCnt = new LongAdder();
+
+    /** Count of batches applied to the underlying store. */
+    private final LongAdder flushCnt = new LongAdder();
+
+    /** Total time spent in the underlying store in nanoseconds. */
+    private final LongAdder flushTime = new LongAdder();
+
     /** Log. */
     private GridLogger log;
 
@@ -232,7 +249,49 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
      * @return Total count of entries in cache store internal buffer.
      */
     public int getWriteBehindBufferSize() {
-        return writeCache.sizex();
+        int size = 0;
+
+        for (Stripe stripe : stripes)
+            size += stripe.writeCache.sizex();
+
+        return size;
+    }
+
+    /**
+     * Gets count of entries in the most loaded stripe of write buffer.
+     *
+     * @return Maximum count of entries in a single stripe of write buffer.
+     */
+    public int getWriteBehindMaxStripeBufferSize() {
+        int max = 0;
+
+        for (Stripe stripe : stripes)
+            max = Math.max(max, stripe.writeCache.sizex());
+
+        return max;
+    }
+
+    /**
+     * Gets ratio of put and remove operations that were coalesced with a pending
+     * operation on the same key and therefore did not cause separate store update.
+     *
+     * @return Coalesce ratio from {@code 0} to {@code 1}.
+     */
+    public float getWriteBehindCoalesceRatio() {
+        long updates = updatesCnt.sum();
+
+        return updates == 0 ? 0 : (float)coalescedCnt.sum() / updates;
+    }
+
+    /**
+     * Gets average time of a single batch update of the underlying store.
+     *
+     * @return Average flush time in milliseconds.
+     */
+    public float getWriteBehindAverageFlushTime() {
+        long cnt = flushCnt.sum();
+
+        return cnt == 0 ? 0 : (float)flushTime.sum() / cnt / 1000000;
     }
 
     /**
@@ -278,12 +337,20 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
             if (cacheCriticalSize == 0)
                 cacheCriticalSize = GridCacheConfiguration.DFLT_WRITE_BEHIND_CRITICAL_SIZE;
 
-            flushThreads = new GridWorker[flushThreadCnt];
+            int stripesCnt = Math.max(flushThreadCnt, 1);
 
-            writeCache = new ConcurrentLinkedHashMap<>(initCap, 0.75f, concurLvl);
+            stripeMaxSize = cacheMaxSize > 0 ? Math.max(cacheMaxSize / stripesCnt, 1) : 0;
+            stripeCriticalSize = Math.max(cacheCriticalSize / stripesCnt, 1);
+
+            flushThreads = new GridWorker[stripesCnt];
+
+            stripes = new GridCacheWriteBehindStore.Stripe[stripesCnt];
+
+            for (int i = 0; i < stripesCnt; i++)
+                stripes[i] = new Stripe(Math.max(initCap / stripesCnt, 16), Math.max(concurLvl / stripesCnt, 1));
 
             for (int i = 0; i < flushThreads.length; i++) {
-                flushThreads[i] = new Flusher(gridName, "flusher-" + i, log);
+                flushThreads[i] = new Flusher(gridName, "flusher-" + i, log, stripes[i]);
 
                 new GridThread(flushThreads[i]).start();
             }
@@ -379,7 +446,7 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
         Collection<K> remaining = new LinkedList<>();
 
         for (K key : keys) {
-            StatefulValue<V> val = writeCache.get(key);
+            StatefulValue<V> val = stripe(key).writeCache.get(key);
 
             if (val != null) {
                 val.readLock().lock();
@@ -418,7 +485,7 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
         if (log.isDebugEnabled())
             log.debug("Store load [key=" + key + ", tx=" + tx + ']');
 
-        StatefulValue<V> val = writeCache.get(key);
+        StatefulValue<V> val = stripe(key).writeCache.get(key);
 
         if (val != null) {
             val.readLock().lock();
@@ -492,10 +559,16 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
      * @throws GridInterruptedException If interrupted while waiting for value to be flushed.
      */
     private void updateCache(K key, @Nullable V val, StoreOperation operation) throws GridInterruptedException {
+        Stripe stripe = stripe(key);
+
+        ConcurrentLinkedHashMap<K, StatefulValue<V>> writeCache = stripe.writeCache;
+
         StatefulValue<V> newVal = new StatefulValue<>(val, operation);
 
         StatefulValue<V> prev;
 
+        updatesCnt.increment();
+
         while ((prev = writeCache.putIfAbsent(key, newVal)) != null) {
             prev.writeLock().lock();
 
@@ -517,6 +590,8 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
 
                 prev.update(val, operation, ValueStatus.NEW);
 
+                coalescedCnt.increment();
+
                 break;
             }
             finally {
@@ -524,26 +599,38 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
             }
         }
 
-        // Now check the map size
-        if (writeCache.sizex() > cacheCriticalSize)
+        // Now check the stripe size.
+        int size = writeCache.sizex();
+
+        if (size > stripeCriticalSize)
             // Perform single store update in the same thread.
-            flushSingleValue();
-        else if (cacheMaxSize > 0 && writeCache.sizex() > cacheMaxSize)
-            wakeUp();
+            flushSingleValue(stripe);
+        else if (stripeMaxSize > 0 && size > stripeMaxSize)
+            stripe.wakeUp();
+    }
+
+    /**
+     * @param key Key.
+     * @return Write cache stripe for given key.
+     */
+    private Stripe stripe(Object key) {
+        return stripes[U.safeAbs(U.hash(key.hashCode())) % stripes.length];
     }
 
     /**
      * Flushes one upcoming value to the underlying store. Called from
-     * {@link #updateCache(Object, Object, StoreOperation)} method in case when current map size exceeds
+     * {@link #updateCache(Object, Object, StoreOperation)} method in case when current stripe size exceeds
      * critical size.
+     *
+     * @param stripe Overflowed stripe.
      */
-    private void flushSingleValue() {
+    private void flushSingleValue(Stripe stripe) {
         cacheOverflowCntr.incrementAndGet();
 
         try {
             Map<K, StatefulValue<V>> batch = null;
 
-            for (Map.Entry<K, StatefulValue<V>> e : writeCache.entrySet()) {
+            for (Map.Entry<K, StatefulValue<V>> e : stripe.writeCache.entrySet()) {
                 StatefulValue<V> val = e.getValue();
 
                 val.writeLock().lock();
@@ -569,7 +656,7 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
                 }
 
                 if (batch != null && !batch.isEmpty()) {
-                    applyBatch(batch);
+                    applyBatch(stripe, batch);
 
                     cacheTotalOverflowCntr.incrementAndGet();
 
@@ -585,9 +672,10 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
     /**
      * Performs batch operation on underlying store.
      *
+     * @param stripe Stripe batch entries belong to.
      * @param valMap Batch map.
      */
-    private void applyBatch(Map<K, StatefulValue<V>> valMap) {
+    private void applyBatch(Stripe stripe, Map<K, StatefulValue<V>> valMap) {
         assert valMap.size() <= batchSize;
 
         StoreOperation operation = null;
@@ -606,7 +694,7 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
             batch.put(e.getKey(), e.getValue().value());
         }
 
-        if (updateStore(operation, batch)) {
+        if (updateStore(stripe, operation, batch)) {
             for (Map.Entry<K, StatefulValue<V>> e : valMap.entrySet()) {
                 StatefulValue<V> val = e.getValue();
 
@@ -615,7 +703,7 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
                 try {
                     val.status(ValueStatus.FLUSHED);
 
-                    StatefulValue<V> prev = writeCache.remove(e.getKey());
+                    StatefulValue<V> prev = stripe.writeCache.remove(e.getKey());
 
                     // Additional check to ensure consistency.
                     assert prev == val : "Map value for key " + e.getKey() + " was updated during flush";
@@ -654,12 +742,15 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
      * be lost. If map size does not exceed critical value, it will return false and value will
      * be retained in write cache.
      *
+     * @param stripe Stripe values belong to.
      * @param operation Status indicating operation that should be performed.
      * @param vals Key-Value map.
      * @return {@code true} if value may be deleted from the write cache,
      *         {@code false} otherwise
      */
-    private boolean updateStore(StoreOperation operation, Map<K, V> vals) {
+    private boolean updateStore(Stripe stripe, StoreOperation operation, Map<K, V> vals) {
+        long start = System.nanoTime();
+
         try {
             switch (operation) {
                 case PUT:
@@ -681,7 +772,7 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
         catch (GridException e) {
             LT.warn(log, e, "Unable to update underlying store: " + store);
 
-            if (writeCache.sizex() > cacheCriticalSize || stopping.get()) {
+            if (stripe.writeCache.sizex() > stripeCriticalSize || stopping.get()) {
                 for (Map.Entry<K, V> entry : vals.entrySet())
                     log.warning("Failed to update store (value will be lost as current buffer size is greater " +
                         "than 'cacheCriticalSize' or node has been stopped before store was repaired) [key=" +
@@ -692,38 +783,81 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
 
             return false;
         }
+        finally {
+            flushCnt.increment();
+            flushTime.add(System.nanoTime() - start);
+        }
     }
 
     /**
-     * Wakes up flushing threads if map size exceeded maximum value or in case of shutdown.
+     * Wakes up flushing threads of all stripes.
      */
     private void wakeUp() {
-        flushLock.lock();
+        for (Stripe stripe : stripes)
+            stripe.wakeUp();
+    }
 
-        try {
-            canFlush.signalAll();
+    /**
+     * Stripe of write cache with its own flush condition.
+     */
+    private class Stripe {
+        /** Write cache. */
+        private final ConcurrentLinkedHashMap<K, StatefulValue<V>> writeCache;
+
+        /** Flush lock. */
+        private final Lock flushLock = new ReentrantLock();
+
+        /** Condition to determine records available for flush. */
+        private final Condition canFlush = flushLock.newCondition();
+
+        /**
+         * @param initCap Initial capacity.
+         * @param concurLvl Concurrency level.
+         */
+        private Stripe(int initCap, int concurLvl) {
+            writeCache = new ConcurrentLinkedHashMap<>(initCap, 0.75f, concurLvl);
         }
-        finally {
-            flushLock.unlock();
+
+        /**
+         * Wakes up flushing thread if stripe size exceeded maximum value or in case of shutdown.
+         */
+        private void wakeUp() {
+            flushLock.lock();
+
+            try {
+                canFlush.signalAll();
+            }
+            finally {
+                flushLock.unlock();
+            }
         }
     }
 
-
     /**
      * Thread that performs time-based flushing of written values to the underlying storage.
      */
     private class Flusher extends GridWorker {
-        /** {@inheritDoc */
-        protected Flusher(String gridName, String name, GridLogger log) {
+        /** Stripe flushed by this thread. */
+        private final Stripe stripe;
+
+        /**
+         * @param gridName Grid name.
+         * @param name Worker name.
+         * @param log Logger.
+         * @param stripe Stripe to flush.
+         */
+        protected Flusher(String gridName, String name, GridLogger log, Stripe stripe) {
             super(gridName, name, log);
+
+            this.stripe = stripe;
         }
 
         /** {@inheritDoc} */
         @Override protected void body() throws InterruptedException, GridInterruptedException {
-            while (!stopping.get() || writeCache.sizex() > 0) {
+            while (!stopping.get() || stripe.writeCache.sizex() > 0) {
                 awaitOperationsAvailable();
 
-                flushCache(writeCache.entrySet().iterator());
+                flushCache(stripe.writeCache.entrySet().iterator());
             }
         }
 
@@ -733,21 +867,21 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
          * @throws InterruptedException If awaiting was interrupted.
          */
         private void awaitOperationsAvailable() throws InterruptedException {
-            flushLock.lock();
+            stripe.flushLock.lock();
 
             try {
                 do {
-                    if (writeCache.sizex() <= cacheMaxSize || cacheMaxSize == 0) {
+                    if (stripe.writeCache.sizex() <= stripeMaxSize || stripeMaxSize == 0) {
                         if (cacheFlushFreq > 0)
-                            canFlush.await(cacheFlushFreq, TimeUnit.MILLISECONDS);
+                            stripe.canFlush.await(cacheFlushFreq, TimeUnit.MILLISECONDS);
                         else
-                            canFlush.await();
+                            stripe.canFlush.await();
                     }
                 }
-                while (writeCache.sizex() == 0 && !stopping.get());
+                while (stripe.writeCache.sizex() == 0 && !stopping.get());
             }
             finally {
-                flushLock.unlock();
+                stripe.flushLock.unlock();
             }
         }
 
@@ -812,14 +946,14 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
                 }
 
                 if (batch != null && !batch.isEmpty()) {
-                    applyBatch(batch);
+                    applyBatch(stripe, batch);
                     batch = null;
                 }
             }
 
             // Process the remainder.
             if (!pending.isEmpty())
-                applyBatch(pending);
+                applyBatch(stripe, pending);
         }
     }
 
@@ -829,7 +963,12 @@ public class GridCacheWriteBehindStore<K, V> implements GridCacheStore<K, V>, Gr
      * @return Write cache for the underlying store operations.
      */
     Map<K, StatefulValue<V>> writeCache() {
-        return writeCache;
+        Map<K, StatefulValue<V>> res = new HashMap<>();
+
+        for (Stripe stripe : stripes)
+            res.putAll(stripe.writeCache);
+
+        return res;
     }
 
     /**
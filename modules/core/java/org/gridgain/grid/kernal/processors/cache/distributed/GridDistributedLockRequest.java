@@ -319,6 +319,11 @@ public class GridDistributedLockRequest<K, V> extends GridDistributedBaseMessage
         idx++;
     }
 
+    /** {@inheritDoc} */
+    @Override public int partition(GridCacheContext<K, V> ctx) {
+        return partition(ctx, keys);
+    }
+
     /**
      * @return Unmarshalled keys.
      */
@@ -29,6 +29,7 @@ import org.gridgain.grid.kernal.*;
 import org.gridgain.grid.kernal.processors.cache.*;
 import org.gridgain.grid.util.direct.*;
 import org.gridgain.grid.util.typedef.*;
+import org.gridgain.grid.util.typedef.internal.*;
 import org.gridgain.grid.util.tostring.*;
 import org.jetbrains.annotations.*;
 
@@ -232,6 +233,14 @@ public class GridDistributedTxPrepareRequest<K, V> extends GridDistributedBaseMe
         return writes;
     }
 
+    /** {@inheritDoc} */
+    @Override public int partition(GridCacheContext<K, V> ctx) {
+        if (F.isEmpty(writes))
+            return -1;
+
+        return partition(ctx, F.viewReadOnly(writes, CU.<K, V>tx2key()));
+    }
+
     /**
      * @param reads Reads.
      */
@@ -103,6 +103,11 @@ public class GridDhtCacheEntry<K, V> extends GridDistributedCacheEntry<K, V> {
         return locPart.valid();
     }
 
+    /** {@inheritDoc} */
+    @Override protected void onUpdated(GridCacheVersion ver, boolean rmv) {
+        locPart.onUpdated(key, ver, rmv);
+    }
+
     /** {@inheritDoc} */
     @Override protected void onMarkedObsolete() {
         // Remove this entry from partition mapping.
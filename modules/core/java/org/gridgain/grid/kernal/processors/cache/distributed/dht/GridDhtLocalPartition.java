@@ -91,6 +91,13 @@ public class GridDhtLocalPartition<K, V> implements Comparable<GridDhtLocalParti
     /** Remove queue. */
     private GridCircularBuffer<T2<K, GridCacheVersion>> rmvQueue;
 
+    /** Update counter. */
+    private final AtomicLong updCntr = new AtomicLong();
+
+    /** Update history ring indexed by update counter, {@code null} if history is disabled. */
+    @GridToStringExclude
+    private final AtomicReferenceArray<UpdateRecord<K>> updHist;
+
     /**
      * @param cctx Context.
      * @param id Partition ID.
@@ -116,6 +123,10 @@ public class GridDhtLocalPartition<K, V> implements Comparable<GridDhtLocalParti
         int delQueueSize = Math.max(MAX_DELETE_QUEUE_SIZE / cctx.affinity().partitions(), 100);
 
         rmvQueue = new GridCircularBuffer<>(U.ceilPow2(delQueueSize));
+
+        int histSize = cctx.config().getPreloadHistorySize();
+
+        updHist = histSize > 0 ? new AtomicReferenceArray<UpdateRecord<K>>(U.ceilPow2(histSize)) : null;
     }
 
     /**
@@ -228,6 +239,102 @@ public class GridDhtLocalPartition<K, V> implements Comparable<GridDhtLocalParti
         tryEvict(true);
     }
 
+    /**
+     * Records entry update in update history. Does nothing if history is disabled.
+     *
+     * @param key Updated key.
+     * @param ver Update version.
+     * @param rmv {@code True} if entry has been removed.
+     */
+    void onUpdated(K key, GridCacheVersion ver, boolean rmv) {
+        if (updHist == null)
+            return;
+
+        long cntr = updCntr.incrementAndGet();
+
+        updHist.set((int)(cntr & (updHist.length() - 1)),
+            new UpdateRecord<>(cntr, key, rmv ? ver : null, U.currentTimeMillis()));
+    }
+
+    /**
+     * @return Current update counter, always {@code 0} if update history is disabled.
+     */
+    public long updateCounter() {
+        return updCntr.get();
+    }
+
+    /**
+     * Gets update counter such that all updates made at or after given time have greater counters.
+     *
+     * @param time Time.
+     * @return Update counter or {@code -1} if update history does not reach back to given time.
+     */
+    public long updateCounter(long time) {
+        if (updHist == null)
+            return -1;
+
+        int len = updHist.length();
+
+        long cur = updCntr.get();
+
+        long c = cur;
+
+        for (; c > 0 && cur - c < len; c--) {
+            UpdateRecord<K> r = updHist.get((int)(c & (len - 1)));
+
+            // Update has not been recorded yet, so it is newer than any given time.
+            if (r == null || r.cntr < c)
+                continue;
+
+            // Record has been overwritten by newer update.
+            if (r.cntr > c)
+                return -1;
+
+            if (r.time < time)
+                return c;
+        }
+
+        return c == 0 ? 0 : -1;
+    }
+
+    /**
+     * Gets keys updated after given update counter.
+     *
+     * @param from Update counter.
+     * @return Updated keys mapped to removal version if the latest recorded update of the key is removal
+     *      or to {@code null} otherwise, {@code null} if update history does not cover all updates after
+     *      given counter.
+     */
+    @Nullable public Map<K, GridCacheVersion> updatedKeys(long from) {
+        if (updHist == null)
+            return null;
+
+        int len = updHist.length();
+
+        long cur = updCntr.get();
+
+        if (from < 0 || from > cur || cur - from > len)
+            return null;
+
+        Map<K, GridCacheVersion> keys = new LinkedHashMap<>();
+
+        for (long c = from + 1; c <= cur; c++) {
+            UpdateRecord<K> r = updHist.get((int)(c & (len - 1)));
+
+            // Update is being recorded concurrently, it will reach demander as a regular backup update.
+            if (r == null || r.cntr < c)
+                continue;
+
+            // Record has been overwritten by newer update.
+            if (r.cntr > c)
+                return null;
+
+            keys.put(r.key, r.rmvVer);
+        }
+
+        return keys;
+    }
+
     /**
      * @param key Removed key.
      * @param ver Removed version.
@@ -315,6 +422,44 @@ public class GridDhtLocalPartition<K, V> implements Comparable<GridDhtLocalParti
         return false;
     }
 
+    /**
+     * Cache preloader should call this method within partition lock. This method
+     * is used for raw entries which version is unknown without deserialization,
+     * so preloading is permitted only for keys that were never evicted locally.
+     *
+     * @param key Key.
+     * @return {@code True} if preloading is permitted.
+     */
+    public boolean preloadingPermitted(K key) {
+        assert key != null;
+        assert lock.isHeldByCurrentThread(); // Only one thread can enter this method at a time.
+
+        if (state() != MOVING)
+            return false;
+
+        Map<K, GridCacheVersion> evictHist0 = evictHist;
+
+        return evictHist0 != null && !evictHist0.containsKey(key);
+    }
+
+    /**
+     * Cache preloader should call this method within partition lock. This method
+     * is used for raw entries which keys are not unmarshalled, so preloading is
+     * permitted only if no key has been evicted locally.
+     *
+     * @return {@code True} if preloading is permitted for any key.
+     */
+    public boolean preloadingPermitted() {
+        assert lock.isHeldByCurrentThread(); // Only one thread can enter this method at a time.
+
+        if (state() != MOVING)
+            return false;
+
+        Map<K, GridCacheVersion> evictHist0 = evictHist;
+
+        return evictHist0 != null && evictHist0.isEmpty();
+    }
+
     /**
      * Reserves a partition so it won't be cleared.
      *
@@ -553,4 +698,34 @@ public class GridDhtLocalPartition<K, V> implements Comparable<GridDhtLocalParti
             "createTime", U.format(createTime),
             "mapPubSize", mapPubSize);
     }
+
+    /**
+     * Update history record.
+     */
+    private static class UpdateRecord<K> {
+        /** Update counter. */
+        private final long cntr;
+
+        /** Updated key. */
+        private final K key;
+
+        /** Removal version, {@code null} if entry has been put. */
+        private final GridCacheVersion rmvVer;
+
+        /** Update time. */
+        private final long time;
+
+        /**
+         * @param cntr Update counter.
+         * @param key Updated key.
+         * @param rmvVer Removal version, {@code null} if entry has been put.
+         * @param time Update time.
+         */
+        private UpdateRecord(long cntr, K key, @Nullable GridCacheVersion rmvVer, long time) {
+            this.cntr = cntr;
+            this.key = key;
+            this.rmvVer = rmvVer;
+            this.time = time;
+        }
+    }
 }
@@ -70,6 +70,11 @@ public class GridNoStorageCacheMap<K, V> extends GridCacheConcurrentMap<K, V> {
         return null;
     }
 
+    /** {@inheritDoc} */
+    @Override public Collection<GridCacheMapEntry<K, V>> randomEntries(int cnt) {
+        return Collections.emptyList();
+    }
+
     /** {@inheritDoc} */
     @Override public GridCacheMapEntry<K, V> getEntry(Object key) {
         return null;
@@ -237,6 +237,11 @@ public class GridDhtAtomicUpdateRequest<K, V> extends GridCacheMessage<K, V> imp
         return ttl;
     }
 
+    /** {@inheritDoc} */
+    @Override public int partition(GridCacheContext<K, V> ctx) {
+        return partition(ctx, keys);
+    }
+
     /**
      * @return Keys.
      */
@@ -291,6 +291,11 @@ public class GridNearAtomicUpdateRequest<K, V> extends GridCacheMessage<K, V> im
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public int partition(GridCacheContext<K, V> ctx) {
+        return partition(ctx, keys);
+    }
+
     /**
      * @return Keys for this update request.
      */
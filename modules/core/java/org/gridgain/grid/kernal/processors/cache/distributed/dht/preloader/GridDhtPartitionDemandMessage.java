@@ -62,6 +62,11 @@ public class GridDhtPartitionDemandMessage<K, V> extends GridCacheMessage<K, V>
     /** Topology version. */
     private long topVer;
 
+    /** Partitions fully persisted by demanding node, which can be supplied from update history. */
+    @GridToStringInclude
+    @GridDirectCollection(int.class)
+    private Set<Integer> hist;
+
     /**
      * @param updateSeq Update sequence for this node.
      * @param topVer Topology version.
@@ -83,6 +88,7 @@ public class GridDhtPartitionDemandMessage<K, V> extends GridCacheMessage<K, V>
         timeout = cp.timeout;
         workerId = cp.workerId;
         topVer = cp.topVer;
+        hist = cp.hist;
     }
 
     /**
@@ -171,6 +177,23 @@ public class GridDhtPartitionDemandMessage<K, V> extends GridCacheMessage<K, V>
         return topVer;
     }
 
+    /**
+     * @return Partitions which can be supplied from update history.
+     */
+    Set<Integer> history() {
+        return hist == null ? Collections.<Integer>emptySet() : hist;
+    }
+
+    /**
+     * @param p Partition which can be supplied from update history.
+     */
+    void history(int p) {
+        if (hist == null)
+            hist = new HashSet<>();
+
+        hist.add(p);
+    }
+
     /** {@inheritDoc} */
     @Override public void prepareMarshal(GridCacheContext<K, V> ctx) throws GridException {
         super.prepareMarshal(ctx);
@@ -210,6 +233,7 @@ public class GridDhtPartitionDemandMessage<K, V> extends GridCacheMessage<K, V>
         _clone.timeout = timeout;
         _clone.workerId = workerId;
         _clone.topVer = topVer;
+        _clone.hist = hist;
     }
 
     /** {@inheritDoc} */
@@ -285,6 +309,33 @@ public class GridDhtPartitionDemandMessage<K, V> extends GridCacheMessage<K, V>
 
                 commState.idx++;
 
+            case 8:
+                if (hist != null) {
+                    if (commState.it == null) {
+                        if (!commState.putInt(hist.size()))
+                            return false;
+
+                        commState.it = hist.iterator();
+                    }
+
+                    while (commState.it.hasNext() || commState.cur != NULL) {
+                        if (commState.cur == NULL)
+                            commState.cur = commState.it.next();
+
+                        if (!commState.putInt((int)commState.cur))
+                            return false;
+
+                        commState.cur = NULL;
+                    }
+
+                    commState.it = null;
+                } else {
+                    if (!commState.putInt(-1))
+                        return false;
+                }
+
+                commState.idx++;
+
         }
 
         return true;
@@ -370,6 +421,35 @@ public class GridDhtPartitionDemandMessage<K, V> extends GridCacheMessage<K, V>
 
                 commState.idx++;
 
+            case 8:
+                if (commState.readSize == -1) {
+                    if (buf.remaining() < 4)
+                        return false;
+
+                    commState.readSize = commState.getInt();
+                }
+
+                if (commState.readSize >= 0) {
+                    if (hist == null)
+                        hist = new HashSet<>(commState.readSize);
+
+                    for (int i = commState.readItems; i < commState.readSize; i++) {
+                        if (buf.remaining() < 4)
+                            return false;
+
+                        int _val = commState.getInt();
+
+                        hist.add((Integer)_val);
+
+                        commState.readItems++;
+                    }
+                }
+
+                commState.readSize = -1;
+                commState.readItems = 0;
+
+                commState.idx++;
+
         }
 
         return true;
@@ -28,14 +28,18 @@ import org.gridgain.grid.cache.*;
 import org.gridgain.grid.events.*;
 import org.gridgain.grid.kernal.processors.cache.*;
 import org.gridgain.grid.kernal.processors.cache.distributed.dht.*;
+import org.gridgain.grid.kernal.processors.cache.query.continuous.*;
 import org.gridgain.grid.kernal.processors.timeout.*;
 import org.gridgain.grid.lang.*;
 import org.gridgain.grid.logger.*;
+import org.gridgain.grid.spi.swapspace.*;
+import org.gridgain.grid.spi.swapspace.file.*;
 import org.gridgain.grid.thread.*;
 import org.gridgain.grid.util.*;
 import org.gridgain.grid.util.typedef.*;
 import org.gridgain.grid.util.typedef.internal.*;
 import org.gridgain.grid.util.future.*;
+import org.gridgain.grid.util.io.*;
 import org.gridgain.grid.util.tostring.*;
 import org.gridgain.grid.util.worker.*;
 import org.jetbrains.annotations.*;
@@ -110,6 +114,12 @@ public class GridDhtPartitionDemandPool<K, V> {
     private AtomicReference<GridDhtPartitionsExchangeFuture<K, V>> lastExchangeFut =
         new AtomicReference<>();
 
+    /** Partitions with entries restored from persistent swap space, which were not preloaded yet. */
+    private final Set<Integer> restoredParts = new GridConcurrentHashSet<>();
+
+    /** Restored partitions fully written to swap space on stop, which can be supplied from update history. */
+    private final Set<Integer> histParts = new GridConcurrentHashSet<>();
+
     /**
      * @param cctx Cache context.
      * @param busyLock Shutdown lock.
@@ -162,11 +172,168 @@ public class GridDhtPartitionDemandPool<K, V> {
                 new GridThread(cctx.gridName(), "preloader-demand-worker", w).start();
         }
 
+        if (restoredSwap())
+            restorePartitions();
+
         new GridThread(cctx.gridName(), "exchange-worker", exchWorker).start();
 
         onDiscoveryEvent(cctx.nodeId(), exchFut);
     }
 
+    /**
+     * @return {@code True} if update history is enabled and all entries are kept on heap or in persistent
+     *      swap space, so that partitions can be completely written to disk on stop.
+     */
+    private boolean persistentSwap() {
+        GridSwapSpaceSpi spi = cctx.gridConfig().getSwapSpaceSpi();
+
+        // Off-heap entries are not written to swap space and are lost on restart.
+        return cctx.config().getPreloadHistorySize() > 0 && cctx.swap().swapEnabled() &&
+            !cctx.swap().offHeapEnabled() && spi instanceof GridFileSwapSpaceSpi &&
+            ((GridFileSwapSpaceSpi)spi).isPersistent();
+    }
+
+    /**
+     * @return {@code True} if swap space may contain entries restored from persistent swap files.
+     */
+    private boolean restoredSwap() {
+        GridSwapSpaceSpi spi = cctx.gridConfig().getSwapSpaceSpi();
+
+        return cctx.swap().swapEnabled() && spi instanceof GridFileSwapSpaceSpi &&
+            ((GridFileSwapSpaceSpi)spi).isPersistent();
+    }
+
+    /**
+     * Finds partitions restored from persistent swap space. Partitions which were completely written
+     * on stop and were not changed since then can be supplied from update history. Restored entries
+     * which can not be reconciled with the rest of the grid by preloading are removed.
+     */
+    private void restorePartitions() {
+        boolean hist = persistentSwap();
+
+        try {
+            for (int p = 0; p < cctx.affinity().partitions(); p++) {
+                long keys = cctx.swap().swapKeys(p);
+
+                if (keys == 0)
+                    continue;
+
+                // Without preloading restored entries are never checked against other nodes.
+                if (!cctx.preloadEnabled()) {
+                    clearRestored(p);
+
+                    continue;
+                }
+
+                restoredParts.add(p);
+
+                Long marker = hist ? cctx.swap().readPartitionMarker(p) : null;
+
+                if (marker != null && marker == keys)
+                    histParts.add(p);
+            }
+
+            // Markers are valid only for the first start after stop.
+            cctx.swap().clearPartitionMarkers();
+        }
+        catch (GridException e) {
+            U.error(log, "Failed to read partitions restored from swap space (full partitions will be preloaded).", e);
+
+            histParts.clear();
+        }
+
+        if (log.isDebugEnabled())
+            log.debug("Restored partitions from swap space [restored=" + restoredParts + ", complete=" +
+                histParts + ']');
+    }
+
+    /**
+     * Writes entries of owned partitions to persistent swap space and marks partitions written completely,
+     * so that they can be supplied from update history when local node rejoins grid. Called on stop.
+     */
+    void persistPartitions() {
+        if (!persistentSwap())
+            return;
+
+        GridCacheVersion obsoleteVer = cctx.versions().next();
+
+        for (GridDhtLocalPartition<K, V> part : top.localPartitions()) {
+            if (part.state() != OWNING)
+                continue;
+
+            try {
+                boolean complete = true;
+
+                for (GridDhtCacheEntry<K, V> e : part.entries()) {
+                    if (!e.evictInternal(true, obsoleteVer, null)) {
+                        complete = false;
+
+                        break;
+                    }
+                }
+
+                if (complete)
+                    cctx.swap().writePartitionMarker(part.id(), cctx.swap().swapKeys(part.id()));
+                else if (log.isDebugEnabled())
+                    log.debug("Failed to write all partition entries to swap space (partition will be fully " +
+                        "preloaded on restart): " + part.id());
+            }
+            catch (GridException e) {
+                U.error(log, "Failed to write partition to swap space (partition will be fully preloaded " +
+                    "on restart): " + part.id(), e);
+            }
+        }
+    }
+
+    /**
+     * Removes entries restored from swap space for partition which is not supplied from update history,
+     * since restored entries may have been removed while local node was out of grid. Entries present in
+     * memory have been updated after local node joined grid and are kept.
+     *
+     * @param p Partition.
+     * @throws GridException If failed.
+     */
+    private void clearRestored(int p) throws GridException {
+        if (log.isDebugEnabled())
+            log.debug("Clearing partition restored from swap space: " + p);
+
+        cctx.swap().clearSwap(p, new P1<K>() {
+            @Override public boolean apply(K key) {
+                return cctx.dht().peekEx(key) == null;
+            }
+        });
+    }
+
+    /**
+     * Removes entries restored from swap space for partitions not assigned to local node on local join,
+     * since they will not be preloaded and can not be reconciled with the rest of the grid.
+     *
+     * @param topVer Topology version.
+     */
+    private void clearNotAssigned(long topVer) {
+        for (Integer p : restoredParts) {
+            if (cctx.affinity().localNode(p, topVer)) {
+                GridDhtLocalPartition<K, V> part = top.localPartition(p, topVer, false);
+
+                // Partition owned without preloading keeps restored entries.
+                if (part != null && part.state() == OWNING)
+                    restoredParts.remove(p);
+
+                continue;
+            }
+
+            restoredParts.remove(p);
+            histParts.remove(p);
+
+            try {
+                clearRestored(p);
+            }
+            catch (GridException e) {
+                U.error(log, "Failed to clear partition restored from swap space: " + p, e);
+            }
+        }
+    }
+
     /**
      *
      */
@@ -715,6 +882,216 @@ public class GridDhtPartitionDemandPool<K, V> {
             return true;
         }
 
+        /**
+         * Writes raw off-heap entry to local off-heap memory without deserializing its value.
+         * Falls back to {@link #preloadEntry(GridNode, int, GridCacheEntryInfo)} if off-heap
+         * memory is not enabled locally, or if entry has to be replicated or passed to continuous
+         * query listeners, which need deserialized value.
+         * <p>
+         * If no key has been evicted from partition and no events have to be recorded, entry is
+         * written using key hash supplied with it, so key is not unmarshalled unless cache map
+         * already has an entry with the same hash.
+         *
+         * @param pick Node picked for preloading.
+         * @param part Partition.
+         * @param raw Raw entry.
+         * @return {@code False} if partition has become invalid during preloading.
+         * @throws GridInterruptedException If interrupted.
+         */
+        private boolean preloadRawEntry(GridNode pick, final GridDhtLocalPartition<K, V> part,
+            final GridDhtPartitionSupplyMessage.RawEntry raw) throws GridException, GridInterruptedException {
+            int p = part.id();
+
+            GridCacheContinuousQueryManager<K, V> contQryMgr = cctx.continuousQueries();
+
+            boolean fallback = !cctx.swap().offHeapEnabled() || cctx.isReplicationEnabled() ||
+                (contQryMgr != null && contQryMgr.hasListeners());
+
+            if (!fallback && !cctx.swap().swapEnabled() && part.preloadingPermitted() &&
+                !cctx.events().isRecordable(EVT_CACHE_PRELOAD_OBJECT_LOADED) &&
+                !cctx.events().isRecordable(EVT_CACHE_OBJECT_TO_OFFHEAP)) {
+                // Segment lock held by cache map prevents concurrent creation of entry with the same hash.
+                boolean applied = cctx.dht().map().applyIfHashAbsent(raw.hash(), new CAX() {
+                    @Override public void applyx() throws GridException {
+                        cctx.swap().writeToOffHeapIfAbsent(part.id(), raw.hash(), raw.keyBytes(), raw.array(),
+                            raw.offset(), raw.length());
+                    }
+                });
+
+                if (applied)
+                    return true;
+            }
+
+            // Key is needed to lock entry.
+            K key = cctx.marshaller().unmarshal(raw.keyBytes(), cctx.deploy().globalLoader());
+
+            if (fallback) {
+                // To unmarshal swap entry itself local class loader will be enough.
+                GridCacheSwapEntry<V> swapEntry = cctx.marshaller().unmarshal(
+                    new GridByteArrayInputStream(raw.array(), raw.offset(), raw.length()),
+                    cctx.deploy().localLoader());
+
+                GridCacheEntryInfo<K, V> info = new GridCacheEntryInfo<>();
+
+                info.key(key);
+                info.keyBytes(raw.keyBytes());
+                info.valueBytes(swapEntry.valueBytes());
+                info.ttl(swapEntry.ttl());
+                info.expireTime(swapEntry.expireTime());
+                info.version(swapEntry.version());
+
+                return !part.preloadingPermitted(key, info.version()) || preloadEntry(pick, p, info);
+            }
+
+            if (!part.preloadingPermitted(key)) {
+                if (log.isDebugEnabled())
+                    log.debug("Preloading is not permitted for raw entry due to evictions [key=" + key + ']');
+
+                return true;
+            }
+
+            try {
+                GridCacheEntryEx<K, V> cached = null;
+
+                try {
+                    cached = cctx.dht().entryEx(key);
+
+                    if (log.isDebugEnabled())
+                        log.debug("Preloading raw key [key=" + key + ", part=" + p + ", node=" + pick.id() + ']');
+
+                    if (cached.initialOffHeapValue(raw.keyBytes(), raw.array(), raw.offset(), raw.length())) {
+                        if (cctx.events().isRecordable(EVT_CACHE_PRELOAD_OBJECT_LOADED) && !cached.isInternal())
+                            cctx.events().addEvent(p, key, cctx.localNodeId(), (GridUuid)null, null,
+                                EVT_CACHE_PRELOAD_OBJECT_LOADED, null, false, null, false);
+                    }
+                    else if (log.isDebugEnabled())
+                        log.debug("Preloading entry is already in cache (will ignore) [key=" + key + ", part=" +
+                            p + ']');
+
+                    // Value lives in off-heap memory only, so empty on-heap entry is not needed.
+                    if (cached.markObsoleteIfEmpty(null))
+                        cctx.dht().removeIfObsolete(key);
+                }
+                catch (GridCacheEntryRemovedException ignored) {
+                    if (log.isDebugEnabled())
+                        log.debug("Entry has been concurrently removed while preloading (will ignore) [key=" +
+                            key + ", part=" + p + ']');
+                }
+                catch (GridDhtInvalidPartitionException ignored) {
+                    if (log.isDebugEnabled())
+                        log.debug("Partition became invalid during preloading (will ignore): " + p);
+
+                    return false;
+                }
+            }
+            catch (GridInterruptedException e) {
+                throw e;
+            }
+            catch (GridException e) {
+                throw new GridException("Failed to cache preloaded entry (will stop preloading) [local=" +
+                    cctx.nodeId() + ", node=" + pick.id() + ", key=" + key + ", part=" + p + ']', e);
+            }
+
+            return true;
+        }
+
+        /**
+         * Applies entry supplied from update history. Unlike {@link #preloadEntry(GridNode, int, GridCacheEntryInfo)},
+         * overwrites local entry if supplied version is greater and removes local entry if supplied entry
+         * has no value.
+         *
+         * @param pick Node picked for preloading.
+         * @param p Partition.
+         * @param entry Preloaded entry.
+         * @return {@code False} if partition has become invalid during preloading.
+         * @throws GridInterruptedException If interrupted.
+         */
+        private boolean preloadHistoryEntry(GridNode pick, int p, GridCacheEntryInfo<K, V> entry)
+            throws GridException, GridInterruptedException {
+            try {
+                GridCacheEntryEx<K, V> cached = null;
+
+                try {
+                    cached = cctx.dht().entryEx(entry.key());
+
+                    if (log.isDebugEnabled())
+                        log.debug("Preloading key from history [key=" + entry.key() + ", part=" + p + ", node=" +
+                            pick.id() + ']');
+
+                    // Bring persisted value to memory to compare versions.
+                    if (cctx.isSwapOrOffheapEnabled())
+                        cached.unswap();
+
+                    GridCacheVersion curVer = cached.version();
+
+                    boolean rmv = entry.value() == null && entry.valueBytes() == null;
+
+                    if (!cached.isNew() && !entry.version().isGreater(curVer)) {
+                        if (log.isDebugEnabled())
+                            log.debug("Local entry is newer than preloaded entry (will ignore) [key=" + cached.key() +
+                                ", part=" + p + ']');
+                    }
+                    else if (rmv) {
+                        if (cached.isNew() ? cached.markObsoleteIfEmpty(null) : cached.markObsoleteVersion(curVer))
+                            cctx.dht().removeIfObsolete(cached.key());
+                    }
+                    else if (preloadPred == null || preloadPred.apply(entry)) {
+                        boolean set;
+
+                        if (cached.isNew())
+                            set = cached.initialValue(
+                                entry.value(),
+                                entry.valueBytes(),
+                                entry.version(),
+                                entry.ttl(),
+                                entry.expireTime(),
+                                true,
+                                cctx.isReplicationEnabled() ? DR_PRELOAD : DR_NONE
+                            );
+                        else {
+                            V val = entry.value();
+
+                            if (val == null)
+                                val = cctx.marshaller().unmarshal(entry.valueBytes(), cctx.deploy().globalLoader());
+
+                            set = cached.versionedValue(val, curVer, entry.version());
+                        }
+
+                        if (set) {
+                            cctx.evicts().touch(cached); // Start tracking.
+
+                            if (cctx.events().isRecordable(EVT_CACHE_PRELOAD_OBJECT_LOADED) && !cached.isInternal())
+                                cctx.events().addEvent(cached.partition(), cached.key(), cctx.localNodeId(),
+                                    (GridUuid)null, null, EVT_CACHE_PRELOAD_OBJECT_LOADED, entry.value(), true, null,
+                                    false);
+                        }
+                    }
+                    else if (log.isDebugEnabled())
+                        log.debug("Preload predicate evaluated to false for entry (will ignore): " + entry);
+                }
+                catch (GridCacheEntryRemovedException ignored) {
+                    if (log.isDebugEnabled())
+                        log.debug("Entry has been concurrently removed while preloading (will ignore) [key=" +
+                            cached.key() + ", part=" + p + ']');
+                }
+                catch (GridDhtInvalidPartitionException ignored) {
+                    if (log.isDebugEnabled())
+                        log.debug("Partition became invalid during preloading (will ignore): " + p);
+
+                    return false;
+                }
+            }
+            catch (GridInterruptedException e) {
+                throw e;
+            }
+            catch (GridException e) {
+                throw new GridException("Failed to cache preloaded entry (will stop preloading) [local=" +
+                    cctx.nodeId() + ", node=" + pick.id() + ", key=" + entry.key() + ", part=" + p + ']', e);
+            }
+
+            return true;
+        }
+
         /**
          * @param idx Unique index for this topic.
          * @return Topic for partition.
@@ -871,6 +1248,11 @@ public class GridDhtPartitionDemandPool<K, V> {
                                     try {
                                         Collection<Integer> invalidParts = new GridLeanSet<>();
 
+                                        boolean hist = supply.history().contains(p);
+
+                                        if (restoredParts.remove(p) && !hist)
+                                            clearRestored(p);
+
                                         // Loop through all received entries and try to preload them.
                                         for (GridCacheEntryInfo<K, V> entry : e.getValue()) {
                                             if (!invalidParts.contains(p)) {
@@ -883,7 +1265,8 @@ public class GridDhtPartitionDemandPool<K, V> {
                                                     continue;
                                                 }
 
-                                                if (!preloadEntry(node, p, entry)) {
+                                                if (!(hist ? preloadHistoryEntry(node, p, entry) :
+                                                    preloadEntry(node, p, entry))) {
                                                     invalidParts.add(p);
 
                                                     if (log.isDebugEnabled())
@@ -893,6 +1276,20 @@ public class GridDhtPartitionDemandPool<K, V> {
                                             }
                                         }
 
+                                        // Loop through all received raw off-heap entries.
+                                        for (GridDhtPartitionSupplyMessage.RawEntry raw : supply.rawEntries(p)) {
+                                            if (invalidParts.contains(p))
+                                                break;
+
+                                            if (!preloadRawEntry(node, part, raw)) {
+                                                invalidParts.add(p);
+
+                                                if (log.isDebugEnabled())
+                                                    log.debug("Got raw entries for invalid partition during " +
+                                                        "preloading (will skip): " + p);
+                                            }
+                                        }
+
                                         boolean last = supply.last().contains(p);
 
                                         // If message was last for this partition,
@@ -1309,6 +1706,9 @@ public class GridDhtPartitionDemandPool<K, V> {
 
             long topVer = assigns.topologyVersion();
 
+            if (exchFut.exchangeId().nodeId().equals(cctx.nodeId()))
+                clearNotAssigned(topVer);
+
             for (int p = 0; p < partCnt && !isCancelled() && futQ.isEmpty(); p++) {
                 // If partition belongs to local node.
                 if (cctx.affinity().localNode(p, topVer)) {
@@ -1327,6 +1727,9 @@ public class GridDhtPartitionDemandPool<K, V> {
                     Collection<GridNode> picked = pickedOwners(p, topVer);
 
                     if (picked.isEmpty()) {
+                        // Restored entries are the only copy of partition data left in grid.
+                        restoredParts.remove(p);
+
                         top.own(part);
 
                         if (log.isDebugEnabled())
@@ -1343,6 +1746,11 @@ public class GridDhtPartitionDemandPool<K, V> {
                                     exchFut.exchangeId().topologyVersion()));
 
                         msg.addPartition(p);
+
+                        // Persisted data reflects the state of the node at the moment it left grid,
+                        // so history can be used only for the partitions assigned on local join.
+                        if (exchFut.exchangeId().nodeId().equals(cctx.nodeId()) && histParts.remove(p))
+                            msg.history(p);
                     }
                 }
             }
@@ -26,7 +26,10 @@ package org.gridgain.grid.kernal.processors.cache.distributed.dht.preloader;
 import org.gridgain.grid.*;
 import org.gridgain.grid.kernal.*;
 import org.gridgain.grid.kernal.processors.cache.*;
+import org.gridgain.grid.lang.*;
+import org.gridgain.grid.util.*;
 import org.gridgain.grid.util.direct.*;
+import org.gridgain.grid.util.typedef.*;
 import org.gridgain.grid.util.typedef.internal.*;
 import org.gridgain.grid.util.tostring.*;
 
@@ -56,6 +59,11 @@ public class GridDhtPartitionSupplyMessage<K, V> extends GridCacheMessage<K, V>
     @GridDirectCollection(int.class)
     private Set<Integer> missed;
 
+    /** Partitions supplied from update history. */
+    @GridToStringInclude
+    @GridDirectCollection(int.class)
+    private Set<Integer> hist;
+
     /** Entries. */
     @GridDirectTransient
     private Map<Integer, Collection<GridCacheEntryInfo<K, V>>> infos =
@@ -69,6 +77,15 @@ public class GridDhtPartitionSupplyMessage<K, V> extends GridCacheMessage<K, V>
     /** */
     private byte[] infoBytes;
 
+    /** Raw off-heap entries in serialized form: partition, key hash, key bytes and serialized swap entry. */
+    @GridToStringExclude
+    private GridByteArrayList rawList;
+
+    /** Raw off-heap entries per partition, which refer to {@link #rawList} without copying swap entries. */
+    @GridToStringExclude
+    @GridDirectTransient
+    private Map<Integer, Collection<RawEntry>> raw;
+
     /** Message size. */
     @GridDirectTransient
     private int msgSize;
@@ -173,6 +190,24 @@ public class GridDhtPartitionSupplyMessage<K, V> extends GridCacheMessage<K, V>
         return missed == null ? Collections.<Integer>emptySet() : missed;
     }
 
+    /**
+     * @param p Partition supplied from update history.
+     */
+    void history(int p) {
+        if (hist == null)
+            hist = new HashSet<>();
+
+        if (hist.add(p))
+            msgSize += 4;
+    }
+
+    /**
+     * @return Partitions supplied from update history.
+     */
+    Set<Integer> history() {
+        return hist == null ? Collections.<Integer>emptySet() : hist;
+    }
+
     /**
      * @return Entries.
      */
@@ -242,6 +277,49 @@ public class GridDhtPartitionSupplyMessage<K, V> extends GridCacheMessage<K, V>
         serInfo.add(bytes);
     }
 
+    /**
+     * Adds off-heap entry exactly as it is stored in off-heap memory, so that it
+     * can be written to demander's off-heap memory without deserialization.
+     *
+     * @param p Partition.
+     * @param hash Key hash as stored in off-heap memory.
+     * @param keyBytes Key bytes.
+     * @param entryBytes Serialized swap entry.
+     */
+    void addRawEntry(int p, int hash, byte[] keyBytes, byte[] entryBytes) {
+        assert keyBytes != null;
+        assert entryBytes != null;
+
+        if (rawList == null)
+            rawList = new GridByteArrayList(keyBytes.length + entryBytes.length + 16);
+
+        rawList.add(p);
+        rawList.add(hash);
+        rawList.add(keyBytes.length);
+        rawList.add(keyBytes, 0, keyBytes.length);
+        rawList.add(entryBytes.length);
+        rawList.add(entryBytes, 0, entryBytes.length);
+
+        msgSize += keyBytes.length + entryBytes.length + 16;
+
+        // Partition should be present in entries map even if it has only raw entries.
+        if (!infoBytesMap.containsKey(p)) {
+            msgSize += 4;
+
+            infoBytesMap.put(p, new LinkedList<byte[]>());
+        }
+    }
+
+    /**
+     * @param p Partition.
+     * @return Raw off-heap entries for partition.
+     */
+    Collection<RawEntry> rawEntries(int p) {
+        Collection<RawEntry> col = raw == null ? null : raw.get(p);
+
+        return col == null ? Collections.<RawEntry>emptyList() : col;
+    }
+
     /** {@inheritDoc} */
     @Override public void prepareMarshal(GridCacheContext<K, V> ctx) throws GridException {
         super.prepareMarshal(ctx);
@@ -262,6 +340,37 @@ public class GridDhtPartitionSupplyMessage<K, V> extends GridCacheMessage<K, V>
 
             infos.put(e.getKey(), entries);
         }
+
+        if (rawList != null) {
+            raw = new HashMap<>();
+
+            byte[] arr = rawList.internalArray();
+
+            for (int off = 0; off < rawList.size();) {
+                int p = rawList.getInt(off);
+                int hash = rawList.getInt(off + 4);
+                int keyLen = rawList.getInt(off + 8);
+
+                // Off-heap map keeps key array for comparisons, so only key is copied.
+                byte[] keyBytes = Arrays.copyOfRange(arr, off + 12, off + 12 + keyLen);
+
+                off += keyLen + 12;
+
+                int entryLen = rawList.getInt(off);
+
+                Collection<RawEntry> col = raw.get(p);
+
+                if (col == null)
+                    raw.put(p, col = new ArrayList<>());
+
+                col.add(new RawEntry(hash, keyBytes, arr, off + 4, entryLen));
+
+                off += entryLen + 4;
+
+                if (!infos.containsKey(p))
+                    infos.put(p, new LinkedList<GridCacheEntryInfo<K, V>>());
+            }
+        }
     }
 
     /**
@@ -292,9 +401,12 @@ public class GridDhtPartitionSupplyMessage<K, V> extends GridCacheMessage<K, V>
         _clone.ack = ack;
         _clone.last = last;
         _clone.missed = missed;
+        _clone.hist = hist;
         _clone.infos = infos;
         _clone.infoBytesMap = infoBytesMap;
         _clone.infoBytes = infoBytes;
+        _clone.rawList = rawList;
+        _clone.raw = raw;
         _clone.msgSize = msgSize;
     }
 
@@ -392,6 +504,39 @@ public class GridDhtPartitionSupplyMessage<K, V> extends GridCacheMessage<K, V>
 
                 commState.idx++;
 
+            case 8:
+                if (hist != null) {
+                    if (commState.it == null) {
+                        if (!commState.putInt(hist.size()))
+                            return false;
+
+                        commState.it = hist.iterator();
+                    }
+
+                    while (commState.it.hasNext() || commState.cur != NULL) {
+                        if (commState.cur == NULL)
+                            commState.cur = commState.it.next();
+
+                        if (!commState.putInt((int)commState.cur))
+                            return false;
+
+                        commState.cur = NULL;
+                    }
+
+                    commState.it = null;
+                } else {
+                    if (!commState.putInt(-1))
+                        return false;
+                }
+
+                commState.idx++;
+
+            case 9:
+                if (!commState.putByteArrayList(rawList))
+                    return false;
+
+                commState.idx++;
+
         }
 
         return true;
@@ -498,6 +643,45 @@ public class GridDhtPartitionSupplyMessage<K, V> extends GridCacheMessage<K, V>
 
                 commState.idx++;
 
+            case 8:
+                if (commState.readSize == -1) {
+                    if (buf.remaining() < 4)
+                        return false;
+
+                    commState.readSize = commState.getInt();
+                }
+
+                if (commState.readSize >= 0) {
+                    if (hist == null)
+                        hist = new HashSet<>(commState.readSize);
+
+                    for (int i = commState.readItems; i < commState.readSize; i++) {
+                        if (buf.remaining() < 4)
+                            return false;
+
+                        int _val = commState.getInt();
+
+                        hist.add((Integer)_val);
+
+                        commState.readItems++;
+                    }
+                }
+
+                commState.readSize = -1;
+                commState.readItems = 0;
+
+                commState.idx++;
+
+            case 9:
+                GridByteArrayList rawList0 = commState.getByteArrayList();
+
+                if (rawList0 == BYTE_ARR_LIST_NOT_READ)
+                    return false;
+
+                rawList = rawList0;
+
+                commState.idx++;
+
         }
 
         return true;
@@ -515,4 +699,75 @@ public class GridDhtPartitionSupplyMessage<K, V> extends GridCacheMessage<K, V>
             "parts", infos.keySet(),
             "super", super.toString());
     }
+
+    /**
+     * Raw off-heap entry received in serialized form. Serialized swap entry is not copied
+     * out of message buffer.
+     */
+    static class RawEntry {
+        /** Key hash. */
+        private final int hash;
+
+        /** Key bytes. */
+        private final byte[] keyBytes;
+
+        /** Array holding serialized swap entry. */
+        private final byte[] arr;
+
+        /** Swap entry offset. */
+        private final int off;
+
+        /** Swap entry length. */
+        private final int len;
+
+        /**
+         * @param hash Key hash.
+         * @param keyBytes Key bytes.
+         * @param arr Array holding serialized swap entry.
+         * @param off Swap entry offset.
+         * @param len Swap entry length.
+         */
+        private RawEntry(int hash, byte[] keyBytes, byte[] arr, int off, int len) {
+            this.hash = hash;
+            this.keyBytes = keyBytes;
+            this.arr = arr;
+            this.off = off;
+            this.len = len;
+        }
+
+        /**
+         * @return Key hash as stored in supplier's off-heap memory.
+         */
+        int hash() {
+            return hash;
+        }
+
+        /**
+         * @return Key bytes.
+         */
+        byte[] keyBytes() {
+            return keyBytes;
+        }
+
+        /**
+         * @return Array holding serialized swap entry.
+         */
+        byte[] array() {
+            return arr;
+        }
+
+        /**
+         * @return Swap entry offset.
+         */
+        int offset() {
+            return off;
+        }
+
+        /**
+         * @return Swap entry length.
+         */
+        int length() {
+            return len;
+        }
+    }
 }
@@ -27,8 +27,11 @@ import org.gridgain.grid.*;
 import org.gridgain.grid.kernal.managers.deployment.*;
 import org.gridgain.grid.kernal.processors.cache.*;
 import org.gridgain.grid.kernal.processors.cache.distributed.dht.*;
+import org.gridgain.grid.kernal.processors.cache.query.continuous.*;
 import org.gridgain.grid.lang.*;
 import org.gridgain.grid.logger.*;
+import org.gridgain.grid.spi.swapspace.*;
+import org.gridgain.grid.spi.swapspace.file.*;
 import org.gridgain.grid.thread.*;
 import org.gridgain.grid.util.*;
 import org.gridgain.grid.util.lang.*;
@@ -43,6 +46,7 @@ import java.util.concurrent.*;
 import java.util.concurrent.locks.*;
 
 import static java.util.concurrent.TimeUnit.*;
+import static org.gridgain.grid.cache.GridCacheMemoryMode.*;
 import static org.gridgain.grid.kernal.processors.cache.distributed.dht.GridDhtPartitionState.*;
 
 /**
@@ -73,6 +77,10 @@ class GridDhtPartitionSupplyPool<K, V> {
     /** Preload predicate. */
     private GridPredicate<GridCacheEntryInfo<K, V>> preloadPred;
 
+    /** Update counters of local partitions at the time nodes left grid, by node persistent ID. */
+    private final ConcurrentMap<UUID, ConcurrentMap<Integer, T2<GridDhtLocalPartition<K, V>, Long>>> departures =
+        new ConcurrentHashMap8<>();
+
     /**
      * @param cctx Cache context.
      * @param busyLock Shutdown lock.
@@ -129,6 +137,158 @@ class GridDhtPartitionSupplyPool<K, V> {
         this.preloadPred = preloadPred;
     }
 
+    /**
+     * Checks whether off-heap entries can be supplied exactly as they are stored in off-heap memory.
+     * Swap entries carry local class loader IDs, and preload predicate and query index need
+     * deserialized values, so raw entries are supplied only when none of these are involved.
+     *
+     * @return {@code True} if off-heap entries should be supplied in raw form.
+     */
+    private boolean rawOffHeap() {
+        return cctx.config().getMemoryMode() == OFFHEAP_TIERED && cctx.swap().offHeapEnabled() && !depEnabled &&
+            preloadPred == null && !cctx.config().isQueryIndexEnabled() && !cctx.isReplicationEnabled() &&
+            !hasContinuousQueries();
+    }
+
+    /**
+     * @return {@code True} if there are continuous query listeners, since they are notified about
+     *      preloaded entries with deserialized values.
+     */
+    private boolean hasContinuousQueries() {
+        GridCacheContinuousQueryManager<K, V> contQryMgr = cctx.continuousQueries();
+
+        return contQryMgr != null && contQryMgr.hasListeners();
+    }
+
+    /**
+     * Remembers update counters of local partitions owned by the node that left grid, so that
+     * partitions can be supplied from update history if the node rejoins with persisted data.
+     *
+     * @param n Node that left grid.
+     * @param time Time when node left grid.
+     */
+    void onNodeLeft(GridNodeShadow n, long time) {
+        if (cctx.config().getPreloadHistorySize() == 0)
+            return;
+
+        UUID id = persistentId(n.attributes());
+
+        // Node without persistent swap space can not rejoin with its data.
+        if (id == null)
+            return;
+
+        GridDhtPartitionMap parts = top.partitionMap(false).get(n.id());
+
+        ConcurrentMap<Integer, T2<GridDhtLocalPartition<K, V>, Long>> cntrs = new ConcurrentHashMap8<>();
+
+        if (parts != null) {
+            for (GridDhtLocalPartition<K, V> part : top.localPartitions()) {
+                if (part.state() != OWNING || parts.get(part.id()) != OWNING)
+                    continue;
+
+                long cntr = part.updateCounter(time - cctx.config().getPreloadHistoryMargin());
+
+                if (cntr >= 0)
+                    cntrs.put(part.id(), new T2<>(part, cntr));
+            }
+        }
+
+        if (cntrs.isEmpty())
+            departures.remove(id);
+        else
+            departures.put(id, cntrs);
+
+        if (log.isDebugEnabled())
+            log.debug("Recorded update counters for node that left grid [node=" + n.id() + ", parts=" +
+                cntrs.keySet() + ']');
+    }
+
+    /**
+     * Gets keys updated in partition since demanding node left grid.
+     *
+     * @param node Demanding node.
+     * @param loc Local partition.
+     * @return Updated keys mapped to removal versions (see {@link GridDhtLocalPartition#updatedKeys(long)})
+     *      or {@code null} if partition can not be supplied from update history.
+     */
+    @Nullable private Map<K, GridCacheVersion> historyKeys(GridNode node, GridDhtLocalPartition<K, V> loc) {
+        UUID id = persistentId(node.attributes());
+
+        ConcurrentMap<Integer, T2<GridDhtLocalPartition<K, V>, Long>> cntrs = id != null ? departures.get(id) : null;
+
+        if (cntrs == null)
+            return null;
+
+        T2<GridDhtLocalPartition<K, V>, Long> t = cntrs.remove(loc.id());
+
+        // Partition could have been evicted and created again since node left.
+        if (t == null || t.get1() != loc)
+            return null;
+
+        Map<K, GridCacheVersion> keys = loc.updatedKeys(t.get2());
+
+        if (log.isDebugEnabled())
+            log.debug("Checked update history for partition [part=" + loc.id() + ", demander=" + node.id() +
+                ", cntr=" + t.get2() + ", keys=" + (keys == null ? "insufficient history" : keys.size()) + ']');
+
+        return keys;
+    }
+
+    /**
+     * Gets current state of the key updated since demanding node left grid.
+     *
+     * @param key Key.
+     * @param rmvVer Removal version if the latest recorded update of the key is removal, {@code null} otherwise.
+     * @return Entry info or {@code null} if there is nothing to send. Info without value and value bytes
+     *      means that entry was removed.
+     * @throws GridException If failed.
+     */
+    @Nullable private GridCacheEntryInfo<K, V> historyEntry(K key, @Nullable GridCacheVersion rmvVer)
+        throws GridException {
+        GridCacheEntryEx<K, V> e = cctx.dht().peekEx(key);
+
+        GridCacheEntryInfo<K, V> info = e != null ? e.info() : null;
+
+        if ((info == null || info.isNew()) && cctx.isSwapOrOffheapEnabled()) {
+            e = cctx.dht().entryEx(key);
+
+            try {
+                e.unswap();
+
+                info = e.info();
+            }
+            finally {
+                if (e.markObsoleteIfEmpty(null))
+                    cctx.dht().removeIfObsolete(key);
+            }
+        }
+
+        if (info == null || info.isNew()) {
+            // Entry has been evicted without swap, demander keeps its own value then.
+            if (rmvVer == null)
+                return null;
+
+            // Removal is sent with its own version, so that demander does not drop concurrent newer update.
+            info = new GridCacheEntryInfo<>();
+
+            info.key(key);
+            info.version(rmvVer);
+        }
+
+        return info;
+    }
+
+    /**
+     * @param attrs Node attributes.
+     * @return Node ID which does not change on node restart or {@code null} if node
+     *      does not use persistent swap space.
+     */
+    @Nullable private UUID persistentId(Map<String, Object> attrs) {
+        GridSwapSpaceSpi spi = cctx.gridConfig().getSwapSpaceSpi();
+
+        return spi instanceof GridFileSwapSpaceSpi ? ((GridFileSwapSpaceSpi)spi).persistentId(attrs) : null;
+    }
+
     /**
      * @return Size of this thread pool.
      */
@@ -276,6 +436,75 @@ class GridDhtPartitionSupplyPool<K, V> {
                     SwapListener<K, V> swapLsnr = null;
 
                     try {
+                        Map<K, GridCacheVersion> histKeys = d.history().contains(part) ?
+                            historyKeys(node, loc) : null;
+
+                        if (histKeys != null) {
+                            s.history(part);
+
+                            boolean histMissing = false;
+
+                            for (Map.Entry<K, GridCacheVersion> histKey : histKeys.entrySet()) {
+                                if (!cctx.affinity().belongs(node, part)) {
+                                    // Demander no longer needs this partition, so we send '-1' partition and move on.
+                                    s.missed(part);
+
+                                    if (log.isDebugEnabled())
+                                        log.debug("Demanding node does not need requested partition [part=" + part +
+                                            ", nodeId=" + msg.senderId() + ']');
+
+                                    histMissing = true;
+
+                                    break;
+                                }
+
+                                if (s.messageSize() >= cctx.config().getPreloadBatchSize()) {
+                                    ack = true;
+
+                                    if (!reply(node, d, s)) {
+                                        nodeLeft = true;
+
+                                        return;
+                                    }
+
+                                    // Throttle preloading.
+                                    if (preloadThrottle > 0)
+                                        U.sleep(preloadThrottle);
+
+                                    s = new GridDhtPartitionSupplyMessage<>(d.workerId(), d.updateSequence());
+
+                                    s.history(part);
+                                }
+
+                                GridCacheEntryInfo<K, V> info = historyEntry(histKey.getKey(), histKey.getValue());
+
+                                if (info == null)
+                                    continue;
+
+                                // Removed entries are always sent, so that demander removes them as well.
+                                if ((info.value() == null && info.valueBytes() == null) || preloadPred == null ||
+                                    preloadPred.apply(info))
+                                    s.addEntry(part, info, cctx);
+                                else if (log.isDebugEnabled())
+                                    log.debug("Preload predicate evaluated to false (will not sender cache entry): " +
+                                        info);
+                            }
+
+                            if (histMissing)
+                                continue;
+
+                            // Mark as last supply message.
+                            s.last(part);
+
+                            if (ack) {
+                                s.markAck();
+
+                                break; // Partition for loop.
+                            }
+
+                            continue;
+                        }
+
                         if (cctx.isSwapOrOffheapEnabled()) {
                             swapLsnr = new SwapListener<>();
 
@@ -329,9 +558,63 @@ class GridDhtPartitionSupplyPool<K, V> {
                         if (partMissing)
                             continue;
 
+                        boolean raw = rawOffHeap();
+
+                        if (raw) {
+                            GridCloseableIterator<T3<Integer, byte[], byte[]>> iter =
+                                cctx.swap().rawOffHeapIterator(part);
+
+                            // Iterator may be null if space does not exist.
+                            if (iter != null) {
+                                try {
+                                    for (T3<Integer, byte[], byte[]> e : iter) {
+                                        if (!cctx.affinity().belongs(node, part)) {
+                                            // Demander no longer needs this partition,
+                                            // so we send '-1' partition and move on.
+                                            s.missed(part);
+
+                                            if (log.isDebugEnabled())
+                                                log.debug("Demanding node does not need requested partition " +
+                                                    "[part=" + part + ", nodeId=" + msg.senderId() + ']');
+
+                                            partMissing = true;
+
+                                            break; // For.
+                                        }
+
+                                        if (s.messageSize() >= cctx.config().getPreloadBatchSize()) {
+                                            ack = true;
+
+                                            if (!reply(node, d, s)) {
+                                                nodeLeft = true;
+
+                                                return;
+                                            }
+
+                                            // Throttle preloading.
+                                            if (preloadThrottle > 0)
+                                                U.sleep(preloadThrottle);
+
+                                            s = new GridDhtPartitionSupplyMessage<>(d.workerId(),
+                                                d.updateSequence());
+                                        }
+
+                                        s.addRawEntry(part, e.get1(), e.get2(), e.get3());
+                                    }
+
+                                    if (partMissing)
+                                        continue;
+                                }
+                                finally {
+                                    iter.close();
+                                }
+                            }
+                        }
+
                         if (cctx.isSwapOrOffheapEnabled()) {
-                            GridCloseableIterator<Map.Entry<byte[], GridCacheSwapEntry<V>>> iter =
-                                cctx.swap().iterator(part);
+                            // Off-heap entries have been already sent in raw form.
+                            GridCloseableIterator<Map.Entry<byte[], GridCacheSwapEntry<V>>> iter = raw ?
+                                cctx.swap().swapIterator(part) : cctx.swap().iterator(part);
 
                             // Iterator may be null if space does not exist.
                             if (iter != null) {
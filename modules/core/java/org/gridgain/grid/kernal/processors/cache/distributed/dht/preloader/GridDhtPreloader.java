@@ -115,6 +115,8 @@ public class GridDhtPreloader<K, V> extends GridCachePreloaderAdapter<K, V> {
                 if (e.type() == EVT_NODE_LEFT || e.type() == EVT_NODE_FAILED) {
                     assert cctx.discovery().node(n.id()) == null;
 
+                    supplyPool.onNodeLeft(n, e.timestamp());
+
                     for (GridDhtPartitionsExchangeFuture<K, V> f : exchFuts.values())
                         f.onNodeLeft(n.id());
                 }
@@ -350,9 +352,12 @@ public class GridDhtPreloader<K, V> extends GridCachePreloaderAdapter<K, V> {
         if (supplyPool != null)
             supplyPool.stop();
 
-        if (demandPool != null)
+        if (demandPool != null) {
             demandPool.stop();
 
+            demandPool.persistPartitions();
+        }
+
         ResendTimeoutObject resendTimeoutObj = pendingResend.getAndSet(null);
 
         if (resendTimeoutObj != null)
@@ -0,0 +1,138 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.kernal.processors.cache.extras;
+
+import org.gridgain.grid.kernal.processors.cache.*;
+import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.tostring.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import org.jetbrains.annotations.*;
+
+/**
+ * Extras where last access time is set. Wraps other extras, so that only entries
+ * of caches with access time tracking eviction policies pay for the additional field.
+ */
+public class GridCacheAccessTimeEntryExtras<K> implements GridCacheEntryExtras<K> {
+    /** Wrapped extras. */
+    @GridToStringInclude
+    private GridCacheEntryExtras<K> delegate;
+
+    /** Access time. */
+    private long accessTime;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate Wrapped extras.
+     * @param accessTime Access time.
+     */
+    public GridCacheAccessTimeEntryExtras(@Nullable GridCacheEntryExtras<K> delegate, long accessTime) {
+        assert accessTime != 0;
+
+        this.delegate = delegate;
+        this.accessTime = accessTime;
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridLeanMap<String, Object> attributesData() {
+        return delegate != null ? delegate.attributesData() : null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridCacheEntryExtras<K> attributesData(GridLeanMap<String, Object> attrData) {
+        delegate = delegate != null ? delegate.attributesData(attrData) : attrData != null ?
+            new GridCacheAttributesEntryExtras<K>(attrData) : null;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridCacheMvcc<K> mvcc() {
+        return delegate != null ? delegate.mvcc() : null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridCacheEntryExtras<K> mvcc(GridCacheMvcc<K> mvcc) {
+        delegate = delegate != null ? delegate.mvcc(mvcc) : mvcc != null ? new GridCacheMvccEntryExtras<>(mvcc) : null;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridCacheVersion obsoleteVersion() {
+        return delegate != null ? delegate.obsoleteVersion() : null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridCacheEntryExtras<K> obsoleteVersion(GridCacheVersion obsoleteVer) {
+        delegate = delegate != null ? delegate.obsoleteVersion(obsoleteVer) : obsoleteVer != null ?
+            new GridCacheObsoleteEntryExtras<K>(obsoleteVer) : null;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long ttl() {
+        return delegate != null ? delegate.ttl() : 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long expireTime() {
+        return delegate != null ? delegate.expireTime() : 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridCacheEntryExtras<K> ttlAndExpireTime(long ttl, long expireTime) {
+        delegate = delegate != null ? delegate.ttlAndExpireTime(ttl, expireTime) : ttl != 0 ?
+            new GridCacheTtlEntryExtras<K>(ttl, expireTime) : null;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long accessTime() {
+        return accessTime;
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridCacheEntryExtras<K> accessTime(long accessTime) {
+        if (accessTime != 0) {
+            this.accessTime = accessTime;
+
+            return this;
+        }
+        else
+            return delegate;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int size() {
+        return 16 + (delegate != null ? delegate.size() : 0);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridCacheAccessTimeEntryExtras.class, this);
+    }
+}
@@ -81,6 +81,17 @@ public interface GridCacheEntryExtras<K> {
      */
     public GridCacheEntryExtras<K> ttlAndExpireTime(long ttl, long expireTime);
 
+    /**
+     * @return Last access time recorded by eviction policy or {@code 0} if access time is not tracked.
+     */
+    public long accessTime();
+
+    /**
+     * @param accessTime Access time or {@code 0} to stop tracking access time.
+     * @return Updated extras.
+     */
+    public GridCacheEntryExtras<K> accessTime(long accessTime);
+
     /**
      * @return Extras size.
      */
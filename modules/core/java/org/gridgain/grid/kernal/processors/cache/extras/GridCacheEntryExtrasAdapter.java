@@ -54,4 +54,14 @@ public abstract class GridCacheEntryExtrasAdapter<K> implements GridCacheEntryEx
     @Override public long expireTime() {
         return 0;
     }
+
+    /** {@inheritDoc} */
+    @Override public long accessTime() {
+        return 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridCacheEntryExtras<K> accessTime(long accessTime) {
+        return accessTime != 0 ? new GridCacheAccessTimeEntryExtras<>(this, accessTime) : this;
+    }
 }
@@ -71,6 +71,21 @@ public class GridCacheQueriesImpl<K, V> implements GridCacheQueriesEx<K, V> {
         return new GridCacheQueryAdapter<>(ctx, SQL_FIELDS, filter(), null, qry, null, false);
     }
 
+    /** {@inheritDoc} */
+    @Override public GridCacheQuery<List<?>> createSqlFieldsQuery(String mapQry, String rdcQry) {
+        A.notNull(mapQry, "mapQry");
+        A.notNull(rdcQry, "rdcQry");
+
+        return new GridCacheQueryAdapter<>(ctx, SQL_FIELDS, filter(), null, mapQry, rdcQry, null, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridCacheQuery<List<?>> createTwoPhaseSqlFieldsQuery(String qry) {
+        A.notNull(qry, "qry");
+
+        return new GridCacheQueryAdapter<>(ctx, SQL_FIELDS, filter(), null, qry, null, null, true, true);
+    }
+
     /** {@inheritDoc} */
     @Override public GridCacheQuery<Map.Entry<K, V>> createFullTextQuery(Class<?> cls, String search) {
         A.notNull(cls, "cls");
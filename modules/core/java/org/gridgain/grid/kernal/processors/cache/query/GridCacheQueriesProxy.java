@@ -86,6 +86,30 @@ public class GridCacheQueriesProxy<K, V> implements GridCacheQueriesEx<K, V> {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public GridCacheQuery<List<?>> createSqlFieldsQuery(String mapQry, String rdcQry) {
+        GridCacheProjectionImpl<K, V> prev = gate.enter(prj);
+
+        try {
+            return delegate.createSqlFieldsQuery(mapQry, rdcQry);
+        }
+        finally {
+            gate.leave(prev);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridCacheQuery<List<?>> createTwoPhaseSqlFieldsQuery(String qry) {
+        GridCacheProjectionImpl<K, V> prev = gate.enter(prj);
+
+        try {
+            return delegate.createTwoPhaseSqlFieldsQuery(qry);
+        }
+        finally {
+            gate.leave(prev);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public GridCacheQuery<Map.Entry<K, V>> createFullTextQuery(Class<?> cls, String search) {
         GridCacheProjectionImpl<K, V> prev = gate.enter(prj);
@@ -59,6 +59,12 @@ public class GridCacheQueryAdapter<T> implements GridCacheQuery<T> {
     /** */
     private final String clause;
 
+    /** */
+    private final String rdcClause;
+
+    /** Whether clause should be split into map and reduce clauses on execution. */
+    private final boolean split;
+
     /** */
     private final GridBiPredicate<Object, Object> filter;
 
@@ -98,13 +104,52 @@ public class GridCacheQueryAdapter<T> implements GridCacheQuery<T> {
     protected GridCacheQueryAdapter(GridCacheContext<?, ?> cctx, GridCacheQueryType type,
         @Nullable GridPredicate<GridCacheEntry<Object, Object>> prjPred, @Nullable Class<?> cls,
         @Nullable String clause, @Nullable GridBiPredicate<Object, Object> filter, boolean incMeta) {
+        this(cctx, type, prjPred, cls, clause, null, filter, incMeta);
+    }
+
+    /**
+     * @param cctx Context.
+     * @param type Query type.
+     * @param cls Class.
+     * @param clause Clause.
+     * @param rdcClause Reduce clause for two-phase fields query.
+     * @param filter Scan filter.
+     * @param incMeta Include metadata flag.
+     * @param prjPred Cache projection filter.
+     */
+    protected GridCacheQueryAdapter(GridCacheContext<?, ?> cctx, GridCacheQueryType type,
+        @Nullable GridPredicate<GridCacheEntry<Object, Object>> prjPred, @Nullable Class<?> cls,
+        @Nullable String clause, @Nullable String rdcClause, @Nullable GridBiPredicate<Object, Object> filter,
+        boolean incMeta) {
+        this(cctx, type, prjPred, cls, clause, rdcClause, filter, incMeta, false);
+    }
+
+    /**
+     * @param cctx Context.
+     * @param type Query type.
+     * @param cls Class.
+     * @param clause Clause.
+     * @param rdcClause Reduce clause for two-phase fields query.
+     * @param filter Scan filter.
+     * @param incMeta Include metadata flag.
+     * @param prjPred Cache projection filter.
+     * @param split Whether clause should be split into map and reduce clauses on execution.
+     */
+    protected GridCacheQueryAdapter(GridCacheContext<?, ?> cctx, GridCacheQueryType type,
+        @Nullable GridPredicate<GridCacheEntry<Object, Object>> prjPred, @Nullable Class<?> cls,
+        @Nullable String clause, @Nullable String rdcClause, @Nullable GridBiPredicate<Object, Object> filter,
+        boolean incMeta, boolean split) {
         assert cctx != null;
         assert type != null;
+        assert rdcClause == null || type == SQL_FIELDS;
+        assert !split || (type == SQL_FIELDS && rdcClause == null);
 
         this.cctx = cctx;
         this.type = type;
         this.cls = cls;
         this.clause = clause;
+        this.rdcClause = rdcClause;
+        this.split = split;
         this.prjPred = prjPred;
         this.filter = filter;
         this.incMeta = incMeta;
@@ -155,6 +200,40 @@ public class GridCacheQueryAdapter<T> implements GridCacheQuery<T> {
         this.cls = cls;
         this.clause = clause;
         this.incMeta = incMeta;
+
+        rdcClause = null;
+        split = false;
+    }
+
+    /**
+     * Copies query replacing its clauses. Copy shares metrics with original query.
+     *
+     * @param qry Query to copy.
+     * @param clause Clause.
+     * @param rdcClause Reduce clause.
+     * @param keepAll Keep all flag.
+     */
+    GridCacheQueryAdapter(GridCacheQueryAdapter<T> qry, String clause, @Nullable String rdcClause,
+        boolean keepAll) {
+        cctx = qry.cctx;
+        prjPred = qry.prjPred;
+        type = qry.type;
+        log = qry.log;
+        cls = qry.cls;
+        filter = qry.filter;
+        incMeta = qry.incMeta;
+        metrics = qry.metrics;
+        pageSize = qry.pageSize;
+        timeout = qry.timeout;
+        incBackups = qry.incBackups;
+        dedup = qry.dedup;
+        prj = qry.prj;
+
+        this.clause = clause;
+        this.rdcClause = rdcClause;
+        this.keepAll = keepAll;
+
+        split = false;
     }
 
     /**
@@ -185,6 +264,13 @@ public class GridCacheQueryAdapter<T> implements GridCacheQuery<T> {
         return clause;
     }
 
+    /**
+     * @return Reduce clause of two-phase fields query or {@code null} if query is not two-phase.
+     */
+    @Nullable public String reduceClause() {
+        return rdcClause;
+    }
+
     /**
      * @return Include metadata flag.
      */
@@ -369,6 +455,29 @@ public class GridCacheQueryAdapter<T> implements GridCacheQuery<T> {
 
         boolean loc = nodes.size() == 1 && F.first(nodes).id().equals(cctx.localNodeId());
 
+        if (split) {
+            GridBiTuple<String, String> clauses;
+
+            try {
+                clauses = qryMgr.splitFieldsQuery(clause);
+            }
+            catch (GridException e) {
+                return (GridCacheQueryFuture<R>)new GridCacheFieldsQueryErrorFuture(cctx.kernalContext(), e, incMeta);
+            }
+
+            bean = new GridCacheQueryBean(new GridCacheQueryAdapter<>(this, clauses.get1(), clauses.get2(), keepAll),
+                (GridReducer<Object, Object>)rmtReducer, (GridClosure<Object, Object>)rmtTransform, args);
+        }
+
+        if (bean.query().reduceClause() != null) {
+            if (rmtReducer != null || rmtTransform != null)
+                return (GridCacheQueryFuture<R>)new GridCacheFieldsQueryErrorFuture(cctx.kernalContext(),
+                    new GridException("Remote reducer and transformer are not supported for two-phase " +
+                        "fields query."), incMeta);
+
+            return (GridCacheQueryFuture<R>)qryMgr.queryFieldsTwoPhase(bean, nodes, loc);
+        }
+
         if (type == SQL_FIELDS)
             return (GridCacheQueryFuture<R>)(loc ? qryMgr.queryFieldsLocal(bean) :
                 qryMgr.queryFieldsDistributed(bean, nodes));
@@ -338,6 +338,36 @@ public abstract class GridCacheQueryManager<K, V> extends GridCacheManagerAdapte
      */
     public abstract GridCacheQueryFuture<?> queryFieldsDistributed(GridCacheQueryBean qry, Collection<GridNode> nodes);
 
+    /**
+     * Executes two-phase fields query: map query is executed on given nodes and
+     * reduce query is executed on local node over collected map results.
+     *
+     * @param qry Query.
+     * @param nodes Nodes to execute map query on.
+     * @param loc Whether local node is the only node to execute map query on.
+     * @return Query future.
+     */
+    @SuppressWarnings("unchecked")
+    public GridCacheQueryFuture<?> queryFieldsTwoPhase(GridCacheQueryBean qry, Collection<GridNode> nodes,
+        boolean loc) {
+        GridCacheQueryAdapter<?> rdcQry = qry.query();
+
+        assert rdcQry.reduceClause() != null;
+
+        // Map results are streamed to reduce query, so map future should not keep them.
+        GridCacheQueryBean mapQry = new GridCacheQueryBean(new GridCacheQueryAdapter<>(rdcQry, rdcQry.clause(), null,
+            false), null, null, qry.arguments());
+
+        GridCacheQueryFuture<?> mapFut = loc ? queryFieldsLocal(mapQry) : queryFieldsDistributed(mapQry, nodes);
+
+        GridCacheReduceFieldsQueryFuture fut = new GridCacheReduceFieldsQueryFuture(cctx, qry,
+            (GridCacheQueryFuture<List<?>>)mapFut);
+
+        fut.execute();
+
+        return fut;
+    }
+
     /**
      * Performs query.
      *
@@ -405,6 +435,34 @@ public abstract class GridCacheQueryManager<K, V> extends GridCacheManagerAdapte
             projectionFilter(qry));
     }
 
+    /**
+     * Splits fields query into map and reduce queries.
+     *
+     * @param clause Query clause.
+     * @return Map and reduce clauses.
+     * @throws GridException If query can not be split.
+     */
+    GridBiTuple<String, String> splitFieldsQuery(String clause) throws GridException {
+        return idxMgr.splitFields(spi, space, clause);
+    }
+
+    /**
+     * Executes reduce query of two-phase fields query.
+     *
+     * @param qry Query.
+     * @param mapMeta Map query result metadata.
+     * @param mapRes Map query result rows.
+     * @return Reduce query result.
+     * @throws GridException If failed.
+     */
+    GridIndexingFieldsResult reduceFieldsQuery(GridCacheQueryAdapter<?> qry,
+        List<GridIndexingFieldMetadata> mapMeta, Iterator<List<?>> mapRes) throws GridException {
+        assert qry.type() == SQL_FIELDS;
+        assert qry.reduceClause() != null;
+
+        return idxMgr.reduceFields(spi, space, qry.reduceClause(), mapMeta, mapRes);
+    }
+
     /**
      * @param qry Query.
      * @return Full-scan row iterator.
@@ -0,0 +1,156 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+package org.gridgain.grid.kernal.processors.cache.query;
+
+import org.gridgain.grid.*;
+import org.gridgain.grid.cache.query.*;
+import org.gridgain.grid.kernal.processors.cache.*;
+import org.gridgain.grid.spi.indexing.*;
+import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.lang.*;
+import org.gridgain.grid.util.typedef.*;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Future of two-phase fields query. Once map query metadata is received, reduce query is
+ * executed on local node over map query results which are streamed page by page as they arrive.
+ */
+public class GridCacheReduceFieldsQueryFuture extends GridCacheLocalFieldsQueryFuture {
+    /** Map query future. */
+    private final GridCacheQueryFuture<List<?>> mapFut;
+
+    /** Reduce future. */
+    private volatile GridFuture<?> rdcFut;
+
+    /**
+     * Required by {@link Externalizable}.
+     */
+    public GridCacheReduceFieldsQueryFuture() {
+        mapFut = null;
+    }
+
+    /**
+     * @param ctx Cache context.
+     * @param qry Query.
+     * @param mapFut Map query future.
+     */
+    public GridCacheReduceFieldsQueryFuture(GridCacheContext<?, ?> ctx, GridCacheQueryBean qry,
+        GridCacheQueryFuture<List<?>> mapFut) {
+        super(ctx, qry);
+
+        assert mapFut instanceof GridCacheQueryMetadataAware;
+
+        this.mapFut = mapFut;
+    }
+
+    /** {@inheritDoc} */
+    @Override void execute() {
+        // Reduce thread waits for map query pages, so it is not executed in system pool.
+        ((GridCacheQueryMetadataAware)mapFut).metadata().listenAsync(
+            new CI1<GridFuture<List<GridIndexingFieldMetadata>>>() {
+                @Override public void apply(GridFuture<List<GridIndexingFieldMetadata>> f) {
+                    if (!isDone())
+                        rdcFut = ctx.closure().runLocalSafe(new ReduceQueryRunnable(), false);
+                }
+            });
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void cancelQuery() throws GridException {
+        mapFut.cancel();
+
+        GridFuture<?> rdcFut0 = rdcFut;
+
+        if (rdcFut0 != null)
+            rdcFut0.cancel();
+    }
+
+    /** */
+    private class ReduceQueryRunnable implements GridPlainRunnable {
+        /** {@inheritDoc} */
+        @Override public void run() {
+            try {
+                List<GridIndexingFieldMetadata> mapMeta =
+                    ((GridCacheQueryMetadataAware)mapFut).metadata().get();
+
+                // Map future does not keep rows, so they are consumed right after page arrives.
+                Iterator<List<?>> mapRes = new GridIteratorAdapter<List<?>>() {
+                    /** */
+                    private List<?> next = mapFut.next();
+
+                    @Override public boolean hasNextX() {
+                        return next != null;
+                    }
+
+                    @Override public List<?> nextX() {
+                        if (next == null)
+                            throw new NoSuchElementException();
+
+                        List<?> res = next;
+
+                        next = mapFut.next();
+
+                        return res;
+                    }
+
+                    @Override public void removeX() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+
+                GridIndexingFieldsResult res = cctx.queries().reduceFieldsQuery(qry.query(), mapMeta, mapRes);
+
+                Collection<List<Object>> data = new ArrayList<>();
+
+                GridCloseableIterator<List<GridIndexingEntity<?>>> it =
+                    new GridSpiCloseableIteratorWrapper<>(res.iterator());
+
+                try {
+                    while (it.hasNext()) {
+                        List<GridIndexingEntity<?>> row = it.next();
+
+                        List<Object> fields = new ArrayList<>(row.size());
+
+                        for (GridIndexingEntity<?> ent : row)
+                            fields.add(ent.value());
+
+                        data.add(fields);
+                    }
+                }
+                finally {
+                    it.close();
+                }
+
+                // Throws map query error if any.
+                mapFut.get();
+
+                onPage(null, res.metaData(), data, null, true);
+            }
+            catch (Throwable e) {
+                onPage(null, null, null, e, true);
+            }
+        }
+    }
+}
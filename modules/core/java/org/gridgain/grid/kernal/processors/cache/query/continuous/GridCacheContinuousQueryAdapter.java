@@ -39,6 +39,7 @@ import java.util.*;
 import java.util.concurrent.locks.*;
 
 import static org.gridgain.grid.cache.GridCacheMode.*;
+import static org.gridgain.grid.kernal.GridNodeAttributes.*;
 
 /**
  * Continuous query implementation.
@@ -78,6 +79,10 @@ class GridCacheContinuousQueryAdapter<K, V> implements GridCacheContinuousQuery<
     /** Automatic unsubscribe flag. */
     private volatile boolean autoUnsubscribe = DFLT_AUTO_UNSUBSCRIBE;
 
+    /** Conflation flag. */
+    @SuppressWarnings("RedundantFieldInitialization")
+    private volatile boolean conflate = DFLT_CONFLATE;
+
     /** Continuous routine ID. */
     private UUID routineId;
 
@@ -186,6 +191,24 @@ class GridCacheContinuousQueryAdapter<K, V> implements GridCacheContinuousQuery<
         return autoUnsubscribe;
     }
 
+    /** {@inheritDoc} */
+    @Override public void conflate(boolean conflate) {
+        if (!guard.enterBusy())
+            throw new IllegalStateException("Continuous query can't be changed after it was executed.");
+
+        try {
+            this.conflate = conflate;
+        }
+        finally {
+            guard.leaveBusy();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean isConflate() {
+        return conflate;
+    }
+
     /** {@inheritDoc} */
     @Override public void execute() throws GridException {
         execute(null);
@@ -204,6 +227,17 @@ class GridCacheContinuousQueryAdapter<K, V> implements GridCacheContinuousQuery<
         if (prj.nodes().isEmpty())
             throw new GridTopologyException("Failed to execute query (projection is empty): " + this);
 
+        if (conflate) {
+            for (GridNode n : prj.nodes()) {
+                if (n.attribute(ATTR_CONT_QRY_CONFLATION) == null)
+                    throw new GridException("Failed to execute conflating query (node does not support " +
+                        "conflation) [qry=" + this + ", node=" + n + ']');
+            }
+
+            // Nodes not supporting conflation can't read conflating handler.
+            prj = prj.forAttribute(ATTR_CONT_QRY_CONFLATION, null);
+        }
+
         GridCacheMode mode = ctx.config().getCacheMode();
 
         if (mode == LOCAL || mode == REPLICATED) {
@@ -233,7 +267,8 @@ class GridCacheContinuousQueryAdapter<K, V> implements GridCacheContinuousQuery<
 
             guard.block();
 
-            GridContinuousHandler hnd = new GridCacheContinuousQueryHandler<>(ctx.name(), topic, cb, filter, prjPred);
+            GridContinuousHandler hnd = new GridCacheContinuousQueryHandler<>(ctx.name(), topic, cb, filter, prjPred,
+                conflate);
 
             routineId = ctx.kernalContext().continuous().startRoutine(hnd, bufSize, timeInterval, autoUnsubscribe,
                 prj.predicate()).get();
@@ -44,7 +44,7 @@ import static org.gridgain.grid.kernal.processors.cache.GridCacheValueBytes.*;
 /**
  * Entry implementation.
  */
-class GridCacheContinuousQueryEntry<K, V> implements GridCacheEntry<K, V>, GridCacheDeployable, Externalizable {
+public class GridCacheContinuousQueryEntry<K, V> implements GridCacheEntry<K, V>, GridCacheDeployable, Externalizable {
     /** Cache context. */
     @SuppressWarnings("TransientFieldNotInitialized")
     private final transient GridCacheContext ctx;
@@ -41,6 +41,12 @@ import java.util.*;
  * Continuous query handler.
  */
 class GridCacheContinuousQueryHandler<K, V> implements GridContinuousHandler {
+    /** Flag set if filter is deployable object. */
+    private static final int FILTER_DEP_FLAG = 0x01;
+
+    /** Flag set if handler conflates updates (never set for nodes not supporting conflation). */
+    private static final int CONFLATE_FLAG = 0x02;
+
     /** Cache name. */
     private String cacheName;
 
@@ -63,6 +69,9 @@ class GridCacheContinuousQueryHandler<K, V> implements GridContinuousHandler {
     /** Deployable object for Projection predicate. */
     private DeployableObject prjPredDep;
 
+    /** Conflation flag. */
+    private boolean conflate;
+
     /** Stopped flag. */
     private boolean stopped;
 
@@ -79,10 +88,11 @@ class GridCacheContinuousQueryHandler<K, V> implements GridContinuousHandler {
      * @param cb Local callback.
      * @param filter Filter.
      * @param prjPred Projection predicate.
+     * @param conflate Conflation flag.
      */
     GridCacheContinuousQueryHandler(@Nullable String cacheName, Object topic,
         GridBiPredicate<UUID, Collection<Map.Entry<K, V>>> cb, @Nullable GridBiPredicate<K, V> filter,
-        @Nullable GridPredicate<GridCacheEntry<K, V>> prjPred) {
+        @Nullable GridPredicate<GridCacheEntry<K, V>> prjPred, boolean conflate) {
         assert topic != null;
         assert cb != null;
 
@@ -91,6 +101,7 @@ class GridCacheContinuousQueryHandler<K, V> implements GridContinuousHandler {
         this.cb = cb;
         this.filter = filter;
         this.prjPred = prjPred;
+        this.conflate = conflate;
     }
 
     /** {@inheritDoc} */
@@ -148,7 +159,14 @@ class GridCacheContinuousQueryHandler<K, V> implements GridContinuousHandler {
                                 depMgr.prepare(e);
                             }
 
-                            ctx.continuous().addNotification(nodeId, routineId, e, topic);
+                            if (conflate) {
+                                boolean conflated =
+                                    ctx.continuous().addNotification(nodeId, routineId, e, e.getKey(), topic);
+
+                                cacheContext(ctx).continuousQueries().onConflation(conflated);
+                            }
+                            else
+                                ctx.continuous().addNotification(nodeId, routineId, e, topic);
                         }
                         catch (GridException ex) {
                             U.error(ctx.log(getClass()), "Failed to send event notification to node: " + nodeId, ex);
@@ -268,7 +286,9 @@ class GridCacheContinuousQueryHandler<K, V> implements GridContinuousHandler {
 
         boolean b = filterDep != null;
 
-        out.writeBoolean(b);
+        // Conflation flag shares byte with filter flag, so format of non-conflating
+        // handler is the same as for nodes not supporting conflation.
+        out.writeByte((b ? FILTER_DEP_FLAG : 0) | (conflate ? CONFLATE_FLAG : 0));
 
         if (b)
             out.writeObject(filterDep);
@@ -290,14 +310,16 @@ class GridCacheContinuousQueryHandler<K, V> implements GridContinuousHandler {
         cacheName = U.readString(in);
         topic = in.readObject();
 
-        boolean b = in.readBoolean();
+        byte flags = in.readByte();
 
-        if (b)
+        conflate = (flags & CONFLATE_FLAG) != 0;
+
+        if ((flags & FILTER_DEP_FLAG) != 0)
             filterDep = (DeployableObject)in.readObject();
         else
             filter = (GridBiPredicate<K, V>)in.readObject();
 
-        b = in.readBoolean();
+        boolean b = in.readBoolean();
 
         if (b)
             prjPredDep = (DeployableObject)in.readObject();
@@ -26,7 +26,7 @@ package org.gridgain.grid.kernal.processors.cache.query.continuous;
 /**
  * Continuous query listener.
  */
-interface GridCacheContinuousQueryListener<K, V> {
+public interface GridCacheContinuousQueryListener<K, V> {
     /**
      * Entry update callback.
      *
@@ -63,6 +63,12 @@ public class GridCacheContinuousQueryManager<K, V> extends GridCacheManagerAdapt
     /** Query sequence number for message topic. */
     private final AtomicLong seq = new AtomicLong();
 
+    /** Number of updates offered to conflating queries. */
+    private final AtomicLong conflationUpdates = new AtomicLong();
+
+    /** Number of updates replaced by later updates for the same key in conflating queries. */
+    private final AtomicLong conflatedUpdates = new AtomicLong();
+
     /** Lock. */
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
@@ -140,6 +146,13 @@ public class GridCacheContinuousQueryManager<K, V> extends GridCacheManagerAdapt
         return new GridCacheContinuousQueryAdapter<>(cctx, topic, prjPred);
     }
 
+    /**
+     * @return {@code True} if there are continuous query listeners on this node.
+     */
+    public boolean hasListeners() {
+        return lsnrCnt.get() > 0;
+    }
+
     /**
      * @param e Cache entry.
      * @param key Key.
@@ -228,6 +241,57 @@ public class GridCacheContinuousQueryManager<K, V> extends GridCacheManagerAdapt
         return maxBufSize * queue.size() + buf.sizex();
     }
 
+    /**
+     * Gets number of updates offered to conflating continuous queries on this node.
+     *
+     * @return Number of updates offered to conflating continuous queries.
+     */
+    public long conflationUpdates() {
+        return conflationUpdates.get();
+    }
+
+    /**
+     * Gets number of updates that were not sent by conflating continuous queries on this
+     * node because they were replaced by later updates for the same key.
+     *
+     * @return Number of conflated updates.
+     */
+    public long conflatedUpdates() {
+        return conflatedUpdates.get();
+    }
+
+    /**
+     * Gets ratio of conflated updates to all updates offered to conflating continuous queries
+     * on this node, or {@code 0} if no updates were offered.
+     *
+     * @return Conflation ratio.
+     */
+    public double conflationRatio() {
+        long total = conflationUpdates.get();
+
+        return total == 0 ? 0 : (double)conflatedUpdates.get() / total;
+    }
+
+    /**
+     * Resets conflation metrics. Called when cache metrics are reset.
+     */
+    public void resetConflationMetrics() {
+        conflationUpdates.set(0);
+        conflatedUpdates.set(0);
+    }
+
+    /**
+     * Callback invoked when update is offered to conflating continuous query.
+     *
+     * @param conflated Whether update replaced previously buffered update for the same key.
+     */
+    void onConflation(boolean conflated) {
+        conflationUpdates.incrementAndGet();
+
+        if (conflated)
+            conflatedUpdates.incrementAndGet();
+    }
+
     /**
      * @param id Listener ID.
      * @param lsnr Listener.
@@ -244,6 +308,27 @@ public class GridCacheContinuousQueryManager<K, V> extends GridCacheManagerAdapt
         return added;
     }
 
+    /**
+     * Registers listener that is notified about updates of entries stored on this node right away,
+     * without iterating through existing data first.
+     *
+     * @param id Listener ID.
+     * @param lsnr Listener.
+     * @return Whether listener was actually registered.
+     */
+    public boolean registerLocalListener(UUID id, GridCacheContinuousQueryListener<K, V> lsnr) {
+        ListenerInfo<K, V> info = new ListenerInfo<>(lsnr);
+
+        info.flushPending();
+
+        boolean added = lsnrs.putIfAbsent(id, info) == null;
+
+        if (added)
+            lsnrCnt.incrementAndGet();
+
+        return added;
+    }
+
     /**
      * Iterates through existing data.
      *
@@ -263,7 +348,7 @@ public class GridCacheContinuousQueryManager<K, V> extends GridCacheManagerAdapt
     /**
      * @param id Listener ID.
      */
-    void unregisterListener(UUID id) {
+    public void unregisterListener(UUID id) {
         if (lsnrs.remove(id) != null)
             lsnrCnt.decrementAndGet();
     }
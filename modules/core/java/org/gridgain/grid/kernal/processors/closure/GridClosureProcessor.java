@@ -29,6 +29,8 @@ import org.gridgain.grid.cache.affinity.*;
 import org.gridgain.grid.compute.*;
 import org.gridgain.grid.kernal.*;
 import org.gridgain.grid.kernal.processors.*;
+import org.gridgain.grid.kernal.processors.cache.*;
+import org.gridgain.grid.kernal.processors.cache.distributed.dht.*;
 import org.gridgain.grid.lang.*;
 import org.gridgain.grid.marshaller.*;
 import org.gridgain.grid.resources.*;
@@ -44,6 +46,7 @@ import java.util.*;
 import java.util.concurrent.*;
 
 import static org.gridgain.grid.compute.GridComputeJobResultPolicy.*;
+import static org.gridgain.grid.kernal.processors.cache.distributed.dht.GridDhtPartitionState.*;
 import static org.gridgain.grid.kernal.processors.task.GridTaskThreadContextKey.*;
 
 /**
@@ -445,6 +448,122 @@ public class GridClosureProcessor extends GridProcessorAdapter {
         }
     }
 
+    /**
+     * @param cacheName Cache name.
+     * @param keys Keys.
+     * @param job Job called for each partition with keys of this partition.
+     * @param nodes Grid nodes.
+     * @return Future for collection of results of job calls.
+     */
+    public <K, R> GridFuture<Collection<R>> affinityCall(@Nullable String cacheName, Collection<? extends K> keys,
+        GridBiClosure<Integer, Collection<K>, R> job, @Nullable Collection<GridNode> nodes) {
+        enterBusy();
+
+        try {
+            if (F.isEmpty(nodes))
+                return new GridFinishedFuture<>(ctx, U.emptyTopologyException());
+
+            if (keys.isEmpty())
+                return new GridFinishedFuture<Collection<R>>(ctx, Collections.<R>emptyList());
+
+            ctx.task().setThreadContext(TC_SUBGRID, nodes);
+
+            return ctx.task().execute(new T12<>(cacheName, keys, job, job), null, false);
+        }
+        finally {
+            leaveBusy();
+        }
+    }
+
+    /**
+     * @param cacheName Cache name.
+     * @param keys Keys.
+     * @param job Job run for each partition with keys of this partition.
+     * @param nodes Grid nodes.
+     * @return Job future.
+     */
+    public <K> GridFuture<?> affinityRun(@Nullable String cacheName, Collection<? extends K> keys,
+        final GridBiInClosure<Integer, Collection<K>> job, @Nullable Collection<GridNode> nodes) {
+        enterBusy();
+
+        try {
+            if (F.isEmpty(nodes))
+                return new GridFinishedFuture<>(ctx, U.emptyTopologyException());
+
+            if (keys.isEmpty())
+                return new GridFinishedFuture<>(ctx);
+
+            ctx.task().setThreadContext(TC_SUBGRID, nodes);
+
+            return ctx.task().execute(new T12<>(cacheName, keys, new InClosureAdapter<>(job), job), null, false);
+        }
+        finally {
+            leaveBusy();
+        }
+    }
+
+    /**
+     * @param cacheName Cache name.
+     * @param parts Partitions.
+     * @param job Job called for each partition.
+     * @param nodes Grid nodes.
+     * @return Future for collection of results of job calls.
+     */
+    public <R> GridFuture<Collection<R>> partitionCall(@Nullable String cacheName, Collection<Integer> parts,
+        GridClosure<Integer, R> job, @Nullable Collection<GridNode> nodes) {
+        enterBusy();
+
+        try {
+            if (F.isEmpty(nodes))
+                return new GridFinishedFuture<>(ctx, U.emptyTopologyException());
+
+            if (parts.isEmpty())
+                return new GridFinishedFuture<Collection<R>>(ctx, Collections.<R>emptyList());
+
+            ctx.task().setThreadContext(TC_SUBGRID, nodes);
+
+            return ctx.task().execute(new T13<>(cacheName, parts, job, job), null, false);
+        }
+        finally {
+            leaveBusy();
+        }
+    }
+
+    /**
+     * @param cacheName Cache name.
+     * @param parts Partitions.
+     * @param job Job run for each partition.
+     * @param nodes Grid nodes.
+     * @return Job future.
+     */
+    public GridFuture<?> partitionRun(@Nullable String cacheName, Collection<Integer> parts,
+        final GridInClosure<Integer> job, @Nullable Collection<GridNode> nodes) {
+        enterBusy();
+
+        try {
+            if (F.isEmpty(nodes))
+                return new GridFinishedFuture<>(ctx, U.emptyTopologyException());
+
+            if (parts.isEmpty())
+                return new GridFinishedFuture<>(ctx);
+
+            ctx.task().setThreadContext(TC_SUBGRID, nodes);
+
+            GridClosure<Integer, Object> c = new C1<Integer, Object>() {
+                @Nullable @Override public Object apply(Integer part) {
+                    job.apply(part);
+
+                    return null;
+                }
+            };
+
+            return ctx.task().execute(new T13<>(cacheName, parts, c, job), null, false);
+        }
+        finally {
+            leaveBusy();
+        }
+    }
+
     /**
      * @param mode Distribution mode.
      * @param job Closure to execute.
@@ -1605,4 +1724,423 @@ public class GridClosureProcessor extends GridProcessorAdapter {
             return F.jobResults(res);
         }
     }
+
+    /**
+     * Task that is free of dragged in enclosing context for the method
+     * {@link GridClosureProcessor#affinityCall(String, Collection, GridBiClosure, Collection)}.
+     * Keys are mapped to their primary nodes, so that one job is sent to each node. Keys of failed jobs
+     * and keys which partitions moved away from the node by the time job executed are remapped
+     * according to the new topology and sent again.
+     */
+    @GridComputeTaskNoResultCache
+    private class T12<K, R> extends GridPeerDeployAwareTaskAdapter<Void, Collection<R>> {
+        /** Maximum amount of remaps before task fails. */
+        private static final int MAX_REMAP_ATTEMPTS = 16;
+
+        /** */
+        private final String cacheName;
+
+        /** */
+        private final Collection<? extends K> keys;
+
+        /** */
+        private final GridBiClosure<Integer, Collection<K>, R> job;
+
+        /** */
+        private final Collection<R> results = new ConcurrentLinkedQueue<>();
+
+        /** */
+        private int remapCnt;
+
+        /** */
+        @GridTaskContinuousMapperResource
+        private GridComputeTaskContinuousMapper mapper;
+
+        /**
+         * @param cacheName Cache name.
+         * @param keys Keys.
+         * @param job Job.
+         * @param pda Object to get peer deploy information from.
+         */
+        private T12(@Nullable String cacheName, Collection<? extends K> keys,
+            GridBiClosure<Integer, Collection<K>, R> job, Object pda) {
+            super(U.peerDeployAware(pda));
+
+            this.cacheName = cacheName;
+            this.keys = keys;
+            this.job = job;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Map<? extends GridComputeJob, GridNode> map(List<GridNode> subgrid, @Nullable Void arg)
+            throws GridException {
+            return mapKeys(keys);
+        }
+
+        /** {@inheritDoc} */
+        @Override public GridComputeJobResultPolicy result(GridComputeJobResult res, List<GridComputeJobResult> rcvd)
+            throws GridException {
+            Collection<K> remap;
+
+            if (res.getException() != null) {
+                // Throws if job failed because of user error.
+                if (super.result(res, rcvd) != FAILOVER)
+                    return WAIT;
+
+                remap = res.<AffinityKeysJob<K, R>>getJob().keys;
+            }
+            else {
+                GridBiTuple<Collection<R>, Collection<K>> t = res.getData();
+
+                results.addAll(t.get1());
+
+                remap = t.get2();
+            }
+
+            if (!F.isEmpty(remap)) {
+                synchronized (this) {
+                    if (++remapCnt > MAX_REMAP_ATTEMPTS)
+                        throw new GridException("Failed to map keys to primary nodes (topology is changing " +
+                            "too often) [cacheName=" + cacheName + ", remapCnt=" + remapCnt + ']');
+                }
+
+                if (log.isDebugEnabled())
+                    log.debug("Remapping keys of affinity job [cacheName=" + cacheName + ", keysCnt=" +
+                        remap.size() + ", failedNode=" + res.getNode().id() + ']');
+
+                mapper.send(mapKeys(remap));
+            }
+
+            return WAIT;
+        }
+
+        /**
+         * @param keys Keys.
+         * @return Jobs mapped to primary nodes of the keys.
+         * @throws GridException If failed.
+         */
+        private Map<GridComputeJob, GridNode> mapKeys(Collection<? extends K> keys) throws GridException {
+            Map<GridNode, Collection<K>> mapped = ctx.affinity().mapKeysToNodes(cacheName, keys);
+
+            if (mapped.isEmpty())
+                throw new GridTopologyException("Failed to map keys to nodes (no cache nodes in topology) " +
+                    "[cacheName=" + cacheName + ']');
+
+            Map<GridComputeJob, GridNode> map = new HashMap<>(mapped.size(), 1);
+
+            for (Map.Entry<GridNode, Collection<K>> e : mapped.entrySet())
+                map.put(new AffinityKeysJob<>(cacheName, e.getValue(), job), e.getKey());
+
+            return map;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Collection<R> reduce(List<GridComputeJobResult> res) {
+            return new ArrayList<>(results);
+        }
+    }
+
+    /**
+     * Job calling closure for each partition of keys which primary node is the local node.
+     */
+    private static class AffinityKeysJob<K, R> extends GridComputeJobAdapter {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** */
+        private final String cacheName;
+
+        /** */
+        private final Collection<K> keys;
+
+        /** */
+        private final GridBiClosure<Integer, Collection<K>, R> job;
+
+        /** */
+        @GridInstanceResource
+        private Grid grid;
+
+        /**
+         * @param cacheName Cache name.
+         * @param keys Keys.
+         * @param job Closure.
+         */
+        private AffinityKeysJob(@Nullable String cacheName, Collection<K> keys,
+            GridBiClosure<Integer, Collection<K>, R> job) {
+            this.cacheName = cacheName;
+            this.keys = keys;
+            this.job = job;
+        }
+
+        /**
+         * @return Results of closure calls and keys of partitions which local node is not primary for.
+         */
+        @Override public GridBiTuple<Collection<R>, Collection<K>> execute() {
+            GridCache<K, ?> cache = grid.cache(cacheName);
+
+            if (cache == null)
+                return F.<Collection<R>, Collection<K>>t(Collections.<R>emptyList(), keys);
+
+            GridCacheAffinity<K> aff = cache.affinity();
+
+            Map<Integer, Collection<K>> parts = new HashMap<>();
+
+            for (K key : keys) {
+                int part = aff.partition(key);
+
+                Collection<K> partKeys = parts.get(part);
+
+                if (partKeys == null)
+                    parts.put(part, partKeys = new ArrayList<>());
+
+                partKeys.add(key);
+            }
+
+            GridNode loc = grid.localNode();
+
+            Collection<R> res = new ArrayList<>(parts.size());
+            Collection<K> remap = null;
+
+            for (Map.Entry<Integer, Collection<K>> e : parts.entrySet()) {
+                // Partition could move away since job was mapped.
+                if (!loc.equals(aff.mapPartitionToNode(e.getKey()))) {
+                    if (remap == null)
+                        remap = new ArrayList<>();
+
+                    remap.addAll(e.getValue());
+
+                    continue;
+                }
+
+                res.add(job.apply(e.getKey(), e.getValue()));
+            }
+
+            return F.t(res, remap);
+        }
+    }
+
+    /**
+     * Task that is free of dragged in enclosing context for the method
+     * {@link GridClosureProcessor#partitionCall(String, Collection, GridClosure, Collection)}.
+     * One job is sent for each partition to its primary node. Partitions which could not be reserved
+     * on that node and partitions of failed jobs are remapped according to the new topology.
+     */
+    @GridComputeTaskNoResultCache
+    private class T13<R> extends GridPeerDeployAwareTaskAdapter<Void, Collection<R>> {
+        /** Maximum amount of remaps of a single partition before task fails. */
+        private static final int MAX_REMAP_ATTEMPTS = 16;
+
+        /** */
+        private final String cacheName;
+
+        /** */
+        private final Collection<Integer> parts;
+
+        /** */
+        private final GridClosure<Integer, R> job;
+
+        /** */
+        private final Collection<R> results = new ConcurrentLinkedQueue<>();
+
+        /** */
+        @GridTaskContinuousMapperResource
+        private GridComputeTaskContinuousMapper mapper;
+
+        /**
+         * @param cacheName Cache name.
+         * @param parts Partitions.
+         * @param job Job.
+         * @param pda Object to get peer deploy information from.
+         */
+        private T13(@Nullable String cacheName, Collection<Integer> parts, GridClosure<Integer, R> job, Object pda) {
+            super(U.peerDeployAware(pda));
+
+            this.cacheName = cacheName;
+            this.parts = parts;
+            this.job = job;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Map<? extends GridComputeJob, GridNode> map(List<GridNode> subgrid, @Nullable Void arg)
+            throws GridException {
+            Map<GridComputeJob, GridNode> map = new HashMap<>(parts.size(), 1);
+
+            for (Integer part : parts)
+                map.put(new PartitionJob<>(cacheName, part, 0, job), mapPartition(part));
+
+            return map;
+        }
+
+        /** {@inheritDoc} */
+        @SuppressWarnings("unchecked")
+        @Override public GridComputeJobResultPolicy result(GridComputeJobResult res, List<GridComputeJobResult> rcvd)
+            throws GridException {
+            PartitionJob<R> failed = res.getJob();
+
+            if (res.getException() != null) {
+                // Throws if job failed because of user error.
+                if (super.result(res, rcvd) != FAILOVER)
+                    return WAIT;
+            }
+            else {
+                GridBiTuple<Boolean, R> t = res.getData();
+
+                if (t.get1()) {
+                    results.add(t.get2());
+
+                    return WAIT;
+                }
+            }
+
+            int attempt = failed.attempt + 1;
+
+            if (attempt > MAX_REMAP_ATTEMPTS)
+                throw new GridException("Failed to reserve partition on its primary node (topology is changing " +
+                    "too often) [cacheName=" + cacheName + ", part=" + failed.part + ']');
+
+            if (log.isDebugEnabled())
+                log.debug("Remapping partition job [cacheName=" + cacheName + ", part=" + failed.part +
+                    ", failedNode=" + res.getNode().id() + ']');
+
+            mapper.send(new PartitionJob<>(cacheName, failed.part, attempt, job), mapPartition(failed.part));
+
+            return WAIT;
+        }
+
+        /**
+         * @param part Partition.
+         * @return Primary node.
+         * @throws GridException If failed.
+         */
+        private GridNode mapPartition(int part) throws GridException {
+            GridNode node = ctx.affinity().mapPartitionToNode(cacheName, part);
+
+            if (node == null)
+                throw new GridTopologyException("Failed to map partition to node (no cache nodes in topology) " +
+                    "[cacheName=" + cacheName + ", part=" + part + ']');
+
+            return node;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Collection<R> reduce(List<GridComputeJobResult> res) {
+            return new ArrayList<>(results);
+        }
+    }
+
+    /**
+     * Job calling closure for a partition reserved on its primary node. If partition is being
+     * preloaded to its primary node, job is held until preloading completes instead of being
+     * remapped right away, since remapping to the same node would fail again.
+     */
+    private static class PartitionJob<R> extends GridComputeJobContinuationAdapter {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Delay between checks whether partition is preloaded, in milliseconds. */
+        private static final long PRELOAD_CHECK_DELAY = 100;
+
+        /** Maximum time to wait for partition preloading before job is remapped, in milliseconds. */
+        private static final long PRELOAD_WAIT_TIMEOUT = 30000;
+
+        /** */
+        private final String cacheName;
+
+        /** */
+        private final int part;
+
+        /** Remap attempt. */
+        private final int attempt;
+
+        /** */
+        private final GridClosure<Integer, R> job;
+
+        /** */
+        @GridInstanceResource
+        private Grid grid;
+
+        /** Time when job started to wait for partition preloading. */
+        private long waitStart;
+
+        /**
+         * @param cacheName Cache name.
+         * @param part Partition.
+         * @param attempt Remap attempt.
+         * @param job Closure.
+         */
+        private PartitionJob(@Nullable String cacheName, int part, int attempt, GridClosure<Integer, R> job) {
+            this.cacheName = cacheName;
+            this.part = part;
+            this.attempt = attempt;
+            this.job = job;
+        }
+
+        /**
+         * @return Flag indicating whether partition was reserved and closure result.
+         * @throws GridException If cache is not partitioned.
+         */
+        @Override public GridBiTuple<Boolean, R> execute() throws GridException {
+            GridCacheAdapter<Object, Object> cache = ((GridKernal)grid).context().cache().internalCache(cacheName);
+
+            if (cache == null)
+                return F.t(false, null);
+
+            GridCacheContext<Object, Object> cctx = cache.context();
+
+            if (cctx.isLocal())
+                throw new GridException("Partition jobs are not supported for LOCAL cache: " + cacheName);
+
+            if (!cctx.affinity().primary(cctx.localNode(), part))
+                return F.t(false, null); // Partition moved since job was mapped.
+
+            GridDhtLocalPartition<Object, Object> locPart = cctx.topology().localPartition(part, -1, false);
+
+            if (locPart != null && locPart.reserve()) {
+                try {
+                    // Partition must be fully loaded.
+                    if (locPart.state() == OWNING)
+                        return F.t(true, job.apply(part));
+                }
+                finally {
+                    locPart.release();
+                }
+            }
+
+            long now = U.currentTimeMillis();
+
+            if (waitStart == 0)
+                waitStart = now;
+
+            // Partition is not preloaded yet, check again later.
+            if (now - waitStart < PRELOAD_WAIT_TIMEOUT)
+                return holdcc(PRELOAD_CHECK_DELAY);
+
+            return F.t(false, null);
+        }
+    }
+
+    /**
+     * Adapts in-closure to closure returning {@code null}.
+     */
+    private static class InClosureAdapter<E1, E2> implements GridBiClosure<E1, E2, Object> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** */
+        private final GridBiInClosure<E1, E2> c;
+
+        /**
+         * @param c In-closure.
+         */
+        private InClosureAdapter(GridBiInClosure<E1, E2> c) {
+            this.c = c;
+        }
+
+        /** {@inheritDoc} */
+        @Nullable @Override public Object apply(E1 e1, E2 e2) {
+            c.apply(e1, e2);
+
+            return null;
+        }
+    }
 }
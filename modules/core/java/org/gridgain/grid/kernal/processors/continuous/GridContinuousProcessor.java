@@ -643,6 +643,25 @@ public class GridContinuousProcessor extends GridProcessorAdapter {
      */
     public void addNotification(UUID nodeId, UUID routineId, @Nullable Object obj, @Nullable Object orderedTopic)
         throws GridException {
+        addNotification(nodeId, routineId, obj, null, orderedTopic);
+    }
+
+    /**
+     * Adds notification that can be conflated with other notifications for the same
+     * conflation key. If notification with the same key is already buffered, it is
+     * replaced with the new one, so only the latest notification per key is sent.
+     *
+     * @param nodeId ID of the node that started routine.
+     * @param routineId Routine ID.
+     * @param obj Notification object.
+     * @param conflationKey Conflation key or {@code null} if notification should not be conflated.
+     * @param orderedTopic Topic for ordered notifications.
+     *      If {@code null}, non-ordered message will be sent.
+     * @return {@code True} if notification replaced previously buffered one.
+     * @throws GridException In case of error.
+     */
+    public boolean addNotification(UUID nodeId, UUID routineId, @Nullable Object obj, @Nullable Object conflationKey,
+        @Nullable Object orderedTopic) throws GridException {
         assert nodeId != null;
         assert routineId != null;
 
@@ -651,11 +670,17 @@ public class GridContinuousProcessor extends GridProcessorAdapter {
         RemoteRoutineInfo info = rmtInfos.get(routineId);
 
         if (info != null) {
-            Collection<Object> toSnd = info.add(obj);
+            GridBiTuple<Collection<Object>, Boolean> res = info.add(obj, conflationKey);
+
+            Collection<Object> toSnd = res.get1();
 
             if (toSnd != null)
                 sendNotification(nodeId, routineId, toSnd, orderedTopic);
+
+            return res.get2();
         }
+
+        return false;
     }
 
     /**
@@ -1124,7 +1149,10 @@ public class GridContinuousProcessor extends GridProcessorAdapter {
         private final long interval;
 
         /** Buffer. */
-        private Collection<Object> buf;
+        private List<Object> buf;
+
+        /** Positions of conflated notifications in buffer by conflation key. */
+        private Map<Object, Integer> conflationIdx;
 
         /** Last send time. */
         private long lastSndTime = U.currentTimeMillis();
@@ -1157,25 +1185,36 @@ public class GridContinuousProcessor extends GridProcessorAdapter {
 
         /**
          * @param obj Object to add.
-         * @return Object to send or {@code null} if there is nothing to send for now.
+         * @param conflationKey Conflation key or {@code null} if object should not be conflated.
+         * @return Tuple with objects to send (or {@code null} if there is nothing to send
+         *      for now) and flag indicating whether object replaced previously buffered one.
          */
-        @Nullable Collection<Object> add(@Nullable Object obj) {
+        GridBiTuple<Collection<Object>, Boolean> add(@Nullable Object obj, @Nullable Object conflationKey) {
             Collection<Object> toSnd = null;
 
             synchronized (this) {
-                buf.add(obj);
+                if (conflationKey != null) {
+                    if (conflationIdx == null)
+                        conflationIdx = new HashMap<>();
 
-                if (buf.size() == bufSize) {
-                    toSnd = buf;
+                    Integer idx = conflationIdx.get(conflationKey);
 
-                    buf = new ArrayList<>(bufSize);
+                    if (idx != null) {
+                        buf.set(idx, obj);
+
+                        return F.<Collection<Object>, Boolean>t(null, true);
+                    }
 
-                    if (interval > 0)
-                        lastSndTime = U.currentTimeMillis();
+                    conflationIdx.put(conflationKey, buf.size());
                 }
+
+                buf.add(obj);
+
+                if (buf.size() == bufSize)
+                    toSnd = reset();
             }
 
-            return toSnd;
+            return F.t(toSnd, false);
         }
 
         /**
@@ -1193,17 +1232,33 @@ public class GridContinuousProcessor extends GridProcessorAdapter {
             synchronized (this) {
                 diff = now - lastSndTime;
 
-                if (diff >= interval && !buf.isEmpty()) {
-                    toSnd = buf;
-
-                    buf = new ArrayList<>(bufSize);
-
-                    lastSndTime = now;
-                }
+                if (diff >= interval && !buf.isEmpty())
+                    toSnd = reset();
             }
 
             return F.t(toSnd, diff < interval ? interval - diff : interval);
         }
+
+        /**
+         * Swaps buffer with an empty one. Should be called under lock.
+         *
+         * @return Buffered objects.
+         */
+        private Collection<Object> reset() {
+            assert Thread.holdsLock(this);
+
+            Collection<Object> toSnd = buf;
+
+            buf = new ArrayList<>(bufSize);
+
+            if (conflationIdx != null)
+                conflationIdx.clear();
+
+            if (interval > 0)
+                lastSndTime = U.currentTimeMillis();
+
+            return toSnd;
+        }
     }
 
     /**
@@ -27,6 +27,7 @@ import org.gridgain.grid.kernal.processors.cache.*;
 import org.gridgain.grid.util.typedef.internal.*;
 
 import java.io.*;
+import java.util.zip.*;
 
 /**
  * DR utility methods.
@@ -38,6 +39,9 @@ public class GridDrUtils {
     /** Maximum amount of data centers. */
     public static final int MAX_DATA_CENTERS = 32;
 
+    /** Maximum ratio of raw to compressed data size for deflate algorithm. */
+    private static final int MAX_DEFLATE_RATIO = 1032;
+
     /**
      * Read marshalled DR entry.
      *
@@ -98,6 +102,84 @@ public class GridDrUtils {
         out.writeInt(entry.version().nodeOrder());
     }
 
+    /**
+     * Compresses DR batch data with deflate algorithm.
+     *
+     * @param data Data to compress.
+     * @param lvl Compression level from {@code 1} to {@code 9}.
+     * @return Compressed data.
+     */
+    public static byte[] compress(byte[] data, int lvl) {
+        assert lvl > 0 && lvl <= 9 : lvl;
+
+        Deflater deflater = new Deflater(lvl, true);
+
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(data.length / 2, 64));
+
+            byte[] buf = new byte[4096];
+
+            while (!deflater.finished()) {
+                int cnt = deflater.deflate(buf);
+
+                out.write(buf, 0, cnt);
+            }
+
+            return out.toByteArray();
+        }
+        finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decompresses DR batch data compressed with {@link #compress(byte[], int)}.
+     *
+     * @param data Compressed data.
+     * @param rawSize Size of data before compression.
+     * @return Decompressed data.
+     * @throws IOException If data is corrupted.
+     */
+    public static byte[] decompress(byte[] data, int rawSize) throws IOException {
+        if (rawSize <= 0 || rawSize > (long)data.length * MAX_DEFLATE_RATIO)
+            throw new IOException("Invalid size of decompressed DR batch data [size=" + rawSize +
+                ", compressedSize=" + data.length + ']');
+
+        Inflater inflater = new Inflater(true);
+
+        try {
+            inflater.setInput(data);
+
+            byte[] res = new byte[rawSize];
+
+            int off = 0;
+
+            while (off < rawSize && !inflater.finished()) {
+                int cnt = inflater.inflate(res, off, rawSize - off);
+
+                if (cnt == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    break;
+
+                off += cnt;
+            }
+
+            if (off != rawSize)
+                throw new IOException("Unexpected size of decompressed DR batch data [expected=" + rawSize +
+                    ", actual=" + off + ']');
+
+            return res;
+        }
+        catch (DataFormatException e) {
+            throw new IOException("Failed to decompress DR batch data.", e);
+        }
+        finally {
+            inflater.end();
+        }
+    }
+
     /**
      * Force singleton.
      */
@@ -53,6 +53,12 @@ public class GridDrExternalBatchRequest<K, V> implements Externalizable {
     /** Marshalled data. */
     private byte[] dataBytes;
 
+    /** Whether data bytes are compressed. */
+    private boolean compressed;
+
+    /** Size of marshalled data before compression. */
+    private int rawDataSize;
+
     /**
      * @param reqId Request ID.
      * @param cacheName Cache name
@@ -62,15 +68,45 @@ public class GridDrExternalBatchRequest<K, V> implements Externalizable {
      */
     public GridDrExternalBatchRequest(GridUuid reqId, String cacheName, byte dataCenterId, int entryCnt,
         byte[] dataBytes) {
+        this(reqId, cacheName, dataCenterId, entryCnt, dataBytes, 0);
+    }
+
+    /**
+     * Creates batch request compressing data bytes with given level. Data bytes are sent as is if
+     * compression does not reduce their size. Compression level must be {@code 0} unless receiving
+     * hub accepts compressed batches (see {@link GridDrExternalHandshakeResponse#compressionSupported()}).
+     *
+     * @param reqId Request ID.
+     * @param cacheName Cache name
+     * @param dataCenterId Data center ID.
+     * @param entryCnt Amount of entries.
+     * @param dataBytes Data bytes.
+     * @param compressionLvl Compression level from {@code 1} to {@code 9} or {@code 0} if data must not be compressed.
+     */
+    public GridDrExternalBatchRequest(GridUuid reqId, String cacheName, byte dataCenterId, int entryCnt,
+        byte[] dataBytes, int compressionLvl) {
         assert reqId != null;
         assert entryCnt > 0;
         assert dataBytes != null && dataBytes.length > 0;
+        assert compressionLvl >= 0 && compressionLvl <= 9 : compressionLvl;
 
         this.reqId = reqId;
         this.cacheName = cacheName;
         this.dataCenterId = dataCenterId;
         this.entryCnt = entryCnt;
         this.dataBytes = dataBytes;
+
+        rawDataSize = dataBytes.length;
+
+        if (compressionLvl > 0) {
+            byte[] bytes = GridDrUtils.compress(dataBytes, compressionLvl);
+
+            if (bytes.length < dataBytes.length) {
+                this.dataBytes = bytes;
+
+                compressed = true;
+            }
+        }
     }
 
     /**
@@ -114,6 +150,21 @@ public class GridDrExternalBatchRequest<K, V> implements Externalizable {
     public int dataSize() {
         return dataBytes.length;
     }
+
+    /**
+     * @return Amount of bytes before compression.
+     */
+    public int rawDataSize() {
+        return rawDataSize;
+    }
+
+    /**
+     * @return {@code True} if data bytes are compressed.
+     */
+    public boolean compressed() {
+        return compressed;
+    }
+
     /**
      * @return Data.
      */
@@ -132,7 +183,11 @@ public class GridDrExternalBatchRequest<K, V> implements Externalizable {
 
         data = new ArrayList<>(entryCnt);
 
-        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(dataBytes))) {
+        try {
+            byte[] bytes = compressed ? GridDrUtils.decompress(dataBytes, rawDataSize) : dataBytes;
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+
             for (int i = 0; i < entryCnt; i++)
                 data.add(GridDrUtils.<K, V>readDrEntry(in, dataCenterId));
         }
@@ -146,8 +201,13 @@ public class GridDrExternalBatchRequest<K, V> implements Externalizable {
         U.writeGridUuid(out, reqId);
         U.writeString(out, cacheName);
         out.writeByte(dataCenterId);
-        out.writeInt(entryCnt);
+        // Compressed batches are sent only to hubs accepting them (see handshake response),
+        // they are marked with negative entry count, so that uncompressed batch format is not changed.
+        out.writeInt(compressed ? -entryCnt : entryCnt);
         U.writeByteArray(out, dataBytes);
+
+        if (compressed)
+            out.writeInt(rawDataSize);
     }
 
     /** {@inheritDoc} */
@@ -157,11 +217,20 @@ public class GridDrExternalBatchRequest<K, V> implements Externalizable {
         dataCenterId = in.readByte();
         entryCnt = in.readInt();
         dataBytes = U.readByteArray(in);
+
+        compressed = entryCnt < 0;
+
+        if (compressed) {
+            entryCnt = -entryCnt;
+            rawDataSize = in.readInt();
+        }
+        else
+            rawDataSize = dataBytes != null ? dataBytes.length : 0;
     }
 
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(GridDrExternalBatchRequest.class, this, "size",
-            dataBytes != null ? dataBytes.length : "N/A");
+            dataBytes != null ? dataBytes.length : "N/A", "rawSize", rawDataSize);
     }
 }
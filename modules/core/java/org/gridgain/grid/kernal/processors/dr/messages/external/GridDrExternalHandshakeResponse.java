@@ -41,6 +41,9 @@ public class GridDrExternalHandshakeResponse implements GridDrExternalProtocolVe
     /** */
     private Throwable err;
 
+    /** Whether receiving hub accepts compressed batches. */
+    private boolean compression;
+
     /**
      * {@link Externalizable} support.
      */
@@ -57,6 +60,8 @@ public class GridDrExternalHandshakeResponse implements GridDrExternalProtocolVe
         this.protoVer = protoVer;
         this.marshClsName = marshClsName;
         this.err = err;
+
+        compression = true;
     }
 
     /** {@inheritDoc} */
@@ -85,11 +90,24 @@ public class GridDrExternalHandshakeResponse implements GridDrExternalProtocolVe
         return marshClsName;
     }
 
+    /**
+     * Gets flag indicating that receiving hub accepts batches compressed by sender hub. Sender hub must
+     * not compress batches if flag is not set, e.g. if response is received from hub of older version.
+     *
+     * @return {@code True} if receiving hub accepts compressed batches.
+     */
+    public boolean compressionSupported() {
+        return compression;
+    }
+
     /** {@inheritDoc} */
     @Override public void writeExternal(ObjectOutput out) throws IOException {
         U.writeString(out, protoVer);
         U.writeString(out, marshClsName);
         out.writeObject(err);
+
+        // Written last, so that hubs of older version which do not read it can still read response.
+        out.writeBoolean(compression);
     }
 
     /** {@inheritDoc} */
@@ -97,6 +115,14 @@ public class GridDrExternalHandshakeResponse implements GridDrExternalProtocolVe
         protoVer = U.readString(in);
         marshClsName = U.readString(in);
         err = (Throwable)in.readObject();
+
+        try {
+            compression = in.readBoolean();
+        }
+        catch (EOFException ignored) {
+            // Response from hub not supporting compression.
+            compression = false;
+        }
     }
 
     /** {@inheritDoc} */
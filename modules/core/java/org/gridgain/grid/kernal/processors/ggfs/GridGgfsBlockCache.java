@@ -0,0 +1,132 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.kernal.processors.ggfs;
+
+import org.gridgain.grid.*;
+import org.gridgain.grid.util.offheap.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import org.jetbrains.annotations.*;
+
+/**
+ * Node-local off-heap cache of GGFS data blocks shared by all input streams of a file system.
+ * <p>
+ * Only full blocks are cached. GGFS files are never modified in place, only appended to, and
+ * appends may change only the last (non-full) block of a file. File IDs are never reused, so
+ * cached blocks of deleted files can never be returned and are just evicted eventually.
+ * <p>
+ * Blocks are keyed by file ID and block index only. Affinity key is ignored because fragmentizer
+ * may move blocks between affinity keys without changing their content.
+ */
+class GridGgfsBlockCache {
+    /** Key size: file ID global ID (two longs), file ID local ID and block index. */
+    private static final int KEY_SIZE = 32;
+
+    /** Number of LRU stripes. */
+    private static final short LRU_STRIPES = 16;
+
+    /** Off-heap map. */
+    private final GridOffHeapMap<byte[]> map;
+
+    /** Block size. */
+    private final int blockSize;
+
+    /**
+     * @param maxSize Maximum memory size in bytes.
+     * @param blockSize File system block size.
+     */
+    GridGgfsBlockCache(long maxSize, int blockSize) {
+        assert maxSize > 0;
+        assert blockSize > 0;
+
+        this.blockSize = blockSize;
+
+        map = GridOffHeapMapFactory.unsafeMap(Math.max(16, maxSize / blockSize), maxSize, LRU_STRIPES);
+    }
+
+    /**
+     * Gets cached block.
+     *
+     * @param key Block key.
+     * @return Block data or {@code null} if block is not cached.
+     */
+    @Nullable byte[] get(GridGgfsBlockKey key) {
+        return map.get(key.hashCode(), keyBytes(key));
+    }
+
+    /**
+     * Caches block if it is full.
+     *
+     * @param key Block key.
+     * @param data Block data.
+     */
+    void put(GridGgfsBlockKey key, @Nullable byte[] data) {
+        if (data == null || data.length != blockSize)
+            return;
+
+        try {
+            map.put(key.hashCode(), keyBytes(key), data);
+        }
+        catch (GridOffHeapOutOfMemoryException ignore) {
+            // Cache is full and nothing can be evicted at the moment, just skip the block.
+        }
+    }
+
+    /**
+     * @return Memory size used by cached blocks.
+     */
+    long memorySize() {
+        return map.memorySize();
+    }
+
+    /**
+     * Releases all off-heap memory.
+     */
+    void destruct() {
+        map.destruct();
+    }
+
+    /**
+     * @param key Block key.
+     * @return Key bytes.
+     */
+    private static byte[] keyBytes(GridGgfsBlockKey key) {
+        byte[] bytes = new byte[KEY_SIZE];
+
+        GridUuid fileId = key.getFileId();
+
+        int off = U.longToBytes(fileId.globalId().getMostSignificantBits(), bytes, 0);
+
+        off = U.longToBytes(fileId.globalId().getLeastSignificantBits(), bytes, off);
+        off = U.longToBytes(fileId.localId(), bytes, off);
+
+        U.longToBytes(key.getBlockId(), bytes, off);
+
+        return bytes;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridGgfsBlockCache.class, this, "size", map.size(), "memSize", map.memorySize());
+    }
+}
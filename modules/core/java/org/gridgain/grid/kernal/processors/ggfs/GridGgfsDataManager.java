@@ -133,6 +133,9 @@ public class GridGgfsDataManager extends GridGgfsManager {
     /** Condition for pending puts. */
     private final Condition pendingPutsCond = pendingPutsLock.newCondition();
 
+    /** Node-local block cache, {@code null} if disabled. */
+    private GridGgfsBlockCache blockCache;
+
     /** {@inheritDoc} */
     @Override protected void start0() throws GridException {
         ggfs = ggfsCtx.ggfs();
@@ -205,6 +208,17 @@ public class GridGgfsDataManager extends GridGgfsManager {
 
         delWorker = new AsyncDeleteWorker(ggfsCtx.kernalContext().gridName(),
             "ggfs-" + ggfsName + "-delete-worker", log);
+
+        long blockCacheSize = ggfsCtx.configuration().getBlockCacheSize();
+
+        if (blockCacheSize > 0)
+            blockCache = new GridGgfsBlockCache(blockCacheSize, ggfsCtx.configuration().getBlockSize());
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void stop0(boolean cancel) {
+        if (blockCache != null)
+            blockCache.destruct();
     }
 
     /** {@inheritDoc} */
@@ -238,6 +252,13 @@ public class GridGgfsDataManager extends GridGgfsManager {
         return dataCachePrj.ggfsDataSpaceUsed();
     }
 
+    /**
+     * @return Number of bytes occupied by node-local block cache.
+     */
+    public long blockCacheSize() {
+        return blockCache != null ? blockCache.memorySize() : 0;
+    }
+
     /**
      * @return Maximum number of bytes for GGFS data cache.
      */
@@ -375,6 +396,19 @@ public class GridGgfsDataManager extends GridGgfsManager {
         // Schedule block request BEFORE prefetch requests.
         final GridGgfsBlockKey key = blockKey(blockIdx, fileInfo);
 
+        if (blockCache != null) {
+            byte[] cached = blockCache.get(key);
+
+            if (cached != null) {
+                metrics.addBlockCacheReads(1, 0);
+                metrics.addReadBlocks(1, 0);
+
+                return new GridFinishedFuture<>(ggfsCtx.kernalContext(), cached);
+            }
+
+            metrics.addBlockCacheReads(0, 1);
+        }
+
         if (log.isDebugEnabled()) {
             GridCacheEntry<GridGgfsBlockKey, byte[]> entry = dataCachePrj.entry(key);
 
@@ -469,6 +503,21 @@ public class GridGgfsDataManager extends GridGgfsManager {
         else
             metrics.addReadBlocks(1, 0);
 
+        if (blockCache != null) {
+            final GridGgfsBlockCache blockCache0 = blockCache;
+
+            fut.listenAsync(new CI1<GridFuture<byte[]>>() {
+                @Override public void apply(GridFuture<byte[]> f) {
+                    try {
+                        blockCache0.put(key, f.get());
+                    }
+                    catch (GridException ignore) {
+                        // Block will be requested from data cache again on next read.
+                    }
+                }
+            });
+        }
+
         return fut;
     }
 
@@ -1443,7 +1443,10 @@ public final class GridGgfsImpl implements GridGgfsEx {
             metrics.readBytes(),
             metrics.readBytesTime(),
             metrics.writeBytes(),
-            metrics.writeBytesTime());
+            metrics.writeBytesTime(),
+            metrics.blockCacheHits(),
+            metrics.blockCacheMisses(),
+            ggfsCtx.data().blockCacheSize());
     }
 
     /** {@inheritDoc} */
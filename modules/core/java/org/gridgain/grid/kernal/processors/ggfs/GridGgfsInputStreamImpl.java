@@ -65,8 +65,13 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
     /** The number of already read bytes. Important! Access to the property is guarded by this object lock. */
     private long pos;
 
-    /** Local cache. */
-    private final Map<Long, GridFuture<byte[]>> locCache;
+    /**
+     * Local cache. Updated only under this object lock, but may be read without it by positional reads.
+     */
+    private final ConcurrentMap<Long, GridFuture<byte[]>> locCache;
+
+    /** Order in which blocks were added to local cache. Guarded by this object lock. */
+    private final Deque<Long> locCacheOrder;
 
     /** Maximum local cache size. */
     private final int maxLocCacheSize;
@@ -81,7 +86,7 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
     private final Condition pendingFutsCond = pendingFutsLock.newCondition();
 
     /** Closed flag. */
-    private boolean closed;
+    private volatile boolean closed;
 
     /** Number of blocks to prefetch asynchronously. */
     private int prefetchBlocks;
@@ -90,7 +95,7 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
     private int seqReadsBeforePrefetch;
 
     /** Bytes read. */
-    private long bytes;
+    private final LongAdder bytes = new LongAdder();
 
     /** Index of the previously read block. Initially it is set to -1 indicating that no reads has been made so far. */
     private long prevBlockIdx = -1;
@@ -99,7 +104,7 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
     private int seqReads;
 
     /** Time consumed on reading. */
-    private long time;
+    private final LongAdder time = new LongAdder();
 
     /** Local GGFs metrics. */
     private final GridGgfsLocalMetrics metrics;
@@ -139,7 +144,8 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
 
         maxLocCacheSize = (prefetchBlocks > 0 ? prefetchBlocks : 1) * 3 / 2;
 
-        locCache = new LinkedHashMap<>(maxLocCacheSize, 1.0f);
+        locCache = new ConcurrentHashMap8<>(maxLocCacheSize, 1.0f);
+        locCacheOrder = new ArrayDeque<>(maxLocCacheSize);
 
         pendingFuts = new GridConcurrentHashSet<>(prefetchBlocks > 0 ? prefetchBlocks : 1);
     }
@@ -149,8 +155,8 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
      *
      * @return Bytes read.
      */
-    public synchronized long bytes() {
-        return bytes;
+    public long bytes() {
+        return bytes.sum();
     }
 
     /** {@inheritDoc} */
@@ -172,7 +178,7 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
 
     /** {@inheritDoc} */
     @Override public synchronized int read(byte[] b, int off, int len) throws IOException {
-        int read = readFromStore(pos, b, off, len);
+        int read = readFromStore(pos, b, off, len, true);
 
         if (read != -1)
             pos += read;
@@ -207,15 +213,25 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
         return (int)l;
     }
 
-    /** {@inheritDoc} */
-    @Override public synchronized void readFully(long pos, byte[] buf) throws IOException {
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Positional reads do not change stream position and do not acquire stream lock, so multiple
+     * threads can read the same stream concurrently.
+     */
+    @Override public void readFully(long pos, byte[] buf) throws IOException {
         readFully(pos, buf, 0, buf.length);
     }
 
-    /** {@inheritDoc} */
-    @Override public synchronized void readFully(long pos, byte[] buf, int off, int len) throws IOException {
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Positional reads do not change stream position and do not acquire stream lock, so multiple
+     * threads can read the same stream concurrently.
+     */
+    @Override public void readFully(long pos, byte[] buf, int off, int len) throws IOException {
         for (int readBytes = 0; readBytes < len; ) {
-            int read = readFromStore(pos + readBytes, buf, off + readBytes, len - readBytes);
+            int read = readFromStore(pos + readBytes, buf, off + readBytes, len - readBytes, false);
 
             if (read == -1)
                 throw new EOFException("Failed to read stream fully (stream ends unexpectedly)" +
@@ -225,14 +241,26 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
         }
     }
 
-    /** {@inheritDoc} */
-    @Override public synchronized int read(long pos, byte[] buf, int off, int len) throws IOException {
-        return readFromStore(pos, buf, off, len);
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Positional reads do not change stream position and do not acquire stream lock, so multiple
+     * threads can read the same stream concurrently.
+     */
+    @Override public int read(long pos, byte[] buf, int off, int len) throws IOException {
+        return readFromStore(pos, buf, off, len, false);
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Positional reads do not change stream position and do not acquire stream lock, so multiple
+     * threads can read the same stream concurrently.
+     */
     @SuppressWarnings("IfMayBeConditional")
-    @Override public synchronized byte[][] readChunks(long pos, int len) throws IOException {
+    @Override public byte[][] readChunks(long pos, int len) throws IOException {
+        GridGgfsFileInfo fileInfo = this.fileInfo;
+
         // Readable bytes in the file, starting from the specified position.
         long readable = fileInfo.length() - pos;
 
@@ -246,7 +274,7 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
 
         assert len > 0;
 
-        bytes += len;
+        bytes.add(len);
 
         int start = (int)(pos / fileInfo.blockSize());
         int end = (int)((pos + len - 1) / fileInfo.blockSize());
@@ -256,7 +284,7 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
         byte[][] chunks = new byte[chunkCnt][];
 
         for (int i = 0; i < chunkCnt; i++) {
-            byte[] block = blockFragmentizerSafe(start + i);
+            byte[] block = blockFragmentizerSafe(start + i, false);
 
             int blockOff = (int)(pos % fileInfo.blockSize());
             int blockLen = Math.min(len, block.length - blockOff);
@@ -277,7 +305,7 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
 
         assert len == 0;
 
-        time += System.nanoTime() - startTime;
+        time.add(System.nanoTime() - startTime);
 
         return chunks;
     }
@@ -325,9 +353,10 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
         finally {
             closed = true;
 
-            metrics.addReadBytesTime(bytes, time);
+            metrics.addReadBytesTime(bytes.sum(), time.sum());
 
             locCache.clear();
+            locCacheOrder.clear();
         }
     }
 
@@ -336,10 +365,12 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
      * @param buf Data buffer to save read data to.
      * @param off Offset in the buffer to write data from.
      * @param len Length of the data to read from the stream.
+     * @param seq {@code True} if this is sequential read performed under stream lock, {@code false}
+     *      for positional read performed without it.
      * @return Number of actually read bytes.
      * @throws IOException In case of any IO exception.
      */
-    private int readFromStore(long pos, byte[] buf, int off, int len) throws IOException {
+    private int readFromStore(long pos, byte[] buf, int off, int len, boolean seq) throws IOException {
         if (pos < 0)
             throw new IllegalArgumentException("Read position cannot be negative: " + pos);
 
@@ -353,6 +384,8 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
         if (len == 0)
             return 0; // Fully read done: read zero bytes correctly.
 
+        GridGgfsFileInfo fileInfo = this.fileInfo;
+
         // Readable bytes in the file, starting from the specified position.
         long readable = fileInfo.length() - pos;
 
@@ -366,7 +399,7 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
 
         assert len > 0;
 
-        byte[] block = blockFragmentizerSafe(pos / fileInfo.blockSize());
+        byte[] block = blockFragmentizerSafe(pos / fileInfo.blockSize(), seq);
 
         // Skip bytes to expected position.
         int blockOff = (int)(pos % fileInfo.blockSize());
@@ -375,8 +408,8 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
 
         U.arrayCopy(block, blockOff, buf, off, len);
 
-        bytes += len;
-        time += System.nanoTime() - startTime;
+        bytes.add(len);
+        time.add(System.nanoTime() - startTime);
 
         return len;
     }
@@ -386,13 +419,14 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
      * and update file info. This may be needed when file that we are reading is concurrently fragmented.
      *
      * @param blockIdx Block index to read.
+     * @param seq {@code True} if this is sequential read performed under stream lock.
      * @return Block data.
      * @throws IOException If read failed.
      */
-    private byte[] blockFragmentizerSafe(long blockIdx) throws IOException {
+    private byte[] blockFragmentizerSafe(long blockIdx, boolean seq) throws IOException {
         try {
             try {
-                return block(blockIdx);
+                return seq ? block(blockIdx) : positionalBlock(blockIdx);
             }
             catch (GridGgfsCorruptedFileException e) {
                 if (log.isDebugEnabled())
@@ -408,16 +442,19 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
                         throw new GridGgfsFileNotFoundException("Failed to read file block (file was concurrently " +
                                 "deleted) [path=" + path + ", blockIdx=" + blockIdx + ']');
 
-                    fileInfo = newInfo;
+                    synchronized (this) {
+                        fileInfo = newInfo;
 
-                    // Must clear cache as it may have failed futures.
-                    locCache.clear();
+                        // Must clear cache as it may have failed futures.
+                        locCache.clear();
+                        locCacheOrder.clear();
+                    }
 
                     if (log.isDebugEnabled())
                         log.debug("Updated input stream file info after block fetch failure [path=" + path
-                            + ", fileInfo=" + fileInfo + ']');
+                            + ", fileInfo=" + newInfo + ']');
 
-                    return block(blockIdx);
+                    return seq ? block(blockIdx) : positionalBlock(blockIdx);
                 }
 
                 throw new IOException(e.getMessage(), e);
@@ -465,7 +502,47 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
             }
         }
 
-        byte[] bytes = bytesFut.get();
+        return checkBlock(blockIdx, bytesFut.get());
+    }
+
+    /**
+     * Gets block for positional read. Block is taken from local cache if it was already requested
+     * by sequential reads, otherwise it is requested from data manager directly. Neither local cache
+     * nor sequential read statistics are modified, so no lock is needed.
+     *
+     * @param blockIdx Block index.
+     * @return File block data.
+     * @throws IOException If failed.
+     * @throws GridException If failed.
+     */
+    private byte[] positionalBlock(long blockIdx) throws IOException, GridException {
+        assert blockIdx >= 0;
+
+        GridFuture<byte[]> bytesFut = locCache.get(blockIdx);
+
+        if (bytesFut == null) {
+            if (closed)
+                throw new IOException("Stream is already closed: " + this);
+
+            bytesFut = dataBlock(fileInfo, blockIdx);
+
+            assert bytesFut != null;
+        }
+
+        return checkBlock(blockIdx, bytesFut.get());
+    }
+
+    /**
+     * Validates fetched block data.
+     *
+     * @param blockIdx Block index.
+     * @param bytes Block data.
+     * @return Block data.
+     * @throws IOException If block is inconsistent.
+     * @throws GridException If block is missing.
+     */
+    private byte[] checkBlock(long blockIdx, @Nullable byte[] bytes) throws IOException, GridException {
+        GridGgfsFileInfo fileInfo = this.fileInfo;
 
         if (bytes == null)
             throw new GridGgfsCorruptedFileException("Failed to retrieve file's data block (corrupted file?) " +
@@ -497,7 +574,7 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
 
         if (!locCache.containsKey(idx)) {
             if (locCache.size() == maxLocCacheSize) {
-                final GridFuture<byte[]> evictFut = locCache.remove(locCache.keySet().iterator().next());
+                final GridFuture<byte[]> evictFut = locCache.remove(locCacheOrder.poll());
 
                 if (!evictFut.isDone()) {
                     pendingFuts.add(evictFut);
@@ -520,6 +597,7 @@ public class GridGgfsInputStreamImpl extends GridGgfsInputStream {
             }
 
             locCache.put(idx, fut);
+            locCacheOrder.add(idx);
         }
     }
 
@@ -43,6 +43,9 @@ public class GridGgfsLocalMetrics {
     /** Byte writes. First value - total bytes written, second value - consumed time. */
     private volatile GridBiTuple<LongAdder, LongAdder> bytesWritten;
 
+    /** Block cache reads. First value - cache hits, second value - cache misses. */
+    private volatile GridBiTuple<LongAdder, LongAdder> blockCacheReads;
+
     /** Number of files opened for read. */
     private final LongAdder filesOpenedForRead = new LongAdder();
 
@@ -164,6 +167,33 @@ public class GridGgfsLocalMetrics {
         blocksWritten0.get2().add(secondary);
     }
 
+    /**
+     * @return Block cache hits.
+     */
+    long blockCacheHits() {
+        return blockCacheReads.get1().longValue();
+    }
+
+    /**
+     * @return Block cache misses.
+     */
+    long blockCacheMisses() {
+        return blockCacheReads.get2().longValue();
+    }
+
+    /**
+     * Adds given numbers to block cache read counters.
+     *
+     * @param hits Number of blocks found in block cache.
+     * @param misses Number of blocks not found in block cache.
+     */
+    void addBlockCacheReads(int hits, int misses) {
+        GridBiTuple<LongAdder, LongAdder> blockCacheReads0 = blockCacheReads;
+
+        blockCacheReads0.get1().add(hits);
+        blockCacheReads0.get2().add(misses);
+    }
+
     /**
      * Increment files opened for read.
      */
@@ -214,5 +244,6 @@ public class GridGgfsLocalMetrics {
         blocksWritten = F.t(new LongAdder(), new LongAdder());
         bytesRead = F.t(new LongAdder(), new LongAdder());
         bytesWritten = F.t(new LongAdder(), new LongAdder());
+        blockCacheReads = F.t(new LongAdder(), new LongAdder());
     }
 }
@@ -77,6 +77,15 @@ public class GridGgfsMetricsAdapter implements GridGgfsMetrics, Externalizable {
     /** Total bytes write time. */
     private long bytesWriteTime;
 
+    /** Block cache hits. */
+    private long blockCacheHits;
+
+    /** Block cache misses. */
+    private long blockCacheMisses;
+
+    /** Block cache memory size. */
+    private long blockCacheSize;
+
     /**
      * {@link Externalizable} support.
      */
@@ -100,11 +109,14 @@ public class GridGgfsMetricsAdapter implements GridGgfsMetrics, Externalizable {
      * @param bytesReadTime Total bytes read time.
      * @param bytesWritten Total bytes written.
      * @param bytesWriteTime Total bytes write time.
+     * @param blockCacheHits Block cache hits.
+     * @param blockCacheMisses Block cache misses.
+     * @param blockCacheSize Block cache memory size.
      */
     public GridGgfsMetricsAdapter(long locSpaceSize, long maxSpaceSize, long secondarySpaceSize, int dirsCnt,
         int filesCnt, int filesOpenedForRead, int filesOpenedForWrite, long blocksReadTotal, long blocksReadRmt,
         long blocksWrittenTotal, long blocksWrittenRmt, long bytesRead, long bytesReadTime, long bytesWritten,
-        long bytesWriteTime) {
+        long bytesWriteTime, long blockCacheHits, long blockCacheMisses, long blockCacheSize) {
         this.locSpaceSize = locSpaceSize;
         this.maxSpaceSize = maxSpaceSize;
         this.secondarySpaceSize = secondarySpaceSize;
@@ -120,6 +132,9 @@ public class GridGgfsMetricsAdapter implements GridGgfsMetrics, Externalizable {
         this.bytesReadTime = bytesReadTime;
         this.bytesWritten = bytesWritten;
         this.bytesWriteTime = bytesWriteTime;
+        this.blockCacheHits = blockCacheHits;
+        this.blockCacheMisses = blockCacheMisses;
+        this.blockCacheSize = blockCacheSize;
     }
 
     /** {@inheritDoc} */
@@ -197,6 +212,28 @@ public class GridGgfsMetricsAdapter implements GridGgfsMetrics, Externalizable {
         return bytesWriteTime;
     }
 
+    /** {@inheritDoc} */
+    @Override public long blockCacheHits() {
+        return blockCacheHits;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long blockCacheMisses() {
+        return blockCacheMisses;
+    }
+
+    /** {@inheritDoc} */
+    @Override public float blockCacheHitRate() {
+        long reads = blockCacheHits + blockCacheMisses;
+
+        return reads == 0 ? 0 : (float)blockCacheHits / reads;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long blockCacheSize() {
+        return blockCacheSize;
+    }
+
     /** {@inheritDoc} */
     @Override public void writeExternal(ObjectOutput out) throws IOException {
         out.writeLong(locSpaceSize);
@@ -214,6 +251,9 @@ public class GridGgfsMetricsAdapter implements GridGgfsMetrics, Externalizable {
         out.writeLong(bytesReadTime);
         out.writeLong(bytesWritten);
         out.writeLong(bytesWriteTime);
+        out.writeLong(blockCacheHits);
+        out.writeLong(blockCacheMisses);
+        out.writeLong(blockCacheSize);
     }
 
     /** {@inheritDoc} */
@@ -233,6 +273,9 @@ public class GridGgfsMetricsAdapter implements GridGgfsMetrics, Externalizable {
         bytesReadTime = in.readLong();
         bytesWritten = in.readLong();
         bytesWriteTime = in.readLong();
+        blockCacheHits = in.readLong();
+        blockCacheMisses = in.readLong();
+        blockCacheSize = in.readLong();
     }
 
     /** {@inheritDoc} */
@@ -28,9 +28,11 @@ import org.gridgain.grid.kernal.*;
 import org.gridgain.grid.kernal.processors.*;
 import org.gridgain.grid.lang.*;
 import org.gridgain.grid.marshaller.*;
+import org.gridgain.grid.marshaller.optimized.*;
 import org.gridgain.grid.util.*;
 import org.gridgain.grid.util.lang.*;
 import org.gridgain.grid.util.offheap.*;
+import org.gridgain.grid.util.typedef.*;
 import org.gridgain.grid.util.typedef.internal.*;
 import org.jetbrains.annotations.*;
 
@@ -45,6 +47,9 @@ public class GridOffHeapProcessor extends GridProcessorAdapter {
     /** */
     private final GridMarshaller marsh;
 
+    /** Optimized marshaller capable of reading and writing off-heap memory directly. */
+    private final GridOptimizedMarshaller optMarsh;
+
     /**
      * @param ctx Kernal context.
      */
@@ -52,6 +57,8 @@ public class GridOffHeapProcessor extends GridProcessorAdapter {
         super(ctx);
 
         marsh = ctx.config().getMarshaller();
+
+        optMarsh = marsh instanceof GridOptimizedMarshaller ? (GridOptimizedMarshaller)marsh : null;
     }
 
     /**
@@ -138,6 +145,21 @@ public class GridOffHeapProcessor extends GridProcessorAdapter {
         return m != null && m.contains(part, U.hash(key), keyBytes(key, keyBytes));
     }
 
+    /**
+     * Checks if offheap space contains value for the key given in serialized form only.
+     *
+     * @param spaceName Space name.
+     * @param part Partition.
+     * @param hash Key hash.
+     * @param keyBytes Key bytes.
+     * @return {@code true} If offheap space contains value for the given key.
+     */
+    public boolean contains(@Nullable String spaceName, int part, int hash, byte[] keyBytes) {
+        GridOffHeapPartitionedMap m = offheap(spaceName);
+
+        return m != null && m.contains(part, hash, keyBytes);
+    }
+
     /**
      * Gets value bytes from offheap space for the given key.
      *
@@ -155,7 +177,9 @@ public class GridOffHeapProcessor extends GridProcessorAdapter {
     }
 
     /**
-     * Gets value from offheap space for the given key.
+     * Gets value from offheap space for the given key. If configured marshaller is
+     * {@link GridOptimizedMarshaller}, value is unmarshalled directly from off-heap
+     * memory without copying it into intermediate byte array.
      *
      * @param spaceName Space name.
      * @param part Partition.
@@ -167,12 +191,25 @@ public class GridOffHeapProcessor extends GridProcessorAdapter {
      */
     @Nullable public <T> T getValue(@Nullable String spaceName, int part, Object key, byte[] keyBytes,
         @Nullable ClassLoader ldr) throws GridException {
+        final ClassLoader ldr0 = ldr == null ? U.gridClassLoader() : ldr;
+
+        if (optMarsh != null) {
+            GridOffHeapPartitionedMap m = offheap(spaceName);
+
+            return m == null ? null : m.get(part, U.hash(key), keyBytes(key, keyBytes),
+                new GridOffHeapValueReader<T>() {
+                    @Override public T read(long ptr, int len) throws GridException {
+                        return optMarsh.unmarshal(ptr, len, ldr0);
+                    }
+                });
+        }
+
         byte[] valBytes = get(spaceName, part, key, keyBytes);
 
         if (valBytes == null)
             return null;
 
-        return marsh.unmarshal(valBytes, ldr == null ? U.gridClassLoader() : ldr);
+        return marsh.unmarshal(valBytes, ldr0);
     }
 
     /**
@@ -212,6 +249,64 @@ public class GridOffHeapProcessor extends GridProcessorAdapter {
         m.put(part, U.hash(key), keyBytes(key, keyBytes), valBytes);
     }
 
+    /**
+     * Puts {@code valLen} bytes of given array starting from {@code valOff} to offheap space
+     * for the key given in serialized form only.
+     *
+     * @param spaceName Space name.
+     * @param part Partition.
+     * @param hash Key hash.
+     * @param keyBytes Key bytes.
+     * @param valBytes Value bytes.
+     * @param valOff Value offset.
+     * @param valLen Value length.
+     * @throws GridException If failed.
+     */
+    public void put(@Nullable String spaceName, int part, int hash, byte[] keyBytes, byte[] valBytes, int valOff,
+        int valLen) throws GridException {
+        GridOffHeapPartitionedMap m = offheap(spaceName);
+
+        if (m == null)
+            throw new GridException("Failed to write data to off-heap space, no space registered for name: " +
+                spaceName);
+
+        m.put(part, hash, keyBytes, valBytes, valOff, valLen);
+    }
+
+    /**
+     * Marshals and puts the given value to offheap space for the given key. If configured
+     * marshaller is {@link GridOptimizedMarshaller}, value is copied to off-heap memory
+     * directly from marshaller buffer without creating intermediate byte array.
+     *
+     * @param spaceName Space name.
+     * @param part Partition.
+     * @param key Key.
+     * @param keyBytes Key bytes.
+     * @param val Value.
+     * @throws GridException If failed.
+     */
+    public void putValue(@Nullable String spaceName, final int part, Object key, byte[] keyBytes, Object val)
+        throws GridException {
+        final GridOffHeapPartitionedMap m = offheap(spaceName);
+
+        if (m == null)
+            throw new GridException("Failed to write data to off-heap space, no space registered for name: " +
+                spaceName);
+
+        final int hash = U.hash(key);
+        final byte[] keyBytes0 = keyBytes(key, keyBytes);
+
+        if (optMarsh != null) {
+            optMarsh.marshal(val, new CI2<byte[], Integer>() {
+                @Override public void apply(byte[] valBytes, Integer valLen) {
+                    m.put(part, hash, keyBytes0, valBytes, 0, valLen);
+                }
+            });
+        }
+        else
+            m.put(part, hash, keyBytes0, marsh.marshal(val));
+    }
+
     /**
      * Removes value from offheap space for the given key.
      *
@@ -276,4 +371,20 @@ public class GridOffHeapProcessor extends GridProcessorAdapter {
 
         return m == null ? new GridEmptyCloseableIterator<GridBiTuple<byte[], byte[]>>() : m.iterator(part);
     }
+
+    /**
+     * Gets iterator over contents of partition which returns results of given closure
+     * applied to hash, key bytes and value bytes of every entry.
+     *
+     * @param spaceName Space name.
+     * @param part Partition.
+     * @param c Closure.
+     * @return Iterator.
+     */
+    public <T> GridCloseableIterator<T> iterator(@Nullable String spaceName, int part,
+        GridClosure3<Integer, byte[], byte[], T> c) {
+        GridOffHeapPartitionedMap m = offheap(spaceName);
+
+        return m == null ? new GridEmptyCloseableIterator<T>() : m.iterator(part, c);
+    }
 }
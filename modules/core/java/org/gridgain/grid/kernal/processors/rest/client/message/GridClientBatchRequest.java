@@ -0,0 +1,104 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+package org.gridgain.grid.kernal.processors.rest.client.message;
+
+import org.gridgain.grid.util.typedef.internal.*;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Batch of cache requests sent by client in a single frame. Server dispatches all requests
+ * of the batch at once and replies to each of them with separate {@link GridClientResponse}
+ * as soon as it completes, so batch message itself gets no response. Batches are not sent
+ * through router, since router expects exactly one response for each forwarded message.
+ */
+public class GridClientBatchRequest extends GridClientAbstractMessage {
+    /** Batched requests. */
+    private List<GridClientCacheRequest> reqs;
+
+    /**
+     * Constructor for {@link Externalizable}.
+     */
+    public GridClientBatchRequest() {
+        // No-op.
+    }
+
+    /**
+     * @param reqs Batched requests.
+     */
+    public GridClientBatchRequest(List<GridClientCacheRequest> reqs) {
+        this.reqs = reqs;
+    }
+
+    /**
+     * @return Batched requests.
+     */
+    public List<GridClientCacheRequest> requests() {
+        return reqs;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeExternal(ObjectOutput out) throws IOException {
+        super.writeExternal(out);
+
+        out.writeInt(reqs.size());
+
+        for (GridClientCacheRequest req : reqs) {
+            // Request ID and destination are transient in request itself, since they are normally
+            // passed in frame header.
+            out.writeLong(req.requestId());
+            U.writeUuid(out, req.destinationId());
+
+            req.writeExternal(out);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        super.readExternal(in);
+
+        int size = in.readInt();
+
+        reqs = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            long reqId = in.readLong();
+            UUID destId = U.readUuid(in);
+
+            GridClientCacheRequest req = new GridClientCacheRequest();
+
+            req.readExternal(in);
+
+            req.requestId(reqId);
+            req.destinationId(destId);
+
+            reqs.add(req);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return getClass().getSimpleName() + " [reqs=" + reqs + "]";
+    }
+}
@@ -0,0 +1,97 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+package org.gridgain.grid.kernal.processors.rest.client.message;
+
+import org.gridgain.grid.util.typedef.internal.*;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Message pushed by server to clients subscribed with {@link GridClientCacheSubscribeRequest}
+ * when cache entries are updated or removed on the node. Message is not a response to any
+ * request, so its request ID is always {@link #PUSH_REQ_ID}.
+ */
+public class GridClientCacheInvalidationMessage extends GridClientAbstractMessage {
+    /** Request ID of pushed messages, client request IDs start from {@code 1}. */
+    public static final long PUSH_REQ_ID = 0;
+
+    /** Cache name. */
+    private String cacheName;
+
+    /** Invalidated keys. */
+    private Collection<Object> keys;
+
+    /**
+     * Constructor for {@link Externalizable}.
+     */
+    public GridClientCacheInvalidationMessage() {
+        // No-op.
+    }
+
+    /**
+     * @param cacheName Cache name, {@code null} for default cache.
+     * @param keys Invalidated keys.
+     */
+    public GridClientCacheInvalidationMessage(String cacheName, Collection<Object> keys) {
+        this.cacheName = cacheName;
+        this.keys = keys;
+
+        requestId(PUSH_REQ_ID);
+    }
+
+    /**
+     * @return Cache name, {@code null} for default cache.
+     */
+    public String cacheName() {
+        return cacheName;
+    }
+
+    /**
+     * @return Invalidated keys.
+     */
+    public Collection<Object> keys() {
+        return keys;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeExternal(ObjectOutput out) throws IOException {
+        super.writeExternal(out);
+
+        U.writeString(out, cacheName);
+        U.writeCollection(out, keys);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        super.readExternal(in);
+
+        cacheName = U.readString(in);
+        keys = U.readCollection(in);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return getClass().getSimpleName() + " [cacheName=" + cacheName + ", keys=" + keys + "]";
+    }
+}
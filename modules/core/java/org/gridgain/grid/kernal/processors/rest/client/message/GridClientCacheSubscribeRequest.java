@@ -0,0 +1,78 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+package org.gridgain.grid.kernal.processors.rest.client.message;
+
+import org.gridgain.grid.util.typedef.internal.*;
+
+import java.io.*;
+
+/**
+ * Request to push invalidations of cache entries updated on the node to this client connection,
+ * so that client near cache drops stale values. Server replies with {@link GridClientResponse}
+ * once subscription is active and then sends {@link GridClientCacheInvalidationMessage}s with
+ * request ID {@code 0} until connection is closed.
+ */
+public class GridClientCacheSubscribeRequest extends GridClientAbstractMessage {
+    /** Cache name. */
+    private String cacheName;
+
+    /**
+     * Constructor for {@link Externalizable}.
+     */
+    public GridClientCacheSubscribeRequest() {
+        // No-op.
+    }
+
+    /**
+     * @param cacheName Cache name, {@code null} for default cache.
+     */
+    public GridClientCacheSubscribeRequest(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    /**
+     * @return Cache name, {@code null} for default cache.
+     */
+    public String cacheName() {
+        return cacheName;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeExternal(ObjectOutput out) throws IOException {
+        super.writeExternal(out);
+
+        U.writeString(out, cacheName);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        super.readExternal(in);
+
+        cacheName = U.readString(in);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return getClass().getSimpleName() + " [cacheName=" + cacheName + "]";
+    }
+}
@@ -0,0 +1,158 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.kernal.processors.rest.protocols.tcp;
+
+import org.gridgain.grid.*;
+import org.gridgain.grid.kernal.*;
+import org.gridgain.grid.kernal.processors.cache.*;
+import org.gridgain.grid.kernal.processors.cache.query.continuous.*;
+import org.gridgain.grid.kernal.processors.rest.client.message.*;
+import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.nio.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import org.jetbrains.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Pushes invalidations of cache entries updated on local node to client connections subscribed
+ * with {@link GridClientCacheSubscribeRequest}. Only entries stored on local node are tracked,
+ * so client is notified about every update of the keys it reads from this node as long as
+ * its requests are routed to affinity nodes.
+ */
+class GridTcpRestCacheInvalidator {
+    /** Kernal context. */
+    private final GridKernalContext ctx;
+
+    /** Subscriptions by masked cache name. */
+    private final ConcurrentMap<String, Subscription> subs = new ConcurrentHashMap8<>();
+
+    /** Stopped flag, guarded by {@code this}. */
+    private boolean stopped;
+
+    /**
+     * @param ctx Kernal context.
+     */
+    GridTcpRestCacheInvalidator(GridKernalContext ctx) {
+        this.ctx = ctx;
+    }
+
+    /**
+     * Subscribes session to invalidations of given cache.
+     *
+     * @param ses Session.
+     * @param cacheName Cache name, {@code null} for default cache.
+     * @throws GridException If cache is not started on local node.
+     */
+    void subscribe(GridNioSession ses, @Nullable String cacheName) throws GridException {
+        String name = CU.mask(cacheName);
+
+        Subscription sub = subs.get(name);
+
+        if (sub == null) {
+            synchronized (this) {
+                if (stopped)
+                    throw new GridException("Node is stopping.");
+
+                sub = subs.get(name);
+
+                if (sub == null) {
+                    GridCacheAdapter<Object, Object> cache = ctx.cache().internalCache(cacheName);
+
+                    if (cache == null)
+                        throw new GridException("Cache is not started on node: " + cacheName);
+
+                    sub = new Subscription(cache.context(), cacheName);
+
+                    cache.context().continuousQueries().registerLocalListener(sub.id, sub);
+
+                    subs.put(name, sub);
+                }
+            }
+        }
+
+        sub.sessions.add(ses);
+    }
+
+    /**
+     * Removes closed session from all subscriptions.
+     *
+     * @param ses Session.
+     */
+    void onDisconnected(GridNioSession ses) {
+        for (Subscription sub : subs.values())
+            sub.sessions.remove(ses);
+    }
+
+    /**
+     * Unregisters cache listeners.
+     */
+    synchronized void stop() {
+        stopped = true;
+
+        for (Subscription sub : subs.values())
+            sub.cctx.continuousQueries().unregisterListener(sub.id);
+
+        subs.clear();
+    }
+
+    /**
+     * Subscription to updates of single cache.
+     */
+    private static class Subscription implements GridCacheContinuousQueryListener<Object, Object> {
+        /** Listener ID. */
+        private final UUID id = UUID.randomUUID();
+
+        /** Cache context. */
+        private final GridCacheContext<Object, Object> cctx;
+
+        /** Cache name. */
+        private final String cacheName;
+
+        /** Subscribed sessions. */
+        private final Collection<GridNioSession> sessions = new GridConcurrentHashSet<>();
+
+        /**
+         * @param cctx Cache context.
+         * @param cacheName Cache name.
+         */
+        private Subscription(GridCacheContext<Object, Object> cctx, String cacheName) {
+            this.cctx = cctx;
+            this.cacheName = cacheName;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void onEntryUpdate(GridCacheContinuousQueryEntry<Object, Object> e) {
+            if (sessions.isEmpty())
+                return;
+
+            GridClientCacheInvalidationMessage msg =
+                new GridClientCacheInvalidationMessage(cacheName, Collections.singleton(e.getKey()));
+
+            for (GridNioSession ses : sessions)
+                ses.send(msg);
+        }
+    }
+}
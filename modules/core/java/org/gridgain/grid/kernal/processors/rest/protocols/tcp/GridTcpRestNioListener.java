@@ -28,6 +28,7 @@ import org.gridgain.client.marshaller.jdk.*;
 import org.gridgain.client.marshaller.optimized.*;
 import org.gridgain.client.marshaller.protobuf.*;
 import org.gridgain.grid.*;
+import org.gridgain.grid.kernal.*;
 import org.gridgain.grid.kernal.processors.rest.*;
 import org.gridgain.grid.kernal.processors.rest.client.message.*;
 import org.gridgain.grid.kernal.processors.rest.handlers.cache.*;
@@ -56,6 +57,9 @@ public class GridTcpRestNioListener extends GridNioServerListenerAdapter<GridCli
     /** Handler for all memcache requests */
     private GridTcpMemcachedNioListener memcachedLsnr;
 
+    /** Near cache invalidations publisher. */
+    private final GridTcpRestCacheInvalidator invalidator;
+
     /** Supported marshallers. */
     @GridToStringExclude
     private final Map<Byte, GridClientMarshaller> suppMarshMap;
@@ -66,13 +70,16 @@ public class GridTcpRestNioListener extends GridNioServerListenerAdapter<GridCli
      *
      * @param log Logger to use.
      * @param hnd Rest handler.
+     * @param ctx Kernal context.
      */
-    public GridTcpRestNioListener(GridLogger log, GridRestProtocolHandler hnd) {
+    public GridTcpRestNioListener(GridLogger log, GridRestProtocolHandler hnd, GridKernalContext ctx) {
         memcachedLsnr = new GridTcpMemcachedNioListener(log, hnd);
 
         this.log = log;
         this.hnd = hnd;
 
+        invalidator = new GridTcpRestCacheInvalidator(ctx);
+
         Map<Byte, GridClientMarshaller> tmpMap = new GridLeanMap<>(3);
 
         tmpMap.put(GridClientProtobufMarshaller.PROTOCOL_ID, new GridClientProtobufMarshaller());
@@ -102,6 +109,8 @@ public class GridTcpRestNioListener extends GridNioServerListenerAdapter<GridCli
 
     /** {@inheritDoc} */
     @Override public void onDisconnected(GridNioSession ses, @Nullable Exception e) {
+        invalidator.onDisconnected(ses);
+
         if (e != null) {
             if (e instanceof RuntimeException)
                 U.error(log, "Failed to process request from remote client: " + ses, e);
@@ -158,39 +167,21 @@ public class GridTcpRestNioListener extends GridNioServerListenerAdapter<GridCli
 
                 ses.send(GridClientHandshakeResponse.OK);
             }
+            else if (msg instanceof GridClientBatchRequest)
+                onBatch(ses, (GridClientBatchRequest)msg);
+            else if (msg instanceof GridClientCacheSubscribeRequest)
+                onSubscribe(ses, (GridClientCacheSubscribeRequest)msg);
             else {
                 final GridRestRequest req = createRestRequest(msg);
 
                 if (req != null)
                     hnd.handleAsync(req).listenAsync(new CI1<GridFuture<GridRestResponse>>() {
                         @Override public void apply(GridFuture<GridRestResponse> fut) {
-                            GridClientResponse res = new GridClientResponse();
+                            GridClientResponse res = createResponse(req, fut);
 
                             res.requestId(msg.requestId());
                             res.clientId(msg.clientId());
 
-                            try {
-                                GridRestResponse restRes = fut.get();
-
-                                res.sessionToken(restRes.sessionTokenBytes());
-                                res.successStatus(restRes.getSuccessStatus());
-                                res.errorMessage(restRes.getError());
-
-                                Object o = restRes.getResponse();
-
-                                // In case of metrics a little adjustment is needed.
-                                if (o instanceof GridCacheRestMetrics)
-                                    o = ((GridCacheRestMetrics)o).map();
-
-                                res.result(o);
-                            }
-                            catch (GridException e) {
-                                U.error(log, "Failed to process client request: " + req, e);
-
-                                res.successStatus(GridClientResponse.STATUS_FAILED);
-                                res.errorMessage("Failed to process client request: " + e.getMessage());
-                            }
-
                             ses.send(res);
                         }
                     });
@@ -201,6 +192,114 @@ public class GridTcpRestNioListener extends GridNioServerListenerAdapter<GridCli
         }
     }
 
+    /**
+     * Dispatches all requests of the batch at once and replies to each of them separately, so that
+     * slow request does not delay responses to other ones, and requests rejected by authentication
+     * can be retried by client one by one without executing other requests twice.
+     *
+     * @param ses Session.
+     * @param batch Batch request.
+     */
+    private void onBatch(final GridNioSession ses, GridClientBatchRequest batch) {
+        for (final GridClientCacheRequest msg : batch.requests()) {
+            // Batched requests share credentials of enclosing message.
+            msg.clientId(batch.clientId());
+            msg.sessionToken(batch.sessionToken());
+
+            final GridRestRequest req = createRestRequest(msg);
+
+            assert req != null;
+
+            hnd.handleAsync(req).listenAsync(new CI1<GridFuture<GridRestResponse>>() {
+                @Override public void apply(GridFuture<GridRestResponse> fut) {
+                    GridClientResponse res = createResponse(req, fut);
+
+                    res.requestId(msg.requestId());
+                    res.clientId(msg.clientId());
+
+                    ses.send(res);
+                }
+            });
+        }
+    }
+
+    /**
+     * Authenticates subscription request and subscribes session to near cache invalidations.
+     * Response is sent after subscription is active, so that values client reads afterwards
+     * are invalidated if updated.
+     *
+     * @param ses Session.
+     * @param msg Subscription request.
+     */
+    private void onSubscribe(final GridNioSession ses, final GridClientCacheSubscribeRequest msg) {
+        final GridRestRequest req = createRestRequest(msg);
+
+        assert req != null;
+
+        hnd.handleAsync(req).listenAsync(new CI1<GridFuture<GridRestResponse>>() {
+            @Override public void apply(GridFuture<GridRestResponse> fut) {
+                GridClientResponse res = createResponse(req, fut);
+
+                if (res.successStatus() == GridClientResponse.STATUS_SUCCESS) {
+                    try {
+                        invalidator.subscribe(ses, msg.cacheName());
+                    }
+                    catch (GridException e) {
+                        res.successStatus(GridClientResponse.STATUS_FAILED);
+                        res.errorMessage("Failed to subscribe to cache invalidations: " + e.getMessage());
+                    }
+                }
+
+                res.requestId(msg.requestId());
+                res.clientId(msg.clientId());
+
+                ses.send(res);
+            }
+        });
+    }
+
+    /**
+     * Unsubscribes all sessions from near cache invalidations.
+     */
+    public void stop() {
+        invalidator.stop();
+    }
+
+    /**
+     * Creates client response from completed REST request future.
+     *
+     * @param req REST request.
+     * @param fut Completed future.
+     * @return Client response.
+     */
+    private GridClientResponse createResponse(GridRestRequest req, GridFuture<GridRestResponse> fut) {
+        GridClientResponse res = new GridClientResponse();
+
+        try {
+            GridRestResponse restRes = fut.get();
+
+            res.sessionToken(restRes.sessionTokenBytes());
+            res.successStatus(restRes.getSuccessStatus());
+            res.errorMessage(restRes.getError());
+
+            Object o = restRes.getResponse();
+
+            // In case of metrics a little adjustment is needed.
+            if (o instanceof GridCacheRestMetrics)
+                o = ((GridCacheRestMetrics)o).map();
+
+            res.result(o);
+        }
+        catch (GridException e) {
+            U.error(log, "Failed to process client request: " + req, e);
+
+            res.successStatus(GridClientResponse.STATUS_FAILED);
+            res.errorMessage("Failed to process client request: " + e.getMessage());
+        }
+
+        return res;
+    }
+
     /**
      * Creates a REST request object from client TCP binary packet.
      *
@@ -219,6 +318,12 @@ public class GridTcpRestNioListener extends GridNioServerListenerAdapter<GridCli
 
             restReq.setCredentials(req.credentials());
         }
+        else if (msg instanceof GridClientCacheSubscribeRequest) {
+            // Only session token is checked, subscription itself is not a REST command.
+            restReq = new GridRestRequest();
+
+            restReq.setCommand(NOOP);
+        }
         else if (msg instanceof GridClientCacheRequest) {
             GridClientCacheRequest req = (GridClientCacheRequest)msg;
 
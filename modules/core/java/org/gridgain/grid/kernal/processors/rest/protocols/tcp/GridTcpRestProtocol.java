@@ -47,6 +47,9 @@ public class GridTcpRestProtocol extends GridRestProtocolAdapter {
     /** Server. */
     private GridNioServer<GridClientMessage> srv;
 
+    /** Server listener. */
+    private GridTcpRestNioListener lsnr;
+
     /** @param ctx Context. */
     public GridTcpRestProtocol(GridKernalContext ctx) {
         super(ctx);
@@ -64,7 +67,7 @@ public class GridTcpRestProtocol extends GridRestProtocolAdapter {
 
         GridConfiguration cfg = ctx.config();
 
-        GridNioServerListener<GridClientMessage> lsnr = new GridTcpRestNioListener(log, hnd);
+        lsnr = new GridTcpRestNioListener(log, hnd, ctx);
 
         GridNioParser parser = new GridTcpRestParser(log);
 
@@ -117,6 +120,9 @@ public class GridTcpRestProtocol extends GridRestProtocolAdapter {
             srv.stop();
         }
 
+        if (lsnr != null)
+            lsnr.stop();
+
         if (log.isInfoEnabled())
             log.info(stopInfo());
     }
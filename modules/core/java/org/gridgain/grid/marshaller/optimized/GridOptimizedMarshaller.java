@@ -24,6 +24,7 @@
 package org.gridgain.grid.marshaller.optimized;
 
 import org.gridgain.grid.*;
+import org.gridgain.grid.lang.*;
 import org.gridgain.grid.marshaller.*;
 import org.gridgain.grid.marshaller.jdk.*;
 import org.gridgain.grid.util.typedef.*;
@@ -375,6 +376,75 @@ public class GridOptimizedMarshaller extends GridAbstractMarshaller {
         }
     }
 
+    /**
+     * Marshals object into internal thread-local buffer and passes the buffer to the given closure
+     * instead of copying it into a new array. Buffer content is valid only until the closure returns,
+     * so the closure should copy the data to its destination (e.g. off-heap memory) right away.
+     *
+     * @param obj Object to marshal.
+     * @param c Closure receiving the buffer and the length of marshalled data.
+     * @throws GridException If marshalling failed.
+     */
+    public void marshal(@Nullable Object obj, GridBiInClosure<byte[], Integer> c) throws GridException {
+        assert c != null;
+
+        GridOptimizedObjectOutputStream objOut = null;
+
+        try {
+            objOut = GridOptimizedObjectStreamRegistry.out();
+
+            objOut.requireSerializable(requireSer);
+
+            objOut.writeObject(obj);
+
+            c.apply(objOut.out().internalArray(), objOut.out().offset());
+        }
+        catch (IOException e) {
+            throw new GridException("Failed to serialize object: " + obj, e);
+        }
+        finally {
+            GridOptimizedObjectStreamRegistry.closeOut(objOut);
+        }
+    }
+
+    /**
+     * Unmarshals object directly from off-heap memory without copying it to heap first.
+     * Memory region must not be released or modified until this method returns.
+     *
+     * @param ptr Memory pointer.
+     * @param len Length of marshalled data.
+     * @param clsLdr Class loader to use.
+     * @return Unmarshalled object.
+     * @throws GridException If unmarshalling failed.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T unmarshal(long ptr, int len, @Nullable ClassLoader clsLdr) throws GridException {
+        assert ptr != 0;
+
+        GridOptimizedObjectInputStream objIn = null;
+
+        try {
+            objIn = GridOptimizedObjectStreamRegistry.in();
+
+            objIn.classLoader(clsLdr != null ? clsLdr : dfltClsLdr);
+
+            objIn.in().memory(ptr, len);
+
+            return (T)objIn.readObject();
+        }
+        catch (IOException e) {
+            throw new GridException("Failed to deserialize object with given class loader: " + clsLdr, e);
+        }
+        catch (ClassNotFoundException e) {
+            throw new GridException("Failed to find class with given class loader for unmarshalling " +
+                "(make sure same version of all classes are available on all nodes or enable peer-class-loading): " +
+                clsLdr, e);
+        }
+        finally {
+            GridOptimizedObjectStreamRegistry.closeIn(objIn);
+        }
+    }
+
     /**
      * Checks whether {@code GridOptimizedMarshaller} is able to work on the current JVM.
      * <p>
@@ -25,7 +25,10 @@ package org.gridgain.grid.spi.communication.tcp;
 
 import org.gridgain.grid.*;
 import org.gridgain.grid.events.*;
+import org.gridgain.grid.kernal.managers.communication.*;
 import org.gridgain.grid.kernal.managers.eventstorage.*;
+import org.gridgain.grid.kernal.processors.cache.distributed.dht.preloader.*;
+import org.gridgain.grid.kernal.processors.cache.query.*;
 import org.gridgain.grid.lang.*;
 import org.gridgain.grid.logger.*;
 import org.gridgain.grid.marshaller.*;
@@ -107,6 +110,10 @@ import static org.gridgain.grid.events.GridEventType.*;
  * <li>Local port to accept shared memory connections (see {@link #setSharedMemoryPort(int)})</li>
  * <li>Socket receive buffer size (see {@link #setSocketReceiveBuffer(int)})</li>
  * <li>Socket send buffer size (see {@link #setSocketSendBuffer(int)})</li>
+ * <li>Compression level (see {@link #setCompressionLevel(int)})</li>
+ * <li>Compression threshold (see {@link #setCompressionThreshold(int)})</li>
+ * <li>Maximum decompressed message size (see {@link #setMaxDecompressedMessageSize(int)})</li>
+ * <li>Compressed message classes (see {@link #setCompressedMessageClasses(Collection)})</li>
  * </ul>
  * <h2 class="header">Java Example</h2>
  * GridTcpCommunicationSpi is used by default and should be explicitly configured
@@ -174,6 +181,9 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
     /** Node attribute that is mapped to node's external ports numbers (value is <tt>comm.tcp.ext-ports</tt>). */
     public static final String ATTR_EXT_PORTS = "comm.tcp.ext-ports";
 
+    /** Node attribute that is mapped to flag indicating whether node is able to decompress messages. */
+    public static final String ATTR_COMPRESSION = "comm.tcp.compression";
+
     /** Default port which node sets listener to (value is <tt>47100</tt>). */
     public static final int DFLT_PORT = 47100;
 
@@ -225,6 +235,19 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
     /** Default value for {@code TCP_NODELAY} socket option (value is <tt>true</tt>). */
     public static final boolean DFLT_TCP_NODELAY = true;
 
+    /** Default compression level (value is <tt>0</tt>, which means compression is disabled). */
+    public static final int DFLT_COMPRESSION_LVL = 0;
+
+    /** Default minimum size of serialized message to compress (value is <tt>32K</tt>). */
+    public static final int DFLT_COMPRESSION_THRESHOLD = 32 * 1024;
+
+    /** Default maximum size of decompressed incoming message (value is <tt>512M</tt>). */
+    public static final int DFLT_MAX_DECOMPRESSED_MSG_SIZE = 512 * 1024 * 1024;
+
+    /** Default message classes to compress (preload supply messages and cache query responses). */
+    public static final Collection<String> DFLT_COMPRESSED_MSG_CLASSES = Collections.unmodifiableList(Arrays.asList(
+        GridDhtPartitionSupplyMessage.class.getName(), GridCacheQueryResponse.class.getName()));
+
     /** No-op runnable. */
     private static final GridRunnable NOOP = new GridRunnable() {
         @Override public void run() {
@@ -294,6 +317,10 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
                 if (!locVer.equals(rmtVer))
                     ses.addMeta(GridNioServer.DIFF_VER_NODE_ID_META_KEY, sndId);
 
+                // Session may be reused for sending, so negotiate compression for it.
+                if (compressionSupported(rmtNode))
+                    ses.addMeta(GridNioCompressionFilter.COMPRESSION_META_KEY, true);
+
                 if (asyncSnd && ses.remoteAddress() != null && !dualSockConn) {
                     Object sync = locks.tryLock(sndId);
 
@@ -459,6 +486,28 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
     /** Port resolver. */
     private GridSpiPortResolver portRsvr;
 
+    /** Compression level. */
+    private int compressionLvl = DFLT_COMPRESSION_LVL;
+
+    /** Minimum size of serialized message to compress. */
+    private int compressionThreshold = DFLT_COMPRESSION_THRESHOLD;
+
+    /** Maximum size of decompressed incoming message. */
+    private int maxDecompressedMsgSize = DFLT_MAX_DECOMPRESSED_MSG_SIZE;
+
+    /** Class names of messages to compress. */
+    private Collection<String> compressedMsgClsNames = DFLT_COMPRESSED_MSG_CLASSES;
+
+    /** Predicate accepting messages to compress. */
+    private final GridPredicate<GridTcpCommunicationMessageAdapter> compressP =
+        new P1<GridTcpCommunicationMessageAdapter>() {
+            @Override public boolean apply(GridTcpCommunicationMessageAdapter msg) {
+                Object msg0 = msg instanceof GridIoMessage ? ((GridIoMessage)msg).message() : msg;
+
+                return msg0 != null && compressedMsgClsNames.contains(msg0.getClass().getName());
+            }
+        };
+
     /** Local node ID message. */
     private NodeIdMessage nodeIdMsg;
 
@@ -991,6 +1040,86 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
         return bufSizeRatio;
     }
 
+    /**
+     * Sets compression level for messages sent by this SPI. Valid values are from
+     * {@code 0} to {@code 9}, where {@code 0} disables compression, {@code 1} gives
+     * best speed and {@code 9} gives best compression.
+     * <p>
+     * Compression is applied only to messages which classes are listed in
+     * {@link #setCompressedMessageClasses(Collection)} and which serialized size
+     * is not less than {@link #setCompressionThreshold(int)}. Compression is used for
+     * a connection only if remote node supports it and only when {@link #isAsyncSend()}
+     * set to {@code true}.
+     * <p>
+     * If not provided, default is {@link #DFLT_COMPRESSION_LVL}.
+     *
+     * @param compressionLvl Compression level.
+     */
+    @GridSpiConfiguration(optional = true)
+    public void setCompressionLevel(int compressionLvl) {
+        this.compressionLvl = compressionLvl;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getCompressionLevel() {
+        return compressionLvl;
+    }
+
+    /**
+     * Sets minimum size of serialized message to compress. Smaller messages
+     * are always sent uncompressed.
+     * <p>
+     * If not provided, default is {@link #DFLT_COMPRESSION_THRESHOLD}.
+     *
+     * @param compressionThreshold Compression threshold in bytes.
+     */
+    @GridSpiConfiguration(optional = true)
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    /**
+     * Sets maximum size of incoming message after decompression. Compressed message
+     * declaring larger size is considered corrupted and connection it was received
+     * from is closed.
+     * <p>
+     * If not provided, default is {@link #DFLT_MAX_DECOMPRESSED_MSG_SIZE}.
+     *
+     * @param maxDecompressedMsgSize Maximum decompressed message size in bytes.
+     */
+    @GridSpiConfiguration(optional = true)
+    public void setMaxDecompressedMessageSize(int maxDecompressedMsgSize) {
+        this.maxDecompressedMsgSize = maxDecompressedMsgSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getMaxDecompressedMessageSize() {
+        return maxDecompressedMsgSize;
+    }
+
+    /**
+     * Sets class names of messages to compress. Messages of other classes
+     * are always sent uncompressed.
+     * <p>
+     * If not provided, default is {@link #DFLT_COMPRESSED_MSG_CLASSES}.
+     *
+     * @param compressedMsgClsNames Class names of messages to compress.
+     */
+    @GridSpiConfiguration(optional = true)
+    public void setCompressedMessageClasses(Collection<String> compressedMsgClsNames) {
+        this.compressedMsgClsNames = new HashSet<>(compressedMsgClsNames);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Collection<String> getCompressedMessageClasses() {
+        return compressedMsgClsNames;
+    }
+
     /** {@inheritDoc} */
     @Override public void setListener(GridCommunicationListener<GridTcpCommunicationMessageAdapter> lsnr) {
         this.lsnr = lsnr;
@@ -1053,6 +1182,10 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
         assertParameter(bufSizeRatio > 0 && bufSizeRatio < 1, "bufSizeRatio > 0 && bufSizeRatio < 1");
         assertParameter(connTimeout >= 0, "connTimeout >= 0");
         assertParameter(maxConnTimeout >= connTimeout, "maxConnTimeout >= connTimeout");
+        assertParameter(compressionLvl >= 0 && compressionLvl <= 9, "compressionLvl >= 0 && compressionLvl <= 9");
+        assertParameter(compressionThreshold >= 0, "compressionThreshold >= 0");
+        assertParameter(maxDecompressedMsgSize > 0, "maxDecompressedMsgSize > 0");
+        assertParameter(compressedMsgClsNames != null, "compressedMsgClsNames != null");
 
         try {
             locHost = U.resolveLocalHost(locAddr);
@@ -1093,12 +1226,17 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
         try {
             GridBiTuple<Collection<String>, Collection<String>> addrs = U.resolveLocalAddresses(locHost);
 
-            return F.asMap(
+            Map<String, Object> res = F.asMap(
                 createSpiAttributeName(ATTR_ADDRS), addrs.get1(),
                 createSpiAttributeName(ATTR_HOST_NAMES), addrs.get2(),
                 createSpiAttributeName(ATTR_PORT), boundTcpPort,
                 createSpiAttributeName(ATTR_SHMEM_PORT), boundTcpShmemPort >= 0 ? boundTcpShmemPort : null,
                 createSpiAttributeName(ATTR_EXT_PORTS), extPorts);
+
+            // Compressed messages are always accepted by NIO server.
+            res.put(createSpiAttributeName(ATTR_COMPRESSION), true);
+
+            return res;
         }
         catch (IOException | GridException e) {
             throw new GridSpiException("Failed to resolve local host to addresses: " + locHost, e);
@@ -1135,6 +1273,10 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
             log.debug(configInfo("connTimeout", connTimeout));
             log.debug(configInfo("maxConnTimeout", maxConnTimeout));
             log.debug(configInfo("reconCnt", reconCnt));
+            log.debug(configInfo("compressionLvl", compressionLvl));
+            log.debug(configInfo("compressionThreshold", compressionThreshold));
+            log.debug(configInfo("maxDecompressedMsgSize", maxDecompressedMsgSize));
+            log.debug(configInfo("compressedMsgClsNames", compressedMsgClsNames));
         }
 
         if (connBufSize > 8192)
@@ -1240,7 +1382,9 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
                     .directMode(true)
                     .metricsListener(metricsLsnr)
                     .messageWriter(msgWriter)
-                    .filters(new GridNioCodecFilter(new GridDirectParser(msgReader), log, true),
+                    .filters(new GridNioCompressionFilter(msgWriter, msgReader, compressionLvl, compressionThreshold,
+                        maxDecompressedMsgSize, compressP, log),
+                        new GridNioCodecFilter(new GridDirectParser(msgReader), log, true),
                         new GridConnectionBytesVerifyFilter(log))
                     .build();
 
@@ -1701,7 +1845,8 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
                                 ch,
                                 F.asMap(
                                     NODE_ID_META, node.id(),
-                                    GridNioServer.DIFF_VER_NODE_ID_META_KEY, diffVerNodeId)
+                                    GridNioServer.DIFF_VER_NODE_ID_META_KEY, diffVerNodeId,
+                                    GridNioCompressionFilter.COMPRESSION_META_KEY, compressionSupported(node))
                             ).get();
 
                             client = new GridTcpNioCommunicationClient(ses);
@@ -1895,6 +2040,14 @@ public class GridTcpCommunicationSpi extends GridSpiAdapter
         }
     }
 
+    /**
+     * @param node Remote node.
+     * @return {@code True} if compression is enabled locally and remote node is able to decompress messages.
+     */
+    private boolean compressionSupported(GridNode node) {
+        return compressionLvl > 0 && Boolean.TRUE.equals(node.attribute(createSpiAttributeName(ATTR_COMPRESSION)));
+    }
+
     /**
      * @param sndId Sender ID.
      * @param msg Communication message.
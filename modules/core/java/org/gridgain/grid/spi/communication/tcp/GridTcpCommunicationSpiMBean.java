@@ -3,6 +3,8 @@ package org.gridgain.grid.spi.communication.tcp;
 import org.gridgain.grid.spi.*;
 import org.gridgain.grid.util.mbean.*;
 
+import java.util.*;
+
 /**
  * MBean provide access to TCP-based communication SPI.
  */
@@ -262,4 +264,36 @@ public interface GridTcpCommunicationSpiMBean extends GridSpiManagementMBean {
      */
     @GridMBeanDescription("Buffer size ratio.")
     public double getBufferSizeRatio();
+
+    /**
+     * Gets compression level for messages sent by this SPI ({@code 0} means compression is disabled).
+     *
+     * @return Compression level.
+     */
+    @GridMBeanDescription("Compression level.")
+    public int getCompressionLevel();
+
+    /**
+     * Gets minimum size of serialized message to compress.
+     *
+     * @return Compression threshold in bytes.
+     */
+    @GridMBeanDescription("Minimum size of serialized message to compress.")
+    public int getCompressionThreshold();
+
+    /**
+     * Gets maximum size of incoming message after decompression.
+     *
+     * @return Maximum decompressed message size in bytes.
+     */
+    @GridMBeanDescription("Maximum size of incoming message after decompression.")
+    public int getMaxDecompressedMessageSize();
+
+    /**
+     * Gets class names of messages to compress.
+     *
+     * @return Class names of messages to compress.
+     */
+    @GridMBeanDescription("Class names of messages to compress.")
+    public Collection<String> getCompressedMessageClasses();
 }
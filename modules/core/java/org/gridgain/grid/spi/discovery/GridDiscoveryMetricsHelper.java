@@ -365,4 +365,43 @@ public final class GridDiscoveryMetricsHelper {
 
         return metrics;
     }
+
+    /**
+     * Checks whether load-related node metrics have changed significantly. Job counts, processor
+     * count and maximum heap size are compared exactly. CPU loads are compared by absolute difference.
+     * Memory usage, thread count and average job counts are compared by relative difference.
+     * Monotonically growing counters and timings are not compared since they
+     * change all the time and are refreshed with full metrics updates.
+     *
+     * @param prev Previously published metrics.
+     * @param cur Current metrics.
+     * @param threshold Threshold for CPU load and relative difference of other metrics.
+     * @return {@code True} if metrics have changed beyond threshold.
+     */
+    public static boolean changed(GridNodeMetrics prev, GridNodeMetrics cur, double threshold) {
+        return prev.getCurrentActiveJobs() != cur.getCurrentActiveJobs() ||
+            prev.getCurrentWaitingJobs() != cur.getCurrentWaitingJobs() ||
+            prev.getCurrentRejectedJobs() != cur.getCurrentRejectedJobs() ||
+            prev.getCurrentCancelledJobs() != cur.getCurrentCancelledJobs() ||
+            prev.getTotalCpus() != cur.getTotalCpus() ||
+            prev.getHeapMemoryMaximum() != cur.getHeapMemoryMaximum() ||
+            Math.abs(prev.getCurrentCpuLoad() - cur.getCurrentCpuLoad()) > threshold ||
+            Math.abs(prev.getAverageCpuLoad() - cur.getAverageCpuLoad()) > threshold ||
+            Math.abs(prev.getCurrentGcCpuLoad() - cur.getCurrentGcCpuLoad()) > threshold ||
+            changed(prev.getAverageActiveJobs(), cur.getAverageActiveJobs(), threshold) ||
+            changed(prev.getAverageWaitingJobs(), cur.getAverageWaitingJobs(), threshold) ||
+            changed(prev.getHeapMemoryUsed(), cur.getHeapMemoryUsed(), threshold) ||
+            changed(prev.getNonHeapMemoryUsed(), cur.getNonHeapMemoryUsed(), threshold) ||
+            changed(prev.getCurrentThreadCount(), cur.getCurrentThreadCount(), threshold);
+    }
+
+    /**
+     * @param prev Previous value.
+     * @param cur Current value.
+     * @param threshold Threshold for relative difference.
+     * @return {@code True} if relative difference of values is greater than threshold.
+     */
+    private static boolean changed(double prev, double cur, double threshold) {
+        return Math.abs(prev - cur) > threshold * Math.max(Math.abs(prev), Math.abs(cur));
+    }
 }
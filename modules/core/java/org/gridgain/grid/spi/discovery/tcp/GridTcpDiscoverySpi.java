@@ -58,6 +58,7 @@ import java.net.*;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.*;
+import java.util.zip.*;
 
 import static org.gridgain.grid.events.GridEventType.*;
 import static org.gridgain.grid.kernal.GridNodeAttributes.*;
@@ -109,6 +110,8 @@ import static org.gridgain.grid.spi.discovery.tcp.messages.GridTcpDiscoveryStatu
  *      (see {@link #setLocalPortRange(int)})</li>
  * <li>Heartbeat frequency (see {@link #setHeartbeatFrequency(long)})</li>
  * <li>Max missed heartbeats (see {@link #setMaxMissedHeartbeats(int)})</li>
+ * <li>Heartbeat metrics threshold (see {@link #setHeartbeatMetricsThreshold(double)})</li>
+ * <li>Heartbeat metrics force update frequency (see {@link #setHeartbeatMetricsForceUpdateFrequency(long)})</li>
  * <li>Number of times node tries to (re)establish connection to another node
  *      (see {@link #setReconnectCount(int)})</li>
  * <li>Network timeout (see {@link #setNetworkTimeout(long)})</li>
@@ -168,6 +171,19 @@ import static org.gridgain.grid.spi.discovery.tcp.messages.GridTcpDiscoveryStatu
 @GridDiscoverySpiReconnectSupport(true)
 @GridDiscoverySpiHistorySupport(true)
 public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscoverySpi, GridTcpDiscoverySpiMBean {
+    /**
+     * Node attribute that is mapped to version of discovery protocol supported by node
+     * (value is <tt>disco.tcp.proto.ver</tt>). Nodes without this attribute support
+     * only initial protocol.
+     */
+    public static final String ATTR_PROTO_VER = "disco.tcp.proto.ver";
+
+    /**
+     * Version of discovery protocol: {@code 1} - compact heartbeat format,
+     * {@code 2} - discovery data is sent directly to joining node.
+     */
+    private static final int PROTO_VER = 2;
+
     /** Default port to listen (value is <tt>47500</tt>). */
     public static final int DFLT_PORT = 47500;
 
@@ -195,6 +211,12 @@ public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscovery
     /** Default max heartbeats count node can miss without initiating status check (value is <tt>1</tt>). */
     public static final int DFLT_MAX_MISSED_HEARTBEATS = 1;
 
+    /** Default threshold for significant change of metrics sent with heartbeats (value is <tt>0.05</tt>). */
+    public static final double DFLT_HB_METRICS_THRESHOLD = 0.05;
+
+    /** Default frequency of sending full metrics with heartbeats (value is <tt>10,000ms</tt>). */
+    public static final long DFLT_HB_METRICS_FORCE_UPDATE_FREQ = 10000;
+
     /** Default value for thread priority (value is <tt>10</tt>). */
     public static final int DFLT_THREAD_PRI = 10;
 
@@ -260,6 +282,12 @@ public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscovery
     /** Max heartbeats count node can miss without initiating status check. */
     private int maxMissedHbs = DFLT_MAX_MISSED_HEARTBEATS;
 
+    /** Threshold for significant change of metrics sent with heartbeats. */
+    private double hbMetricsThreshold = DFLT_HB_METRICS_THRESHOLD;
+
+    /** Frequency of sending full metrics with heartbeats. */
+    private long hbMetricsForceUpdateFreq = DFLT_HB_METRICS_FORCE_UPDATE_FREQ;
+
     /** Thread priority for all threads started by SPI. */
     @SuppressWarnings({"FieldAccessedSynchronizedAndUnsynchronized"})
     private int threadPri = DFLT_THREAD_PRI;
@@ -643,6 +671,47 @@ public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscovery
         this.maxMissedHbs = maxMissedHbs;
     }
 
+    /** {@inheritDoc} */
+    @Override public double getHeartbeatMetricsThreshold() {
+        return hbMetricsThreshold;
+    }
+
+    /**
+     * Sets threshold for significant change of local node metrics. Node adds its metrics
+     * to heartbeat message only if they have changed beyond this threshold since the
+     * last time node published them (see {@link GridDiscoveryMetricsHelper#changed(GridNodeMetrics,
+     * GridNodeMetrics, double)}). Otherwise node only confirms that it is alive, which
+     * makes heartbeats much smaller in large topologies. {@code 0} means that metrics
+     * are sent whenever any of compared metrics changes.
+     * <p>
+     * If not provided, default value is {@link #DFLT_HB_METRICS_THRESHOLD}.
+     *
+     * @param hbMetricsThreshold Heartbeat metrics threshold.
+     */
+    @GridSpiConfiguration(optional = true)
+    public void setHeartbeatMetricsThreshold(double hbMetricsThreshold) {
+        this.hbMetricsThreshold = hbMetricsThreshold;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getHeartbeatMetricsForceUpdateFrequency() {
+        return hbMetricsForceUpdateFreq;
+    }
+
+    /**
+     * Sets frequency of sending full metrics with heartbeats regardless of
+     * {@link #setHeartbeatMetricsThreshold(double)}, so that all metrics
+     * (including counters) are eventually propagated.
+     * <p>
+     * If not provided, default value is {@link #DFLT_HB_METRICS_FORCE_UPDATE_FREQ}.
+     *
+     * @param hbMetricsForceUpdateFreq Heartbeat metrics force update frequency in milliseconds.
+     */
+    @GridSpiConfiguration(optional = true)
+    public void setHeartbeatMetricsForceUpdateFrequency(long hbMetricsForceUpdateFreq) {
+        this.hbMetricsForceUpdateFreq = hbMetricsForceUpdateFreq;
+    }
+
     /** {@inheritDoc} */
     @Override public long getStatisticsPrintFrequency() {
         return statsPrintFreq;
@@ -796,6 +865,38 @@ public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscovery
         return stats.processedMessages();
     }
 
+    /** {@inheritDoc} */
+    @Override public long getJoinTime() {
+        long finished = stats.joinFinished();
+
+        return finished > 0 ? finished - stats.joinStarted() : 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getJoinNodeAddedTime() {
+        return stats.joinNodeAddedTime();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getJoinDiscoveryDataSize() {
+        return stats.joinDiscoveryDataSize();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getJoinDiscoveryDataApplyTime() {
+        return stats.joinDiscoveryDataApplyTime();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getAvgNodeJoinTime() {
+        return stats.avgNodeJoinTime();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getMaxNodeJoinTime() {
+        return stats.maxNodeJoinTime();
+    }
+
     /** {@inheritDoc} */
     @Override public long getCoordinatorSinceTimestamp() {
         return stats.coordinatorSinceTimestamp();
@@ -865,6 +966,21 @@ public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscovery
         this.metricsProvider = metricsProvider;
     }
 
+    /** {@inheritDoc} */
+    @Override public Map<String, Object> getNodeAttributes() throws GridSpiException {
+        return F.<String, Object>asMap(createSpiAttributeName(ATTR_PROTO_VER), PROTO_VER);
+    }
+
+    /**
+     * @param node Node.
+     * @return Version of discovery protocol supported by node.
+     */
+    private int protocolVersion(GridNode node) {
+        Integer ver = node.attribute(createSpiAttributeName(ATTR_PROTO_VER));
+
+        return ver != null ? ver : 0;
+    }
+
     /** {@inheritDoc} */
     @Override public void setNodeAttributes(Map<String, Object> attrs, GridProductVersion ver) {
         assert nodeAttrs == null;
@@ -1048,6 +1164,8 @@ public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscovery
         assertParameter(reconCnt > 0, "reconnectCnt > 0");
         assertParameter(hbFreq > 0, "heartbeatFreq > 0");
         assertParameter(maxMissedHbs > 0, "maxMissedHeartbeats > 0");
+        assertParameter(hbMetricsThreshold >= 0, "heartbeatMetricsThreshold >= 0");
+        assertParameter(hbMetricsForceUpdateFreq >= 0, "heartbeatMetricsForceUpdateFreq >= 0");
         assertParameter(threadPri > 0, "threadPri > 0");
         assertParameter(statsPrintFreq >= 0, "statsPrintFreq >= 0");
 
@@ -1072,6 +1190,8 @@ public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscovery
             log.debug(configInfo("ipFinderCleanFreq", storesCleanFreq));
             log.debug(configInfo("heartbeatFreq", hbFreq));
             log.debug(configInfo("maxMissedHeartbeats", maxMissedHbs));
+            log.debug(configInfo("heartbeatMetricsThreshold", hbMetricsThreshold));
+            log.debug(configInfo("heartbeatMetricsForceUpdateFreq", hbMetricsForceUpdateFreq));
             log.debug(configInfo("metricsStore", metricsStore));
             log.debug(configInfo("statsPrintFreq", statsPrintFreq));
         }
@@ -1852,6 +1972,53 @@ public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscovery
         return sock;
     }
 
+    /**
+     * Marshals and compresses discovery data items to be sent directly to joining node.
+     *
+     * @param data Discovery data.
+     * @return Marshalled discovery data ({@code null} for {@code null} items).
+     * @throws GridException If marshalling failed.
+     */
+    private List<byte[]> marshalDiscoveryData(List<Object> data) throws GridException {
+        List<byte[]> res = new ArrayList<>(data.size());
+
+        for (Object item : data) {
+            if (item == null) {
+                res.add(null);
+
+                continue;
+            }
+
+            ByteArrayOutputStream bout = new ByteArrayOutputStream(1024);
+
+            try (DeflaterOutputStream out = new DeflaterOutputStream(bout)) {
+                marsh.marshal(item, out);
+            }
+            catch (IOException e) {
+                throw new GridException("Failed to compress discovery data item: " + item, e);
+            }
+
+            res.add(bout.toByteArray());
+        }
+
+        return res;
+    }
+
+    /**
+     * @param data Marshalled discovery data.
+     * @return Discovery data.
+     * @throws GridException If unmarshalling failed.
+     */
+    private List<Object> unmarshalDiscoveryData(List<byte[]> data) throws GridException {
+        List<Object> res = new ArrayList<>(data.size());
+
+        for (byte[] item : data)
+            res.add(item != null ?
+                marsh.unmarshal(new InflaterInputStream(new ByteArrayInputStream(item)), U.gridClassLoader()) : null);
+
+        return res;
+    }
+
     /**
      * Writes message to the socket limiting write time to {@link #getSocketTimeout()}.
      *
@@ -2670,6 +2837,15 @@ public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscovery
         /** Force pending messages send. */
         private boolean forceSndPending;
 
+        /** Local metrics last sent with heartbeat. */
+        private GridNodeMetrics lastSentMetrics;
+
+        /** Time local metrics were last sent with heartbeat. */
+        private long lastSentMetricsTstamp;
+
+        /** Discovery data sent directly to local node during join (mapped by sender node ID). */
+        private final Map<UUID, GridTcpDiscoveryNodeAddedDataMessage> joinData = new LinkedHashMap<>();
+
         /** Constructor. */
         private MessageWorker() {
             super(gridName, "tcp-disco-msg-worker", log);
@@ -2722,6 +2898,9 @@ public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscovery
             else if (msg instanceof GridTcpDiscoveryNodeAddedMessage)
                 processNodeAddedMessage((GridTcpDiscoveryNodeAddedMessage)msg);
 
+            else if (msg instanceof GridTcpDiscoveryNodeAddedDataMessage)
+                processNodeAddedDataMessage((GridTcpDiscoveryNodeAddedDataMessage)msg);
+
             else if (msg instanceof GridTcpDiscoveryNodeAddFinishedMessage)
                 processNodeAddFinishedMessage((GridTcpDiscoveryNodeAddFinishedMessage)msg);
 
@@ -2775,6 +2954,10 @@ public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscovery
          * @throws GridException If marshalling failed.
          */
         private void writeToSocket(Socket sock, GridTcpDiscoveryAbstractMessage msg) throws IOException, GridException {
+            // Messages are written by this worker only to next node.
+            if (msg instanceof GridTcpDiscoveryHeartbeatMessage && next != null)
+                prepareHeartbeat((GridTcpDiscoveryHeartbeatMessage)msg, next);
+
             bout.reset();
 
             GridTcpDiscoverySpi.this.writeToSocket(sock, msg, bout);
@@ -3424,6 +3607,8 @@ public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscovery
                         log.debug("Internal order has been assigned to node: " + node);
                 }
 
+                stats.onNodeJoinStarted(node.id());
+
                 processNodeAddedMessage(new GridTcpDiscoveryNodeAddedMessage(locNodeId, node, msg.discoveryData(),
                     gridStartTime));
             }
@@ -3497,7 +3682,11 @@ public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscovery
                 if (data != null)
                     exchange.onExchange(data);
 
-                msg.addDiscoveryData(exchange.collect(node.id()));
+                List<Object> locData = exchange.collect(node.id());
+
+                // Data travels across the ring only if it can't be sent directly to new node.
+                if (!sendDiscoveryData(node, locData))
+                    msg.addDiscoveryData(locData);
 
                 boolean topChanged = ring.add(node);
 
@@ -3549,6 +3738,18 @@ public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscovery
                                 }
                             }
 
+                            long applyStart = U.currentTimeMillis();
+
+                            int dataSize = 0;
+
+                            for (GridTcpDiscoveryNodeAddedDataMessage dataMsg : joinData.values()) {
+                                exchange.onExchange(dataMsg.data());
+
+                                dataSize += dataMsg.dataSize();
+                            }
+
+                            joinData.clear();
+
                             Collection<List<Object>> dataList = msg.oldNodesDiscoveryData();
 
                             if (dataList != null) {
@@ -3556,6 +3757,8 @@ public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscovery
                                     exchange.onExchange(discoData);
                             }
 
+                            stats.onJoinNodeAddedReceived(dataSize, U.currentTimeMillis() - applyStart);
+
                             topHist.clear();
                             topHist.putAll(msg.topologyHistory());
 
@@ -3579,6 +3782,51 @@ public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscovery
                 sendMessageAcrossRing(msg);
         }
 
+        /**
+         * Sends local discovery data directly to joining node.
+         *
+         * @param node Joining node.
+         * @param data Discovery data.
+         * @return {@code True} if data was accepted by joining node.
+         */
+        private boolean sendDiscoveryData(GridTcpDiscoveryNode node, List<Object> data) {
+            if (protocolVersion(node) < 2)
+                return false;
+
+            try {
+                trySendMessageDirectly(node,
+                    new GridTcpDiscoveryNodeAddedDataMessage(locNodeId, node.id(), marshalDiscoveryData(data)));
+
+                return true;
+            }
+            catch (GridException e) {
+                if (log.isDebugEnabled())
+                    log.debug("Failed to send discovery data directly to joining node (will add data to node " +
+                        "added message) [node=" + node + ", err=" + e + ']');
+
+                return false;
+            }
+        }
+
+        /**
+         * Processes discovery data sent directly to local node during join.
+         *
+         * @param msg Discovery data message.
+         */
+        private void processNodeAddedDataMessage(GridTcpDiscoveryNodeAddedDataMessage msg) {
+            assert msg != null;
+            assert msg.data() != null;
+
+            if (!locNodeId.equals(msg.nodeId()) || spiStateCopy() != CONNECTING) {
+                if (log.isDebugEnabled())
+                    log.debug("Discarding discovery data message [msg=" + msg + ", spiState=" + spiStateCopy() + ']');
+
+                return;
+            }
+
+            joinData.put(msg.creatorNodeId(), msg);
+        }
+
         /**
          * Processes node add finished message.
          *
@@ -3602,6 +3850,8 @@ public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscovery
                 if (msg.verified()) {
                     stats.onRingMessageReceived(msg);
 
+                    stats.onNodeJoinFinished(nodeId);
+
                     addMessage(new GridTcpDiscoveryDiscardMessage(locNodeId, msg.id()));
 
                     return;
@@ -4202,27 +4452,35 @@ public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscovery
 
             long tstamp = U.currentTimeMillis();
 
-            if (msg.hasMetrics() && spiStateCopy() == CONNECTED)
-                for (Map.Entry<UUID, GridNodeMetrics> e : msg.metrics().entrySet()) {
-                    GridTcpDiscoveryNode node = ring.node(e.getKey());
+            if (msg.hasMetrics() && spiStateCopy() == CONNECTED) {
+                Map<UUID, GridNodeMetrics> metrics = msg.metrics();
+
+                for (UUID nodeId : msg.nodeIds()) {
+                    GridTcpDiscoveryNode node = ring.node(nodeId);
 
                     if (node != null) {
-                        node.setMetrics(e.getValue());
+                        GridNodeMetrics nodeMetrics = metrics.get(nodeId);
 
                         node.lastUpdateTime(tstamp);
 
-                        notifyDiscovery(EVT_NODE_METRICS_UPDATED, ring.topologyVersion(), node);
+                        // Otherwise node only confirmed it is alive and its metrics have not changed.
+                        if (nodeMetrics != null) {
+                            node.setMetrics(nodeMetrics);
+
+                            notifyDiscovery(EVT_NODE_METRICS_UPDATED, ring.topologyVersion(), node);
+                        }
                     }
                     else if (log.isDebugEnabled())
-                        log.debug("Received metrics from unknown node: " + e.getKey());
+                        log.debug("Received metrics from unknown node: " + nodeId);
                 }
+            }
 
             if (ring.hasRemoteNodes()) {
                 if ((locNodeId.equals(msg.creatorNodeId()) && msg.senderNodeId() == null ||
                     !msg.hasMetrics(locNodeId)) && spiStateCopy() == CONNECTED)
 
                     // Message is on its first ring or just created on coordinator.
-                    msg.setMetrics(locNodeId, metricsProvider.getMetrics());
+                    addLocalMetrics(msg, tstamp);
                 else
                     // Message is on its second ring.
                     msg.removeMetrics(locNodeId);
@@ -4236,6 +4494,52 @@ public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscovery
             }
         }
 
+        /**
+         * Chooses heartbeat format for the node message is going to be sent to. Node not supporting
+         * compact format expects metrics of every node added to the message, so metrics last
+         * received from nodes which confirmed only that they are alive are added to the message.
+         *
+         * @param msg Heartbeat message.
+         * @param node Node message is going to be sent to.
+         */
+        private void prepareHeartbeat(GridTcpDiscoveryHeartbeatMessage msg, GridNode node) {
+            boolean compact = protocolVersion(node) >= 1;
+
+            if (!compact) {
+                for (UUID nodeId : msg.unchangedNodeIds()) {
+                    GridTcpDiscoveryNode n = locNodeId.equals(nodeId) ? locNode : ring.node(nodeId);
+
+                    if (n != null)
+                        msg.setMetrics(nodeId, n.metrics());
+                    else
+                        msg.removeMetrics(nodeId);
+                }
+            }
+
+            msg.compact(compact);
+        }
+
+        /**
+         * Adds local node metrics to heartbeat message if they have changed significantly
+         * or were not sent for too long, otherwise only confirms that local node is alive.
+         *
+         * @param msg Heartbeat message.
+         * @param tstamp Current timestamp.
+         */
+        private void addLocalMetrics(GridTcpDiscoveryHeartbeatMessage msg, long tstamp) {
+            GridNodeMetrics metrics = metricsProvider.getMetrics();
+
+            if (lastSentMetrics == null || tstamp - lastSentMetricsTstamp >= hbMetricsForceUpdateFreq ||
+                GridDiscoveryMetricsHelper.changed(lastSentMetrics, metrics, hbMetricsThreshold)) {
+                msg.setMetrics(locNodeId, metrics);
+
+                lastSentMetrics = metrics;
+                lastSentMetricsTstamp = tstamp;
+            }
+            else
+                msg.setMetricsUnchanged(locNodeId);
+        }
+
         /**
          * Processes heartbeat message when working with metrics store.
          *
@@ -4731,6 +5035,13 @@ public class GridTcpDiscoverySpi extends GridSpiAdapter implements GridDiscovery
 
                             continue;
                         }
+                        else if (msg instanceof GridTcpDiscoveryNodeAddedDataMessage) {
+                            GridTcpDiscoveryNodeAddedDataMessage dataMsg = (GridTcpDiscoveryNodeAddedDataMessage)msg;
+
+                            // Unmarshal data before receipt is sent, so that on failure
+                            // sender adds its data to node added message.
+                            dataMsg.data(unmarshalDiscoveryData(dataMsg.dataBytes()));
+                        }
 
                         msgWorker.addMessage(msg);
 
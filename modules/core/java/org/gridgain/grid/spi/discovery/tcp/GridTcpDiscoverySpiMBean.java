@@ -108,6 +108,22 @@ public interface GridTcpDiscoverySpiMBean extends GridSpiManagementMBean {
     @GridMBeanDescription("Max missed heartbeats.")
     public int getMaxMissedHeartbeats();
 
+    /**
+     * Gets threshold for significant change of metrics sent with heartbeats.
+     *
+     * @return Heartbeat metrics threshold.
+     */
+    @GridMBeanDescription("Heartbeat metrics threshold.")
+    public double getHeartbeatMetricsThreshold();
+
+    /**
+     * Gets frequency of sending full metrics with heartbeats.
+     *
+     * @return Heartbeat metrics force update frequency.
+     */
+    @GridMBeanDescription("Heartbeat metrics force update frequency.")
+    public long getHeartbeatMetricsForceUpdateFrequency();
+
     /**
      * Gets thread priority. All threads within SPI will be started with it.
      *
@@ -236,6 +252,56 @@ public interface GridTcpDiscoverySpiMBean extends GridSpiManagementMBean {
     @GridMBeanDescription("Local node is coordinator since.")
     public long getCoordinatorSinceTimestamp();
 
+    /**
+     * Gets time local node spent to join topology.
+     *
+     * @return Join time.
+     */
+    @GridMBeanDescription("Time local node spent to join topology.")
+    public long getJoinTime();
+
+    /**
+     * Gets time from join start till local node received node added message with topology.
+     *
+     * @return Time to receive node added message.
+     */
+    @GridMBeanDescription("Time from join start till node added message is received.")
+    public long getJoinNodeAddedTime();
+
+    /**
+     * Gets size of compressed discovery data sent directly to local node during join.
+     *
+     * @return Size of discovery data.
+     */
+    @GridMBeanDescription("Size of discovery data received during join.")
+    public int getJoinDiscoveryDataSize();
+
+    /**
+     * Gets time local node spent to apply discovery data received during join.
+     *
+     * @return Discovery data apply time.
+     */
+    @GridMBeanDescription("Time spent to apply discovery data received during join.")
+    public long getJoinDiscoveryDataApplyTime();
+
+    /**
+     * Gets average time from processing of join request till node is added to the whole ring.
+     * Measured on coordinator only.
+     *
+     * @return Average node join time.
+     */
+    @GridMBeanDescription("Average node join time (coordinator only).")
+    public long getAvgNodeJoinTime();
+
+    /**
+     * Gets max time from processing of join request till node is added to the whole ring.
+     * Measured on coordinator only.
+     *
+     * @return Max node join time.
+     */
+    @GridMBeanDescription("Max node join time (coordinator only).")
+    public long getMaxNodeJoinTime();
+
     /**
      * Gets current coordinator.
      *
@@ -45,6 +45,27 @@ public class GridTcpDiscoveryStatistics {
     /** Join finished timestamp. */
     private long joinFinishedTs;
 
+    /** Timestamp local node received node added message with topology during join. */
+    private long joinNodeAddedTs;
+
+    /** Size of discovery data received by local node during join. */
+    private int joinDiscoDataSize;
+
+    /** Time spent by local node to apply discovery data received during join. */
+    private long joinDiscoDataApplyTime;
+
+    /** Join request processing timestamps of joining nodes (coordinator only). */
+    private final Map<UUID, Long> nodeJoinStartTs = new GridBoundedLinkedHashMap<>(1024);
+
+    /** Number of node joins completed on coordinator. */
+    private int nodeJoinsCnt;
+
+    /** Average node join time on coordinator. */
+    private long avgNodeJoinTime;
+
+    /** Max node join time on coordinator. */
+    private long maxNodeJoinTime;
+
     /** Coordinator since timestamp. */
     private final AtomicLong crdSinceTs = new AtomicLong();
 
@@ -202,6 +223,83 @@ public class GridTcpDiscoveryStatistics {
         joinFinishedTs = U.currentTimeMillis();
     }
 
+    /**
+     * Collects stats for node added message received by local node during join.
+     *
+     * @param discoDataSize Size of discovery data sent directly to local node.
+     * @param applyTime Time spent to apply discovery data.
+     */
+    public synchronized void onJoinNodeAddedReceived(int discoDataSize, long applyTime) {
+        joinNodeAddedTs = U.currentTimeMillis();
+        joinDiscoDataSize = discoDataSize;
+        joinDiscoDataApplyTime = applyTime;
+    }
+
+    /**
+     * @return Time between join start and receipt of node added message.
+     */
+    public synchronized long joinNodeAddedTime() {
+        return joinNodeAddedTs > 0 ? joinNodeAddedTs - joinStartedTs : 0;
+    }
+
+    /**
+     * @return Size of discovery data received by local node during join.
+     */
+    public synchronized int joinDiscoveryDataSize() {
+        return joinDiscoDataSize;
+    }
+
+    /**
+     * @return Time spent by local node to apply discovery data received during join.
+     */
+    public synchronized long joinDiscoveryDataApplyTime() {
+        return joinDiscoDataApplyTime;
+    }
+
+    /**
+     * Records start of node join processing on coordinator.
+     *
+     * @param nodeId Joining node ID.
+     */
+    public synchronized void onNodeJoinStarted(UUID nodeId) {
+        nodeJoinStartTs.put(nodeId, U.currentTimeMillis());
+    }
+
+    /**
+     * Records end of node join processing on coordinator.
+     *
+     * @param nodeId Joined node ID.
+     */
+    public synchronized void onNodeJoinFinished(UUID nodeId) {
+        Long startTs = nodeJoinStartTs.remove(nodeId);
+
+        if (startTs == null)
+            return;
+
+        long time = U.currentTimeMillis() - startTs;
+
+        nodeJoinsCnt++;
+
+        if (maxNodeJoinTime < time)
+            maxNodeJoinTime = time;
+
+        avgNodeJoinTime = (avgNodeJoinTime * (nodeJoinsCnt - 1) + time) / nodeJoinsCnt;
+    }
+
+    /**
+     * @return Average node join time on coordinator.
+     */
+    public synchronized long avgNodeJoinTime() {
+        return avgNodeJoinTime;
+    }
+
+    /**
+     * @return Max node join time on coordinator.
+     */
+    public synchronized long maxNodeJoinTime() {
+        return maxNodeJoinTime;
+    }
+
     /**
      * @return Join started timestamp.
      */
@@ -627,6 +725,13 @@ public class GridTcpDiscoveryStatistics {
         joinedNodesCnt = 0;
         joinFinishedTs = 0;
         joinStartedTs = 0;
+        joinNodeAddedTs = 0;
+        joinDiscoDataSize = 0;
+        joinDiscoDataApplyTime = 0;
+        nodeJoinStartTs.clear();
+        nodeJoinsCnt = 0;
+        avgNodeJoinTime = 0;
+        maxNodeJoinTime = 0;
         leftNodesCnt = 0;
         maxClientSockInitTime = 0;
         maxMsgProcTime = 0;
@@ -46,14 +46,23 @@ import java.util.*;
  * When message reaches coordinator second time it is discarded (it finishes the
  * second pass).
  * <p>
+ * Node adds its metrics to the message only if they have changed since the last time
+ * node published them. Otherwise node adds only its ID (see {@link #setMetricsUnchanged(UUID)})
+ * to confirm that it is alive, so heartbeat size does not depend on metrics size.
+ * Such compact form is written only for nodes supporting it (see {@link #compact(boolean)}),
+ * for other nodes message contains metrics of every node added to it.
+ * <p>
  * If topology uses metrics store then message makes only one pass and metrics map
  * is always empty. Nodes exchange their metrics using metrics store.
  */
 public class GridTcpDiscoveryHeartbeatMessage extends GridTcpDiscoveryAbstractMessage {
-    /** Map to store nodes metrics. */
+    /** Map to store nodes metrics ({@code null} value means metrics have not changed). */
     @GridToStringExclude
     private Map<UUID, byte[]> metrics;
 
+    /** Whether message is written in compact format. */
+    private transient boolean compact;
+
     /**
      * Public default no-arg constructor for {@link Externalizable} interface.
      */
@@ -89,6 +98,17 @@ public class GridTcpDiscoveryHeartbeatMessage extends GridTcpDiscoveryAbstractMe
         this.metrics.put(nodeId, buf);
     }
 
+    /**
+     * Adds node to the message without metrics, meaning that node metrics have not changed.
+     *
+     * @param nodeId Node ID.
+     */
+    public void setMetricsUnchanged(UUID nodeId) {
+        assert nodeId != null;
+
+        metrics.put(nodeId, null);
+    }
+
     /**
      * Removes metrics for particular node from the message.
      *
@@ -101,7 +121,7 @@ public class GridTcpDiscoveryHeartbeatMessage extends GridTcpDiscoveryAbstractMe
     }
 
     /**
-     * Gets metrics map.
+     * Gets metrics map. Nodes which metrics have not changed are not included.
      *
      * @return Metrics map.
      */
@@ -110,9 +130,49 @@ public class GridTcpDiscoveryHeartbeatMessage extends GridTcpDiscoveryAbstractMe
             @Override public GridNodeMetrics apply(byte[] metricsBytes) {
                 return GridDiscoveryMetricsHelper.deserialize(metricsBytes, 0);
             }
+        }, new P1<UUID>() {
+            @Override public boolean apply(UUID nodeId) {
+                return metrics.get(nodeId) != null;
+            }
         });
     }
 
+    /**
+     * Gets IDs of all nodes added to the message (with or without metrics).
+     *
+     * @return Node IDs.
+     */
+    public Collection<UUID> nodeIds() {
+        return Collections.unmodifiableSet(metrics.keySet());
+    }
+
+    /**
+     * Gets IDs of nodes added to the message without metrics.
+     *
+     * @return Node IDs.
+     */
+    public Collection<UUID> unchangedNodeIds() {
+        Collection<UUID> res = new ArrayList<>();
+
+        for (Map.Entry<UUID, byte[]> e : metrics.entrySet()) {
+            if (e.getValue() == null)
+                res.add(e.getKey());
+        }
+
+        return res;
+    }
+
+    /**
+     * Sets format message is written in. Compact format may be read only by nodes
+     * supporting it, in other format metrics must be set for every node added to
+     * the message.
+     *
+     * @param compact Whether message is written in compact format.
+     */
+    public void compact(boolean compact) {
+        this.compact = compact;
+    }
+
     /**
      * @return {@code True} if this message contains metrics.
      */
@@ -121,26 +181,49 @@ public class GridTcpDiscoveryHeartbeatMessage extends GridTcpDiscoveryAbstractMe
     }
 
     /**
-     * @return {@code True} if this message contains metrics.
+     * @param nodeId Node ID.
+     * @return {@code True} if node was added to this message (with or without metrics).
      */
     public boolean hasMetrics(UUID nodeId) {
         assert nodeId != null;
 
-        return metrics.get(nodeId) != null;
+        return metrics.containsKey(nodeId);
     }
 
     /** {@inheritDoc} */
     @Override public void writeExternal(ObjectOutput out) throws IOException {
         super.writeExternal(out);
 
-        out.writeInt(metrics.size());
+        if (!compact) {
+            out.writeInt(metrics.size());
 
-        if (!metrics.isEmpty()) {
             for (Map.Entry<UUID, byte[]> e : metrics.entrySet()) {
                 U.writeUuid(out, e.getKey());
 
                 U.writeByteArray(out, e.getValue());
             }
+
+            return;
+        }
+
+        // Negative size marks compact format.
+        out.writeInt(-metrics.size() - 1);
+
+        if (!metrics.isEmpty()) {
+            for (Map.Entry<UUID, byte[]> e : metrics.entrySet()) {
+                UUID nodeId = e.getKey();
+
+                out.writeLong(nodeId.getMostSignificantBits());
+                out.writeLong(nodeId.getLeastSignificantBits());
+
+                byte[] metricsBytes = e.getValue();
+
+                // Metrics size is fixed, so only flag is written in front of them.
+                out.writeBoolean(metricsBytes != null);
+
+                if (metricsBytes != null)
+                    out.write(metricsBytes);
+            }
         }
     }
 
@@ -150,10 +233,32 @@ public class GridTcpDiscoveryHeartbeatMessage extends GridTcpDiscoveryAbstractMe
 
         int size = in.readInt();
 
+        if (size >= 0) {
+            metrics = new HashMap<>(size + 1, 1.0f);
+
+            for (int i = 0; i < size; i++)
+                metrics.put(U.readUuid(in), U.readByteArray(in));
+
+            return;
+        }
+
+        size = -size - 1;
+
         metrics = new HashMap<>(size + 1, 1.0f);
 
-        for (int i = 0; i < size; i++)
-            metrics.put(U.readUuid(in), U.readByteArray(in));
+        for (int i = 0; i < size; i++) {
+            UUID nodeId = new UUID(in.readLong(), in.readLong());
+
+            byte[] metricsBytes = null;
+
+            if (in.readBoolean()) {
+                metricsBytes = new byte[GridDiscoveryMetricsHelper.METRICS_SIZE];
+
+                in.readFully(metricsBytes);
+            }
+
+            metrics.put(nodeId, metricsBytes);
+        }
     }
 
     /** {@inheritDoc} */
@@ -0,0 +1,144 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.spi.discovery.tcp.messages;
+
+import org.gridgain.grid.util.typedef.internal.*;
+import org.jetbrains.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Sent directly to joining node by every node processing {@link GridTcpDiscoveryNodeAddedMessage},
+ * so discovery data of old nodes does not travel across the ring. Data items are marshalled and
+ * compressed by sender and unmarshalled by joining node before receipt is sent back, so that
+ * sender can add data to node added message if joining node fails to accept it.
+ */
+public class GridTcpDiscoveryNodeAddedDataMessage extends GridTcpDiscoveryAbstractMessage {
+    /** Joining node ID. */
+    private UUID nodeId;
+
+    /** Marshalled discovery data items ({@code null} for {@code null} items). */
+    private List<byte[]> dataBytes;
+
+    /** Unmarshalled discovery data. */
+    private transient List<Object> data;
+
+    /**
+     * Public default no-arg constructor for {@link Externalizable} interface.
+     */
+    public GridTcpDiscoveryNodeAddedDataMessage() {
+        // No-op.
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param creatorNodeId Creator node ID.
+     * @param nodeId Joining node ID.
+     * @param dataBytes Marshalled discovery data items.
+     */
+    public GridTcpDiscoveryNodeAddedDataMessage(UUID creatorNodeId, UUID nodeId, List<byte[]> dataBytes) {
+        super(creatorNodeId);
+
+        assert nodeId != null;
+        assert dataBytes != null;
+
+        this.nodeId = nodeId;
+        this.dataBytes = dataBytes;
+    }
+
+    /**
+     * @return Joining node ID.
+     */
+    public UUID nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * @return Marshalled discovery data items.
+     */
+    public List<byte[]> dataBytes() {
+        return dataBytes;
+    }
+
+    /**
+     * @return Total size of marshalled discovery data items.
+     */
+    public int dataSize() {
+        int size = 0;
+
+        for (byte[] item : dataBytes) {
+            if (item != null)
+                size += item.length;
+        }
+
+        return size;
+    }
+
+    /**
+     * @return Unmarshalled discovery data.
+     */
+    @Nullable public List<Object> data() {
+        return data;
+    }
+
+    /**
+     * @param data Unmarshalled discovery data.
+     */
+    public void data(List<Object> data) {
+        this.data = data;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeExternal(ObjectOutput out) throws IOException {
+        super.writeExternal(out);
+
+        U.writeUuid(out, nodeId);
+
+        out.writeInt(dataBytes.size());
+
+        for (byte[] item : dataBytes)
+            U.writeByteArray(out, item);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        super.readExternal(in);
+
+        nodeId = U.readUuid(in);
+
+        int size = in.readInt();
+
+        dataBytes = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++)
+            dataBytes.add(U.readByteArray(in));
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridTcpDiscoveryNodeAddedDataMessage.class, this, "super", super.toString());
+    }
+}
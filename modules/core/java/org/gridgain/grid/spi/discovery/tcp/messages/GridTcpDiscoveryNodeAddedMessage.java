@@ -36,6 +36,10 @@ import java.util.*;
  * Message telling nodes that new node should be added to topology.
  * When newly added node receives the message it connects to its next and finishes
  * join process.
+ * <p>
+ * Nodes send their discovery data directly to joining node supporting it (see
+ * {@link GridTcpDiscoveryNodeAddedDataMessage}). Discovery data is added to this
+ * message only for joining nodes of older version or if direct sending failed.
  */
 @GridTcpDiscoveryEnsureDelivery
 public class GridTcpDiscoveryNodeAddedMessage extends GridTcpDiscoveryAbstractMessage {
@@ -178,7 +182,7 @@ public class GridTcpDiscoveryNodeAddedMessage extends GridTcpDiscoveryAbstractMe
     }
 
     /**
-     * @return Discovery data from old nodes.
+     * @return Discovery data from old nodes which have not sent it directly to new node.
      */
     public Collection<List<Object>> oldNodesDiscoveryData() {
         return oldNodesDiscoData;
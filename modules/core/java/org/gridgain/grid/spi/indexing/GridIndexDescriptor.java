@@ -54,6 +54,13 @@ public interface GridIndexDescriptor {
      */
     public boolean unique();
 
+    /**
+     * Specifies whether this is a hash index which supports only equality lookups.
+     *
+     * @return {@code True} if index is a hash index, {@code false} for sorted index.
+     */
+    public boolean hash();
+
     /**
      * Specified if this is SQL or Text index.
      *
@@ -26,6 +26,7 @@ package org.gridgain.grid.spi.indexing;
 import org.gridgain.grid.*;
 import org.gridgain.grid.cache.*;
 import org.gridgain.grid.cache.query.*;
+import org.gridgain.grid.lang.*;
 import org.gridgain.grid.spi.*;
 import org.gridgain.grid.spi.indexing.h2.*;
 import org.jetbrains.annotations.*;
@@ -75,6 +76,34 @@ public interface GridIndexingSpi extends GridSpi {
     public <K, V> GridIndexingFieldsResult queryFields(@Nullable String spaceName, String qry,
         Collection<Object> params, GridIndexingQueryFilter<K, V>... filters) throws GridSpiException;
 
+    /**
+     * Executes reduce query of two-phase fields query over map query results collected
+     * from all nodes. Reduce query selects from
+     * {@link GridCacheQueries#MAP_RESULT_TABLE} table which contains map results and
+     * has columns named after map query field labels (duplicate labels get {@code _<n>} suffix).
+     * Map results are consumed from iterator as they arrive.
+     *
+     * @param spaceName Space name.
+     * @param qry Reduce query.
+     * @param mapMeta Map query result metadata.
+     * @param mapRes Map query result rows.
+     * @return Query result.
+     * @throws GridSpiException If failed.
+     */
+    public GridIndexingFieldsResult reduceFields(@Nullable String spaceName, String qry,
+        List<GridIndexingFieldMetadata> mapMeta, Iterator<List<?>> mapRes) throws GridSpiException;
+
+    /**
+     * Splits fields query into map query executed on every node and reduce query executed over
+     * collected map results (see {@link #reduceFields(String, String, List, Iterator)}).
+     *
+     * @param spaceName Space name.
+     * @param qry Query.
+     * @return Map query and reduce query.
+     * @throws GridSpiException If query can not be split.
+     */
+    public GridBiTuple<String, String> splitFields(@Nullable String spaceName, String qry) throws GridSpiException;
+
     /**
      * Executes regular query.
      *
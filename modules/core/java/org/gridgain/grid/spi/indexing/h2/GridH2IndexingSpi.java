@@ -26,6 +26,7 @@ package org.gridgain.grid.spi.indexing.h2;
 import org.gridgain.grid.*;
 import org.gridgain.grid.cache.query.*;
 import org.gridgain.grid.kernal.processors.cache.*;
+import org.gridgain.grid.lang.*;
 import org.gridgain.grid.logger.*;
 import org.gridgain.grid.marshaller.*;
 import org.gridgain.grid.resources.*;
@@ -189,6 +190,9 @@ public class GridH2IndexingSpi extends GridSpiAdapter implements GridIndexingSpi
     /** */
     private static final GridIndexingQueryFilter[] EMPTY_FILTER = new GridIndexingQueryFilter[0];
 
+    /** Number of map result rows inserted into reduce table in one batch. */
+    private static final int REDUCE_INSERT_BATCH_SIZE = 512;
+
     /** */
     private static final JavaObjectSerializer SERIALIZER = new JavaObjectSerializer() {
         @Override public byte[] serialize(Object o) throws Exception {
@@ -797,6 +801,152 @@ public class GridH2IndexingSpi extends GridSpiAdapter implements GridIndexingSpi
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public GridBiTuple<String, String> splitFields(@Nullable String spaceName, String qry)
+        throws GridSpiException {
+        Connection conn = connectionForThread(schema(spaceName));
+
+        try {
+            return GridH2QuerySplitter.split(conn, qry);
+        }
+        catch (DbException e) {
+            throw new GridSpiException("Failed to split query into map and reduce queries: " + qry, e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridIndexingFieldsResult reduceFields(@Nullable String spaceName, String qry,
+        List<GridIndexingFieldMetadata> mapMeta, Iterator<List<?>> mapRes) throws GridSpiException {
+        assert !F.isEmpty(mapMeta);
+
+        Connection conn = connectionForThread(schema(spaceName));
+
+        // Local temporary table is visible to this connection only, so concurrent
+        // reduce queries executed by different threads do not interfere.
+        SB sql = new SB();
+
+        sql.a("CREATE LOCAL TEMPORARY TABLE ").a(GridCacheQueries.MAP_RESULT_TABLE).a(" (");
+
+        SB ins = new SB();
+
+        ins.a("INSERT INTO ").a(GridCacheQueries.MAP_RESULT_TABLE).a(" VALUES (");
+
+        Collection<String> names = new HashSet<>();
+
+        for (int i = 0; i < mapMeta.size(); i++) {
+            GridIndexingFieldMetadata meta = mapMeta.get(i);
+
+            Class<?> cls;
+
+            try {
+                cls = U.forName(meta.fieldTypeName(), U.gridClassLoader());
+            }
+            catch (ClassNotFoundException ignored) {
+                cls = Object.class;
+            }
+
+            if (i > 0) {
+                sql.a(',');
+                ins.a(',');
+            }
+
+            String name = meta.fieldName();
+
+            // Map query may have several fields with the same label.
+            for (int n = 1; !names.add(name); n++)
+                name = meta.fieldName() + '_' + n;
+
+            sql.a('"').a(name).a("\" ").a(dbTypeFromClass(cls));
+            ins.a('?');
+        }
+
+        sql.a(')');
+        ins.a(')');
+
+        localSpi.set(this);
+
+        try {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate(sql.toString());
+            }
+
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(ins.toString())) {
+                    int cnt = 0;
+
+                    while (mapRes.hasNext()) {
+                        List<?> row = mapRes.next();
+
+                        int idx = 1;
+
+                        for (Object val : row)
+                            bindObject(stmt, idx++, val);
+
+                        stmt.addBatch();
+
+                        if (++cnt % REDUCE_INSERT_BATCH_SIZE == 0)
+                            stmt.executeBatch();
+                    }
+
+                    if (cnt % REDUCE_INSERT_BATCH_SIZE != 0)
+                        stmt.executeBatch();
+                }
+
+                T2<PreparedStatement, ResultSet> res = executeSqlQueryWithTimer(conn, qry, null);
+
+                if (res == null)
+                    throw new GridSpiException("Reduce query must select from " +
+                        GridCacheQueries.MAP_RESULT_TABLE + " table: " + qry);
+
+                List<GridIndexingFieldMetadata> meta;
+                Collection<List<GridIndexingEntity<?>>> rows = new ArrayList<>();
+
+                // Result is fully fetched since map results table is dropped right after query execution.
+                try (FieldsIterator it = new FieldsIterator(res.get2(), res.get1())) {
+                    ResultSetMetaData rsMeta = res.get2().getMetaData();
+
+                    meta = new ArrayList<>(rsMeta.getColumnCount());
+
+                    for (int i = 1; i <= rsMeta.getColumnCount(); i++)
+                        meta.add(new SqlFieldMetadata(rsMeta.getSchemaName(i), rsMeta.getTableName(i),
+                            rsMeta.getColumnLabel(i), rsMeta.getColumnClassName(i)));
+
+                    while (it.hasNext())
+                        rows.add(it.next());
+                }
+
+                final Iterator<List<GridIndexingEntity<?>>> rowsIt = rows.iterator();
+
+                return new GridIndexingFieldsResultAdapter(meta,
+                    new GridCloseableIteratorAdapter<List<GridIndexingEntity<?>>>() {
+                        @Override protected List<GridIndexingEntity<?>> onNext() {
+                            return rowsIt.next();
+                        }
+
+                        @Override protected boolean onHasNext() {
+                            return rowsIt.hasNext();
+                        }
+                    });
+            }
+            finally {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("DROP TABLE IF EXISTS " + GridCacheQueries.MAP_RESULT_TABLE);
+                }
+            }
+        }
+        catch (SQLException e) {
+            onSqlException();
+
+            throw new GridSpiException("Failed to execute reduce query: " + qry, e);
+        }
+        catch (GridException e) {
+            throw new GridSpiException("Failed to execute reduce query: " + qry, e);
+        }
+        finally {
+            localSpi.remove();
+        }
+    }
+
     /**
      * Executes sql query.
      *
@@ -1540,6 +1690,9 @@ public class GridH2IndexingSpi extends GridSpiAdapter implements GridIndexingSpi
         schemas.clear();
         rowCache.clear();
 
+        if (offheap != null)
+            offheap.destruct();
+
         if (log.isDebugEnabled())
             log.debug("Cache query index stopped [cache=" + getName() + "]");
     }
@@ -2194,8 +2347,18 @@ public class GridH2IndexingSpi extends GridSpiAdapter implements GridIndexingSpi
                             ASCENDING);
                     }
 
-                    idxs.add(new GridH2Index(name, tbl, idx.unique(), GridH2AbstractKeyValueRow.KEY_COL,
-                        GridH2AbstractKeyValueRow.VAL_COL, offheap, cols));
+                    if (idx.hash() && offheap == null)
+                        idxs.add(new GridH2HashIndex(name, tbl, idx.unique(), GridH2AbstractKeyValueRow.KEY_COL,
+                            GridH2AbstractKeyValueRow.VAL_COL, cols));
+                    else {
+                        if (idx.hash())
+                            U.warn(log, "Hash indexes are not supported for off-heap indexing, sorted index " +
+                                "will be created instead [space=" + spaceName + ", type=" + type.name() +
+                                ", idx=" + name + ']');
+
+                        idxs.add(new GridH2Index(name, tbl, idx.unique(), GridH2AbstractKeyValueRow.KEY_COL,
+                            GridH2AbstractKeyValueRow.VAL_COL, offheap, cols));
+                    }
                 }
             }
 
@@ -0,0 +1,431 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.spi.indexing.h2;
+
+import org.gridgain.grid.cache.query.*;
+import org.gridgain.grid.lang.*;
+import org.gridgain.grid.spi.*;
+import org.gridgain.grid.util.typedef.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import org.h2.command.*;
+import org.h2.command.dml.*;
+import org.h2.engine.*;
+import org.h2.expression.*;
+import org.h2.jdbc.*;
+import org.h2.result.*;
+import org.h2.table.*;
+import org.h2.value.*;
+import org.jetbrains.annotations.*;
+
+import java.lang.reflect.*;
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Splits fields query into map query executed on every node and reduce query executed over
+ * collected map results which are selected from {@link GridCacheQueries#MAP_RESULT_TABLE} table.
+ * Query is parsed and prepared by H2, then map and reduce queries are generated from prepared
+ * {@code SELECT}. Parts of prepared query not exposed by H2 are read by reflection, so splitter
+ * works only with H2 version it was verified with (see {@link #H2_VER}).
+ */
+class GridH2QuerySplitter {
+    /** Map result column name prefix. */
+    private static final String COL_PREFIX = "__C";
+
+    /** Suffix of map result column holding count for average. */
+    private static final String CNT_SUFFIX = "_CNT";
+
+    /** H2 version splitter is verified with (private fields and aggregate types are version specific). */
+    static final String H2_VER = "1.3.170";
+
+    /** Whether H2 version in runtime is the one splitter is verified with. */
+    private static final boolean H2_VER_MATCH = H2_VER.equals(Constants.getVersion());
+
+    /** Aggregate type (see {@code org.h2.expression.Aggregate}). */
+    private static final int SUM = 3;
+
+    /** Aggregate type. */
+    private static final int MIN = 4;
+
+    /** Aggregate type. */
+    private static final int MAX = 5;
+
+    /** Aggregate type. */
+    private static final int AVG = 6;
+
+    /**
+     * Ensure singleton.
+     */
+    private GridH2QuerySplitter() {
+        // No-op.
+    }
+
+    /**
+     * @param conn Connection.
+     * @param qry Query.
+     * @return Map query and reduce query.
+     * @throws GridSpiException If query can not be split.
+     */
+    static GridBiTuple<String, String> split(Connection conn, String qry) throws GridSpiException {
+        if (!H2_VER_MATCH)
+            throw new GridSpiException("Two-phase query is not supported with H2 version in classpath [expected=" +
+                H2_VER + ", actual=" + Constants.getVersion() + ", qry=" + qry + ']');
+
+        Session ses = (Session)((JdbcConnection)conn).getSession();
+
+        Prepared prepared = new Parser(ses).prepare(qry);
+
+        if (!(prepared instanceof Select))
+            throw new GridSpiException("Only single SELECT can be split into map and reduce queries: " + qry);
+
+        Select select = (Select)prepared;
+
+        if (GridH2QuerySplitter.<Boolean>field(select, Query.class, "distinct", qry))
+            throw new GridSpiException("DISTINCT is not supported by two-phase query: " + qry);
+
+        if (GridH2QuerySplitter.<Integer>field(select, Select.class, "havingIndex", qry) >= 0)
+            throw new GridSpiException("HAVING is not supported by two-phase query: " + qry);
+
+        List<Expression> exprs = select.getExpressions();
+
+        int visible = select.getColumnCount();
+
+        boolean grpQry = GridH2QuerySplitter.<Boolean>field(select, Select.class, "isGroupQuery", qry);
+
+        int[] grpIdx = field(select, Select.class, "groupIndex", qry);
+
+        boolean[] grpExpr = new boolean[exprs.size()];
+
+        if (grpIdx != null) {
+            for (int idx : grpIdx)
+                grpExpr[idx] = true;
+        }
+
+        SB map = new SB("SELECT ");
+
+        // Reduce expressions over map result columns for every select expression.
+        String[] rdcExprs = new String[exprs.size()];
+
+        boolean first = true;
+
+        for (int i = 0; i < exprs.size(); i++) {
+            Expression expr = exprs.get(i).getNonAliasExpression();
+
+            String col = COL_PREFIX + i;
+
+            if (!grpQry || grpExpr[i]) {
+                first = mapColumn(map, expr.getSQL(), col, first);
+
+                rdcExprs[i] = col;
+            }
+            else if (expr instanceof Aggregate) {
+                if (GridH2QuerySplitter.<Boolean>field(expr, Aggregate.class, "distinct", qry))
+                    throw new GridSpiException("DISTINCT aggregates are not supported by two-phase query: " + qry);
+
+                int type = field(expr, Aggregate.class, "type", qry);
+
+                Expression on = field(expr, Aggregate.class, "on", qry);
+
+                switch (type) {
+                    case Aggregate.COUNT_ALL:
+                        first = mapColumn(map, "COUNT(*)", col, first);
+
+                        rdcExprs[i] = cast("SUM(" + col + ')', expr.getType());
+
+                        break;
+
+                    case Aggregate.COUNT:
+                        first = mapColumn(map, "COUNT(" + on.getSQL() + ')', col, first);
+
+                        rdcExprs[i] = cast("SUM(" + col + ')', expr.getType());
+
+                        break;
+
+                    case SUM:
+                        first = mapColumn(map, "SUM(" + on.getSQL() + ')', col, first);
+
+                        rdcExprs[i] = cast("SUM(" + col + ')', expr.getType());
+
+                        break;
+
+                    case MIN:
+                        first = mapColumn(map, "MIN(" + on.getSQL() + ')', col, first);
+
+                        rdcExprs[i] = "MIN(" + col + ')';
+
+                        break;
+
+                    case MAX:
+                        first = mapColumn(map, "MAX(" + on.getSQL() + ')', col, first);
+
+                        rdcExprs[i] = "MAX(" + col + ')';
+
+                        break;
+
+                    case AVG:
+                        first = mapColumn(map, "SUM(" + on.getSQL() + ')', col, first);
+                        first = mapColumn(map, "COUNT(" + on.getSQL() + ')', col + CNT_SUFFIX, first);
+
+                        // Integer average is truncated the same way as by local query.
+                        rdcExprs[i] = isInteger(expr.getType()) ?
+                            cast("CAST(SUM(" + col + ") AS BIGINT) / CAST(SUM(" + col + CNT_SUFFIX + ") AS BIGINT)",
+                                expr.getType()) :
+                            cast("SUM(" + col + ") / SUM(" + col + CNT_SUFFIX + ')', expr.getType());
+
+                        break;
+
+                    default:
+                        throw new GridSpiException("Aggregate is not supported by two-phase query [aggregate=" +
+                            expr.getSQL() + ", qry=" + qry + ']');
+                }
+            }
+            else if (expr.isConstant())
+                rdcExprs[i] = expr.getSQL();
+            else
+                throw new GridSpiException("Select expression must be either GROUP BY expression or aggregate " +
+                    "for two-phase query [expr=" + expr.getSQL() + ", qry=" + qry + ']');
+        }
+
+        if (first)
+            map.a("COUNT(*) ").a(COL_PREFIX); // Only constants are selected.
+
+        map.a(" FROM ");
+
+        TableFilter f = select.getTopTableFilter();
+
+        for (int i = 0; f != null; f = f.getJoin(), i++) {
+            if (i > 0)
+                map.a(' ');
+
+            map.a(f.getPlanSQL(i > 0));
+        }
+
+        Expression cond = field(select, Select.class, "condition", qry);
+
+        if (cond != null)
+            map.a(" WHERE ").a(cond.getSQL());
+
+        SB rdc = new SB("SELECT ");
+
+        for (int i = 0; i < visible; i++) {
+            if (i > 0)
+                rdc.a(", ");
+
+            rdc.a(rdcExprs[i]).a(" AS \"").a(exprs.get(i).getAlias().replace("\"", "\"\"")).a('"');
+        }
+
+        rdc.a(" FROM ").a(GridCacheQueries.MAP_RESULT_TABLE);
+
+        if (!F.isEmpty(grpIdx)) {
+            map.a(" GROUP BY ");
+            rdc.a(" GROUP BY ");
+
+            for (int i = 0; i < grpIdx.length; i++) {
+                if (i > 0) {
+                    map.a(", ");
+                    rdc.a(", ");
+                }
+
+                map.a(exprs.get(grpIdx[i]).getNonAliasExpression().getSQL());
+                rdc.a(COL_PREFIX).a(grpIdx[i]);
+            }
+        }
+
+        SortOrder sort = field(select, Select.class, "sort", qry);
+
+        Expression limit = field(select, Query.class, "limitExpr", qry);
+        Expression off = field(select, Query.class, "offsetExpr", qry);
+
+        // Every node can return at most first (limit + offset) rows of query without aggregates.
+        long mapLimit = !grpQry && limit != null ? mapLimit(ses, limit, off, qry) : -1;
+
+        if (sort != null) {
+            rdc.a(" ORDER BY ");
+
+            // Map query must select the same first rows as the whole query.
+            if (mapLimit >= 0)
+                map.a(" ORDER BY ");
+
+            int[] idxs = sort.getIndexes();
+            int[] types = sort.getSortTypes();
+
+            for (int i = 0; i < idxs.length; i++) {
+                if (i > 0)
+                    rdc.a(", ");
+
+                int idx = idxs[i];
+
+                // Visible columns are referenced by position.
+                if (idx < visible)
+                    rdc.a(idx + 1);
+                else
+                    rdc.a(rdcExprs[idx]);
+
+                sortType(rdc, types[i]);
+
+                if (mapLimit >= 0) {
+                    if (i > 0)
+                        map.a(", ");
+
+                    // Without aggregates every select expression is mapped to column at the same position.
+                    map.a(idx + 1);
+
+                    sortType(map, types[i]);
+                }
+            }
+        }
+
+        if (mapLimit >= 0)
+            map.a(" LIMIT ").a(mapLimit);
+
+        if (limit != null)
+            rdc.a(" LIMIT ").a(constant(limit, qry));
+
+        if (off != null)
+            rdc.a(limit == null ? " LIMIT -1" : "").a(" OFFSET ").a(constant(off, qry));
+
+        return F.t(map.toString(), rdc.toString());
+    }
+
+    /**
+     * @param sb Query builder.
+     * @param type Sort type.
+     */
+    private static void sortType(SB sb, int type) {
+        if ((type & SortOrder.DESCENDING) != 0)
+            sb.a(" DESC");
+
+        if ((type & SortOrder.NULLS_FIRST) != 0)
+            sb.a(" NULLS FIRST");
+        else if ((type & SortOrder.NULLS_LAST) != 0)
+            sb.a(" NULLS LAST");
+    }
+
+    /**
+     * @param ses Session.
+     * @param limit Limit expression.
+     * @param off Offset expression.
+     * @param qry Query.
+     * @return Limit of map query or {@code -1} if query is unlimited.
+     * @throws GridSpiException If limit or offset is not constant.
+     */
+    private static long mapLimit(Session ses, Expression limit, @Nullable Expression off, String qry)
+        throws GridSpiException {
+        constant(limit, qry);
+
+        Value limVal = limit.getValue(ses);
+
+        // Null or negative limit means no limit in H2.
+        if (limVal == ValueNull.INSTANCE || limVal.getLong() < 0)
+            return -1;
+
+        long lim = limVal.getLong();
+
+        if (off != null) {
+            constant(off, qry);
+
+            Value offVal = off.getValue(ses);
+
+            if (offVal != ValueNull.INSTANCE)
+                lim += Math.max(0, offVal.getLong());
+        }
+
+        return lim;
+    }
+
+    /**
+     * @param map Map query builder.
+     * @param expr Column expression.
+     * @param col Column name.
+     * @param first Whether it is the first column.
+     * @return {@code False}.
+     */
+    private static boolean mapColumn(SB map, String expr, String col, boolean first) {
+        if (!first)
+            map.a(", ");
+
+        map.a(expr).a(" AS ").a(col);
+
+        return false;
+    }
+
+    /**
+     * @param expr Reduce expression.
+     * @param type Type of original expression.
+     * @return Expression converted to original type, so that reduce query returns the same types as local query.
+     */
+    private static String cast(String expr, int type) {
+        // Conversion to decimal without explicit precision and scale may change scale.
+        if (type == Value.DECIMAL)
+            return expr;
+
+        return "CAST(" + expr + " AS " + DataType.getDataType(type).name + ')';
+    }
+
+    /**
+     * @param type Type.
+     * @return {@code True} if type is integer.
+     */
+    private static boolean isInteger(int type) {
+        return type == Value.BYTE || type == Value.SHORT || type == Value.INT || type == Value.LONG;
+    }
+
+    /**
+     * @param expr Expression.
+     * @param qry Query.
+     * @return SQL of constant expression.
+     * @throws GridSpiException If expression is not constant.
+     */
+    private static String constant(Expression expr, String qry) throws GridSpiException {
+        if (!expr.isConstant())
+            throw new GridSpiException("LIMIT and OFFSET of two-phase query must be constants: " + qry);
+
+        return expr.getSQL();
+    }
+
+    /**
+     * Reads field which is not exposed by H2.
+     *
+     * @param obj Object.
+     * @param cls Class declaring field.
+     * @param name Field name.
+     * @param qry Query.
+     * @return Field value.
+     * @throws GridSpiException If failed.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T field(Object obj, Class<?> cls, String name, String qry) throws GridSpiException {
+        try {
+            Field f = cls.getDeclaredField(name);
+
+            f.setAccessible(true);
+
+            return (T)f.get(obj);
+        }
+        catch (ReflectiveOperationException e) {
+            throw new GridSpiException("Failed to split query (incompatible H2 version) [field=" +
+                cls.getSimpleName() + '.' + name + ", qry=" + qry + ']', e);
+        }
+    }
+}
@@ -0,0 +1,414 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.spi.indexing.h2.opt;
+
+import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.offheap.unsafe.*;
+import org.h2.engine.*;
+import org.h2.index.*;
+import org.h2.message.*;
+import org.h2.result.*;
+import org.h2.table.*;
+import org.h2.value.*;
+import org.jetbrains.annotations.*;
+
+import java.math.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Concurrent on-heap hash index. Supports only equality lookups on all index columns,
+ * but does not pay for comparisons and tree node allocations on updates.
+ * <p>
+ * Note that hash index does not participate in table snapshots, so equality lookups
+ * through this index observe concurrent updates.
+ */
+public class GridH2HashIndex extends GridH2IndexBase {
+    /** Rows grouped by index columns values. */
+    private final ConcurrentMap<Object, Bucket> map = new ConcurrentHashMap8<>();
+
+    /** */
+    private final AtomicLong size = new AtomicLong();
+
+    /** */
+    private final int[] colIds;
+
+    /**
+     * @param name Index name.
+     * @param tbl Table.
+     * @param unique If this index unique.
+     * @param keyCol Primary key column index.
+     * @param valCol Value column index.
+     * @param cols Index columns list.
+     */
+    public GridH2HashIndex(String name, GridH2Table tbl, boolean unique, int keyCol, int valCol,
+        IndexColumn... cols) {
+        super(keyCol, valCol);
+
+        IndexColumn.mapColumns(cols, tbl);
+
+        initBaseIndex(tbl, 0, name, cols,
+            unique ? IndexType.createUnique(false, true) : IndexType.createNonUnique(false, true));
+
+        colIds = new int[cols.length];
+
+        for (int i = 0; i < cols.length; i++)
+            colIds[i] = cols[i].column.getColumnId();
+    }
+
+    /**
+     * Gets hash key for given row.
+     *
+     * @param row Row.
+     * @return Hash key.
+     */
+    private Object hashKey(SearchRow row) {
+        if (colIds.length == 1)
+            return hashValue(row, 0);
+
+        Value[] vals = new Value[colIds.length];
+
+        for (int i = 0; i < colIds.length; i++)
+            vals[i] = hashValue(row, i);
+
+        return new ValuesKey(vals);
+    }
+
+    /**
+     * Gets value of index column converted to column type, so that search values of other types
+     * (e.g. INT parameter for BIGINT column) find the same rows as comparison in tree index.
+     *
+     * @param row Row.
+     * @param i Index column number.
+     * @return Value.
+     */
+    private Value hashValue(SearchRow row, int i) {
+        Value v = row.getValue(colIds[i]);
+
+        if (v == null)
+            return ValueNull.INSTANCE;
+
+        v = v.convertTo(columns[i].getType());
+
+        // Decimals which are equal by value may have different scale.
+        if (v.getType() == Value.DECIMAL) {
+            BigDecimal dec = v.getBigDecimal();
+
+            v = ValueDecimal.get(dec.signum() == 0 ? BigDecimal.ZERO : dec.stripTrailingZeros());
+        }
+
+        return v;
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridH2Row put(GridH2Row row, boolean ifAbsent) {
+        Object key = hashKey(row);
+
+        for (;;) {
+            Bucket b = map.get(key);
+
+            if (b == null) {
+                Bucket old = map.putIfAbsent(key, b = new Bucket(row));
+
+                if (old == null) {
+                    size.incrementAndGet();
+
+                    return null;
+                }
+
+                b = old;
+            }
+
+            synchronized (b) {
+                if (b.removed)
+                    continue; // Bucket was concurrently removed from map, retry.
+
+                GridH2Row res = b.put(row, ifAbsent);
+
+                if (res == null)
+                    size.incrementAndGet();
+
+                return res;
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridH2Row remove(SearchRow row) {
+        Object key = hashKey(row);
+
+        Bucket b = map.get(key);
+
+        if (b == null)
+            return null;
+
+        synchronized (b) {
+            if (b.removed)
+                return null;
+
+            GridH2Row res = b.remove(row);
+
+            if (res != null) {
+                size.decrementAndGet();
+
+                if (b.rows.length == 0) {
+                    b.removed = true;
+
+                    map.remove(key, b);
+                }
+            }
+
+            return res;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public ConcurrentNavigableMap<SearchRow, GridH2Row> takeSnapshot(
+        @Nullable ConcurrentNavigableMap s) {
+        return null; // Snapshots are not supported.
+    }
+
+    /** {@inheritDoc} */
+    @Override public void releaseSnapshot() {
+        // No-op.
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        map.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close(Session ses) {
+        // No-op.
+    }
+
+    /** {@inheritDoc} */
+    @Override public double getCost(Session ses, int[] masks) {
+        if (masks == null)
+            return Long.MAX_VALUE;
+
+        for (int colId : colIds) {
+            if ((masks[colId] & IndexCondition.EQUALITY) != IndexCondition.EQUALITY)
+                return Long.MAX_VALUE;
+        }
+
+        return 2;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Cursor find(Session ses, @Nullable SearchRow first, @Nullable SearchRow last) {
+        if (first == null || last == null)
+            throw DbException.throwInternalError();
+
+        Bucket b = map.get(hashKey(first));
+
+        if (b == null)
+            return new GridH2Cursor(new GridEmptyIterator<GridH2Row>());
+
+        return new GridH2Cursor(filter(Arrays.asList(b.rows).iterator()));
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean canFindNext() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Cursor findNext(Session ses, SearchRow higherThan, SearchRow last) {
+        throw DbException.getUnsupportedException("findNext");
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean canGetFirstOrLast() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Cursor findFirstOrLast(Session ses, boolean first) {
+        throw DbException.getUnsupportedException("findFirstOrLast");
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean canScan() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getRowCount(@Nullable Session ses) {
+        return size.get();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getRowCountApproximation() {
+        return size.get();
+    }
+
+    /** {@inheritDoc} */
+    @Override GridH2HashIndex createCopy(GridUnsafeMemory memory) throws InterruptedException {
+        GridH2HashIndex idx = new GridH2HashIndex(getName(), (GridH2Table)getTable(), getIndexType().isUnique(),
+            keyCol, valCol, getIndexColumns());
+
+        Thread thread = Thread.currentThread();
+
+        long i = 0;
+
+        for (Bucket b : map.values()) {
+            for (GridH2Row row : b.rows) {
+                // Check for interruptions every 1000 iterations.
+                if (++i % 1000 == 0 && thread.isInterrupted())
+                    throw new InterruptedException();
+
+                idx.put(row, false);
+            }
+        }
+
+        return idx;
+    }
+
+    /**
+     * Rows having the same values of index columns. Modifications are made under bucket monitor,
+     * rows array is never modified in place, so it can be read without synchronization.
+     */
+    private class Bucket {
+        /** */
+        private volatile GridH2Row[] rows;
+
+        /** Whether bucket was removed from map. */
+        private boolean removed;
+
+        /**
+         * @param row First row.
+         */
+        private Bucket(GridH2Row row) {
+            rows = new GridH2Row[] {row};
+        }
+
+        /**
+         * @param row Row.
+         * @return Index of row with the same primary key or {@code -1} if not found.
+         */
+        private int indexOf(SearchRow row) {
+            Value key = row.getValue(keyCol);
+
+            GridH2Row[] rows = this.rows;
+
+            for (int i = 0; i < rows.length; i++) {
+                if (key.equals(rows[i].getValue(keyCol)))
+                    return i;
+            }
+
+            return -1;
+        }
+
+        /**
+         * @param row Row.
+         * @param ifAbsent Put only if such a row does not exist.
+         * @return Existing row or {@code null}.
+         */
+        private GridH2Row put(GridH2Row row, boolean ifAbsent) {
+            GridH2Row[] rows = this.rows;
+
+            // Unique index bucket contains at most one row which conflicts with any other.
+            int idx = getIndexType().isUnique() ? (rows.length == 0 ? -1 : 0) : indexOf(row);
+
+            if (idx == -1) {
+                GridH2Row[] res = Arrays.copyOf(rows, rows.length + 1);
+
+                res[rows.length] = row;
+
+                this.rows = res;
+
+                return null;
+            }
+
+            GridH2Row old = rows[idx];
+
+            if (!ifAbsent) {
+                GridH2Row[] res = rows.clone();
+
+                res[idx] = row;
+
+                this.rows = res;
+            }
+
+            return old;
+        }
+
+        /**
+         * @param row Row.
+         * @return Removed row or {@code null}.
+         */
+        @Nullable private GridH2Row remove(SearchRow row) {
+            int idx = indexOf(row);
+
+            if (idx == -1)
+                return null;
+
+            GridH2Row[] rows = this.rows;
+
+            GridH2Row old = rows[idx];
+
+            GridH2Row[] res = new GridH2Row[rows.length - 1];
+
+            System.arraycopy(rows, 0, res, 0, idx);
+            System.arraycopy(rows, idx + 1, res, idx, res.length - idx);
+
+            this.rows = res;
+
+            return old;
+        }
+    }
+
+    /**
+     * Hash key for multi-column index.
+     */
+    private static class ValuesKey {
+        /** */
+        private final Value[] vals;
+
+        /** */
+        private final int hash;
+
+        /**
+         * @param vals Values.
+         */
+        private ValuesKey(Value[] vals) {
+            this.vals = vals;
+
+            hash = Arrays.hashCode(vals);
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean equals(Object o) {
+            return o == this || (o instanceof ValuesKey && Arrays.equals(vals, ((ValuesKey)o).vals));
+        }
+
+        /** {@inheritDoc} */
+        @Override public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -24,14 +24,11 @@
 package org.gridgain.grid.spi.indexing.h2.opt;
 
 import edu.stanford.ppl.concurrent.*;
-import org.gridgain.grid.spi.indexing.*;
 import org.gridgain.grid.util.*;
-import org.gridgain.grid.util.typedef.*;
 import org.gridgain.grid.util.typedef.internal.*;
 import org.gridgain.grid.util.offheap.unsafe.*;
 import org.h2.engine.*;
 import org.h2.index.*;
-import org.h2.message.*;
 import org.h2.result.*;
 import org.h2.table.*;
 import org.h2.value.*;
@@ -45,11 +42,7 @@ import java.util.concurrent.*;
  * Base class for snapshotable tree indexes.
  */
 @SuppressWarnings("ComparatorNotSerializable")
-public class GridH2Index extends BaseIndex implements Comparator<GridSearchRowPointer> {
-    /** */
-    private static final ThreadLocal<GridIndexingQueryFilter<?, ?>[]> filters =
-        new ThreadLocal<>();
-
+public class GridH2Index extends GridH2IndexBase implements Comparator<GridSearchRowPointer> {
     /** */
     protected final ConcurrentNavigableMap<GridSearchRowPointer, GridH2Row> tree;
 
@@ -57,12 +50,6 @@ public class GridH2Index extends BaseIndex implements Comparator<GridSearchRowPo
     private ThreadLocal<ConcurrentNavigableMap<GridSearchRowPointer, GridH2Row>> snapshot =
         new ThreadLocal<>();
 
-    /** */
-    protected final int keyCol;
-
-    /** */
-    protected final int valCol;
-
     /**
      * Constructor with index initialization.
      *
@@ -77,6 +64,8 @@ public class GridH2Index extends BaseIndex implements Comparator<GridSearchRowPo
     @SuppressWarnings("unchecked")
     public GridH2Index(String name, GridH2Table tbl, boolean unique, int keyCol, int valCol,
         final GridUnsafeMemory memory, IndexColumn... cols) {
+        super(keyCol, valCol);
+
         if (!unique) {
             // For non unique index we add primary key at the end to avoid conflicts.
             cols = Arrays.copyOf(cols, cols.length + 1);
@@ -89,9 +78,6 @@ public class GridH2Index extends BaseIndex implements Comparator<GridSearchRowPo
         initBaseIndex(tbl, 0, name, cols,
             unique ? IndexType.createUnique(false, false) : IndexType.createNonUnique(false, false));
 
-        this.keyCol = keyCol;
-        this.valCol = valCol;
-
         final GridH2RowDescriptor desc = tbl.rowDescriptor();
 
         tree = memory == null ? new SnapTreeMap<GridSearchRowPointer, GridH2Row>(this) {
@@ -130,31 +116,15 @@ public class GridH2Index extends BaseIndex implements Comparator<GridSearchRowPo
         };
     }
 
-    /**
-     * Closes index and releases resources.
-     */
-    public void close() {
+    /** {@inheritDoc} */
+    @Override public void close() {
         if (tree instanceof Closeable)
             U.closeQuiet((Closeable)tree);
     }
 
-    /**
-     * Sets key filters for current thread.
-     *
-     * @param fs Filters.
-     */
-    public static void setFiltersForThread(GridIndexingQueryFilter<?, ?>[] fs) {
-        filters.set(fs);
-    }
-
-    /**
-     * Takes snapshot to be used in current thread. If argument is null it will be taken from current trees.
-     *
-     * @param s Map to be used as snapshot if not null.
-     * @return Taken snapshot or given argument back.
-     */
+    /** {@inheritDoc} */
     @SuppressWarnings("unchecked")
-    public ConcurrentNavigableMap<SearchRow, GridH2Row> takeSnapshot(@Nullable ConcurrentNavigableMap s) {
+    @Override public ConcurrentNavigableMap<SearchRow, GridH2Row> takeSnapshot(@Nullable ConcurrentNavigableMap s) {
         assert snapshot.get() == null;
 
         if (s == null)
@@ -166,10 +136,8 @@ public class GridH2Index extends BaseIndex implements Comparator<GridSearchRowPo
         return s;
     }
 
-    /**
-     * Releases snapshot for current thread.
-     */
-    public void releaseSnapshot() {
+    /** {@inheritDoc} */
+    @Override public void releaseSnapshot() {
         ConcurrentNavigableMap<GridSearchRowPointer, GridH2Row> s = snapshot.get();
 
         snapshot.remove();
@@ -190,41 +158,11 @@ public class GridH2Index extends BaseIndex implements Comparator<GridSearchRowPo
         return res;
     }
 
-    /** {@inheritDoc} */
-    @Override public void checkRename() {
-        throw DbException.getUnsupportedException("rename");
-    }
-
     /** {@inheritDoc} */
     @Override public void close(Session ses) {
         assert snapshot.get() == null;
     }
 
-    /** {@inheritDoc} */
-    @Override public void add(Session ses, Row row) {
-        throw DbException.getUnsupportedException("add");
-    }
-
-    /** {@inheritDoc} */
-    @Override public void remove(Session ses, Row row) {
-        throw DbException.getUnsupportedException("remove row");
-    }
-
-    /** {@inheritDoc} */
-    @Override public void remove(Session ses) {
-        throw DbException.getUnsupportedException("remove index");
-    }
-
-    /** {@inheritDoc} */
-    @Override public void truncate(Session ses) {
-        throw DbException.getUnsupportedException("truncate");
-    }
-
-    /** {@inheritDoc} */
-    @Override public boolean needRebuild() {
-        return false;
-    }
-
     /** {@inheritDoc} */
     @Override public long getRowCount(@Nullable Session ses) {
         Iterator<GridH2Row> iter = doFind(null, false, null);
@@ -251,26 +189,6 @@ public class GridH2Index extends BaseIndex implements Comparator<GridSearchRowPo
         return -compareRows(r2, r1);
     }
 
-    /** {@inheritDoc} */
-    @Override public String toString() {
-        SB sb = new SB((indexType.isUnique() ? "Unique index '" : "Index '") + getName() + "' [");
-
-        boolean first = true;
-
-        for (IndexColumn col : getIndexColumns()) {
-            if (first)
-                first = false;
-            else
-                sb.a(", ");
-
-            sb.a(col.getSQL());
-        }
-
-        sb.a(" ]");
-
-        return sb.toString();
-    }
-
     /** {@inheritDoc} */
     @Override public double getCost(Session ses, int[] masks) {
         return getCostRangeIndex(masks, getRowCountApproximation());
@@ -342,16 +260,6 @@ public class GridH2Index extends BaseIndex implements Comparator<GridSearchRowPo
         return new ComparableRow(row, bias);
     }
 
-    /**
-     * Filters rows from expired ones and using predicate.
-     *
-     * @param iter Iterator over rows.
-     * @return Filtered iterator.
-     */
-    private Iterator<GridH2Row> filter(Iterator<GridH2Row> iter) {
-        return new FilteringIterator(iter, U.currentTimeMillis());
-    }
-
     /**
      * Takes sup-map from given one.
      *
@@ -416,122 +324,15 @@ public class GridH2Index extends BaseIndex implements Comparator<GridSearchRowPo
         return new SingleRowCursor((Row)res);
     }
 
-    /**
-     * Put row if absent.
-     *
-     * @param row Row.
-     * @param ifAbsent Put only if such a row does not exist.
-     * @return Existing row or null.
-     */
-    public GridH2Row put(GridH2Row row, boolean ifAbsent) {
+    /** {@inheritDoc} */
+    @Override public GridH2Row put(GridH2Row row, boolean ifAbsent) {
         return ifAbsent ? tree.putIfAbsent(row, row) : tree.put(row, row);
     }
 
-    /**
-     * Remove row from index.
-     *
-     * @param row Row.
-     * @return Removed row.
-     */
-    public GridH2Row remove(SearchRow row) {
+    /** {@inheritDoc} */
+    @Override public GridH2Row remove(SearchRow row) {
         return tree.remove(comparable(row, 0));
     }
-    /**
-     * Iterator which filters by expiration time and predicate.
-     */
-    private class FilteringIterator implements Iterator<GridH2Row> {
-        /** */
-        private final Iterator<GridH2Row> iter;
-
-        /** */
-        private final GridIndexingQueryFilter<?, ?>[] fs = filters.get();
-
-        /** */
-        private final long time;
-
-        /** */
-        private GridH2Row curr;
-
-        /**
-         * @param iter Iterator.
-         * @param time Time for expired rows filtering.
-         */
-        private FilteringIterator(Iterator<GridH2Row> iter, long time) {
-            this.iter = iter;
-            this.time = time;
-
-            moveNext();
-        }
-
-        /**
-         * Get next row.
-         */
-        private void moveNext() {
-            curr = null;
-
-            while (iter.hasNext()) {
-                GridH2Row row = iter.next();
-
-                if (accept(row)) {
-                    curr = row;
-
-                    break;
-                }
-            }
-        }
-
-        /**
-         * @param row Row.
-         * @return If this row was accepted.
-         */
-        @SuppressWarnings("unchecked")
-        private boolean accept(SearchRow row) {
-            if (row instanceof GridH2AbstractKeyValueRow) {
-                if (((GridH2AbstractKeyValueRow) row).expirationTime() <= time)
-                    return false;
-            }
-
-            if (F.isEmpty(fs))
-                return true;
-
-            String spaceName = ((GridH2Table)getTable()).spaceName();
-
-            Object key = row.getValue(keyCol).getObject();
-            Object val = row.getValue(valCol).getObject();
-
-            assert key != null;
-            assert val != null;
-
-            for (GridIndexingQueryFilter f : fs) {
-                if (f != null && !f.apply(spaceName, key, val))
-                    return false;
-            }
-
-            return true;
-        }
-
-        /** {@inheritDoc} */
-        @Override public boolean hasNext() {
-            return curr != null;
-        }
-
-        /** {@inheritDoc} */
-        @Override public GridH2Row next() {
-            if (!hasNext())
-                throw new NoSuchElementException();
-
-            GridH2Row res = curr;
-
-            moveNext();
-
-            return res;
-        }
-
-        /** {@inheritDoc} */
-        @Override public void remove() {
-            throw new UnsupportedOperationException();
-        }
-    }
 
     /**
      * Comparable row with bias. Will be used for queries to have correct bounds (in case of multicolumn index
@@ -624,14 +425,8 @@ public class GridH2Index extends BaseIndex implements Comparator<GridSearchRowPo
         }
     }
 
-    /**
-     * Creates copy of this index.
-     *
-     * @param memory Memory.
-     * @return New index instance.
-     * @throws InterruptedException If copy operation was interrupted.
-     */
-    GridH2Index createCopy(GridUnsafeMemory memory) throws InterruptedException {
+    /** {@inheritDoc} */
+    @Override GridH2Index createCopy(GridUnsafeMemory memory) throws InterruptedException {
         IndexColumn[] cols = getIndexColumns();
 
         if (!getIndexType().isUnique())
@@ -0,0 +1,273 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.spi.indexing.h2.opt;
+
+import org.gridgain.grid.spi.indexing.*;
+import org.gridgain.grid.util.offheap.unsafe.*;
+import org.gridgain.grid.util.typedef.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import org.h2.engine.*;
+import org.h2.index.*;
+import org.h2.message.*;
+import org.h2.result.*;
+import org.h2.table.*;
+import org.jetbrains.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Base class for all indexes of {@link GridH2Table}.
+ */
+public abstract class GridH2IndexBase extends BaseIndex {
+    /** */
+    private static final ThreadLocal<GridIndexingQueryFilter<?, ?>[]> filters =
+        new ThreadLocal<>();
+
+    /** */
+    protected final int keyCol;
+
+    /** */
+    protected final int valCol;
+
+    /**
+     * @param keyCol Primary key column index.
+     * @param valCol Value column index.
+     */
+    protected GridH2IndexBase(int keyCol, int valCol) {
+        this.keyCol = keyCol;
+        this.valCol = valCol;
+    }
+
+    /**
+     * Sets key filters for current thread.
+     *
+     * @param fs Filters.
+     */
+    public static void setFiltersForThread(GridIndexingQueryFilter<?, ?>[] fs) {
+        filters.set(fs);
+    }
+
+    /**
+     * Closes index and releases resources.
+     */
+    public abstract void close();
+
+    /**
+     * Takes snapshot to be used in current thread. If argument is null it will be taken from current index.
+     *
+     * @param s Map to be used as snapshot if not null.
+     * @return Taken snapshot or given argument back, {@code null} if index does not support snapshots.
+     */
+    @Nullable public abstract ConcurrentNavigableMap<SearchRow, GridH2Row> takeSnapshot(
+        @Nullable ConcurrentNavigableMap s);
+
+    /**
+     * Releases snapshot for current thread.
+     */
+    public abstract void releaseSnapshot();
+
+    /**
+     * Put row if absent.
+     *
+     * @param row Row.
+     * @param ifAbsent Put only if such a row does not exist.
+     * @return Existing row or null.
+     */
+    public abstract GridH2Row put(GridH2Row row, boolean ifAbsent);
+
+    /**
+     * Remove row from index.
+     *
+     * @param row Row.
+     * @return Removed row.
+     */
+    public abstract GridH2Row remove(SearchRow row);
+
+    /**
+     * Creates copy of this index.
+     *
+     * @param memory Memory.
+     * @return New index instance.
+     * @throws InterruptedException If copy operation was interrupted.
+     */
+    abstract GridH2IndexBase createCopy(GridUnsafeMemory memory) throws InterruptedException;
+
+    /** {@inheritDoc} */
+    @Override public void checkRename() {
+        throw DbException.getUnsupportedException("rename");
+    }
+
+    /** {@inheritDoc} */
+    @Override public void add(Session ses, Row row) {
+        throw DbException.getUnsupportedException("add");
+    }
+
+    /** {@inheritDoc} */
+    @Override public void remove(Session ses, Row row) {
+        throw DbException.getUnsupportedException("remove row");
+    }
+
+    /** {@inheritDoc} */
+    @Override public void remove(Session ses) {
+        throw DbException.getUnsupportedException("remove index");
+    }
+
+    /** {@inheritDoc} */
+    @Override public void truncate(Session ses) {
+        throw DbException.getUnsupportedException("truncate");
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean needRebuild() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        SB sb = new SB((indexType.isUnique() ? "Unique index '" : "Index '") + getName() + "' [");
+
+        boolean first = true;
+
+        for (IndexColumn col : getIndexColumns()) {
+            if (first)
+                first = false;
+            else
+                sb.a(", ");
+
+            sb.a(col.getSQL());
+        }
+
+        sb.a(" ]");
+
+        return sb.toString();
+    }
+
+    /**
+     * Filters rows from expired ones and using predicate.
+     *
+     * @param iter Iterator over rows.
+     * @return Filtered iterator.
+     */
+    protected Iterator<GridH2Row> filter(Iterator<GridH2Row> iter) {
+        return new FilteringIterator(iter, U.currentTimeMillis());
+    }
+
+    /**
+     * Iterator which filters by expiration time and predicate.
+     */
+    private class FilteringIterator implements Iterator<GridH2Row> {
+        /** */
+        private final Iterator<GridH2Row> iter;
+
+        /** */
+        private final GridIndexingQueryFilter<?, ?>[] fs = filters.get();
+
+        /** */
+        private final long time;
+
+        /** */
+        private GridH2Row curr;
+
+        /**
+         * @param iter Iterator.
+         * @param time Time for expired rows filtering.
+         */
+        private FilteringIterator(Iterator<GridH2Row> iter, long time) {
+            this.iter = iter;
+            this.time = time;
+
+            moveNext();
+        }
+
+        /**
+         * Get next row.
+         */
+        private void moveNext() {
+            curr = null;
+
+            while (iter.hasNext()) {
+                GridH2Row row = iter.next();
+
+                if (accept(row)) {
+                    curr = row;
+
+                    break;
+                }
+            }
+        }
+
+        /**
+         * @param row Row.
+         * @return If this row was accepted.
+         */
+        @SuppressWarnings("unchecked")
+        private boolean accept(SearchRow row) {
+            if (row instanceof GridH2AbstractKeyValueRow) {
+                if (((GridH2AbstractKeyValueRow) row).expirationTime() <= time)
+                    return false;
+            }
+
+            if (F.isEmpty(fs))
+                return true;
+
+            String spaceName = ((GridH2Table)getTable()).spaceName();
+
+            Object key = row.getValue(keyCol).getObject();
+            Object val = row.getValue(valCol).getObject();
+
+            assert key != null;
+            assert val != null;
+
+            for (GridIndexingQueryFilter f : fs) {
+                if (f != null && !f.apply(spaceName, key, val))
+                    return false;
+            }
+
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean hasNext() {
+            return curr != null;
+        }
+
+        /** {@inheritDoc} */
+        @Override public GridH2Row next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            GridH2Row res = curr;
+
+            moveNext();
+
+            return res;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -28,6 +28,7 @@ import org.gridgain.grid.*;
 import org.gridgain.grid.util.*;
 import org.gridgain.grid.spi.*;
 import org.gridgain.grid.util.offheap.unsafe.*;
+import org.gridgain.grid.util.typedef.internal.*;
 import org.h2.api.*;
 import org.h2.command.ddl.*;
 import org.h2.engine.*;
@@ -56,8 +57,8 @@ public class GridH2Table extends TableBase {
     /** */
     private final ArrayList<Index> idxs;
 
-    /** */
-    private final ReadWriteLock lock;
+    /** Striped lock: updates take read lock of own stripe, snapshots take write locks of all stripes. */
+    private final GridStripedReadWriteLock lock;
 
     /** */
     private final boolean manyUniqueIdxs;
@@ -97,7 +98,7 @@ public class GridH2Table extends TableBase {
         assert idxs != null;
         assert idxs.size() >= 1;
 
-        lock =  new ReentrantReadWriteLock();
+        lock = new GridStripedReadWriteLock(Runtime.getRuntime().availableProcessors());
 
         if (idxs.size() > 1) {
             int uniqueIndexesCnt = 0;
@@ -163,13 +164,15 @@ public class GridH2Table extends TableBase {
     private boolean onSwapUnswap(Object key, @Nullable Object val) throws GridException {
         assert key != null;
 
-        GridH2Index pk = index(1);
+        GridH2Index pk = (GridH2Index)index(1);
 
         GridH2AbstractKeyValueRow row = desc.createRow(key, null, 0); // Create search row.
 
         GridUnsafeMemory mem = desc.memory();
 
-        lock.readLock().lock();
+        Lock l = readLock();
+
+        l.lock();
 
         GridUnsafeMemory.Operation op = mem == null ? null : mem.begin(); // Begin concurrent unsafe memory operation.
 
@@ -187,13 +190,71 @@ public class GridH2Table extends TableBase {
             return true;
         }
         finally {
-            lock.readLock().unlock();
+            l.unlock();
 
             if (mem != null)
                 mem.end(op);
         }
     }
 
+    /**
+     * @return Read lock of the stripe assigned to current thread.
+     */
+    private Lock readLock() {
+        return lock.getLock(Thread.currentThread().getId()).readLock();
+    }
+
+    /**
+     * Acquires write locks of all stripes.
+     */
+    private void writeLockAll() {
+        for (ReadWriteLock l : lock.getAllLocks())
+            l.writeLock().lock();
+    }
+
+    /**
+     * Tries to acquire write locks of all stripes within given time.
+     *
+     * @param waitTime Wait time in milliseconds.
+     * @return {@code True} if all locks were acquired, {@code false} if none of them is held.
+     * @throws InterruptedException If interrupted.
+     */
+    private boolean tryWriteLockAll(long waitTime) throws InterruptedException {
+        ReadWriteLock[] locks = lock.getAllLocks();
+
+        long end = U.currentTimeMillis() + waitTime;
+
+        for (int i = 0; i < locks.length; i++) {
+            boolean locked = false;
+
+            try {
+                locked = locks[i].writeLock().tryLock(Math.max(end - U.currentTimeMillis(), 0),
+                    TimeUnit.MILLISECONDS);
+            }
+            finally {
+                if (!locked) {
+                    for (int j = i - 1; j >= 0; j--)
+                        locks[j].writeLock().unlock();
+                }
+            }
+
+            if (!locked)
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Releases write locks of all stripes.
+     */
+    private void writeUnlockAll() {
+        ReadWriteLock[] locks = lock.getAllLocks();
+
+        for (int i = locks.length - 1; i >= 0; i--)
+            locks[i].writeLock().unlock();
+    }
+
     /**
      * @return Space name.
      */
@@ -227,7 +288,7 @@ public class GridH2Table extends TableBase {
             }
 
             try {
-                if (lock.writeLock().tryLock(waitTime, TimeUnit.MILLISECONDS))
+                if (tryWriteLockAll(waitTime))
                     break;
             }
             catch (InterruptedException e) {
@@ -250,7 +311,7 @@ public class GridH2Table extends TableBase {
             }
         }
         finally {
-            lock.writeLock().unlock();
+            writeUnlockAll();
         }
 
         if (!snapshoted) {
@@ -281,7 +342,7 @@ public class GridH2Table extends TableBase {
             if (i == 1)
                 size = s.size();
             else
-                assert size == s.size();
+                assert s == null || size == s.size(); // Hash indexes do not support snapshots.
         }
 
         return snapshot;
@@ -308,16 +369,14 @@ public class GridH2Table extends TableBase {
      * Closes table and releases resources.
      */
     public void close() {
-        Lock l = lock.writeLock();
-
-        l.lock();
+        writeLockAll();
 
         try {
             for (int i = 1, len = idxs.size(); i < len; i++)
                 index(i).close();
         }
         finally {
-            l.unlock();
+            writeUnlockAll();
         }
     }
 
@@ -343,8 +402,8 @@ public class GridH2Table extends TableBase {
      * @param idx Index in list.
      * @return Index.
      */
-    private GridH2Index index(int idx) {
-        return (GridH2Index)idxs.get(idx);
+    private GridH2IndexBase index(int idx) {
+        return (GridH2IndexBase)idxs.get(idx);
     }
 
     /**
@@ -361,7 +420,9 @@ public class GridH2Table extends TableBase {
         // getting updated from different threads with different rows with the same key is impossible.
         GridUnsafeMemory mem = desc == null ? null : desc.memory();
 
-        lock.readLock().lock();
+        Lock l = readLock();
+
+        l.lock();
 
         GridUnsafeMemory.Operation op = null;
 
@@ -369,7 +430,7 @@ public class GridH2Table extends TableBase {
             op = mem.begin();
 
         try {
-            GridH2Index pk = index(1);
+            GridH2IndexBase pk = index(1);
 
             if (!del) {
                 GridH2Row old = pk.put(row, false); // Put to PK.
@@ -391,7 +452,7 @@ public class GridH2Table extends TableBase {
                     // Put row if absent to all indexes sequentially.
                     // Start from 2 because 0 - Scan (don't need to update), 1 - PK (already updated).
                     while (++i < len) {
-                        GridH2Index idx = index(i);
+                        GridH2IndexBase idx = index(i);
 
                         // For non-unique index we just do put.
                         boolean ifAbsent = idx.getIndexType().isUnique();
@@ -471,13 +532,15 @@ public class GridH2Table extends TableBase {
                     return false;
             }
 
-            // The snapshot is not actual after update.
-            actualSnapshot = null;
+            // The snapshot is not actual after update. Snapshot can only be published under write locks,
+            // so check before write to avoid contended volatile writes on every update.
+            if (actualSnapshot != null)
+                actualSnapshot = null;
 
             return true;
         }
         finally {
-            lock.readLock().unlock();
+            l.unlock();
 
             if (mem != null)
                 mem.end(op);
@@ -501,8 +564,8 @@ public class GridH2Table extends TableBase {
      *
      * @return Indexes.
      */
-    ArrayList<GridH2Index> indexes() {
-        ArrayList<GridH2Index> res = new ArrayList<>(idxs.size() - 1);
+    ArrayList<GridH2IndexBase> indexes() {
+        ArrayList<GridH2IndexBase> res = new ArrayList<>(idxs.size() - 1);
 
         for (int i = 1, len = idxs.size(); i < len ; i++)
             res.add(index(i));
@@ -516,26 +579,26 @@ public class GridH2Table extends TableBase {
     public void rebuildIndexes() {
         GridUnsafeMemory memory = desc == null ? null : desc.memory();
 
-        lock.writeLock().lock();
+        writeLockAll();
 
         try {
             if (memory == null && actualSnapshot == null)
                 actualSnapshot = takeIndexesSnapshot(); // Allow read access while we are rebuilding indexes.
 
             for (int i = 1, len = idxs.size(); i < len; i++) {
-                GridH2Index newIdx = index(i).createCopy(memory);
+                GridH2IndexBase newIdx = index(i).createCopy(memory);
 
                 idxs.set(i, newIdx);
 
                 if (i == 1) // ScanIndex at 0 and actualSnapshot can contain references to old indexes, reset them.
-                    idxs.set(0, new ScanIndex(newIdx));
+                    idxs.set(0, new ScanIndex((GridH2Index)newIdx));
             }
         }
         catch (InterruptedException ignored) {
             // No-op.
         }
         finally {
-            lock.writeLock().unlock();
+            writeUnlockAll();
 
             actualSnapshot = null;
         }
@@ -715,7 +778,7 @@ public class GridH2Table extends TableBase {
         /**
          * Create list of indexes. First must be primary key, after that all unique indexes and
          * only then non-unique indexes.
-         * All indexes must be subtypes of {@link GridH2Index}.
+         * All indexes must be subtypes of {@link GridH2IndexBase}, primary key index must be {@link GridH2Index}.
          *
          * @param tbl Table to create indexes for.
          * @return List of indexes.
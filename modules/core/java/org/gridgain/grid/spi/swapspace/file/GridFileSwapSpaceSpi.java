@@ -31,9 +31,12 @@ import org.gridgain.grid.resources.*;
 import org.gridgain.grid.spi.*;
 import org.gridgain.grid.spi.swapspace.*;
 import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.lang.*;
+import org.gridgain.grid.util.offheap.*;
 import org.gridgain.grid.util.typedef.*;
 import org.gridgain.grid.util.typedef.internal.*;
 import org.jetbrains.annotations.*;
+import sun.nio.ch.*;
 
 import java.io.*;
 import java.nio.*;
@@ -67,7 +70,26 @@ import static org.gridgain.grid.events.GridEventType.*;
  *     <li>Write buffer size in bytes (see {@link #setWriteBufferSize(int)}).</li>
  *     <li>Max write queue size in bytes (see {@link #setMaxWriteQueueSize(int)}).</li>
  *     <li>Read stripes number. (see {@link #setReadStripesNumber(int)}).</li>
+ *     <li>Persistent mode flag (see {@link #setPersistent(boolean)}).</li>
+ *     <li>Memory mapped reads flag (see {@link #setMemoryMappedReads(boolean)}).</li>
  * </ul>
+ * <h2 class="header">Persistent Mode</h2>
+ * By default swap directory is cleaned on every start and stop, so all swapped data is lost on node
+ * restart. If {@link #setPersistent(boolean)} is set to {@code true}, swap files are kept under
+ * {@code baseDirectory/gridName} and on stop every space writes a compact index file next to its swap
+ * files, which maps serialized keys to value positions within swap files. On next start the index is
+ * loaded back to off-heap memory without unmarshalling keys, and swap files of previous run are kept as
+ * read-only segments, so swapped entries become available without reloading them from persistent store.
+ * Segment is deleted once all its entries are removed or overwritten, sparse segments are compacted
+ * on stop. Note that base directory can be used by only one node at a time.
+ * <p>
+ * Persistent swap directory also keeps node persistent ID, which is generated on first start and
+ * does not change on restart, unlike node ID. Persistent ID is sent to other nodes as node attribute
+ * (see {@link #persistentId(Map)}), so that they can recognize the node when it rejoins the grid.
+ * <p>
+ * Swap space knows nothing about updates made in the grid while node was down, so restored values
+ * may be stale and keys removed in the meantime may be brought back. It is up to the swap space
+ * user to reconcile restored data with the rest of the grid.
  *
  * <h2 class="header">Java Example</h2>
  * GridFileSwapSpaceSpi is configured by default and should be explicitly configured
@@ -128,6 +150,36 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
     /** Name for {@code null} space. */
     public static final String DFLT_SPACE_NAME = "gg-dflt-space";
 
+    /** Swap index file extension. */
+    private static final String IDX_EXT = ".idx";
+
+    /** Name of node attribute holding node persistent ID. */
+    public static final String ATTR_PERSISTENT_ID = "persistent.id";
+
+    /** Name of the file used to lock persistent swap directory. */
+    private static final String LOCK_FILE_NAME = "swap.lock";
+
+    /** Name of the file keeping node persistent ID. */
+    private static final String ID_FILE_NAME = "node.id";
+
+    /** Swap index file header. */
+    private static final int IDX_MAGIC = 0x47475357;
+
+    /** Swap index file version. */
+    private static final int IDX_VER = 2;
+
+    /** Index record type: value bytes are stored in index file itself. */
+    private static final byte IDX_REC_INLINE = 0;
+
+    /** Index record type: value is stored in segment file. */
+    private static final byte IDX_REC_SEGMENT = 1;
+
+    /** Segment file extension, followed by segment ID. */
+    private static final String SEG_EXT = ".seg";
+
+    /** Index end marker. */
+    private static final byte IDX_END = Byte.MAX_VALUE;
+
     /** Spaces. */
     private final ConcurrentMap<String, Space> spaces = new ConcurrentHashMap<>();
 
@@ -152,6 +204,18 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
     /** Read stripes number. */
     private int readStripesNum = -1;
 
+    /** Persistent mode flag. */
+    private boolean persistent;
+
+    /** Memory mapped reads flag. */
+    private boolean mmapReads;
+
+    /** Persistent swap directory lock file. */
+    private RandomAccessFile lockFile;
+
+    /** Persistent swap directory lock. */
+    private FileLock lock;
+
     /** Logger. */
     @GridLoggerResource
     private GridLogger log;
@@ -247,6 +311,40 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
         this.readStripesNum = readStripesNum;
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean isPersistent() {
+        return persistent;
+    }
+
+    /**
+     * Sets persistent mode flag. If {@code true}, swap files are not deleted on stop and swap index
+     * is saved to disk, so that swapped entries survive node restart. Default is {@code false}.
+     *
+     * @param persistent Persistent mode flag.
+     */
+    @GridSpiConfiguration(optional = true)
+    public void setPersistent(boolean persistent) {
+        this.persistent = persistent;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean isMemoryMappedReads() {
+        return mmapReads;
+    }
+
+    /**
+     * Sets memory mapped reads flag. If {@code true}, swap files are read through memory mapped
+     * buffers instead of file channels, so that reads are served from OS page cache without a system
+     * call per read. Mapping is extended when file grows and is dropped when file is truncated
+     * by compaction. Default is {@code false}.
+     *
+     * @param mmapReads Memory mapped reads flag.
+     */
+    @GridSpiConfiguration(optional = true)
+    public void setMemoryMappedReads(boolean mmapReads) {
+        this.mmapReads = mmapReads;
+    }
+
     /** {@inheritDoc} */
     @Override public void spiStart(@Nullable String gridName) throws GridSpiException {
         assertParameter(!F.isEmpty(baseDir), "!F.isEmpty(baseDir)");
@@ -275,19 +373,16 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
 
         registerMBean(gridName, this, GridFileSwapSpaceSpiMBean.class);
 
-        dir = new File(baseDir + File.separator + gridName + File.separator + locNodeId);
-
-        if (!dir.isAbsolute())
-            dir = new File(U.getGridGainHome(), dir.getPath());
+        dir = directory();
 
-        if (dir.exists()) {
+        if (dir.exists() && !persistent) {
             U.warn(log, "Swap directory already exists (will delete): " + dir.getAbsolutePath());
 
             if (!U.delete(dir))
                 throw new GridSpiException("Failed to delete swap directory: " + dir.getAbsolutePath());
         }
 
-        if (!U.mkdirs(dir))
+        if (!dir.exists() && !U.mkdirs(dir))
             throw new GridSpiException("Failed to create swap directory: " + dir.getAbsolutePath());
 
         if (!dir.canRead())
@@ -296,6 +391,12 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
         if (!dir.canWrite())
             throw new GridSpiException("Can't write to swap directory: " + dir.getAbsolutePath());
 
+        if (persistent) {
+            lockDirectory();
+
+            restoreSpaces();
+        }
+
         if (log.isDebugEnabled())
             log.debug(startInfo());
     }
@@ -305,6 +406,11 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
         unregisterMBean();
 
         for (Space space : spaces.values()) {
+            // Restored space which was never accessed still has valid index and swap files
+            // on disk, so there is no need to load it just to write the same index back.
+            if (persistent && space.closeUninitialized())
+                continue;
+
             space.initialize();
 
             try {
@@ -315,13 +421,161 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             }
         }
 
-        if (dir != null && dir.exists() && !U.delete(dir))
+        if (persistent)
+            unlockDirectory();
+        else if (dir != null && dir.exists() && !U.delete(dir))
             U.warn(log, "Failed to delete swap directory: " + dir.getAbsolutePath());
 
         if (log.isDebugEnabled())
             log.debug(stopInfo());
     }
 
+    /** {@inheritDoc} */
+    @Override public Map<String, Object> getNodeAttributes() throws GridSpiException {
+        if (!persistent)
+            return Collections.emptyMap();
+
+        // Attributes are collected before SPI start.
+        return F.<String, Object>asMap(createSpiAttributeName(ATTR_PERSISTENT_ID), readPersistentId(directory()));
+    }
+
+    /**
+     * Gets persistent ID of a node. Unlike node ID, persistent ID does not change on node restart,
+     * since it is kept in persistent swap directory.
+     *
+     * @param attrs Node attributes.
+     * @return Node persistent ID or {@code null} if node does not use persistent swap space.
+     */
+    @Nullable public UUID persistentId(Map<String, Object> attrs) {
+        return (UUID)attrs.get(createSpiAttributeName(ATTR_PERSISTENT_ID));
+    }
+
+    /**
+     * @return Swap directory.
+     */
+    private File directory() {
+        // Node ID changes on every start, so persistent swap is bound to grid name only.
+        File dir = new File(baseDir + File.separator + gridName + (persistent ? "" : File.separator + locNodeId));
+
+        if (!dir.isAbsolute())
+            dir = new File(U.getGridGainHome(), dir.getPath());
+
+        return dir;
+    }
+
+    /**
+     * Reads node persistent ID from persistent swap directory, generating new one on first start.
+     *
+     * @param dir Persistent swap directory.
+     * @return Node persistent ID.
+     * @throws GridSpiException If failed.
+     */
+    private UUID readPersistentId(File dir) throws GridSpiException {
+        File f = new File(dir, ID_FILE_NAME);
+
+        try {
+            if (f.exists()) {
+                try (DataInputStream in = new DataInputStream(new FileInputStream(f))) {
+                    return new UUID(in.readLong(), in.readLong());
+                }
+            }
+
+            if (!dir.exists() && !U.mkdirs(dir))
+                throw new GridSpiException("Failed to create swap directory: " + dir.getAbsolutePath());
+
+            UUID id = UUID.randomUUID();
+
+            try (DataOutputStream out = new DataOutputStream(new FileOutputStream(f))) {
+                out.writeLong(id.getMostSignificantBits());
+                out.writeLong(id.getLeastSignificantBits());
+            }
+
+            if (log.isDebugEnabled())
+                log.debug("Generated node persistent ID: " + id);
+
+            return id;
+        }
+        catch (IOException e) {
+            throw new GridSpiException("Failed to read node persistent ID: " + f.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Locks persistent swap directory, so that it can not be used by several nodes at the same time.
+     *
+     * @throws GridSpiException If directory is already locked or lock failed.
+     */
+    private void lockDirectory() throws GridSpiException {
+        File f = new File(dir, LOCK_FILE_NAME);
+
+        try {
+            lockFile = new RandomAccessFile(f, "rw");
+
+            lock = lockFile.getChannel().tryLock();
+        }
+        catch (IOException e) {
+            U.closeQuiet(lockFile);
+
+            throw new GridSpiException("Failed to lock persistent swap directory: " + dir.getAbsolutePath(), e);
+        }
+        catch (OverlappingFileLockException ignored) {
+            // Directory is locked by another node in this JVM.
+        }
+
+        if (lock == null) {
+            U.closeQuiet(lockFile);
+
+            throw new GridSpiException("Persistent swap directory is used by another node (configure different " +
+                "base directory for every node): " + dir.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Releases persistent swap directory lock.
+     */
+    private void unlockDirectory() {
+        if (lock != null) {
+            try {
+                lock.release();
+            }
+            catch (IOException e) {
+                U.warn(log, "Failed to release persistent swap directory lock: " + e);
+            }
+
+            lock = null;
+        }
+
+        U.closeQuiet(lockFile);
+
+        lockFile = null;
+    }
+
+    /**
+     * Registers spaces for which index files are found in persistent swap directory. Spaces are
+     * actually loaded on first access.
+     */
+    private void restoreSpaces() {
+        File[] idxFiles = dir.listFiles(new FilenameFilter() {
+            @Override public boolean accept(File dir, String name) {
+                return name.endsWith(IDX_EXT);
+            }
+        });
+
+        if (idxFiles == null)
+            return;
+
+        for (File idxFile : idxFiles) {
+            String name = idxFile.getName();
+
+            name = name.substring(0, name.length() - IDX_EXT.length());
+
+            spaces.putIfAbsent(name, new Space(name));
+
+            if (log.isDebugEnabled())
+                log.debug("Found persistent swap space index: " + idxFile.getAbsolutePath());
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public void clear(@Nullable String spaceName) throws GridSpiException {
         Space space = space(spaceName, false);
@@ -502,18 +756,34 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             return null;
 
         final Iterator<Map.Entry<GridSwapKey, byte[]>> iter = space.entriesIterator();
+        final Iterator<Map.Entry<byte[], byte[]>> restoredIter = space.restoredIterator();
 
         return new GridCloseableIteratorAdapter<K>() {
+            /** Iterator which returned last entry. */
+            private Iterator<?> last;
+
             @Override protected boolean onHasNext() {
-                return iter.hasNext();
+                return iter.hasNext() || restoredIter.hasNext();
             }
 
-            @Override protected K onNext() {
-                return (K)iter.next().getKey().key();
+            @Override protected K onNext() throws GridException {
+                if (iter.hasNext()) {
+                    last = iter;
+
+                    return (K)iter.next().getKey().key();
+                }
+
+                last = restoredIter;
+
+                // Restored keys are kept serialized.
+                return marsh.unmarshal(restoredIter.next().getKey(), U.gridClassLoader());
             }
 
             @Override protected void onRemove() {
-                iter.remove();
+                if (last == null)
+                    throw new IllegalStateException();
+
+                last.remove();
             }
         };
     }
@@ -526,7 +796,7 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
         if (space == null)
             return null;
 
-        return rawIterator(space.entriesIterator());
+        return rawIterator(space.entriesIterator(), space.restoredIterator());
     }
 
     /** {@inheritDoc} */
@@ -537,30 +807,45 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
         if (space == null)
             return null;
 
-        return rawIterator(space.entriesIterator(part));
+        return rawIterator(space.entriesIterator(part), space.restoredIterator(part));
     }
 
     /**
-     * Creates raw iterator based on provided entries iterator.
+     * Creates raw iterator based on provided entries iterators.
      *
      * @param iter Entries iterator.
+     * @param restoredIter Restored entries iterator.
      * @return Raw iterator.
      */
     private GridSpiCloseableIterator<Map.Entry<byte[], byte[]>> rawIterator(
-        final Iterator<Map.Entry<GridSwapKey, byte[]>> iter) {
+        final Iterator<Map.Entry<GridSwapKey, byte[]>> iter, final Iterator<Map.Entry<byte[], byte[]>> restoredIter) {
         return new GridCloseableIteratorAdapter<Map.Entry<byte[], byte[]>>() {
+            /** Iterator which returned last entry. */
+            private Iterator<?> last;
+
             @Override protected Map.Entry<byte[], byte[]> onNext() throws GridException {
-                Map.Entry<GridSwapKey, byte[]> x = iter.next();
+                if (iter.hasNext()) {
+                    last = iter;
+
+                    Map.Entry<GridSwapKey, byte[]> x = iter.next();
+
+                    return new T2<>(keyBytes(x.getKey()), x.getValue());
+                }
 
-                return new T2<>(keyBytes(x.getKey()), x.getValue());
+                last = restoredIter;
+
+                return restoredIter.next();
             }
 
             @Override protected boolean onHasNext() {
-                return iter.hasNext();
+                return iter.hasNext() || restoredIter.hasNext();
             }
 
             @Override protected void onRemove() {
-                iter.remove();
+                if (last == null)
+                    throw new IllegalStateException();
+
+                last.remove();
             }
         };
     }
@@ -634,6 +919,15 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
         return space;
     }
 
+    /**
+     * @param spaceName Space name.
+     * @param id Segment ID.
+     * @return Segment file.
+     */
+    private File segmentFile(String spaceName, int id) {
+        return new File(dir, spaceName + SEG_EXT + id);
+    }
+
     /**
      * Validates space name.
      *
@@ -695,6 +989,19 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             len = val.length;
         }
 
+        /**
+         * Creates value which is already written to swap file.
+         *
+         * @param pos Position in file.
+         * @param len Value length.
+         */
+        SwapValue(long pos, int len) {
+            assert pos >= 0 && len >= 0;
+
+            this.pos = pos;
+            this.len = len;
+        }
+
         /**
          * @param space Space.
          * @return Value.
@@ -710,7 +1017,7 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
                 assert i != NEW;
 
                 if (i != DELETED) {
-                    StripedFileChannel ch = i < 0 ? space.left.readCh : space.right.readCh;
+                    ReadChannel ch = i < 0 ? space.left.readCh : space.right.readCh;
 
                     if (idx != DELETED) // Double check works in pair with striped channel reopening.
                         v = readValue(ch);
@@ -730,7 +1037,7 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
          * @return Bytes.
          * @throws GridSpiException if failed.
          */
-        @Nullable byte[] readValue(StripedFileChannel ch) throws GridSpiException {
+        @Nullable byte[] readValue(ReadChannel ch) throws GridSpiException {
             byte[] v = new byte[len];
 
             int res = 0;
@@ -751,6 +1058,13 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             return v;
         }
 
+        /**
+         * @return Position in file or {@code -1} if value bytes are still held in memory.
+         */
+        synchronized long filePosition() {
+            return val == null ? pos : -1;
+        }
+
         /**
          * @param pos Position.
          * @param val Value.
@@ -910,10 +1224,39 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
         }
     }
 
+    /**
+     * Readable swap file channel.
+     */
+    private interface ReadChannel {
+        /**
+         * Reads data from file to buffer.
+         *
+         * @param buf Buffer.
+         * @param pos Position.
+         * @return Read bytes count.
+         * @throws IOException If failed.
+         */
+        int read(ByteBuffer buf, long pos) throws IOException;
+
+        /**
+         * Truncates file making sure that no concurrent read touches truncated region.
+         *
+         * @param writeCh Write channel.
+         * @param size New file size.
+         * @throws IOException If failed.
+         */
+        void truncate(FileChannel writeCh, long size) throws IOException;
+
+        /**
+         * Closes channel.
+         */
+        void close();
+    }
+
     /**
      * Readable striped file channel.
      */
-    private static class StripedFileChannel {
+    private static class StripedFileChannel implements ReadChannel {
         /** */
         private final AtomicInteger enter = new AtomicInteger();
 
@@ -942,132 +1285,364 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             }
         }
 
-        /**
-         * Reads data from file channel to buffer.
-         *
-         * @param buf Buffer.
-         * @param pos Position.
-         * @return Read bytes count.
-         * @throws IOException If failed.
-         */
-        int read(ByteBuffer buf, long pos) throws IOException {
+        /** {@inheritDoc} */
+        @Override public int read(ByteBuffer buf, long pos) throws IOException {
             int i = enter.getAndIncrement() & (chs.length - 1);
 
             return chs[i].read(buf, pos);
         }
 
-        /**
-         * Closes channel.
-         */
-        void close() {
+        /** {@inheritDoc} */
+        @Override public void truncate(FileChannel writeCh, long size) throws IOException {
+            writeCh.truncate(size); // Concurrent reads from truncated region just read less bytes.
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() {
             for (RandomAccessFile raf : rafs)
                 U.closeQuiet(raf);
         }
     }
 
     /**
-     * Swap file.
+     * Readable memory mapped file channel. File is mapped by segments, mapping is extended lazily
+     * when read goes beyond mapped region. Since access to truncated or unmapped region of mapped file
+     * may crash the process, reads are guarded by striped read locks while remapping, truncation and
+     * close acquire all write locks and explicitly unmap replaced segments.
      */
-    static class SwapFile {
+    private static class MappedFileChannel implements ReadChannel {
+        /** Segment size shift. */
+        private static final int SEG_SHIFT = 30;
+
+        /** Segment size. */
+        private static final long SEG_SIZE = 1L << SEG_SHIFT;
+
         /** */
-        private static final long MIN_TRUNK_SIZE = 10 * 1024 * 1024;
+        private static final MappedByteBuffer[] EMPTY = new MappedByteBuffer[0];
 
         /** */
-        private final File file;
+        private final AtomicInteger enter = new AtomicInteger();
 
         /** */
         private final RandomAccessFile raf;
 
         /** */
-        private final FileChannel writeCh;
+        private final FileChannel ch;
 
         /** */
-        volatile StripedFileChannel readCh;
+        private final GridStripedReadWriteLock lock;
 
-        /** */
-        private volatile long len;
+        /** Mapped segments, only the last one may be shorter than {@link #SEG_SIZE}. */
+        private volatile MappedByteBuffer[] segs = EMPTY;
 
         /** */
-        private final GridFileSwapArray<SwapValue> arr = new GridFileSwapArray<>();
+        private volatile boolean closed;
 
         /**
-         * @param file File.
-         * @param readerStripes Reader stripes number.
-         * @throws IOException In case of error.
+         * @param f File.
+         * @param stripes Stripes.
+         * @throws FileNotFoundException If failed.
          */
-        SwapFile(File file, int readerStripes) throws IOException {
-            assert file != null;
+        MappedFileChannel(File f, int stripes) throws FileNotFoundException {
+            assert stripes > 0 && (stripes & (stripes - 1)) == 0 : "stripes must be positive and power of two.";
 
-            file.delete();
+            raf = new RandomAccessFile(f, "r");
+            ch = raf.getChannel();
 
-            if (!file.createNewFile())
-                throw new IllegalStateException("Failed to create file: " + file.getAbsolutePath());
+            lock = new GridStripedReadWriteLock(stripes);
+        }
 
-            this.file = file;
+        /** {@inheritDoc} */
+        @Override public int read(ByteBuffer buf, long pos) throws IOException {
+            if (pos + buf.remaining() > mappedLength(segs))
+                remap(pos + buf.remaining());
 
-            raf = new RandomAccessFile(file, "rw");
+            Lock l = lock.getLock(enter.getAndIncrement()).readLock();
 
-            writeCh = raf.getChannel();
+            l.lock();
 
-            readCh = new StripedFileChannel(file, readerStripes);
-        }
+            try {
+                if (closed)
+                    throw new ClosedChannelException();
 
-        /**
-         * Reopens read channel.
-         *
-         * @throws FileNotFoundException If failed.
-         */
-        void reopenReadChannel() throws FileNotFoundException {
-            readCh.close();
+                MappedByteBuffer[] segs = this.segs;
 
-            readCh = new StripedFileChannel(file, readCh.chs.length);
-        }
+                long mappedLen = mappedLength(segs);
 
-        /**
-         * @param vals Values.
-         * @param buf Duffer.
-         * @param sign Indicates where should we write value, to the left or to the right.
-         * @throws Exception If failed.
-         */
-        public void write(Iterable<SwapValue> vals, ByteBuffer buf, int sign) throws Exception {
-            for (SwapValue val : vals) {
-                int oldIdx = val.idx;
+                int res = 0;
 
-                if (oldIdx == SwapValue.DELETED)
-                    continue;
+                while (buf.hasRemaining() && pos < mappedLen) {
+                    ByteBuffer seg = segs[(int)(pos >>> SEG_SHIFT)].duplicate();
 
-                int idx = arr.add(val);
+                    int off = (int)(pos & (SEG_SIZE - 1));
+                    int cnt = Math.min(buf.remaining(), seg.limit() - off);
 
-                if (!val.casIdx(oldIdx, sign * idx)) {
-                    assert val.idx == SwapValue.DELETED;
+                    seg.position(off);
+                    seg.limit(off + cnt);
 
-                    boolean res = tryRemove(idx, val);
+                    buf.put(seg);
 
-                    assert res;
+                    pos += cnt;
+                    res += cnt;
                 }
+
+                return res;
             }
+            finally {
+                l.unlock();
+            }
+        }
 
-            final int size = buf.remaining();
+        /**
+         * Extends mapping up to current file length. Last segment is remapped only if it is shorter
+         * than {@link #SEG_SIZE}, replaced segment is unmapped. All write locks are held, so no
+         * concurrent read can touch replaced segment.
+         *
+         * @param size Required mapped length.
+         * @throws IOException If failed.
+         */
+        private void remap(long size) throws IOException {
+            ReadWriteLock[] locks = lock.getAllLocks();
 
-            if (size == 0)
-                return;
+            for (ReadWriteLock l : locks)
+                l.writeLock().lock();
 
-            long pos = len;
+            try {
+                if (closed)
+                    throw new ClosedChannelException();
 
-            len = pos + size;
+                MappedByteBuffer[] segs = this.segs;
 
-            long res = writeCh.write(buf, pos);
+                long mappedLen = mappedLength(segs);
 
-            if (res != size)
-                throw new IllegalStateException(res + " != " + size);
+                if (mappedLen >= size)
+                    return;
 
-            // Nullify bytes in values ans set pos.
-            for (SwapValue val : vals) {
-                val.set(pos, null);
+                long fileLen = ch.size();
 
-                pos += val.len;
-            }
-        }
+                if (fileLen <= mappedLen)
+                    return;
+
+                int cnt = (int)((fileLen + SEG_SIZE - 1) >>> SEG_SHIFT);
+
+                MappedByteBuffer[] res = Arrays.copyOf(segs, cnt);
+
+                int from = segs.length;
+
+                if (from > 0 && segs[from - 1].limit() < SEG_SIZE) {
+                    from--;
+
+                    unmap(segs[from]);
+                }
+
+                for (int i = from; i < cnt; i++) {
+                    long off = (long)i << SEG_SHIFT;
+
+                    res[i] = ch.map(FileChannel.MapMode.READ_ONLY, off, Math.min(SEG_SIZE, fileLen - off));
+                }
+
+                this.segs = res;
+            }
+            finally {
+                for (ReadWriteLock l : locks)
+                    l.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Unmaps all segments. Must be called with all write locks held.
+         */
+        private void unmapAll() {
+            for (MappedByteBuffer seg : segs)
+                unmap(seg);
+
+            segs = EMPTY;
+        }
+
+        /**
+         * Releases mapping without waiting for garbage collection, otherwise mappings accumulate
+         * until process runs out of virtual memory or map count.
+         *
+         * @param seg Mapped segment.
+         */
+        private static void unmap(MappedByteBuffer seg) {
+            // Segments are never empty, so cleaner is always set.
+            ((DirectBuffer)seg).cleaner().clean();
+        }
+
+        /**
+         * @param segs Segments.
+         * @return Mapped length.
+         */
+        private static long mappedLength(MappedByteBuffer[] segs) {
+            int cnt = segs.length;
+
+            return cnt == 0 ? 0 : ((long)(cnt - 1) << SEG_SHIFT) + segs[cnt - 1].limit();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void truncate(FileChannel writeCh, long size) throws IOException {
+            ReadWriteLock[] locks = lock.getAllLocks();
+
+            for (ReadWriteLock l : locks)
+                l.writeLock().lock();
+
+            try {
+                // Mapped file can not be truncated on some platforms, mapping will be recreated on next read.
+                unmapAll();
+
+                writeCh.truncate(size);
+            }
+            finally {
+                for (ReadWriteLock l : locks)
+                    l.writeLock().unlock();
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() {
+            ReadWriteLock[] locks = lock.getAllLocks();
+
+            for (ReadWriteLock l : locks)
+                l.writeLock().lock();
+
+            try {
+                closed = true;
+
+                unmapAll();
+            }
+            finally {
+                for (ReadWriteLock l : locks)
+                    l.writeLock().unlock();
+            }
+
+            U.closeQuiet(raf);
+        }
+    }
+
+    /**
+     * Swap file.
+     */
+    static class SwapFile {
+        /** */
+        private static final long MIN_TRUNK_SIZE = 10 * 1024 * 1024;
+
+        /** */
+        private final File file;
+
+        /** */
+        private final RandomAccessFile raf;
+
+        /** */
+        private final FileChannel writeCh;
+
+        /** */
+        volatile ReadChannel readCh;
+
+        /** */
+        private final int readerStripes;
+
+        /** */
+        private final boolean mmap;
+
+        /** */
+        private volatile long len;
+
+        /** */
+        private final GridFileSwapArray<SwapValue> arr = new GridFileSwapArray<>();
+
+        /**
+         * @param file File.
+         * @param readerStripes Reader stripes number.
+         * @param mmap If {@code true}, file will be read through memory mapped buffers.
+         * @throws IOException In case of error.
+         */
+        SwapFile(File file, int readerStripes, boolean mmap) throws IOException {
+            assert file != null;
+
+            file.delete();
+
+            if (!file.createNewFile())
+                throw new IllegalStateException("Failed to create file: " + file.getAbsolutePath());
+
+            this.file = file;
+
+            raf = new RandomAccessFile(file, "rw");
+
+            writeCh = raf.getChannel();
+
+            len = writeCh.size();
+
+            this.readerStripes = readerStripes;
+            this.mmap = mmap;
+
+            readCh = openReadChannel();
+        }
+
+        /**
+         * @return New read channel.
+         * @throws FileNotFoundException If failed.
+         */
+        private ReadChannel openReadChannel() throws FileNotFoundException {
+            return mmap ? new MappedFileChannel(file, readerStripes) : new StripedFileChannel(file, readerStripes);
+        }
+
+        /**
+         * Reopens read channel.
+         *
+         * @throws FileNotFoundException If failed.
+         */
+        void reopenReadChannel() throws FileNotFoundException {
+            readCh.close();
+
+            readCh = openReadChannel();
+        }
+
+        /**
+         * @param vals Values.
+         * @param buf Duffer.
+         * @param sign Indicates where should we write value, to the left or to the right.
+         * @throws Exception If failed.
+         */
+        public void write(Iterable<SwapValue> vals, ByteBuffer buf, int sign) throws Exception {
+            for (SwapValue val : vals) {
+                int oldIdx = val.idx;
+
+                if (oldIdx == SwapValue.DELETED)
+                    continue;
+
+                int idx = arr.add(val);
+
+                if (!val.casIdx(oldIdx, sign * idx)) {
+                    assert val.idx == SwapValue.DELETED;
+
+                    boolean res = tryRemove(idx, val);
+
+                    assert res;
+                }
+            }
+
+            final int size = buf.remaining();
+
+            if (size == 0)
+                return;
+
+            long pos = len;
+
+            len = pos + size;
+
+            long res = writeCh.write(buf, pos);
+
+            if (res != size)
+                throw new IllegalStateException(res + " != " + size);
+
+            // Nullify bytes in values ans set pos.
+            for (SwapValue val : vals) {
+                val.set(pos, null);
+
+                pos += val.len;
+            }
+        }
 
         /**
          * @param vals Values.
@@ -1144,15 +1719,35 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             return len;
         }
 
+        /**
+         * Closes file without deleting it.
+         */
+        public void close() {
+            U.closeQuiet(raf);
+
+            readCh.close();
+        }
+
+        /**
+         * Moves closed file, so that it can be kept as read-only segment. Empty file is deleted.
+         *
+         * @param dest Destination file.
+         * @throws IOException If failed.
+         */
+        public void moveTo(File dest) throws IOException {
+            if (len == 0)
+                U.delete(file);
+            else if (!file.renameTo(dest))
+                throw new IOException("Failed to rename swap file: " + file.getAbsolutePath());
+        }
+
         /**
          * Deletes file.
          *
          * @return Whether file was actually deleted.
          */
         public boolean delete() {
-            U.closeQuiet(raf);
-
-            readCh.close();
+            close();
 
             return U.delete(file);
         }
@@ -1336,7 +1931,7 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
                 if (vals.isEmpty()) {
                     arr.truncate(1);
 
-                    writeCh.truncate(0);
+                    readCh.truncate(writeCh, 0);
 
                     len = 0;
 
@@ -1363,7 +1958,7 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
                 arr.truncate(idx + 1);
 
                 if (len - beg > MIN_TRUNK_SIZE) {
-                    writeCh.truncate(beg);
+                    readCh.truncate(writeCh, beg);
 
                     len = beg;
                 }
@@ -1409,6 +2004,10 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
         /** Total count. */
         private final AtomicLong cnt = new AtomicLong();
 
+        /** Index of entries restored from persistent swap files, {@code null} if nothing was restored. */
+        @SuppressWarnings("FieldAccessedSynchronizedAndUnsynchronized")
+        private RestoredIndex restored;
+
         /** */
         private int sign = 1;
 
@@ -1442,9 +2041,12 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             try {
                 initializer.init(new Callable<Void>(){
                     @Override public Void call() throws Exception {
-                        left = new SwapFile(new File(dir, name + ".left"), readStripesNum);
+                        if (persistent)
+                            restore();
+
+                        left = new SwapFile(new File(dir, name + ".left"), readStripesNum, mmapReads);
 
-                        right = new SwapFile(new File(dir, name + ".right"), readStripesNum);
+                        right = new SwapFile(new File(dir, name + ".right"), readStripesNum, mmapReads);
 
                         final Object mux = new Object();
 
@@ -1539,13 +2141,103 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             }
         }
 
+        /**
+         * Loads index of persistent space written on previous stop. Swap files without valid index are deleted.
+         *
+         * @throws GridSpiException If failed.
+         */
+        private void restore() throws GridSpiException {
+            File idxFile = indexFile();
+
+            Map<Integer, File> segFiles = segmentFiles();
+
+            if (idxFile.exists()) {
+                RestoredIndex idx = new RestoredIndex(name);
+
+                try {
+                    idx.load(idxFile, segFiles);
+
+                    restored = idx;
+                }
+                catch (Exception e) {
+                    U.warn(log, "Failed to restore swap space (will start with empty space) [space=" +
+                        name + ", err=" + e + ']');
+
+                    idx.close();
+                }
+
+                // Index becomes stale as soon as space is modified.
+                if (!idxFile.delete())
+                    throw new GridSpiException("Failed to delete swap index file: " + idxFile.getAbsolutePath());
+            }
+
+            if (restored == null) {
+                for (File f : segFiles.values())
+                    U.delete(f);
+            }
+        }
+
+        /**
+         * @return Segment files of this space by segment IDs.
+         */
+        private Map<Integer, File> segmentFiles() {
+            Map<Integer, File> res = new HashMap<>();
+
+            File[] files = dir.listFiles();
+
+            if (files == null)
+                return res;
+
+            String prefix = name + SEG_EXT;
+
+            for (File f : files) {
+                String fileName = f.getName();
+
+                if (fileName.startsWith(prefix)) {
+                    try {
+                        res.put(Integer.parseInt(fileName.substring(prefix.length())), f);
+                    }
+                    catch (NumberFormatException ignored) {
+                        // Not a segment file.
+                    }
+                }
+            }
+
+            return res;
+        }
+
+        /**
+         * Prevents initialization of space which has not been initialized yet, so that its
+         * index and swap files are left on disk untouched. Any further access to space fails.
+         *
+         * @return {@code True} if space was not initialized before this call.
+         */
+        boolean closeUninitialized() {
+            final AtomicBoolean closed = new AtomicBoolean();
+
+            try {
+                initializer.init(new Callable<Void>() {
+                    @Override public Void call() throws Exception {
+                        closed.set(true);
+
+                        throw new GridSpiException("Swap space is stopped: " + name);
+                    }
+                });
+            }
+            catch (GridException ignored) {
+                // No-op.
+            }
+
+            return closed.get();
+        }
+
         /**
          * Gets total space size in bytes.
          *
          * @return Total size.
          */
         public long size() {
-            return left.length() + right.length();
+            return left.length() + right.length() + (restored != null ? restored.size() : 0);
         }
 
         /**
@@ -1554,7 +2246,7 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
          * @return Total count.
          */
         public long count() {
-            return cnt.get();
+            return cnt.get() + (restored != null ? restored.count() : 0);
         }
 
         /**
@@ -1567,6 +2259,9 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
 
             while (iter.hasNext())
                 remove(iter.next().getKey(), false);
+
+            if (restored != null)
+                restored.clear();
         }
 
         /**
@@ -1581,33 +2276,148 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             U.join(writer);
             U.join(compactor);
 
-            left.delete();
-            right.delete();
+            if (persistent) {
+                try {
+                    writeIndex();
+                }
+                catch (Exception e) {
+                    U.error(log, "Failed to save swap space index (swapped data will be lost on restart) " +
+                        "[space=" + name + ']', e);
+
+                    U.delete(indexFile());
+                }
+
+                left.close();
+                right.close();
+            }
+            else {
+                left.delete();
+                right.delete();
+            }
+
+            if (restored != null)
+                restored.close();
         }
 
         /**
-         * Stores value in space.
+         * @return Index file of this space.
+         */
+        private File indexFile() {
+            return new File(dir, name + IDX_EXT);
+        }
+
+        /**
+         * Writes space index to disk, so that swapped entries can be restored after restart. Swap files
+         * are kept as read-only segments, values which have not been written to swap files yet are saved
+         * within index file.
          *
-         * @param key Key.
-         * @param val Value.
-         * @throws GridSpiException In case of error.
+         * @throws IOException If failed.
+         * @throws GridException If failed.
          */
-        public void store(final GridSwapKey key, @Nullable final byte[] val) throws GridSpiException {
-            assert key != null;
+        private void writeIndex() throws IOException, GridException {
+            File idxFile = indexFile();
+            File tmpFile = new File(dir, name + IDX_EXT + ".tmp");
 
-            final ConcurrentMap<GridSwapKey, SwapValue> part = partition(key.partition(), true);
+            int leftId = restored != null ? restored.nextSegmentId() : 0;
+            int rightId = leftId + 1;
 
-            assert part != null;
+            Collection<Segment> sparse = Collections.emptyList();
 
-            if (val == null) {
-                SwapValue swapVal = part.remove(key);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(tmpFile), writeBufSize))) {
+                out.writeInt(IDX_MAGIC);
+                out.writeInt(IDX_VER);
 
-                if (swapVal != null) {
-                    removeFromFile(swapVal);
+                for (Map.Entry<Integer, ConcurrentMap<GridSwapKey, SwapValue>> part : parts.entrySet()) {
+                    for (Map.Entry<GridSwapKey, SwapValue> e : part.getValue().entrySet()) {
+                        SwapValue val = e.getValue();
 
-                    size.addAndGet(-swapVal.len);
+                        int idx = val.idx();
+
+                        if (idx == SwapValue.DELETED)
+                            continue;
+
+                        long pos = val.filePosition();
+
+                        byte[] bytes = null;
+
+                        if (pos == -1 || idx == SwapValue.NEW) {
+                            bytes = val.value(this);
+
+                            if (bytes == null)
+                                continue;
+                        }
+
+                        byte[] keyBytes = keyBytes(e.getKey());
+
+                        out.writeByte(bytes != null ? IDX_REC_INLINE : IDX_REC_SEGMENT);
+                        out.writeInt(part.getKey());
+                        out.writeInt(keyBytes.length);
+                        out.write(keyBytes);
+
+                        if (bytes != null) {
+                            out.writeInt(bytes.length);
+                            out.write(bytes);
+                        }
+                        else {
+                            out.writeInt(idx > 0 ? rightId : leftId);
+                            out.writeLong(pos);
+                            out.writeInt(val.len);
+                        }
+                    }
+                }
+
+                if (restored != null)
+                    sparse = restored.writeIndex(out, rightId + 1);
+
+                out.writeByte(IDX_END);
+            }
+
+            left.close();
+            right.close();
+
+            left.moveTo(segmentFile(name, leftId));
+            right.moveTo(segmentFile(name, rightId));
+
+            if (idxFile.exists() && !idxFile.delete())
+                throw new IOException("Failed to delete old swap index file: " + idxFile.getAbsolutePath());
+
+            if (!tmpFile.renameTo(idxFile))
+                throw new IOException("Failed to rename swap index file: " + tmpFile.getAbsolutePath());
+
+            // Live values of sparse segments have been copied to compacted segment.
+            for (Segment seg : sparse)
+                seg.delete();
+
+            if (log.isDebugEnabled())
+                log.debug("Saved swap space index [space=" + name + ", cnt=" + count() + ']');
+        }
+
+        /**
+         * Stores value in space.
+         *
+         * @param key Key.
+         * @param val Value.
+         * @throws GridSpiException In case of error.
+         */
+        public void store(final GridSwapKey key, @Nullable final byte[] val) throws GridSpiException {
+            assert key != null;
+
+            final ConcurrentMap<GridSwapKey, SwapValue> part = partition(key.partition(), true);
+
+            assert part != null;
+
+            if (val == null) {
+                SwapValue swapVal = part.remove(key);
+
+                if (swapVal != null) {
+                    removeFromFile(swapVal);
+
+                    size.addAndGet(-swapVal.len);
                     cnt.decrementAndGet();
                 }
+                else if (restored != null)
+                    restored.remove(key, false);
 
                 return;
             }
@@ -1624,6 +2434,10 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             else {
                 size.addAndGet(val.length);
                 cnt.incrementAndGet();
+
+                // Live value overrides restored one.
+                if (restored != null)
+                    restored.remove(key, false);
             }
 
             que.add(swapVal);
@@ -1641,13 +2455,10 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
 
             final Map<GridSwapKey, SwapValue> part = partition(key.partition(), false);
 
-            if (part == null)
-                return null;
-
-            SwapValue swapVal = part.get(key);
+            SwapValue swapVal = part != null ? part.get(key) : null;
 
             if (swapVal == null)
-                return null;
+                return restored != null ? restored.read(key) : null;
 
             return swapVal.value(this);
         }
@@ -1665,13 +2476,10 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
 
             final Map<GridSwapKey, SwapValue> part = partition(key.partition(), false);
 
-            if (part == null)
-                return null;
-
-            SwapValue val = part.remove(key);
+            SwapValue val = part != null ? part.remove(key) : null;
 
             if (val == null)
-                return null;
+                return restored != null ? restored.remove(key, read) : null;
 
             size.addAndGet(-val.len);
 
@@ -1729,7 +2537,14 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
          * @return Partition numbers.
          */
         public Collection<Integer> partitions() {
-            return parts.keySet();
+            if (restored == null)
+                return parts.keySet();
+
+            Collection<Integer> res = new HashSet<>(parts.keySet());
+
+            res.addAll(restored.partitions());
+
+            return res;
         }
 
         /**
@@ -1787,6 +2602,27 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             }));
         }
 
+        /**
+         * @param part Partition.
+         * @return Iterator over serialized keys and values of partition entries restored from persistent swap files.
+         */
+        public Iterator<Map.Entry<byte[], byte[]>> restoredIterator(int part) {
+            if (restored == null)
+                return Collections.<Map.Entry<byte[], byte[]>>emptySet().iterator();
+
+            return restored.iterator(part);
+        }
+
+        /**
+         * @return Iterator over serialized keys and values of all entries restored from persistent swap files.
+         */
+        public Iterator<Map.Entry<byte[], byte[]>> restoredIterator() {
+            if (restored == null)
+                return Collections.<Map.Entry<byte[], byte[]>>emptySet().iterator();
+
+            return restored.iterator();
+        }
+
         /**
          * Gets iterator for all entries in space.
          *
@@ -1866,4 +2702,587 @@ public class GridFileSwapSpaceSpi extends GridSpiAdapter implements GridSwapSpac
             };
         }
     }
+
+    /**
+     * Read-only swap file of previous run which still holds restored values.
+     */
+    private static class Segment {
+        /** */
+        private final File file;
+
+        /** */
+        private final ReadChannel ch;
+
+        /** File length. */
+        private final long len;
+
+        /** Number of restored entries stored in segment. */
+        private final AtomicInteger cnt = new AtomicInteger();
+
+        /** Size of restored values stored in segment. */
+        private final AtomicLong size = new AtomicLong();
+
+        /**
+         * @param file File.
+         * @param ch Read channel.
+         */
+        private Segment(File file, ReadChannel ch) {
+            this.file = file;
+            this.ch = ch;
+
+            len = file.length();
+        }
+
+        /**
+         * @param pos Value position.
+         * @param valLen Value length.
+         * @return Value or {@code null} if segment has been deleted.
+         * @throws GridSpiException If failed.
+         */
+        @Nullable byte[] read(long pos, int valLen) throws GridSpiException {
+            ByteBuffer buf = ByteBuffer.allocate(valLen);
+
+            try {
+                while (buf.hasRemaining()) {
+                    if (ch.read(buf, pos + buf.position()) <= 0)
+                        return null;
+                }
+            }
+            catch (ClosedChannelException ignored) {
+                return null; // All values have been removed concurrently.
+            }
+            catch (IOException e) {
+                throw new GridSpiException("Failed to read restored swap value: " + file.getAbsolutePath(), e);
+            }
+
+            return buf.array();
+        }
+
+        /**
+         * Releases removed value, segment is deleted once last value is released.
+         *
+         * @param valLen Value length.
+         */
+        void release(int valLen) {
+            size.addAndGet(-valLen);
+
+            if (cnt.decrementAndGet() == 0)
+                delete();
+        }
+
+        /**
+         * @param maxSparsity Maximum sparsity.
+         * @return {@code True} if most of segment is occupied by removed values.
+         */
+        boolean sparse(float maxSparsity) {
+            return size.get() < len * (1 - maxSparsity);
+        }
+
+        /**
+         * Closes and deletes segment.
+         */
+        void delete() {
+            ch.close();
+
+            U.delete(file);
+        }
+    }
+
+    /**
+     * Index of entries restored from persistent swap files. Serialized keys are mapped to value
+     * locations by off-heap maps, one per partition, so restored index does not occupy heap and
+     * keys are not unmarshalled on restore. Index is populated on load and only shrinks afterwards.
+     */
+    private class RestoredIndex {
+        /** Segment ID of record keeping value inline. */
+        private static final int INLINE = -1;
+
+        /** Length of record pointing to segment: segment ID, position and value length. */
+        private static final int SEG_REC_LEN = 16;
+
+        /** Space name. */
+        private final String name;
+
+        /** Partition maps. */
+        private final Map<Integer, GridOffHeapMap<Object>> parts = new HashMap<>();
+
+        /** Segments by IDs. */
+        private final Map<Integer, Segment> segs = new HashMap<>();
+
+        /** Total count. */
+        private final AtomicLong cnt = new AtomicLong();
+
+        /** Total size. */
+        private final AtomicLong size = new AtomicLong();
+
+        /** ID of next segment. */
+        private int nextSegId;
+
+        /**
+         * @param name Space name.
+         */
+        private RestoredIndex(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Loads index file. Segment files not referenced by index are deleted.
+         *
+         * @param idxFile Index file.
+         * @param segFiles Segment files by IDs.
+         * @throws IOException If failed.
+         */
+        void load(File idxFile, Map<Integer, File> segFiles) throws IOException {
+            for (Integer id : segFiles.keySet())
+                nextSegId = Math.max(nextSegId, id + 1);
+
+            int lost = 0;
+
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(idxFile), writeBufSize))) {
+                if (in.readInt() != IDX_MAGIC || in.readInt() != IDX_VER)
+                    throw new IOException("Invalid swap index file: " + idxFile.getAbsolutePath());
+
+                for (byte type = in.readByte(); type != IDX_END; type = in.readByte()) {
+                    int part = in.readInt();
+
+                    byte[] keyBytes = new byte[in.readInt()];
+
+                    in.readFully(keyBytes);
+
+                    byte[] rec;
+                    int valLen;
+
+                    if (type == IDX_REC_INLINE) {
+                        valLen = in.readInt();
+
+                        rec = new byte[4 + valLen];
+
+                        U.intToBytes(INLINE, rec, 0);
+
+                        in.readFully(rec, 4, valLen);
+                    }
+                    else if (type == IDX_REC_SEGMENT) {
+                        int segId = in.readInt();
+                        long pos = in.readLong();
+
+                        valLen = in.readInt();
+
+                        Segment seg = segment(segId, segFiles);
+
+                        if (seg == null || pos + valLen > seg.len) {
+                            lost++; // Swap file was lost or truncated.
+
+                            continue;
+                        }
+
+                        rec = new byte[SEG_REC_LEN];
+
+                        U.longToBytes(pos, rec, U.intToBytes(segId, rec, 0));
+                        U.intToBytes(valLen, rec, 12);
+
+                        seg.cnt.incrementAndGet();
+                        seg.size.addAndGet(valLen);
+                    }
+                    else
+                        throw new IOException("Invalid swap index record type: " + type);
+
+                    GridOffHeapMap<Object> map = parts.get(part);
+
+                    if (map == null)
+                        parts.put(part, map = GridOffHeapMapFactory.unsafeMap(16, 1024));
+
+                    if (!map.put(hash(keyBytes), keyBytes, rec))
+                        throw new IOException("Duplicate key in swap index file: " + idxFile.getAbsolutePath());
+
+                    size.addAndGet(valLen);
+                    cnt.incrementAndGet();
+                }
+            }
+
+            for (Map.Entry<Integer, File> e : segFiles.entrySet()) {
+                if (!segs.containsKey(e.getKey()))
+                    U.delete(e.getValue());
+            }
+
+            if (lost > 0)
+                U.warn(log, "Some swapped entries were not restored since swap files are truncated [space=" +
+                    name + ", lost=" + lost + ']');
+
+            if (log.isDebugEnabled())
+                log.debug("Restored swap space [space=" + name + ", cnt=" + cnt.get() + ']');
+        }
+
+        /**
+         * @param id Segment ID.
+         * @param segFiles Segment files by IDs.
+         * @return Segment or {@code null} if segment file does not exist.
+         * @throws IOException If failed.
+         */
+        @Nullable private Segment segment(int id, Map<Integer, File> segFiles) throws IOException {
+            Segment seg = segs.get(id);
+
+            if (seg == null) {
+                File f = segFiles.get(id);
+
+                if (f == null)
+                    return null;
+
+                seg = new Segment(f, mmapReads ? new MappedFileChannel(f, readStripesNum) :
+                    new StripedFileChannel(f, readStripesNum));
+
+                segs.put(id, seg);
+            }
+
+            return seg;
+        }
+
+        /**
+         * @param keyBytes Key bytes.
+         * @return Key hash.
+         */
+        private int hash(byte[] keyBytes) {
+            return Arrays.hashCode(keyBytes);
+        }
+
+        /**
+         * @return ID of a new segment, which is greater than IDs of all existing segments.
+         */
+        int nextSegmentId() {
+            return nextSegId;
+        }
+
+        /**
+         * @return Total count.
+         */
+        long count() {
+            return cnt.get();
+        }
+
+        /**
+         * @return Total size.
+         */
+        long size() {
+            return size.get();
+        }
+
+        /**
+         * @return Partitions which still have restored entries.
+         */
+        Collection<Integer> partitions() {
+            Collection<Integer> res = new ArrayList<>(parts.size());
+
+            for (Map.Entry<Integer, GridOffHeapMap<Object>> e : parts.entrySet()) {
+                if (e.getValue().size() > 0)
+                    res.add(e.getKey());
+            }
+
+            return res;
+        }
+
+        /**
+         * @param rec Index record.
+         * @return Value or {@code null} if value has been removed concurrently.
+         * @throws GridSpiException If failed.
+         */
+        @Nullable private byte[] value(byte[] rec) throws GridSpiException {
+            int segId = U.bytesToInt(rec, 0);
+
+            if (segId == INLINE)
+                return Arrays.copyOfRange(rec, 4, rec.length);
+
+            return segs.get(segId).read(U.bytesToLong(rec, 4), U.bytesToInt(rec, 12));
+        }
+
+        /**
+         * @param key Key.
+         * @return Value or {@code null} if there is no restored value for given key.
+         * @throws GridSpiException If failed.
+         */
+        @Nullable byte[] read(GridSwapKey key) throws GridSpiException {
+            // Avoid key marshalling once all restored entries are gone.
+            if (cnt.get() == 0)
+                return null;
+
+            GridOffHeapMap<Object> map = parts.get(key.partition());
+
+            if (map == null)
+                return null;
+
+            byte[] keyBytes = keyBytes(key);
+
+            byte[] rec = map.get(hash(keyBytes), keyBytes);
+
+            return rec != null ? value(rec) : null;
+        }
+
+        /**
+         * @param key Key.
+         * @param read If value has to be read.
+         * @return Value or {@code null} if there is no restored value for given key or value was not read.
+         * @throws GridSpiException If failed.
+         */
+        @Nullable byte[] remove(GridSwapKey key, boolean read) throws GridSpiException {
+            if (cnt.get() == 0)
+                return null;
+
+            GridOffHeapMap<Object> map = parts.get(key.partition());
+
+            return map != null ? remove(map, keyBytes(key), read) : null;
+        }
+
+        /**
+         * @param map Partition map.
+         * @param keyBytes Key bytes.
+         * @param read If value has to be read.
+         * @return Value or {@code null} if there is no restored value for given key or value was not read.
+         * @throws GridSpiException If failed.
+         */
+        @Nullable private byte[] remove(GridOffHeapMap<Object> map, byte[] keyBytes, boolean read)
+            throws GridSpiException {
+            int hash = hash(keyBytes);
+
+            byte[] rec = map.get(hash, keyBytes);
+
+            if (rec == null)
+                return null;
+
+            // Value must be read before segment is released.
+            byte[] val = read ? value(rec) : null;
+
+            if (map.removex(hash, keyBytes)) {
+                int segId = U.bytesToInt(rec, 0);
+
+                if (segId == INLINE)
+                    size.addAndGet(4 - rec.length);
+                else {
+                    int valLen = U.bytesToInt(rec, 12);
+
+                    size.addAndGet(-valLen);
+
+                    segs.get(segId).release(valLen);
+                }
+
+                cnt.decrementAndGet();
+            }
+
+            return val;
+        }
+
+        /**
+         * Removes all restored entries.
+         */
+        void clear() {
+            Iterator<Map.Entry<byte[], byte[]>> iter = iterator();
+
+            while (iter.hasNext()) {
+                iter.next();
+
+                iter.remove();
+            }
+        }
+
+        /**
+         * @param part Partition.
+         * @return Iterator over partition entries.
+         */
+        Iterator<Map.Entry<byte[], byte[]>> iterator(int part) {
+            GridOffHeapMap<Object> map = parts.get(part);
+
+            if (map == null)
+                return Collections.<Map.Entry<byte[], byte[]>>emptySet().iterator();
+
+            return iterator(Collections.singleton(map).iterator());
+        }
+
+        /**
+         * @return Iterator over all entries.
+         */
+        Iterator<Map.Entry<byte[], byte[]>> iterator() {
+            return iterator(parts.values().iterator());
+        }
+
+        /**
+         * @param maps Partition maps to iterate over.
+         * @return Iterator over serialized keys and values, removal is supported.
+         */
+        private Iterator<Map.Entry<byte[], byte[]>> iterator(final Iterator<GridOffHeapMap<Object>> maps) {
+            return new Iterator<Map.Entry<byte[], byte[]>>() {
+                /** Current map. */
+                private GridOffHeapMap<Object> map;
+
+                /** Current map iterator, it copies map entries one map segment at a time. */
+                private Iterator<GridBiTuple<byte[], byte[]>> iter;
+
+                /** */
+                private Map.Entry<byte[], byte[]> next;
+
+                /** */
+                private GridOffHeapMap<Object> nextMap;
+
+                /** */
+                private Map.Entry<byte[], byte[]> last;
+
+                /** */
+                private GridOffHeapMap<Object> lastMap;
+
+                {
+                    advance();
+                }
+
+                /**
+                 * Gets next entry.
+                 */
+                private void advance() {
+                    for (;;) {
+                        while (iter == null || !iter.hasNext()) {
+                            if (!maps.hasNext())
+                                return;
+
+                            map = maps.next();
+                            iter = map.iterator();
+                        }
+
+                        GridBiTuple<byte[], byte[]> e = iter.next();
+
+                        byte[] val;
+
+                        try {
+                            val = value(e.get2());
+                        }
+                        catch (GridSpiException ex) {
+                            throw new GridRuntimeException(ex);
+                        }
+
+                        if (val != null) {
+                            next = new T2<>(e.get1(), val);
+                            nextMap = map;
+
+                            return;
+                        }
+                    }
+                }
+
+                @Override public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override public Map.Entry<byte[], byte[]> next() {
+                    Map.Entry<byte[], byte[]> res = next;
+
+                    if (res == null)
+                        throw new NoSuchElementException();
+
+                    last = res;
+                    lastMap = nextMap;
+
+                    next = null;
+
+                    advance();
+
+                    return res;
+                }
+
+                @Override public void remove() {
+                    if (last == null)
+                        throw new IllegalStateException();
+
+                    try {
+                        RestoredIndex.this.remove(lastMap, last.getKey(), false);
+                    }
+                    catch (GridSpiException e) {
+                        throw new GridRuntimeException(e);
+                    }
+                    finally {
+                        last = null;
+                    }
+                }
+            };
+        }
+
+        /**
+         * Writes index records of restored entries. Values of sparse segments are copied to a new segment.
+         *
+         * @param out Index output.
+         * @param compactId ID of compacted segment.
+         * @return Sparse segments, which can be deleted once index is saved.
+         * @throws IOException If failed.
+         * @throws GridException If failed.
+         */
+        Collection<Segment> writeIndex(DataOutput out, int compactId) throws IOException, GridException {
+            Collection<Segment> sparse = new HashSet<>();
+
+            for (Segment seg : segs.values()) {
+                if (seg.cnt.get() > 0 && seg.sparse(maxSparsity))
+                    sparse.add(seg);
+            }
+
+            long compactPos = 0;
+
+            try (OutputStream compactOut = sparse.isEmpty() ? null : new BufferedOutputStream(
+                new FileOutputStream(segmentFile(name, compactId)), writeBufSize)) {
+                for (Map.Entry<Integer, GridOffHeapMap<Object>> part : parts.entrySet()) {
+                    try (GridCloseableIterator<GridBiTuple<byte[], byte[]>> iter = part.getValue().iterator()) {
+                        while (iter.hasNext()) {
+                            GridBiTuple<byte[], byte[]> e = iter.next();
+
+                            byte[] keyBytes = e.get1();
+                            byte[] rec = e.get2();
+
+                            int segId = U.bytesToInt(rec, 0);
+
+                            out.writeByte(segId == INLINE ? IDX_REC_INLINE : IDX_REC_SEGMENT);
+                            out.writeInt(part.getKey());
+                            out.writeInt(keyBytes.length);
+                            out.write(keyBytes);
+
+                            if (segId == INLINE) {
+                                out.writeInt(rec.length - 4);
+                                out.write(rec, 4, rec.length - 4);
+
+                                continue;
+                            }
+
+                            Segment seg = segs.get(segId);
+
+                            long pos = U.bytesToLong(rec, 4);
+                            int valLen = U.bytesToInt(rec, 12);
+
+                            if (sparse.contains(seg)) {
+                                byte[] val = seg.read(pos, valLen);
+
+                                if (val == null)
+                                    throw new IOException("Failed to read restored swap value: " +
+                                        seg.file.getAbsolutePath());
+
+                                compactOut.write(val);
+
+                                segId = compactId;
+                                pos = compactPos;
+
+                                compactPos += valLen;
+                            }
+
+                            out.writeInt(segId);
+                            out.writeLong(pos);
+                            out.writeInt(valLen);
+                        }
+                    }
+                }
+            }
+
+            return sparse;
+        }
+
+        /**
+         * Closes segments and releases off-heap memory.
+         */
+        void close() {
+            for (Segment seg : segs.values())
+                seg.ch.close();
+
+            for (GridOffHeapMap<Object> map : parts.values())
+                map.destruct();
+        }
+    }
 }
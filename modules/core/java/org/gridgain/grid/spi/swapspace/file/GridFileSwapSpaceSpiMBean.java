@@ -70,4 +70,20 @@ public interface GridFileSwapSpaceSpiMBean extends GridSpiManagementMBean {
      */
     @GridMBeanDescription("Read pool size.")
     public int getReadStripesNumber();
+
+    /**
+     * Gets persistent mode flag.
+     *
+     * @return Whether swapped data survives node restart.
+     */
+    @GridMBeanDescription("Whether swapped data survives node restart.")
+    public boolean isPersistent();
+
+    /**
+     * Gets memory mapped reads flag.
+     *
+     * @return Whether swap files are read through memory mapped buffers.
+     */
+    @GridMBeanDescription("Whether swap files are read through memory mapped buffers.")
+    public boolean isMemoryMappedReads();
 }
\ No newline at end of file
@@ -0,0 +1,202 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.util;
+
+import org.gridgain.grid.*;
+import org.gridgain.grid.logger.*;
+import org.gridgain.grid.thread.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import org.gridgain.grid.util.worker.*;
+import org.jetbrains.annotations.*;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Executor with fixed amount of stripes, each stripe is served by a single thread, so that tasks
+ * submitted to the same stripe are executed sequentially in submission order.
+ */
+public class GridStripedExecutor {
+    /** Stripes. */
+    private final Stripe[] stripes;
+
+    /** Logger. */
+    private final GridLogger log;
+
+    /**
+     * @param cnt Amount of stripes.
+     * @param gridName Grid name.
+     * @param poolName Pool name, used as a prefix of stripe thread names.
+     * @param log Logger.
+     */
+    public GridStripedExecutor(int cnt, @Nullable String gridName, String poolName, GridLogger log) {
+        A.ensure(cnt > 0, "cnt > 0");
+
+        this.log = log;
+
+        stripes = new Stripe[cnt];
+
+        for (int i = 0; i < cnt; i++) {
+            stripes[i] = new Stripe(gridName, poolName + "-stripe-" + i, log);
+
+            new GridThread(stripes[i]).start();
+        }
+    }
+
+    /**
+     * Executes task in the stripe with given index. Index is mapped to stripe modulo amount of stripes.
+     *
+     * @param idx Stripe index, non-negative.
+     * @param cmd Task.
+     */
+    public void execute(int idx, Runnable cmd) {
+        assert idx >= 0 : idx;
+
+        stripes[idx % stripes.length].execute(cmd);
+    }
+
+    /**
+     * @return Amount of stripes.
+     */
+    public int stripes() {
+        return stripes.length;
+    }
+
+    /**
+     * Gets current amount of tasks waiting for execution in each stripe.
+     *
+     * @return Queue sizes indexed by stripe.
+     */
+    public int[] stripesQueueSizes() {
+        int[] res = new int[stripes.length];
+
+        for (int i = 0; i < res.length; i++)
+            res[i] = stripes[i].queue.size();
+
+        return res;
+    }
+
+    /**
+     * Gets maximum amount of tasks waiting for execution in each stripe observed since start.
+     *
+     * @return Maximum queue sizes indexed by stripe.
+     */
+    public int[] stripesMaximumQueueSizes() {
+        int[] res = new int[stripes.length];
+
+        for (int i = 0; i < res.length; i++)
+            res[i] = stripes[i].maxQueueSize.get();
+
+        return res;
+    }
+
+    /**
+     * Gets amount of completed tasks in each stripe.
+     *
+     * @return Completed tasks counts indexed by stripe.
+     */
+    public long[] stripesCompletedTasks() {
+        long[] res = new long[stripes.length];
+
+        for (int i = 0; i < res.length; i++)
+            res[i] = stripes[i].completedCnt;
+
+        return res;
+    }
+
+    /**
+     * Stops all stripe threads, tasks not yet executed are discarded.
+     */
+    public void stop() {
+        for (Stripe stripe : stripes)
+            U.cancel(stripe);
+
+        for (Stripe stripe : stripes)
+            U.join(stripe, log);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridStripedExecutor.class, this, "stripes", stripes.length);
+    }
+
+    /**
+     * Stripe worker.
+     */
+    private static class Stripe extends GridWorker {
+        /** Task queue. */
+        private final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+
+        /** Maximum observed queue size. */
+        private final AtomicInteger maxQueueSize = new AtomicInteger();
+
+        /** Completed tasks count, updated by stripe thread only. */
+        private volatile long completedCnt;
+
+        /** Logger. */
+        private final GridLogger log;
+
+        /**
+         * @param gridName Grid name.
+         * @param name Worker name.
+         * @param log Logger.
+         */
+        private Stripe(@Nullable String gridName, String name, GridLogger log) {
+            super(gridName, name, log);
+
+            this.log = log;
+        }
+
+        /**
+         * @param cmd Task.
+         */
+        void execute(Runnable cmd) {
+            queue.add(cmd);
+
+            int size = queue.size();
+
+            for (int max = maxQueueSize.get(); size > max; max = maxQueueSize.get()) {
+                if (maxQueueSize.compareAndSet(max, size))
+                    break;
+            }
+        }
+
+        /** {@inheritDoc} */
+        @SuppressWarnings("NonAtomicOperationOnVolatileField")
+        @Override protected void body() throws InterruptedException, GridInterruptedException {
+            while (!isCancelled()) {
+                Runnable cmd = queue.take();
+
+                try {
+                    cmd.run();
+                }
+                catch (Throwable e) {
+                    U.error(log, "Failed to execute striped task: " + cmd, e);
+                }
+
+                completedCnt++;
+            }
+        }
+    }
+}
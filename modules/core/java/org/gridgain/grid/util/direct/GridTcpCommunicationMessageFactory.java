@@ -46,6 +46,7 @@ import org.gridgain.grid.lang.*;
 import org.gridgain.grid.spi.collision.jobstealing.*;
 import org.gridgain.grid.spi.communication.tcp.*;
 import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.nio.*;
 
 import java.util.*;
 
@@ -311,6 +312,9 @@ public class GridTcpCommunicationMessageFactory {
             case 78:
                 return new GridJobStealingRequest();
 
+            case 79:
+                return new GridNioCompressedMessage();
+
             default:
                 return createCustom(type);
         }
@@ -35,6 +35,16 @@ public interface GridDataInput extends DataInput {
      */
     public void bytes(byte[] bytes, int len);
 
+    /**
+     * Sets off-heap memory region to read data from. Data is read directly from
+     * memory without copying it to heap, so the region must remain valid until
+     * reading is finished.
+     *
+     * @param ptr Memory pointer.
+     * @param len Length.
+     */
+    public void memory(long ptr, int len);
+
     /**
      * @param in Underlying input stream.
      * @throws IOException In case of error.
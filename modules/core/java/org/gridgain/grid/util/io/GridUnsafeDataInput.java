@@ -83,10 +83,13 @@ public class GridUnsafeDataInput extends InputStream implements GridDataInput {
     /** End offset of valid data in buf, or -1 if no more block data. */
     private int end = -1;
 
-    /** Bytes. */
+    /** Bytes, {@code null} if reading from off-heap memory. */
     @GridToStringExclude
     private byte[] buf;
 
+    /** Base offset of data, either array base offset or off-heap memory pointer. */
+    private long bufOff = byteArrOff;
+
     /** Offset. */
     private int off;
 
@@ -110,6 +113,18 @@ public class GridUnsafeDataInput extends InputStream implements GridDataInput {
     /** {@inheritDoc} */
     @Override public void bytes(byte[] bytes, int len) {
         buf = bytes;
+        bufOff = byteArrOff;
+
+        max = len;
+        off = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void memory(long ptr, int len) {
+        assert ptr != 0;
+
+        buf = null;
+        bufOff = ptr;
 
         max = len;
         off = 0;
@@ -120,6 +135,7 @@ public class GridUnsafeDataInput extends InputStream implements GridDataInput {
         this.in = in;
 
         buf = inBuf;
+        bufOff = byteArrOff;
     }
 
     /**
@@ -201,7 +217,7 @@ public class GridUnsafeDataInput extends InputStream implements GridDataInput {
 
         byte[] arr = new byte[arrSize];
 
-        UNSAFE.copyMemory(buf, byteArrOff + offset(arrSize), arr, byteArrOff, arrSize);
+        UNSAFE.copyMemory(buf, bufOff + offset(arrSize), arr, byteArrOff, arrSize);
 
         return arr;
     }
@@ -216,7 +232,7 @@ public class GridUnsafeDataInput extends InputStream implements GridDataInput {
 
         short[] arr = new short[arrSize];
 
-        UNSAFE.copyMemory(buf, byteArrOff + offset(bytesToCp), arr, shortArrOff, bytesToCp);
+        UNSAFE.copyMemory(buf, bufOff + offset(bytesToCp), arr, shortArrOff, bytesToCp);
 
         return arr;
     }
@@ -231,7 +247,7 @@ public class GridUnsafeDataInput extends InputStream implements GridDataInput {
 
         int[] arr = new int[arrSize];
 
-        UNSAFE.copyMemory(buf, byteArrOff + offset(bytesToCp), arr, intArrOff, bytesToCp);
+        UNSAFE.copyMemory(buf, bufOff + offset(bytesToCp), arr, intArrOff, bytesToCp);
 
         return arr;
     }
@@ -246,7 +262,7 @@ public class GridUnsafeDataInput extends InputStream implements GridDataInput {
 
         double[] arr = new double[arrSize];
 
-        UNSAFE.copyMemory(buf, byteArrOff + offset(bytesToCp), arr, doubleArrOff, bytesToCp);
+        UNSAFE.copyMemory(buf, bufOff + offset(bytesToCp), arr, doubleArrOff, bytesToCp);
 
         return arr;
     }
@@ -273,7 +289,7 @@ public class GridUnsafeDataInput extends InputStream implements GridDataInput {
 
         char[] arr = new char[arrSize];
 
-        UNSAFE.copyMemory(buf, byteArrOff + offset(bytesToCp), arr, charArrOff, bytesToCp);
+        UNSAFE.copyMemory(buf, bufOff + offset(bytesToCp), arr, charArrOff, bytesToCp);
 
         return arr;
     }
@@ -288,7 +304,7 @@ public class GridUnsafeDataInput extends InputStream implements GridDataInput {
 
         long[] arr = new long[arrSize];
 
-        UNSAFE.copyMemory(buf, byteArrOff + offset(bytesToCp), arr, longArrOff, bytesToCp);
+        UNSAFE.copyMemory(buf, bufOff + offset(bytesToCp), arr, longArrOff, bytesToCp);
 
         return arr;
     }
@@ -303,7 +319,7 @@ public class GridUnsafeDataInput extends InputStream implements GridDataInput {
 
         float[] arr = new float[arrSize];
 
-        UNSAFE.copyMemory(buf, byteArrOff + offset(bytesToCp), arr, floatArrOff, bytesToCp);
+        UNSAFE.copyMemory(buf, bufOff + offset(bytesToCp), arr, floatArrOff, bytesToCp);
 
         return arr;
     }
@@ -314,14 +330,14 @@ public class GridUnsafeDataInput extends InputStream implements GridDataInput {
 
         fromStream(len);
 
-        UNSAFE.copyMemory(buf, byteArrOff + offset(len), b, byteArrOff, len);
+        UNSAFE.copyMemory(buf, bufOff + offset(len), b, byteArrOff, len);
     }
 
     /** {@inheritDoc} */
     @Override public void readFully(byte[] b, int off, int len) throws IOException {
         fromStream(len);
 
-        UNSAFE.copyMemory(buf, byteArrOff + offset(len), b, byteArrOff + off, len);
+        UNSAFE.copyMemory(buf, bufOff + offset(len), b, byteArrOff + off, len);
     }
 
     /** {@inheritDoc} */
@@ -338,14 +354,14 @@ public class GridUnsafeDataInput extends InputStream implements GridDataInput {
     @Override public boolean readBoolean() throws IOException {
         fromStream(1);
 
-        return UNSAFE.getBoolean(buf, byteArrOff + offset(1));
+        return UNSAFE.getBoolean(buf, bufOff + offset(1));
     }
 
     /** {@inheritDoc} */
     @Override public byte readByte() throws IOException {
         fromStream(1);
 
-        return UNSAFE.getByte(buf, byteArrOff + offset(1));
+        return UNSAFE.getByte(buf, bufOff + offset(1));
     }
 
     /** {@inheritDoc} */
@@ -357,7 +373,7 @@ public class GridUnsafeDataInput extends InputStream implements GridDataInput {
     @Override public short readShort() throws IOException {
         fromStream(2);
 
-        return UNSAFE.getShort(buf, byteArrOff + offset(2));
+        return UNSAFE.getShort(buf, bufOff + offset(2));
     }
 
     /** {@inheritDoc} */
@@ -369,39 +385,35 @@ public class GridUnsafeDataInput extends InputStream implements GridDataInput {
     @Override public char readChar() throws IOException {
         fromStream(2);
 
-        char v = UNSAFE.getChar(buf, byteArrOff + off);
-
-        offset(2);
-
-        return v;
+        return UNSAFE.getChar(buf, bufOff + offset(2));
     }
 
     /** {@inheritDoc} */
     @Override public int readInt() throws IOException {
         fromStream(4);
 
-        return UNSAFE.getInt(buf, byteArrOff + offset(4));
+        return UNSAFE.getInt(buf, bufOff + offset(4));
     }
 
     /** {@inheritDoc} */
     @Override public long readLong() throws IOException {
         fromStream(8);
 
-        return UNSAFE.getLong(buf, byteArrOff + offset(8));
+        return UNSAFE.getLong(buf, bufOff + offset(8));
     }
 
     /** {@inheritDoc} */
     @Override public float readFloat() throws IOException {
         fromStream(4);
 
-        return UNSAFE.getFloat(buf, byteArrOff + offset(4));
+        return UNSAFE.getFloat(buf, bufOff + offset(4));
     }
 
     /** {@inheritDoc} */
     @Override public double readDouble() throws IOException {
         fromStream(8);
 
-        return UNSAFE.getDouble(buf, byteArrOff + offset(8));
+        return UNSAFE.getDouble(buf, bufOff + offset(8));
     }
 
     /** {@inheritDoc} */
@@ -430,7 +442,7 @@ public class GridUnsafeDataInput extends InputStream implements GridDataInput {
         else {
             int toRead = Math.min(len, max - this.off);
 
-            UNSAFE.copyMemory(buf, byteArrOff + offset(toRead), b, byteArrOff + off, toRead);
+            UNSAFE.copyMemory(buf, bufOff + offset(toRead), b, byteArrOff + off, toRead);
 
             return toRead;
         }
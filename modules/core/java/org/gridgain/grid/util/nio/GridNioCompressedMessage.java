@@ -0,0 +1,161 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+
+package org.gridgain.grid.util.nio;
+
+import org.gridgain.grid.util.direct.*;
+import org.gridgain.grid.util.tostring.*;
+import org.gridgain.grid.util.typedef.internal.*;
+
+import java.io.*;
+import java.nio.*;
+
+/**
+ * Envelope for a direct message which was serialized and compressed by {@link GridNioCompressionFilter}.
+ */
+public class GridNioCompressedMessage extends GridTcpCommunicationMessageAdapter {
+    /** Size of serialized message before compression. */
+    private int rawSize;
+
+    /** Compressed serialized message. */
+    @GridToStringExclude
+    private byte[] data;
+
+    /**
+     * Empty constructor required by {@link Externalizable}.
+     */
+    public GridNioCompressedMessage() {
+        // No-op.
+    }
+
+    /**
+     * @param rawSize Size of serialized message before compression.
+     * @param data Compressed serialized message.
+     */
+    public GridNioCompressedMessage(int rawSize, byte[] data) {
+        this.rawSize = rawSize;
+        this.data = data;
+    }
+
+    /**
+     * @return Size of serialized message before compression.
+     */
+    public int rawSize() {
+        return rawSize;
+    }
+
+    /**
+     * @return Compressed serialized message.
+     */
+    public byte[] data() {
+        return data;
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings({"CloneDoesntCallSuperClone", "CloneCallsConstructors"})
+    @Override public GridTcpCommunicationMessageAdapter clone() {
+        GridNioCompressedMessage _clone = new GridNioCompressedMessage();
+
+        clone0(_clone);
+
+        return _clone;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void clone0(GridTcpCommunicationMessageAdapter _msg) {
+        GridNioCompressedMessage _clone = (GridNioCompressedMessage)_msg;
+
+        _clone.rawSize = rawSize;
+        _clone.data = data;
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("all")
+    @Override public boolean writeTo(ByteBuffer buf) {
+        commState.setBuffer(buf);
+
+        if (!commState.typeWritten) {
+            if (!commState.putByte(directType()))
+                return false;
+
+            commState.typeWritten = true;
+        }
+
+        switch (commState.idx) {
+            case 0:
+                if (!commState.putInt(rawSize))
+                    return false;
+
+                commState.idx++;
+
+            case 1:
+                if (!commState.putByteArray(data))
+                    return false;
+
+                commState.idx++;
+
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("all")
+    @Override public boolean readFrom(ByteBuffer buf) {
+        commState.setBuffer(buf);
+
+        switch (commState.idx) {
+            case 0:
+                if (buf.remaining() < 4)
+                    return false;
+
+                rawSize = commState.getInt();
+
+                commState.idx++;
+
+            case 1:
+                byte[] data0 = commState.getByteArray();
+
+                if (data0 == BYTE_ARR_NOT_READ)
+                    return false;
+
+                data = data0;
+
+                commState.idx++;
+
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte directType() {
+        return 79;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridNioCompressedMessage.class, this, "dataLen", data != null ? data.length : 0);
+    }
+}
@@ -0,0 +1,309 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+
+package org.gridgain.grid.util.nio;
+
+import org.gridgain.grid.*;
+import org.gridgain.grid.lang.*;
+import org.gridgain.grid.logger.*;
+import org.gridgain.grid.util.direct.*;
+import org.gridgain.grid.util.io.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import org.gridgain.grid.util.tostring.*;
+import org.jetbrains.annotations.*;
+
+import java.io.*;
+import java.nio.*;
+import java.util.*;
+import java.util.zip.*;
+
+/**
+ * Filter that compresses large outgoing direct messages and decompresses incoming ones.
+ * <p>
+ * Filter must be placed between listener and {@link GridNioCodecFilter} working in direct mode.
+ * Outgoing message is compressed only if compression was negotiated for the session
+ * (see {@link #COMPRESSION_META_KEY}), message type is accepted by configured predicate and
+ * serialized message size is not less than configured threshold. All other messages,
+ * including small latency-sensitive ones, are passed through without any modification.
+ * Incoming {@link GridNioCompressedMessage}s are always decompressed, so the filter
+ * may be safely installed on nodes which do not compress anything.
+ */
+public class GridNioCompressionFilter extends GridNioFilterAdapter {
+    /**
+     * Session meta key for flag indicating that remote side is able to decompress messages.
+     * Compression is never applied to sessions without this flag set to {@code true}.
+     */
+    public static final int COMPRESSION_META_KEY = GridNioSessionMetaKey.nextUniqueKey();
+
+    /** Initial size of buffer used to serialize message. */
+    private static final int SER_BUF_SIZE = 8 << 10;
+
+    /** Maximum compression ratio achievable by deflate algorithm. */
+    private static final int MAX_DEFLATE_RATIO = 1032;
+
+    /** Message writer. */
+    @GridToStringExclude
+    private final GridNioMessageWriter msgWriter;
+
+    /** Message reader. */
+    @GridToStringExclude
+    private final GridNioMessageReader msgReader;
+
+    /** Compression level. */
+    private final int lvl;
+
+    /** Minimum size of serialized message to compress. */
+    private final int threshold;
+
+    /** Maximum size of decompressed message. */
+    private final int maxRawSize;
+
+    /** Predicate accepting message types to compress. */
+    private final GridPredicate<GridTcpCommunicationMessageAdapter> p;
+
+    /** Grid logger. */
+    @GridToStringExclude
+    private final GridLogger log;
+
+    /**
+     * @param msgWriter Message writer.
+     * @param msgReader Message reader.
+     * @param lvl Compression level ({@code 1} - {@code 9}).
+     * @param threshold Minimum size of serialized message to compress.
+     * @param maxRawSize Maximum size of decompressed message.
+     * @param p Predicate accepting message types to compress.
+     * @param log Logger.
+     */
+    public GridNioCompressionFilter(GridNioMessageWriter msgWriter, GridNioMessageReader msgReader, int lvl,
+        int threshold, int maxRawSize, GridPredicate<GridTcpCommunicationMessageAdapter> p, GridLogger log) {
+        super("GridNioCompressionFilter");
+
+        assert msgWriter != null;
+        assert msgReader != null;
+        assert lvl >= Deflater.NO_COMPRESSION && lvl <= Deflater.BEST_COMPRESSION : lvl;
+        assert maxRawSize > 0 : maxRawSize;
+        assert p != null;
+
+        this.msgWriter = msgWriter;
+        this.msgReader = msgReader;
+        this.lvl = lvl;
+        this.threshold = threshold;
+        this.maxRawSize = maxRawSize;
+        this.p = p;
+        this.log = log;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridNioCompressionFilter.class, this);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSessionOpened(GridNioSession ses) throws GridException {
+        proceedSessionOpened(ses);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSessionClosed(GridNioSession ses) throws GridException {
+        proceedSessionClosed(ses);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onExceptionCaught(GridNioSession ses, GridException ex) throws GridException {
+        proceedExceptionCaught(ses, ex);
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridNioFuture<?> onSessionWrite(GridNioSession ses, Object msg) throws GridException {
+        if (lvl != Deflater.NO_COMPRESSION && msg instanceof GridTcpCommunicationMessageAdapter &&
+            Boolean.TRUE.equals(ses.<Boolean>meta(COMPRESSION_META_KEY))) {
+            GridTcpCommunicationMessageAdapter msg0 = (GridTcpCommunicationMessageAdapter)msg;
+
+            if (p.apply(msg0)) {
+                try {
+                    msg = compress(ses.<UUID>meta(GridNioServer.DIFF_VER_NODE_ID_META_KEY), msg0);
+                }
+                catch (IOException e) {
+                    throw new GridNioException(e);
+                }
+            }
+        }
+
+        return proceedSessionWrite(ses, msg);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onMessageReceived(GridNioSession ses, Object msg) throws GridException {
+        if (msg instanceof GridNioCompressedMessage) {
+            GridNioCompressedMessage msg0 = (GridNioCompressedMessage)msg;
+
+            if (!validRawSize(msg0)) {
+                U.warn(log, "Closing session after receiving compressed message with invalid size [ses=" + ses +
+                    ", rawSize=" + msg0.rawSize() + ", maxRawSize=" + maxRawSize + ']');
+
+                proceedSessionClose(ses);
+
+                return;
+            }
+
+            msg = decompress(ses.<UUID>meta(GridNioServer.DIFF_VER_NODE_ID_META_KEY), msg0);
+        }
+
+        proceedMessageReceived(ses, msg);
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridNioFuture<Boolean> onSessionClose(GridNioSession ses) throws GridException {
+        return proceedSessionClose(ses);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSessionIdleTimeout(GridNioSession ses) throws GridException {
+        proceedSessionIdleTimeout(ses);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSessionWriteTimeout(GridNioSession ses) throws GridException {
+        proceedSessionWriteTimeout(ses);
+    }
+
+    /**
+     * Serializes and compresses message. Original message is returned if serialized message
+     * is smaller than threshold or compression does not reduce its size.
+     *
+     * @param nodeId Node ID to write delta for (if versions of nodes differ).
+     * @param msg Message.
+     * @return Compressed message or original message.
+     * @throws IOException If failed.
+     */
+    private GridTcpCommunicationMessageAdapter compress(@Nullable UUID nodeId, GridTcpCommunicationMessageAdapter msg)
+        throws IOException {
+        GridByteArrayOutputStream out = new GridByteArrayOutputStream(SER_BUF_SIZE);
+
+        ByteBuffer buf = ByteBuffer.allocate(SER_BUF_SIZE);
+
+        buf.order(ByteOrder.nativeOrder());
+
+        // Writer state is kept in message, so it has to be reset before message is written to socket.
+        GridTcpCommunicationMessageAdapter copy = msg.clone();
+
+        int rawSize = msgWriter.writeFully(nodeId, copy, out, buf);
+
+        if (rawSize < threshold)
+            return msg;
+
+        Deflater deflater = new Deflater(lvl, true);
+
+        try {
+            deflater.setInput(out.internalArray(), 0, rawSize);
+            deflater.finish();
+
+            // Do not compress data which does not shrink.
+            byte[] data = new byte[rawSize];
+
+            int len = 0;
+
+            while (!deflater.finished() && len < data.length)
+                len += deflater.deflate(data, len, data.length - len);
+
+            if (!deflater.finished())
+                return msg;
+
+            if (log.isDebugEnabled())
+                log.debug("Compressed message [msg=" + msg.getClass().getSimpleName() + ", rawSize=" + rawSize +
+                    ", size=" + len + ']');
+
+            return new GridNioCompressedMessage(rawSize, Arrays.copyOf(data, len));
+        }
+        finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Checks decompressed size declared by message before any buffer is allocated for it.
+     * Declared size must be positive, must not exceed configured maximum and must be
+     * reachable by deflate algorithm from the compressed data length.
+     *
+     * @param msg Compressed message.
+     * @return {@code True} if declared size is valid.
+     */
+    private boolean validRawSize(GridNioCompressedMessage msg) {
+        int rawSize = msg.rawSize();
+
+        return rawSize > 0 && rawSize <= maxRawSize && msg.data() != null &&
+            rawSize <= (long)msg.data().length * MAX_DEFLATE_RATIO;
+    }
+
+    /**
+     * Decompresses and deserializes message.
+     *
+     * @param nodeId Node ID to read delta for (if versions of nodes differ).
+     * @param msg Compressed message.
+     * @return Original message.
+     * @throws GridException If failed.
+     */
+    private GridTcpCommunicationMessageAdapter decompress(@Nullable UUID nodeId, GridNioCompressedMessage msg)
+        throws GridException {
+        byte[] raw = new byte[msg.rawSize()];
+
+        Inflater inflater = new Inflater(true);
+
+        try {
+            inflater.setInput(msg.data());
+
+            int len = 0;
+
+            while (len < raw.length) {
+                int cnt = inflater.inflate(raw, len, raw.length - len);
+
+                if (cnt == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()))
+                    break;
+
+                len += cnt;
+            }
+
+            if (len != raw.length)
+                throw new GridNioException("Failed to decompress message (size mismatch) [expected=" + raw.length +
+                    ", actual=" + len + ']');
+        }
+        catch (DataFormatException e) {
+            throw new GridNioException("Failed to decompress message (data is corrupted).", e);
+        }
+        finally {
+            inflater.end();
+        }
+
+        ByteBuffer buf = ByteBuffer.wrap(raw);
+
+        buf.order(ByteOrder.nativeOrder());
+
+        GridTcpCommunicationMessageAdapter res = GridTcpCommunicationMessageFactory.create(buf.get());
+
+        if (!msgReader.read(nodeId, res, buf) || buf.hasRemaining())
+            throw new GridNioException("Failed to read decompressed message (message is malformed): " + res);
+
+        return res;
+    }
+}
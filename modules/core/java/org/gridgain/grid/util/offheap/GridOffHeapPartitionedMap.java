@@ -23,6 +23,7 @@
 
 package org.gridgain.grid.util.offheap;
 
+import org.gridgain.grid.*;
 import org.gridgain.grid.lang.*;
 import org.gridgain.grid.util.lang.*;
 import org.jetbrains.annotations.*;
@@ -72,6 +73,18 @@ public interface GridOffHeapPartitionedMap {
      */
     @Nullable public byte[] get(int p, int hash, byte[] keyBytes);
 
+    /**
+     * Reads value for given key directly from off-heap memory using given reader.
+     *
+     * @param p Partition.
+     * @param hash Hash.
+     * @param keyBytes Key bytes.
+     * @param rdr Value reader.
+     * @return Value returned by reader or {@code null} if there is no value for given key.
+     * @throws GridException If reader failed.
+     */
+    @Nullable public <T> T get(int p, int hash, byte[] keyBytes, GridOffHeapValueReader<T> rdr) throws GridException;
+
     /**
      * Removes value from off-heap map.
      *
@@ -104,6 +117,20 @@ public interface GridOffHeapPartitionedMap {
      */
     public boolean put(int p, int hash, byte[] keyBytes, byte[] valBytes);
 
+    /**
+     * Puts key and {@code valLen} bytes of given array starting from {@code valOff} into the map
+     * potentially replacing existing entry.
+     *
+     * @param p Partition.
+     * @param hash Hash.
+     * @param keyBytes Key bytes.
+     * @param valBytes Value bytes.
+     * @param valOff Value offset.
+     * @param valLen Value length.
+     * @return {@code True} if new entry was created, {@code false} if existing value was updated.
+     */
+    public boolean put(int p, int hash, byte[] keyBytes, byte[] valBytes, int valOff, int valLen);
+
     /**
      * Inserts new entry into the map without comparing if there is
      * a mapping for given key already stored in map.
@@ -173,6 +200,16 @@ public interface GridOffHeapPartitionedMap {
      */
     public GridCloseableIterator<GridBiTuple<byte[], byte[]>> iterator(int p);
 
+    /**
+     * Gets iterator over certain partition which returns results of given closure applied
+     * to hash, key bytes and value bytes of every entry.
+     *
+     * @param p Partition.
+     * @param c Closure.
+     * @return Iterator over certain partition.
+     */
+    public <T> GridCloseableIterator<T> iterator(int p, GridClosure3<Integer, byte[], byte[], T> c);
+
     /**
      * Sets callback for when entries are evicted due to memory constraints.
      * The parameter into closure is key bytes.
@@ -0,0 +1,44 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.util.offheap;
+
+import org.gridgain.grid.*;
+import org.jetbrains.annotations.*;
+
+/**
+ * Reader of values stored in off-heap map. Allows to read value directly from
+ * off-heap memory without copying it into intermediate byte array.
+ */
+public interface GridOffHeapValueReader<T> {
+    /**
+     * Reads value from off-heap memory. Memory region is guaranteed to remain valid
+     * only until this method returns.
+     *
+     * @param ptr Value pointer.
+     * @param len Value length.
+     * @return Read value.
+     * @throws GridException If failed.
+     */
+    @Nullable public T read(long ptr, int len) throws GridException;
+}
@@ -98,7 +98,7 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
     /** Event listener. */
     private GridOffHeapEventListener evtLsnr;
 
-    /** Flag indicating whether this class owns LRU. */
+    /** Flag indicating whether this class owns LRU and memory. */
     private final boolean lruRelease;
 
     /** LRU poller. */
@@ -291,6 +291,12 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
         return segmentFor(hash).get(hash, keyBytes);
     }
 
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override public <T> T get(int hash, byte[] keyBytes, GridOffHeapValueReader<T> rdr) throws GridException {
+        return (T)segmentFor(hash).get(hash, keyBytes, rdr);
+    }
+
     /** {@inheritDoc} */
     @Override public byte[] remove(int hash, byte[] keyBytes) {
         return segmentFor(hash).remove(hash, keyBytes);
@@ -303,7 +309,12 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
 
     /** {@inheritDoc} */
     @Override public boolean put(int hash, byte[] keyBytes, byte[] valBytes) {
-        return segmentFor(hash).put(hash, keyBytes, valBytes);
+        return segmentFor(hash).put(hash, keyBytes, valBytes, 0, valBytes.length);
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean put(int hash, byte[] keyBytes, byte[] valBytes, int valOff, int valLen) {
+        return segmentFor(hash).put(hash, keyBytes, valBytes, valOff, valLen);
     }
 
     /** {@inheritDoc} */
@@ -345,12 +356,24 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
 
         if (lru != null && lruRelease)
             lru.destruct();
+
+        if (lruRelease)
+            mem.destruct();
     }
 
     /** {@inheritDoc} */
     @Override public GridCloseableIterator<GridBiTuple<byte[], byte[]>> iterator() {
-        return new GridCloseableIteratorAdapter<GridBiTuple<byte[], byte[]>>() {
-            private GridCloseableIterator<GridBiTuple<byte[], byte[]>> curIt;
+        return iterator(new C3<Integer, byte[], byte[], GridBiTuple<byte[], byte[]>>() {
+            @Override public GridBiTuple<byte[], byte[]> apply(Integer hash, byte[] keyBytes, byte[] valBytes) {
+                return F.t(keyBytes, valBytes);
+            }
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override public <T> GridCloseableIterator<T> iterator(final GridClosure3<Integer, byte[], byte[], T> c) {
+        return new GridCloseableIteratorAdapter<T>() {
+            private GridCloseableIterator<T> curIt;
 
             private int idx;
 
@@ -367,7 +390,7 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
                 curIt = null;
 
                 while (idx < segs.length) {
-                    curIt = segs[idx++].iterator();
+                    curIt = segs[idx++].iterator(c);
 
                     if (curIt.hasNext())
                         return;
@@ -378,11 +401,11 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
                 curIt = null;
             }
 
-            @Override protected GridBiTuple<byte[], byte[]> onNext() throws GridException {
+            @Override protected T onNext() throws GridException {
                 if (curIt == null)
                     throw new NoSuchElementException();
 
-                GridBiTuple<byte[], byte[]> t = curIt.next();
+                T t = curIt.next();
 
                 if (!curIt.hasNext()) {
                     curIt.close();
@@ -642,11 +665,12 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
         }
 
         /**
+         * @param c Closure applied to hash, key bytes and value bytes of every entry.
          * @return Iterator.
          */
-        GridCloseableIterator<GridBiTuple<byte[], byte[]>> iterator() {
-            return new GridCloseableIteratorAdapter<GridBiTuple<byte[],byte[]>>() {
-                private final Queue<GridBiTuple<byte[], byte[]>> bin = new LinkedList<>();
+        <T> GridCloseableIterator<T> iterator(final GridClosure3<Integer, byte[], byte[], T> c) {
+            return new GridCloseableIteratorAdapter<T>() {
+                private final Queue<T> bin = new LinkedList<>();
 
                 {
                     lock.readLock().lock();
@@ -672,7 +696,8 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
 
                         while (entryAddr != 0) {
                             // Read key and value bytes.
-                            bin.add(F.t(Entry.keyBytes(entryAddr, mem), Entry.valueBytes(entryAddr, mem)));
+                            bin.add(c.apply(Entry.hash(entryAddr, mem), Entry.keyBytes(entryAddr, mem),
+                                Entry.valueBytes(entryAddr, mem)));
 
                             entryAddr = Entry.nextAddress(entryAddr, mem);
                         }
@@ -683,8 +708,8 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
                     return !bin.isEmpty();
                 }
 
-                @Override protected GridBiTuple<byte[], byte[]> onNext() {
-                    GridBiTuple<byte[], byte[]> t = bin.poll();
+                @Override protected T onNext() {
+                    T t = bin.poll();
 
                     if (t == null)
                         throw new NoSuchElementException();
@@ -936,10 +961,12 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
          * @param hash Hash.
          * @param keyBytes Key bytes.
          * @param valBytes Value bytes.
+         * @param valOff Value offset.
+         * @param valLen Value length.
          * @return {@code True} if new entry was created, {@code false} if existing value was updated.
          */
         @SuppressWarnings("TooBroadScope")
-        boolean put(int hash, byte[] keyBytes, byte[] valBytes) {
+        boolean put(int hash, byte[] keyBytes, byte[] valBytes, int valOff, int valLen) {
             boolean isNew = true;
 
             boolean poll = false;
@@ -966,8 +993,8 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
                         // If found match.
                         if (Entry.keyEquals(cur, keyBytes, mem)) {
                             // If value bytes have the same length, just update the value.
-                            if (Entry.valueLength(cur, mem) == valBytes.length) {
-                                Entry.valueBytes(cur, valBytes, mem);
+                            if (Entry.valueLength(cur, mem) == valLen) {
+                                Entry.valueBytes(cur, valBytes, valOff, valLen, mem);
 
                                 isNew = false;
 
@@ -1002,7 +1029,7 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
                     }
                 }
 
-                size = Entry.HEADER + keyBytes.length + valBytes.length;
+                size = Entry.HEADER + keyBytes.length + valLen;
 
                 poll = !mem.reserve(size);
 
@@ -1020,7 +1047,7 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
                 else if (lru != null)
                     lru.touch(qAddr, addr);
 
-                Entry.write(addr, hash, keyBytes, valBytes, qAddr, first, mem);
+                Entry.write(addr, hash, keyBytes, valBytes, valOff, valLen, qAddr, first, mem);
 
                 return isNew;
             }
@@ -1180,6 +1207,36 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
                 readUnlock();
             }
         }
+
+        /**
+         * Reads value directly from off-heap memory. Read lock is held while reader
+         * is running, so entry memory cannot be released or overwritten concurrently.
+         *
+         * @param hash Hash.
+         * @param keyBytes Key bytes.
+         * @param rdr Value reader.
+         * @return Value returned by reader.
+         * @throws GridException If reader failed.
+         */
+        @Nullable <T> T get(int hash, byte[] keyBytes, GridOffHeapValueReader<T> rdr) throws GridException {
+            long binAddr = readLock(hash);
+
+            try {
+                long addr = Bin.first(binAddr, mem);
+
+                while (addr != 0) {
+                    if (Entry.keyEquals(addr, keyBytes, mem))
+                        return rdr.read(Entry.valueAddress(addr, mem), Entry.valueLength(addr, mem));
+
+                    addr = Entry.nextAddress(addr, mem);
+                }
+
+                return null;
+            }
+            finally {
+                readUnlock();
+            }
+        }
     }
 
     /**
@@ -1383,13 +1440,24 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
             return mem.readBytes(ptr + HEADER + keyLen, valLen);
         }
 
+        /**
+         * @param ptr Pointer.
+         * @param mem Memory.
+         * @return Value address.
+         */
+        static long valueAddress(long ptr, GridUnsafeMemory mem) {
+            return ptr + HEADER + keyLength(ptr, mem);
+        }
+
         /**
          * @param ptr Pointer.
          * @param valBytes Value bytes.
+         * @param valOff Value offset.
+         * @param valLen Value length.
          * @param mem Memory.
          */
-        static void valueBytes(long ptr, byte[] valBytes, GridUnsafeMemory mem) {
-            valueBytes(ptr, keyLength(ptr, mem), valBytes, mem);
+        static void valueBytes(long ptr, byte[] valBytes, int valOff, int valLen, GridUnsafeMemory mem) {
+            mem.writeBytes(ptr + HEADER + keyLength(ptr, mem), valBytes, valOff, valLen);
         }
 
         /**
@@ -1425,19 +1493,21 @@ public class GridUnsafeMap<K> implements GridOffHeapMap<K> {
          * @param hash Hash.
          * @param keyBytes Key bytes.
          * @param valBytes Value bytes.
+         * @param valOff Value offset.
+         * @param valLen Value length.
          * @param queueAddr Queue address.
          * @param next Next address.
          * @param mem Memory.
          */
-        static void write(long ptr, int hash, byte[] keyBytes, byte[] valBytes, long queueAddr, long next,
-            GridUnsafeMemory mem) {
+        static void write(long ptr, int hash, byte[] keyBytes, byte[] valBytes, int valOff, int valLen,
+            long queueAddr, long next, GridUnsafeMemory mem) {
             hash(ptr, hash, mem);
             keyLength(ptr, keyBytes.length, mem);
-            valueLength(ptr, valBytes.length, mem);
+            valueLength(ptr, valLen, mem);
             queueAddress(ptr, queueAddr, mem);
             nextAddress(ptr, next, mem);
             keyBytes(ptr, keyBytes, mem);
-            valueBytes(ptr, keyBytes.length, valBytes, mem);
+            mem.writeBytes(ptr + HEADER + keyBytes.length, valBytes, valOff, valLen);
         }
 
         /**
@@ -57,18 +57,26 @@ public class GridUnsafeMemory {
     private static final boolean SAFE_RELEASE = Boolean.valueOf(
         X.getSystemOrEnv(GridSystemProperties.GG_OFFHEAP_SAFE_RELEASE, "false"));
 
+    /** Slab allocator flag. */
+    private static final boolean SLAB_ALLOCATOR = Boolean.valueOf(
+        X.getSystemOrEnv(GridSystemProperties.GG_OFFHEAP_SLAB_ALLOCATOR, "false"));
+
     /** Total size. */
     @GridToStringInclude
     private final long total;
 
-    /** Occupied size. */
+    /** Occupied size, includes whole chunks reserved by slab allocator instead of blocks served by it. */
     @GridToStringInclude
     private final AtomicLong allocated;
 
-    /** Total amount of memory allocated for system structures. */
+    /** Total amount of memory allocated for system structures, excluding blocks served by slab allocator. */
     @GridToStringInclude
     private final AtomicLong sysAllocated;
 
+    /** Slab allocator for small blocks, {@code null} if blocks are allocated from system directly. */
+    @GridToStringInclude
+    private final GridUnsafeSlabAllocator slab;
+
     /** Event listener. */
     private GridOffHeapEventListener lsnr;
 
@@ -83,6 +91,8 @@ public class GridUnsafeMemory {
         allocated = new AtomicLong();
 
         sysAllocated = new AtomicLong();
+
+        slab = SLAB_ALLOCATOR ? new GridUnsafeSlabAllocator(allocated, total) : null;
     }
 
     /**
@@ -101,6 +111,10 @@ public class GridUnsafeMemory {
      * @return {@code True} if memory is under allowed size, {@code false} otherwise.
      */
     public boolean reserve(long size) {
+        // Slab blocks are charged by whole chunks once slab allocator reserves memory from system.
+        if (slabBlock(size))
+            return total == 0 || allocated.get() <= total || slab.available(size);
+
         if (total == 0) {
             allocated.addAndGet(size);
 
@@ -177,11 +191,13 @@ public class GridUnsafeMemory {
         AtomicLong cnt) throws GridOffHeapOutOfMemoryException {
         assert size > 0;
 
-        if (!reserved)
+        boolean slabBlock = slabBlock(size);
+
+        if (!reserved && !slabBlock)
             cnt.addAndGet(size);
 
         try {
-            long ptr = UNSAFE.allocateMemory(size);
+            long ptr = slabBlock ? slab.allocate(size) : UNSAFE.allocateMemory(size);
 
             if (init)
                 fill(ptr, size, FREE);
@@ -192,12 +208,21 @@ public class GridUnsafeMemory {
             return ptr;
         }
         catch (OutOfMemoryError ignore) {
-            cnt.addAndGet(-size);
+            if (!slabBlock)
+                cnt.addAndGet(-size);
 
             throw new GridOffHeapOutOfMemoryException(totalSize(), size);
         }
     }
 
+    /**
+     * @param size Block size.
+     * @return {@code True} if block of given size is served by slab allocator.
+     */
+    private boolean slabBlock(long size) {
+        return slab != null && size <= GridUnsafeSlabAllocator.MAX_BLOCK_SIZE;
+    }
+
     /**
      * @param ptr Pointer.
      * @param size Count of long values to fill.
@@ -239,9 +264,13 @@ public class GridUnsafeMemory {
             if (SAFE_RELEASE)
                 fill(ptr, size, (byte)0xAB);
 
-            UNSAFE.freeMemory(ptr);
+            if (slabBlock(size))
+                slab.release(ptr, size);
+            else {
+                UNSAFE.freeMemory(ptr);
 
-            cnt.addAndGet(-size);
+                cnt.addAndGet(-size);
+            }
 
             if (lsnr != null)
                 lsnr.onEvent(RELEASE);
@@ -677,6 +706,57 @@ public class GridUnsafeMemory {
         return sysAllocated.get();
     }
 
+    /**
+     * Gets size of memory reserved from system by slab allocator (see
+     * {@link GridSystemProperties#GG_OFFHEAP_SLAB_ALLOCATOR}).
+     *
+     * @return Reserved size or {@code 0} if slab allocator is disabled.
+     */
+    public long slabReservedSize() {
+        return slab == null ? 0 : slab.reservedSize();
+    }
+
+    /**
+     * Gets size of slab allocated blocks currently in use, including rounding to size class.
+     *
+     * @return Used size or {@code 0} if slab allocator is disabled.
+     */
+    public long slabUsedSize() {
+        return slab == null ? 0 : slab.usedSize();
+    }
+
+    /**
+     * Gets share of memory reserved by slab allocator which does not hold requested data,
+     * i.e. lost to size class rounding, free blocks and not yet used slabs.
+     *
+     * @return Fragmentation ratio between {@code 0} and {@code 1} or {@code 0} if slab allocator is disabled.
+     */
+    public double slabFragmentation() {
+        return slab == null ? 0 : slab.fragmentation();
+    }
+
+    /**
+     * Returns memory reserved by slab allocator to system. Must be called only after all
+     * structures using this memory are destructed. Memory is returned once operations in progress
+     * finish, since their deferred releases point to slab memory.
+     */
+    public void destruct() {
+        if (slab != null) {
+            Operation op = begin();
+
+            try {
+                finalizeLater(new Runnable() {
+                    @Override public void run() {
+                        slab.destruct();
+                    }
+                });
+            }
+            finally {
+                end(op);
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(GridUnsafeMemory.class, this);
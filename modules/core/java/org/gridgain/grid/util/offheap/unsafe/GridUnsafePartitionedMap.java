@@ -171,6 +171,13 @@ public class GridUnsafePartitionedMap implements GridOffHeapPartitionedMap {
         return mapFor(p).get(hash, keyBytes);
     }
 
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override public <T> T get(int p, int hash, byte[] keyBytes, GridOffHeapValueReader<T> rdr)
+        throws GridException {
+        return (T)mapFor(p).get(hash, keyBytes, rdr);
+    }
+
     /** {@inheritDoc} */
     @Override public byte[] remove(int p, int hash, byte[] keyBytes) {
         return mapFor(p).remove(hash, keyBytes);
@@ -186,6 +193,11 @@ public class GridUnsafePartitionedMap implements GridOffHeapPartitionedMap {
         return mapFor(p).put(hash, keyBytes, valBytes);
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean put(int p, int hash, byte[] keyBytes, byte[] valBytes, int valOff, int valLen) {
+        return mapFor(p).put(hash, keyBytes, valBytes, valOff, valLen);
+    }
+
     /** {@inheritDoc} */
     @Override public void insert(int p, int hash, byte[] keyBytes, byte[] valBytes) {
         mapFor(p).insert(hash, keyBytes, valBytes);
@@ -251,6 +263,8 @@ public class GridUnsafePartitionedMap implements GridOffHeapPartitionedMap {
 
         if (lru != null)
             lru.destruct();
+
+        mem.destruct();
     }
 
     /** {@inheritDoc} */
@@ -319,6 +333,11 @@ public class GridUnsafePartitionedMap implements GridOffHeapPartitionedMap {
         return mapFor(p).iterator();
     }
 
+    /** {@inheritDoc} */
+    @Override public <T> GridCloseableIterator<T> iterator(int p, GridClosure3<Integer, byte[], byte[], T> c) {
+        return mapFor(p).iterator(c);
+    }
+
     /**
      * Gets number of LRU stripes.
      *
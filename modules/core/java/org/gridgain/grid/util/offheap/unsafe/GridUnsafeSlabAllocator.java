@@ -0,0 +1,646 @@
+/* 
+ Copyright (C) GridGain Systems. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ */
+
+/*  _________        _____ __________________        _____
+ *  __  ____/___________(_)______  /__  ____/______ ____(_)_______
+ *  _  / __  __  ___/__  / _  __  / _  / __  _  __ `/__  / __  __ \
+ *  / /_/ /  _  /    _  /  / /_/ /  / /_/ /  / /_/ / _  /  _  / / /
+ *  \____/   /_/     /_/   \_,__/   \____/   \__,_/  /_/   /_/ /_/
+ */
+
+package org.gridgain.grid.util.offheap.unsafe;
+
+import org.gridgain.grid.util.*;
+import org.gridgain.grid.util.typedef.internal.*;
+import org.gridgain.grid.util.tostring.*;
+import sun.misc.Unsafe;
+
+import java.lang.ref.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Size-class slab allocator for small off-heap blocks. Memory is reserved from system in
+ * large chunks, which are split into slabs, each slab serving blocks of a single size class.
+ * Released blocks are kept in per-thread caches and in lock-free per-class free lists
+ * and are never returned to system until allocator is destructed. Blocks cached by threads
+ * which have died are returned to free lists before a new slab is taken.
+ * <p>
+ * Whole reserved chunks are charged to the counter passed on creation, so that memory limit
+ * accounts for size class rounding, cached and free blocks. Once a new chunk would exceed the
+ * limit, all threads are requested to flush their caches to free lists, so that cached blocks
+ * can be reused by other threads instead of growing reserved memory further.
+ * <p>
+ * Allocator relies on the fact that block is released with the same size it was allocated
+ * with, which holds for all structures built on top of {@link GridUnsafeMemory}.
+ */
+class GridUnsafeSlabAllocator {
+    /** Unsafe handle. */
+    private static final Unsafe UNSAFE = GridUnsafe.unsafe();
+
+    /** Size of memory chunk reserved from system at once. */
+    private static final int CHUNK_SIZE = 1024 * 1024;
+
+    /** Size of slab carved from chunk for a single size class. */
+    private static final int SLAB_SIZE = 64 * 1024;
+
+    /** Maximum size of block served by allocator, larger blocks should be allocated from system. */
+    static final int MAX_BLOCK_SIZE = 8 * 1024;
+
+    /** Alignment of blocks, free block keeps address of the next free block, so it is also the minimum size. */
+    private static final int ALIGN = 8;
+
+    /** Maximum amount of memory cached by a thread for a single size class. */
+    private static final int THREAD_CACHE_BYTES = 16 * 1024;
+
+    /** Free list head tag increment, tag occupies bits unused by user space addresses. */
+    private static final long TAG_INC = 1L << 48;
+
+    /** Address mask for free list head. */
+    private static final long ADDR_MASK = TAG_INC - 1;
+
+    /** Size classes. */
+    private final SizeClass[] classes;
+
+    /** Size class index by {@code (size - 1) / ALIGN}. */
+    private final byte[] clsIdx = new byte[MAX_BLOCK_SIZE / ALIGN];
+
+    /** Reserved chunks. */
+    private final Queue<Long> chunks = new ConcurrentLinkedQueue<>();
+
+    /** Chunk lock. */
+    private final Object chunkMux = new Object();
+
+    /** Current chunk position. */
+    private long chunkPtr;
+
+    /** Current chunk end. */
+    private long chunkEnd;
+
+    /** Memory reserved from system. */
+    @GridToStringInclude
+    private final AtomicLong reserved = new AtomicLong();
+
+    /** Memory in blocks handed out to users. */
+    private final LongAdder used = new LongAdder();
+
+    /** Memory requested by users. */
+    private final LongAdder requested = new LongAdder();
+
+    /** All thread caches, including caches of threads which have died but were not reclaimed yet. */
+    private final Queue<ThreadCache> caches = new ConcurrentLinkedQueue<>();
+
+    /** Per-thread block caches. */
+    private final ThreadLocal<ThreadCache> threadCache = new ThreadLocal<ThreadCache>() {
+        @Override protected ThreadCache initialValue() {
+            ThreadCache cache = new ThreadCache();
+
+            caches.add(cache);
+
+            return cache;
+        }
+    };
+
+    /** Counter reserved chunks are charged to. */
+    private final AtomicLong charged;
+
+    /** Memory limit, {@code 0} for unlimited. */
+    private final long limit;
+
+    /** Incremented to request threads to flush their caches. */
+    private volatile int flushEpoch;
+
+    /** Destructed flag. */
+    private volatile boolean destructed;
+
+    /**
+     * Creates allocator with size classes growing by {@link #ALIGN} up to {@code 128} bytes
+     * and by a quarter of power of two after that.
+     *
+     * @param charged Counter reserved chunks are charged to.
+     * @param limit Memory limit, {@code 0} for unlimited.
+     */
+    GridUnsafeSlabAllocator(AtomicLong charged, long limit) {
+        assert charged != null;
+        assert limit >= 0;
+
+        this.charged = charged;
+        this.limit = limit;
+
+        List<SizeClass> list = new ArrayList<>();
+
+        int size = ALIGN;
+
+        while (size <= MAX_BLOCK_SIZE) {
+            list.add(new SizeClass(list.size(), size));
+
+            size += size < 128 ? ALIGN : Integer.highestOneBit(size) / 4;
+        }
+
+        classes = list.toArray(new SizeClass[list.size()]);
+
+        assert classes.length <= Byte.MAX_VALUE;
+
+        for (int i = 0, c = 0; i < clsIdx.length; i++) {
+            if ((i + 1) * ALIGN > classes[c].size)
+                c++;
+
+            clsIdx[i] = (byte)c;
+        }
+    }
+
+    /**
+     * @param size Block size.
+     * @return Size class.
+     */
+    private SizeClass sizeClass(long size) {
+        assert size > 0 && size <= MAX_BLOCK_SIZE : size;
+
+        return classes[clsIdx[(int)(size - 1) >>> 3]];
+    }
+
+    /**
+     * Allocates block.
+     *
+     * @param size Block size, must not exceed {@link #MAX_BLOCK_SIZE}.
+     * @return Block address.
+     * @throws OutOfMemoryError If system could not reserve more memory.
+     */
+    long allocate(long size) {
+        SizeClass cls = sizeClass(size);
+
+        ThreadCache tc = threadCache.get();
+
+        if (!enter(tc))
+            throw new IllegalStateException("Allocator is destructed.");
+
+        try {
+            if (tc.epoch != flushEpoch)
+                flush(tc);
+
+            long[] cache = tc.blocks[cls.idx];
+
+            int cnt = (int)cache[0];
+
+            long ptr;
+
+            if (cnt > 0) {
+                ptr = cache[cnt];
+
+                cache[0] = cnt - 1;
+            }
+            else
+                ptr = cls.refill(cache);
+
+            used.add(cls.size);
+            requested.add(size);
+
+            return ptr;
+        }
+        finally {
+            tc.busy = false;
+        }
+    }
+
+    /**
+     * Releases block.
+     *
+     * @param ptr Block address.
+     * @param size Block size, must be the same as passed to {@link #allocate(long)}.
+     */
+    void release(long ptr, long size) {
+        SizeClass cls = sizeClass(size);
+
+        ThreadCache tc = threadCache.get();
+
+        // Block was returned to system together with its chunk.
+        if (!enter(tc))
+            return;
+
+        try {
+            if (tc.epoch != flushEpoch)
+                flush(tc);
+
+            long[] cache = tc.blocks[cls.idx];
+
+            int cnt = (int)cache[0];
+
+            if (cnt == cls.cacheCap) {
+                // Keep half of cached blocks, so that alternating allocations and releases do not hit free list.
+                int keep = cnt / 2;
+
+                cls.push(cache, keep + 1, cnt);
+
+                cnt = keep;
+            }
+
+            cache[++cnt] = ptr;
+            cache[0] = cnt;
+
+            used.add(-cls.size);
+            requested.add(-size);
+        }
+        finally {
+            tc.busy = false;
+        }
+    }
+
+    /**
+     * Marks thread as working with allocator memory. Paired with {@link #destruct()}: either
+     * destruction waits for the thread to leave or the thread sees the allocator destructed.
+     *
+     * @param tc Cache of current thread.
+     * @return {@code False} if allocator is destructed.
+     */
+    private boolean enter(ThreadCache tc) {
+        tc.busy = true;
+
+        if (destructed) {
+            tc.busy = false;
+
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether block of given size can be allocated without reserving more memory from system.
+     * The check is approximate, since other threads may take available blocks concurrently.
+     *
+     * @param size Block size.
+     * @return {@code True} if there is a cached or free block or unused space in already reserved memory.
+     */
+    boolean available(long size) {
+        SizeClass cls = sizeClass(size);
+
+        ThreadCache tc = threadCache.get();
+
+        if (tc.blocks[cls.idx][0] > 0 || cls.available())
+            return true;
+
+        synchronized (chunkMux) {
+            return chunkEnd - chunkPtr >= SLAB_SIZE;
+        }
+    }
+
+    /**
+     * Returns all blocks cached by current thread to free lists.
+     *
+     * @param tc Cache of current thread.
+     */
+    private void flush(ThreadCache tc) {
+        tc.epoch = flushEpoch;
+
+        for (int i = 0; i < classes.length; i++) {
+            long[] cache = tc.blocks[i];
+
+            int cnt = (int)cache[0];
+
+            if (cnt > 0) {
+                classes[i].push(cache, 1, cnt);
+
+                cache[0] = 0;
+            }
+        }
+    }
+
+    /**
+     * Returns blocks cached by threads which have died to free lists.
+     *
+     * @return {@code True} if any blocks were returned.
+     */
+    private boolean reclaimDeadThreadCaches() {
+        boolean res = false;
+
+        for (ThreadCache tc : caches) {
+            Thread t = tc.owner.get();
+
+            // Removal succeeds in a single thread only, dead thread does not touch its cache anymore.
+            if ((t == null || !t.isAlive()) && caches.remove(tc)) {
+                for (int i = 0; i < classes.length; i++) {
+                    long[] cache = tc.blocks[i];
+
+                    int cnt = (int)cache[0];
+
+                    if (cnt > 0) {
+                        classes[i].push(cache, 1, cnt);
+
+                        cache[0] = 0;
+
+                        res = true;
+                    }
+                }
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Carves a new slab out of current chunk reserving new chunk if needed.
+     *
+     * @return Slab address.
+     * @throws OutOfMemoryError If system could not reserve more memory.
+     */
+    private long slab() {
+        synchronized (chunkMux) {
+            if (chunkEnd - chunkPtr < SLAB_SIZE) {
+                // Blocks cached by other threads will be reused once they flush caches.
+                if (limit > 0 && charged.get() + CHUNK_SIZE > limit)
+                    flushEpoch++;
+
+                long chunk = UNSAFE.allocateMemory(CHUNK_SIZE);
+
+                if (((chunk + CHUNK_SIZE - 1) & ~ADDR_MASK) != 0) {
+                    UNSAFE.freeMemory(chunk);
+
+                    throw new OutOfMemoryError("Reserved memory address does not fit free list head: 0x" +
+                        Long.toHexString(chunk));
+                }
+
+                chunks.add(chunk);
+
+                reserved.addAndGet(CHUNK_SIZE);
+                charged.addAndGet(CHUNK_SIZE);
+
+                chunkPtr = chunk;
+                chunkEnd = chunk + CHUNK_SIZE;
+            }
+
+            long slab = chunkPtr;
+
+            chunkPtr += SLAB_SIZE;
+
+            return slab;
+        }
+    }
+
+    /**
+     * Returns all reserved memory to system. Blocks released after this call are ignored,
+     * allocation after this call fails with {@link IllegalStateException}.
+     */
+    void destruct() {
+        destructed = true;
+
+        // Wait for threads which entered allocator before they could see the flag.
+        for (ThreadCache tc : caches) {
+            while (tc.busy)
+                Thread.yield();
+        }
+
+        caches.clear();
+
+        for (SizeClass cls : classes)
+            cls.reset();
+
+        synchronized (chunkMux) {
+            for (Long chunk = chunks.poll(); chunk != null; chunk = chunks.poll()) {
+                UNSAFE.freeMemory(chunk);
+
+                reserved.addAndGet(-CHUNK_SIZE);
+                charged.addAndGet(-CHUNK_SIZE);
+            }
+
+            chunkPtr = 0;
+            chunkEnd = 0;
+        }
+    }
+
+    /**
+     * @return Memory reserved from system.
+     */
+    long reservedSize() {
+        return reserved.get();
+    }
+
+    /**
+     * @return Memory in blocks handed out to users, including size class rounding.
+     */
+    long usedSize() {
+        return used.sum();
+    }
+
+    /**
+     * @return Memory requested by users.
+     */
+    long requestedSize() {
+        return requested.sum();
+    }
+
+    /**
+     * Gets fragmentation ratio, i.e. share of reserved memory not holding user data. Includes
+     * size class rounding, free blocks, blocks cached by threads and not yet used slabs.
+     *
+     * @return Fragmentation ratio between {@code 0} and {@code 1}.
+     */
+    double fragmentation() {
+        long reserved = reservedSize();
+
+        return reserved == 0 ? 0 : 1 - (double)requestedSize() / reserved;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridUnsafeSlabAllocator.class, this, "used", usedSize(), "requested", requestedSize());
+    }
+
+    /**
+     * Size class.
+     */
+    private class SizeClass {
+        /** Index. */
+        private final int idx;
+
+        /** Block size. */
+        private final int size;
+
+        /** Maximum number of blocks cached by a thread. */
+        private final int cacheCap;
+
+        /** Free list head, holds tag in upper bits to prevent ABA problem. */
+        private final AtomicLong head = new AtomicLong();
+
+        /** Current slab position. */
+        private long slabPtr;
+
+        /** Current slab end. */
+        private long slabEnd;
+
+        /**
+         * @param idx Index.
+         * @param size Block size.
+         */
+        private SizeClass(int idx, int size) {
+            this.idx = idx;
+            this.size = size;
+
+            cacheCap = Math.max(2, THREAD_CACHE_BYTES / size);
+        }
+
+        /**
+         * Fills empty thread cache with up to half of its capacity and returns one more block.
+         *
+         * @param cache Thread cache for this class.
+         * @return Block address.
+         */
+        private long refill(long[] cache) {
+            int cnt = 0;
+            int max = cacheCap / 2;
+
+            for (long ptr = pop(); ptr != 0; ptr = pop()) {
+                if (cnt == max) {
+                    cache[0] = cnt;
+
+                    return ptr;
+                }
+
+                cache[++cnt] = ptr;
+            }
+
+            if (cnt > 0) {
+                cache[0] = cnt - 1;
+
+                return cache[cnt];
+            }
+
+            synchronized (this) {
+                for (;;) {
+                    if (slabEnd - slabPtr < size) {
+                        if (cnt == 0 && reclaimDeadThreadCaches()) {
+                            long ptr = pop();
+
+                            if (ptr != 0)
+                                return ptr;
+                        }
+
+                        slabPtr = slab();
+                        slabEnd = slabPtr + SLAB_SIZE - SLAB_SIZE % size;
+                    }
+
+                    long ptr = slabPtr;
+
+                    slabPtr += size;
+
+                    if (cnt == max) {
+                        cache[0] = cnt;
+
+                        return ptr;
+                    }
+
+                    cache[++cnt] = ptr;
+                }
+            }
+        }
+
+        /**
+         * @return {@code True} if free list is not empty or current slab has space for a block.
+         */
+        private boolean available() {
+            if ((head.get() & ADDR_MASK) != 0)
+                return true;
+
+            synchronized (this) {
+                return slabEnd - slabPtr >= size;
+            }
+        }
+
+        /**
+         * Forgets free blocks and current slab, called on allocator destruction.
+         */
+        private synchronized void reset() {
+            head.set(0);
+
+            slabPtr = 0;
+            slabEnd = 0;
+        }
+
+        /**
+         * Pushes blocks to free list.
+         *
+         * @param blocks Array holding blocks.
+         * @param from First block index, inclusive.
+         * @param to Last block index, inclusive.
+         */
+        private void push(long[] blocks, int from, int to) {
+            assert from <= to;
+
+            // Link blocks together first, so that the whole batch is published with a single CAS.
+            for (int i = from; i < to; i++)
+                UNSAFE.putLong(blocks[i], blocks[i + 1]);
+
+            long first = blocks[from];
+            long last = blocks[to];
+
+            for (;;) {
+                long h = head.get();
+
+                UNSAFE.putLong(last, h & ADDR_MASK);
+
+                if (head.compareAndSet(h, ((h & ~ADDR_MASK) + TAG_INC) | first))
+                    return;
+            }
+        }
+
+        /**
+         * Pops block from free list.
+         *
+         * @return Block address or {@code 0} if free list is empty.
+         */
+        private long pop() {
+            for (;;) {
+                long h = head.get();
+
+                long ptr = h & ADDR_MASK;
+
+                if (ptr == 0)
+                    return 0;
+
+                // Block may be concurrently popped and reused, then read value is garbage, but CAS fails on tag.
+                long next = UNSAFE.getLong(ptr);
+
+                if (head.compareAndSet(h, ((h & ~ADDR_MASK) + TAG_INC) | (next & ADDR_MASK)))
+                    return ptr;
+            }
+        }
+    }
+
+    /**
+     * Block cache of a single thread.
+     */
+    private class ThreadCache {
+        /** Owner thread, cache is reclaimed once the thread dies. */
+        private final WeakReference<Thread> owner = new WeakReference<>(Thread.currentThread());
+
+        /** Cached blocks by size class, first element of each array holds number of cached blocks. */
+        private final long[][] blocks = new long[classes.length][];
+
+        /** Whether owner thread is inside allocator. */
+        private volatile boolean busy;
+
+        /** Flush epoch seen by owner thread last time it flushed the cache. */
+        private int epoch = flushEpoch;
+
+        /**
+         * Creates cache for current thread.
+         */
+        private ThreadCache() {
+            for (int i = 0; i < classes.length; i++)
+                blocks[i] = new long[classes[i].cacheCap + 1];
+        }
+    }
+}